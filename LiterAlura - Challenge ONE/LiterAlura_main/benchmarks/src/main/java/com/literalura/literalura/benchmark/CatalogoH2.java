@@ -0,0 +1,90 @@
+package com.literalura.literalura.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.literalura.literalura.LiteraluraApplication;
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.service.BookService;
+
+/*
+ * Contexto de la aplicación sobre una base H2 en memoria (modo PostgreSQL), cargada con un
+ * catálogo sintético: LIBROS libros de AUTORES autores, en IDIOMAS idiomas.
+ * Se crea una vez por ejecución de cada benchmark y lo comparten todos sus hilos.
+ * Cada benchmark se ejecuta con y sin la caché de segundo nivel de Hibernate (parámetro cacheHibernate).
+ */
+@State(Scope.Benchmark)
+public class CatalogoH2 {
+
+    static final int LIBROS = 20_000;
+    static final int AUTORES = 4_000;
+    static final String[] IDIOMAS = {"en", "fr", "de", "es", "it", "fi", "nl", "pt"};
+
+    private static final int TAMANO_LOTE = 1000;
+
+    @Param({"true", "false"})
+    public boolean cacheHibernate;
+
+    ConfigurableApplicationContext contexto;
+
+    @Setup(Level.Trial)
+    public void arrancar() {
+        contexto = new SpringApplicationBuilder(LiteraluraApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--literalura.menu.habilitado=false",
+                        "--literalura.cache.habilitada=false",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cacheHibernate,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cacheHibernate,
+                        "--logging.level.root=WARN");
+
+        BookService servicio = contexto.getBean(BookService.class);
+        List<Book> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 1; i <= LIBROS; i++) {
+            lote.add(libro(i));
+            if (lote.size() == TAMANO_LOTE) {
+                servicio.upsertBooks(lote, true);
+                lote = new ArrayList<>(TAMANO_LOTE);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    static String nombreAutor(int i) {
+        return "Autor " + i + ", Nombre";
+    }
+
+    // Libro sintético: autor y segundo idioma repartidos de forma determinista, descargas variadas.
+    static Book libro(long id) {
+        int i = (int) id;
+        List<String> idiomas = i % 5 == 0 && i % IDIOMAS.length != 0 ? List.of(IDIOMAS[0], IDIOMAS[i % IDIOMAS.length]) : List.of(IDIOMAS[i % IDIOMAS.length]);
+        Book libro = new Book(id, "Título del libro " + id, idiomas, (i * 7919) % 100_000);
+        int autor = i % AUTORES;
+        libro.addAuthor(new Author(nombreAutor(autor), 1700 + autor % 250, 1760 + autor % 250));
+        return libro;
+    }
+}
\ No newline at end of file
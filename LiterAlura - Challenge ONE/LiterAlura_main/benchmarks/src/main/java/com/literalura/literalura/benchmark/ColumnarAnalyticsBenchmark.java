@@ -0,0 +1,86 @@
+package com.literalura.literalura.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.literalura.literalura.analytics.ColumnarCatalog;
+import com.literalura.literalura.dto.DownloadStatistics;
+import com.literalura.literalura.repository.CatalogColumnsRepository;
+
+/*
+ * Las mismas estadísticas y rankings que RepositoryQueryBenchmark, respondidos por el motor de
+ * analítica en memoria construido sobre el catálogo sintético en H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarAnalyticsBenchmark {
+
+    private Path directorio;
+    private ColumnarCatalog analitica;
+
+    @Setup
+    public void preparar(CatalogoH2 catalogo) throws IOException, InterruptedException {
+        directorio = Files.createTempDirectory("literalura-analitica");
+        analitica = new ColumnarCatalog(catalogo.bean(CatalogColumnsRepository.class),
+                directorio.resolve("catalogo.bin").toString(), 0, 10_000);
+        analitica.alIniciar();
+        while (!analitica.listo()) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown
+    public void borrar() throws IOException {
+        Files.deleteIfExists(directorio.resolve("catalogo.bin"));
+        Files.deleteIfExists(directorio);
+    }
+
+    @Benchmark
+    public List<Long> topLibros() {
+        return analitica.topLibros(10, null, null);
+    }
+
+    @Benchmark
+    public List<Long> topLibrosXIdioma() {
+        return analitica.topLibros(10, "fr", null);
+    }
+
+    @Benchmark
+    public List<Long> topLibrosXAutor() {
+        return analitica.topLibros(10, null, "Autor 12,");
+    }
+
+    @Benchmark
+    public DownloadStatistics estadisticasDescargas() {
+        return analitica.estadisticasDescargas();
+    }
+
+    @Benchmark
+    public List<DownloadStatistics> estadisticasPorIdioma() {
+        return analitica.estadisticasPorIdioma();
+    }
+
+    @Benchmark
+    public List<DownloadStatistics> estadisticasPorAutor() {
+        return analitica.estadisticasPorAutor(10);
+    }
+}
\ No newline at end of file
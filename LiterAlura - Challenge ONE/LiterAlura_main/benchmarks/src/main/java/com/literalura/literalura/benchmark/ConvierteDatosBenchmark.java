@@ -0,0 +1,62 @@
+package com.literalura.literalura.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.literalura.literalura.dto.DataPageInfo;
+import com.literalura.literalura.dto.DataResults;
+import com.literalura.literalura.service.ConvierteDatos;
+
+/*
+ * Conversión de una página de Gutendex grabada, partiendo en ambos casos de los bytes del cuerpo:
+ * convertidora los decodifica primero a un String, como hacía ConexionAPI con BodyHandlers.ofString(),
+ * y leerResultados los recorre en streaming entregando cada libro al consumidor. Para ver la memoria
+ * reservada por operación (gc.alloc.rate.norm), ejecutar con "-prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConvierteDatosBenchmark {
+
+    @Param("catalogo-pagina1.json")
+    public String pagina;
+
+    private final ConvierteDatos convertidor = new ConvierteDatos();
+    private byte[] bytes;
+
+    @Setup
+    public void cargarPagina() throws IOException {
+        try (InputStream entrada = ConvierteDatosBenchmark.class.getResourceAsStream("/gutendex/" + pagina)) {
+            bytes = entrada.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public DataResults convertidora() {
+        return convertidor.convertidora(new String(bytes, StandardCharsets.UTF_8), DataResults.class);
+    }
+
+    @Benchmark
+    public DataPageInfo leerResultados(Blackhole bh) {
+        return convertidor.leerResultados(new ByteArrayInputStream(bytes), bh::consume);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.literalura.literalura.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DataResults;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.service.ConvierteDatos;
+
+import io.micrometer.core.instrument.Metrics;
+
+/*
+ * Costo por página de Gutendex de la capa de conversión:
+ * - JSON a DataResults con readValue en el mapper, con el lector guardado por tipo y con Blackbird.
+ * - DataBook a Book con el mapeo directo frente a la ida y vuelta por JSON del antiguo convertirDTO.
+ *   Esa ida y vuelta ignora aquí las propiedades desconocidas: con el mapper por defecto fallaba,
+ *   porque los nombres de los años de los autores no coinciden, así que sólo mide su costo.
+ * La memoria asignada por operación se ve con el perfilador gc de JMH:
+ *   scripts/run-benchmarks.sh target/jmh-json.json -prof gc JsonMapping
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonMappingBenchmark {
+
+    @Param({"pagina1.json", "pagina2.json"})
+    public String pagina;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectMapper mapperIdaYVuelta = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private final ConvierteDatos convertidor = new ConvierteDatos(new ObjectMapper(), Metrics.globalRegistry);
+    private final ConvierteDatos convertidorBlackbird = new ConvierteDatos(
+            JsonMapper.builder().addModule(new BlackbirdModule()).build(), Metrics.globalRegistry);
+
+    private String json;
+    private DataResults datos;
+
+    @Setup
+    public void cargarPagina() throws IOException {
+        try (InputStream entrada = JsonMappingBenchmark.class.getResourceAsStream("/gutendex/" + pagina)) {
+            json = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        datos = mapper.readValue(json, DataResults.class);
+    }
+
+    @Benchmark
+    public DataResults readValueEnElMapper() throws JsonProcessingException {
+        return mapper.readValue(json, DataResults.class);
+    }
+
+    @Benchmark
+    public DataResults lectorPorTipo() {
+        return convertidor.convertidora(json, DataResults.class);
+    }
+
+    @Benchmark
+    public DataResults lectorPorTipoConBlackbird() {
+        return convertidorBlackbird.convertidora(json, DataResults.class);
+    }
+
+    @Benchmark
+    public void librosPorIdaYVuelta(Blackhole bh) throws JsonProcessingException {
+        for (DataBook libro : datos.results()) {
+            bh.consume(mapperIdaYVuelta.readValue(mapperIdaYVuelta.writeValueAsString(libro), Book.class));
+        }
+    }
+
+    @Benchmark
+    public void librosDirectos(Blackhole bh) {
+        for (DataBook libro : datos.results()) {
+            bh.consume(ConvierteDatos.aLibro(libro));
+        }
+    }
+}
\ No newline at end of file
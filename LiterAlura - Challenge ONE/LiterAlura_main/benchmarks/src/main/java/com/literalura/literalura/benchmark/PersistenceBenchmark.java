@@ -0,0 +1,74 @@
+package com.literalura.literalura.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.literalura.literalura.dto.DataAuthor;
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.service.BookService;
+
+/*
+ * Operaciones de BookService sobre el catálogo sintético en H2: búsqueda de autores
+ * y guardado de un libro, tanto nuevo como ya registrado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    private BookService servicio;
+    private List<DataAuthor> autoresExistentes;
+    private final AtomicLong siguienteNuevo = new AtomicLong(10_000_000L);
+    private final AtomicLong siguienteExistente = new AtomicLong();
+
+    @Setup
+    public void preparar(CatalogoH2 catalogo) {
+        servicio = catalogo.bean(BookService.class);
+        autoresExistentes = List.of(dataAutor(12), dataAutor(345), dataAutor(2999));
+    }
+
+    // verifyAuthors sólo busca: abre su propia transacción de lectura.
+    @Benchmark
+    public List<Author> verifyAuthors() {
+        return servicio.verifyAuthors(autoresExistentes);
+    }
+
+    @Benchmark
+    public void saveBookNuevo() {
+        servicio.saveBook(dataLibro(siguienteNuevo.incrementAndGet()));
+    }
+
+    @Benchmark
+    public void saveBookExistente() {
+        servicio.saveBook(dataLibro(1 + siguienteExistente.incrementAndGet() % CatalogoH2.LIBROS));
+    }
+
+    private static DataAuthor dataAutor(int i) {
+        Author autor = CatalogoH2.libro(i).getAuthors().get(0);
+        return new DataAuthor(autor.getName(), autor.getYearBirth(), autor.getYearDeath());
+    }
+
+    private static DataBook dataLibro(long id) {
+        var libro = CatalogoH2.libro(id);
+        Author autor = libro.getAuthors().get(0);
+        return new DataBook(id, libro.getTitle(), libro.getLanguages(), libro.getTotalDownloads() + 1,
+                List.of(new DataAuthor(autor.getName(), autor.getYearBirth(), autor.getYearDeath())),
+                null, null, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.literalura.literalura.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.render.RecordWriter;
+
+/*
+ * Representación en texto de libros y autores, tal como la muestran los registros,
+ * y listados completos escritos con RecordWriter en cada formato.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderingBenchmark {
+
+    // Filas de cada listado.
+    private static final int FILAS = 1000;
+
+    @Param({"TABLA", "JSONL", "CSV"})
+    public RecordWriter.Formato formato;
+
+    private Book libro;
+    private Author autor;
+    private List<BookSummary> listado;
+
+    @Setup
+    public void crearDatos() {
+        autor = new Author("Dickens, Charles", 1812, 1870);
+        Author ilustrador = new Author("Cruikshank, George", 1792, 1878);
+        String[] titulos = {"Oliver Twist", "A Christmas Carol", "Great Expectations", "Bleak House", "Hard Times"};
+        for (int i = 0; i < titulos.length; i++) {
+            Book b = new Book(730L + i, titulos[i], List.of("en"), 1000 * (i + 1));
+            b.addAuthor(autor);
+            autor.addBook(b);
+        }
+        libro = new Book(730L, "Oliver Twist", List.of("en", "fr"), 12345);
+        libro.addAuthor(autor);
+        libro.addAuthor(ilustrador);
+        libro.setPublicationDate("1996-08-01");
+        libro.setGenre("Best Books Ever Listings");
+
+        listado = new ArrayList<>(FILAS);
+        for (int i = 0; i < FILAS; i++) {
+            listado.add(new BookSummary((long) i, titulos[i % titulos.length] + ", volumen " + i,
+                    List.of("Dickens, Charles", "Cruikshank, George"), List.of("en", "fr"), 1000 + i));
+        }
+    }
+
+    @Benchmark
+    public String libroToString() {
+        return libro.toString();
+    }
+
+    @Benchmark
+    public String autorToString() {
+        return autor.toString();
+    }
+
+    // Sólo se mide la representación: el destino descarta lo escrito.
+    @Benchmark
+    public long listado() throws IOException {
+        try (RecordWriter salida = new RecordWriter(Writer.nullWriter(), formato)) {
+            salida.escribirTodos(listado);
+            return salida.registros();
+        }
+    }
+}
\ No newline at end of file
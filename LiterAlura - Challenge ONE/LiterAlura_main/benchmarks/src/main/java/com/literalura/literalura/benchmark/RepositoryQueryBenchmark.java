@@ -0,0 +1,82 @@
+package com.literalura.literalura.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.literalura.literalura.dto.DownloadStatistics;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.repository.BookRepository;
+
+// Consultas de BookRepository sobre el catálogo sintético en H2.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    private static final Pageable TOP_10 = PageRequest.of(0, 10);
+
+    private BookRepository repositorio;
+
+    @Setup
+    public void preparar(CatalogoH2 catalogo) {
+        repositorio = catalogo.bean(BookRepository.class);
+    }
+
+    @Benchmark
+    public List<Book> encontrarLibrosDesde() {
+        return repositorio.encontrarLibrosDesde(CatalogoH2.LIBROS / 2, Limit.of(100));
+    }
+
+    @Benchmark
+    public Set<String> encontrarIdiomas() {
+        return repositorio.encontrarIdiomas();
+    }
+
+    @Benchmark
+    public List<Book> encontrarTopLibros() {
+        return repositorio.encontrarTopLibros(TOP_10);
+    }
+
+    @Benchmark
+    public List<Book> encontrarTopLibrosXIdioma() {
+        return repositorio.encontrarTopLibrosXIdioma("fr", TOP_10);
+    }
+
+    @Benchmark
+    public List<Book> encontrarTopLibrosXAutor() {
+        return repositorio.encontrarTopLibrosXAutor("Autor 12,", TOP_10);
+    }
+
+    @Benchmark
+    public DownloadStatistics estadisticasDescargas() {
+        return repositorio.estadisticasDescargas();
+    }
+
+    @Benchmark
+    public List<DownloadStatistics> estadisticasPorIdioma() {
+        return repositorio.estadisticasPorIdioma();
+    }
+
+    @Benchmark
+    public List<DownloadStatistics> estadisticasPorAutor() {
+        return repositorio.estadisticasPorAutor(TOP_10);
+    }
+}
\ No newline at end of file
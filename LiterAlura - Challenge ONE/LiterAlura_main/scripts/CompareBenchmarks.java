@@ -0,0 +1,192 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Compara dos archivos de resultados JSON de JMH y marca las regresiones.
+ *
+ *   java scripts/CompareBenchmarks.java <antes.json> <despues.json> [umbral=10]
+ *
+ * Un benchmark empeora si su puntuación cambia más del umbral (en %) en la dirección mala
+ * (menos operaciones en modo thrpt, más tiempo en los demás modos) y además la diferencia
+ * es mayor que la suma de los márgenes de error de ambas ejecuciones.
+ * Termina con código 1 si hay alguna regresión, para poder usarlo en integración continua.
+ */
+public class CompareBenchmarks {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Uso: java scripts/CompareBenchmarks.java <antes.json> <despues.json> [umbral=10]");
+            System.exit(2);
+        }
+        double umbral = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, Resultado> antes = leer(Path.of(args[0]));
+        Map<String, Resultado> despues = leer(Path.of(args[1]));
+
+        int regresiones = 0;
+        System.out.printf("%-60s %14s %14s %9s%n", "benchmark", "antes", "después", "cambio");
+        for (Map.Entry<String, Resultado> entrada : despues.entrySet()) {
+            Resultado actual = entrada.getValue();
+            Resultado previo = antes.get(entrada.getKey());
+            if (previo == null) {
+                System.out.printf("%-60s %14s %14.3f %9s  nuevo%n", entrada.getKey(), "-", actual.puntuacion, "");
+                continue;
+            }
+            double cambio = (actual.puntuacion - previo.puntuacion) / previo.puntuacion * 100;
+            boolean mayorEsMejor = actual.modo.equals("thrpt");
+            double empeora = mayorEsMejor ? -cambio : cambio;
+            boolean fueraDelError = Math.abs(actual.puntuacion - previo.puntuacion) > actual.error + previo.error;
+            String marca = "";
+            if (empeora > umbral && fueraDelError) {
+                marca = "  REGRESIÓN";
+                regresiones++;
+            } else if (-empeora > umbral && fueraDelError) {
+                marca = "  mejora";
+            }
+            System.out.printf("%-60s %14.3f %14.3f %+8.1f%%%s%n", entrada.getKey(), previo.puntuacion,
+                    actual.puntuacion, cambio, marca);
+        }
+        for (String nombre : antes.keySet()) {
+            if (!despues.containsKey(nombre)) {
+                System.out.printf("%-60s  eliminado%n", nombre);
+            }
+        }
+        System.out.println(regresiones == 0 ? "Sin regresiones." : regresiones + " regresiones (umbral " + umbral + "%).");
+        System.exit(regresiones == 0 ? 0 : 1);
+    }
+
+    // Puntuación de un benchmark; la clave incluye el modo, la unidad y los parámetros.
+    private record Resultado(String modo, double puntuacion, double error) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Resultado> leer(Path archivo) throws IOException {
+        Map<String, Resultado> resultados = new TreeMap<>();
+        for (Object elemento : (List<Object>) new Json(Files.readString(archivo)).valor()) {
+            Map<String, Object> benchmark = (Map<String, Object>) elemento;
+            Map<String, Object> metrica = (Map<String, Object>) benchmark.get("primaryMetric");
+            String nombre = (String) benchmark.get("benchmark");
+            StringBuilder clave = new StringBuilder(nombre.substring(nombre.lastIndexOf('.', nombre.lastIndexOf('.') - 1) + 1));
+            Object parametros = benchmark.get("params");
+            if (parametros instanceof Map<?, ?> mapa) {
+                new TreeMap<>(mapa).forEach((k, v) -> clave.append(' ').append(k).append('=').append(v));
+            }
+            String modo = (String) benchmark.get("mode");
+            clave.append(" [").append(modo).append(", ").append(metrica.get("scoreUnit")).append(']');
+            double error = metrica.get("scoreError") instanceof Number n && !Double.isNaN(n.doubleValue()) ? n.doubleValue() : 0;
+            resultados.put(clave.toString(), new Resultado(modo, ((Number) metrica.get("score")).doubleValue(), error));
+        }
+        return resultados;
+    }
+
+    // Lector JSON mínimo: objetos, listas, cadenas, números, booleanos y null, suficiente para JMH.
+    private static final class Json {
+        private final String texto;
+        private int pos;
+
+        Json(String texto) {
+            this.texto = texto;
+        }
+
+        Object valor() {
+            espacios();
+            char c = texto.charAt(pos);
+            switch (c) {
+                case '{': {
+                    pos++;
+                    Map<String, Object> objeto = new LinkedHashMap<>();
+                    espacios();
+                    if (texto.charAt(pos) == '}') {
+                        pos++;
+                        return objeto;
+                    }
+                    while (true) {
+                        espacios();
+                        String clave = cadena();
+                        espacios();
+                        esperar(':');
+                        objeto.put(clave, valor());
+                        espacios();
+                        if (texto.charAt(pos++) == '}') {
+                            return objeto;
+                        }
+                    }
+                }
+                case '[': {
+                    pos++;
+                    List<Object> lista = new ArrayList<>();
+                    espacios();
+                    if (texto.charAt(pos) == ']') {
+                        pos++;
+                        return lista;
+                    }
+                    while (true) {
+                        lista.add(valor());
+                        espacios();
+                        if (texto.charAt(pos++) == ']') {
+                            return lista;
+                        }
+                    }
+                }
+                case '"':
+                    return cadena();
+                default:
+                    int inicio = pos;
+                    while (pos < texto.length() && ",}] \n\r\t".indexOf(texto.charAt(pos)) < 0) {
+                        pos++;
+                    }
+                    String literal = texto.substring(inicio, pos);
+                    return switch (literal) {
+                        case "true" -> true;
+                        case "false" -> false;
+                        case "null" -> null;
+                        case "NaN" -> Double.NaN;
+                        default -> Double.parseDouble(literal);
+                    };
+            }
+        }
+
+        private String cadena() {
+            esperar('"');
+            StringBuilder cadena = new StringBuilder();
+            char c;
+            while ((c = texto.charAt(pos++)) != '"') {
+                if (c == '\\') {
+                    char escape = texto.charAt(pos++);
+                    switch (escape) {
+                        case 'n' -> cadena.append('\n');
+                        case 't' -> cadena.append('\t');
+                        case 'r' -> cadena.append('\r');
+                        case 'b' -> cadena.append('\b');
+                        case 'f' -> cadena.append('\f');
+                        case 'u' -> {
+                            cadena.append((char) Integer.parseInt(texto.substring(pos, pos + 4), 16));
+                            pos += 4;
+                        }
+                        default -> cadena.append(escape);
+                    }
+                } else {
+                    cadena.append(c);
+                }
+            }
+            return cadena.toString();
+        }
+
+        private void esperar(char c) {
+            if (texto.charAt(pos++) != c) {
+                throw new IllegalArgumentException("JSON no válido: se esperaba '" + c + "' en la posición " + (pos - 1));
+            }
+        }
+
+        private void espacios() {
+            while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Prueba de carga sencilla para la API REST, sin dependencias: se ejecuta directamente con
+ *
+ *   java scripts/LoadTest.java <url> [hilos=16] [segundos=30] [etag=false] [gzip=ambos]
+ *
+ * Cada hilo repite peticiones GET a la URL durante el tiempo indicado. Con etag=true cada hilo
+ * reenvía el último ETag recibido en If-None-Match, como haría un cliente con caché.
+ * Con gzip=true las peticiones llevan Accept-Encoding: gzip, con gzip=false no, y con gzip=ambos
+ * (por defecto) se hace una ronda de cada tipo para comparar.
+ * Al terminar cada ronda muestra peticiones por segundo, latencias (p50, p90, p99, máxima), respuestas
+ * 304 y errores, y los bytes recibidos por respuesta y cuántas llegaron comprimidas.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Uso: java scripts/LoadTest.java <url> [hilos=16] [segundos=30] [etag=false] [gzip=ambos]");
+            return;
+        }
+        URI uri = URI.create(args[0]);
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        boolean etag = args.length > 3 && Boolean.parseBoolean(args[3]);
+        String gzip = args.length > 4 ? args[4] : "ambos";
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        // Calentamiento: unas peticiones antes de medir para que el servidor compile y construya los índices.
+        for (int i = 0; i < 50; i++) {
+            client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+        }
+
+        if (!gzip.equals("false")) {
+            ronda(client, uri, hilos, segundos, etag, true);
+        }
+        if (!gzip.equals("true")) {
+            ronda(client, uri, hilos, segundos, etag, false);
+        }
+    }
+
+    private static void ronda(HttpClient client, URI uri, int hilos, int segundos, boolean etag, boolean gzip)
+            throws Exception {
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        List<Future<Resultado>> futuros = new ArrayList<>();
+        for (int i = 0; i < hilos; i++) {
+            futuros.add(pool.submit(() -> ejecutar(client, uri, fin, etag, gzip)));
+        }
+
+        long[] latencias = new long[0];
+        long noModificadas = 0;
+        long errores = 0;
+        long bytes = 0;
+        long comprimidas = 0;
+        for (Future<Resultado> futuro : futuros) {
+            Resultado r = futuro.get();
+            int previo = latencias.length;
+            latencias = Arrays.copyOf(latencias, previo + r.cantidad);
+            System.arraycopy(r.latencias, 0, latencias, previo, r.cantidad);
+            noModificadas += r.noModificadas;
+            errores += r.errores;
+            bytes += r.bytes;
+            comprimidas += r.comprimidas;
+        }
+        pool.shutdown();
+        Arrays.sort(latencias);
+
+        System.out.printf("%s con %d hilos durante %d s%s, %s%n", uri, hilos, segundos, etag ? " (If-None-Match)" : "",
+                gzip ? "Accept-Encoding: gzip" : "sin compresión");
+        System.out.printf("Peticiones: %d (%.1f/s), 304: %d, errores: %d%n",
+                latencias.length, latencias.length / (double) segundos, noModificadas, errores);
+        System.out.printf("Latencia ms: p50 %.2f, p90 %.2f, p99 %.2f, máx %.2f%n",
+                percentil(latencias, 0.50), percentil(latencias, 0.90), percentil(latencias, 0.99),
+                latencias.length == 0 ? 0 : latencias[latencias.length - 1] / 1e6);
+        System.out.printf("Bytes por respuesta: %.0f, comprimidas con gzip: %d%n%n",
+                latencias.length == 0 ? 0 : bytes / (double) latencias.length, comprimidas);
+    }
+
+    // HttpClient no descomprime las respuestas: el cuerpo recibido es el que viajó por la red.
+    private static Resultado ejecutar(HttpClient client, URI uri, long fin, boolean usarEtag, boolean gzip) {
+        Resultado r = new Resultado();
+        String ultimoEtag = null;
+        while (System.nanoTime() < fin) {
+            HttpRequest.Builder peticion = HttpRequest.newBuilder(uri);
+            if (gzip) {
+                peticion.header("Accept-Encoding", "gzip");
+            }
+            if (usarEtag && ultimoEtag != null) {
+                peticion.header("If-None-Match", ultimoEtag);
+            }
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<byte[]> respuesta = client.send(peticion.build(), HttpResponse.BodyHandlers.ofByteArray());
+                r.agregar(System.nanoTime() - inicio);
+                r.bytes += respuesta.body().length;
+                if (respuesta.headers().firstValue("Content-Encoding").orElse("").equalsIgnoreCase("gzip")) {
+                    r.comprimidas++;
+                }
+                if (respuesta.statusCode() == 304) {
+                    r.noModificadas++;
+                } else if (respuesta.statusCode() >= 400) {
+                    r.errores++;
+                }
+                ultimoEtag = respuesta.headers().firstValue("ETag").orElse(ultimoEtag);
+            } catch (Exception e) {
+                r.agregar(System.nanoTime() - inicio);
+                r.errores++;
+            }
+        }
+        return r;
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, i)] / 1e6;
+    }
+
+    // Latencias en nanosegundos y contadores de un hilo.
+    private static final class Resultado {
+        long[] latencias = new long[1024];
+        int cantidad;
+        long noModificadas;
+        long errores;
+        long bytes;
+        long comprimidas;
+
+        void agregar(long nanos) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = nanos;
+        }
+    }
+}
\ No newline at end of file
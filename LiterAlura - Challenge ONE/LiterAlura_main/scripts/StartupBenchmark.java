@@ -0,0 +1,117 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Mide el arranque de la aplicación: tiempo desde que se lanza el proceso hasta que el menú
+ * pide una opción, y memoria residente máxima (VmHWM de /proc, sólo Linux) en ese momento.
+ * Después responde "0" para salir del menú y termina el proceso, que sigue atendiendo la API REST,
+ * antes de pasar a la siguiente ejecución.
+ *
+ *   java scripts/StartupBenchmark.java [--runs=5] "nombre::comando" ["nombre::comando" ...]
+ *
+ * La primera configuración se toma como referencia para calcular la mejora de las demás.
+ */
+public class StartupBenchmark {
+
+    private static final byte[] PROMPT = "Selecciona una opci".getBytes(StandardCharsets.US_ASCII);
+    private static final long LIMITE_SEGUNDOS = 180;
+
+    public static void main(String[] args) throws Exception {
+        int ejecuciones = 5;
+        List<String[]> configuraciones = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--runs=")) {
+                ejecuciones = Integer.parseInt(arg.substring("--runs=".length()));
+            } else {
+                int separador = arg.indexOf("::");
+                if (separador < 0) {
+                    throw new IllegalArgumentException("Se esperaba nombre::comando: " + arg);
+                }
+                configuraciones.add(new String[]{arg.substring(0, separador), arg.substring(separador + 2)});
+            }
+        }
+        if (configuraciones.isEmpty()) {
+            System.out.println("Uso: java scripts/StartupBenchmark.java [--runs=5] \"nombre::comando\" ...");
+            return;
+        }
+
+        double referencia = 0;
+        System.out.printf("%-12s %12s %12s %12s %12s%n", "config", "mediana ms", "mín ms", "RSS MB", "vs ref");
+        for (String[] configuracion : configuraciones) {
+            // Una ejecución de calentamiento para que el sistema de archivos tenga las clases en caché.
+            medir(configuracion[1]);
+            long[] tiempos = new long[ejecuciones];
+            long[] rss = new long[ejecuciones];
+            for (int i = 0; i < ejecuciones; i++) {
+                long[] medida = medir(configuracion[1]);
+                tiempos[i] = medida[0];
+                rss[i] = medida[1];
+            }
+            Arrays.sort(tiempos);
+            Arrays.sort(rss);
+            double mediana = tiempos[ejecuciones / 2] / 1e6;
+            if (referencia == 0) {
+                referencia = mediana;
+            }
+            System.out.printf("%-12s %12.0f %12.0f %12.1f %11.0f%%%n", configuracion[0], mediana, tiempos[0] / 1e6,
+                    rss[ejecuciones / 2] / 1024.0, (1 - mediana / referencia) * 100);
+        }
+    }
+
+    // Devuelve {nanosegundos hasta el menú, RSS máximo en KB}.
+    private static long[] medir(String comando) throws IOException, InterruptedException {
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando.trim().split("\\s+"))
+                .redirectErrorStream(true)
+                .start();
+        try {
+            esperarPrompt(proceso.getInputStream());
+            long nanos = System.nanoTime() - inicio;
+            long rss = rssMaximo(proceso.pid());
+            try (OutputStream entrada = proceso.getOutputStream()) {
+                entrada.write("0\n".getBytes(StandardCharsets.US_ASCII));
+            }
+            // Al salir del menú el servidor web sigue en marcha: se termina el proceso (SIGTERM).
+            proceso.destroy();
+            if (!proceso.waitFor(LIMITE_SEGUNDOS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("La aplicación no terminó después de salir del menú");
+            }
+            return new long[]{nanos, rss};
+        } finally {
+            proceso.destroyForcibly();
+        }
+    }
+
+    private static void esperarPrompt(InputStream salida) throws IOException {
+        int coincidencias = 0;
+        int b;
+        while ((b = salida.read()) != -1) {
+            coincidencias = b == PROMPT[coincidencias] ? coincidencias + 1 : (b == PROMPT[0] ? 1 : 0);
+            if (coincidencias == PROMPT.length) {
+                return;
+            }
+        }
+        throw new IllegalStateException("La aplicación terminó sin mostrar el menú");
+    }
+
+    private static long rssMaximo(long pid) {
+        try {
+            for (String linea : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (linea.startsWith("VmHWM:")) {
+                    return Long.parseLong(linea.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Fuera de Linux no hay /proc: se informa 0.
+        }
+        return 0;
+    }
+}
\ No newline at end of file
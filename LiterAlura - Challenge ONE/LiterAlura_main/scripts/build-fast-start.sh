@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+#
+# Prepara la versión de arranque rápido en target/fast-start:
+#   1. Compila con el perfil "arranque-rapido" (contexto de Spring procesado con AOT).
+#   2. Extrae el jar (jar de la aplicación + lib/), necesario para que la JVM pueda usar CDS.
+#   3. Hace una ejecución de entrenamiento que arranca el contexto, sale y guarda las clases
+#      cargadas en un archivo CDS (app.jsa).
+#
+# La ejecución de entrenamiento inicializa Hibernate, así que necesita la base de datos
+# (DB_HOST, DB_USER y DB_PASSWORD, igual que la aplicación).
+#
+# Uso: scripts/build-fast-start.sh
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+DESTINO=target/fast-start
+OPCIONES="-Dspring.aot.enabled=true -Dspring.main.lazy-initialization=true"
+
+mvn -q -B -Parranque-rapido -DskipTests package
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -n 1)
+
+rm -rf "$DESTINO"
+java -Djarmode=tools -jar "$JAR" extract --destination "$DESTINO"
+APP="$DESTINO/$(basename "$JAR")"
+
+# spring.context.exit=onRefresh termina en cuanto el contexto está listo, sin mostrar el menú.
+java -XX:ArchiveClassesAtExit="$DESTINO/app.jsa" -Dspring.context.exit=onRefresh $OPCIONES -jar "$APP"
+
+echo
+echo "Para ejecutar la versión de arranque rápido:"
+echo "  java -XX:SharedArchiveFile=$DESTINO/app.jsa $OPCIONES -jar $APP"
@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+#
+# Ejecuta los benchmarks JMH del módulo benchmarks/ y guarda los resultados en JSON.
+#
+# Uso: scripts/run-benchmarks.sh [resultados.json] [opciones de JMH...]
+#   scripts/run-benchmarks.sh target/jmh-antes.json
+#   scripts/run-benchmarks.sh target/jmh-despues.json -f 2 RepositoryQuery
+#
+# Para comparar dos ejecuciones: java scripts/CompareBenchmarks.java antes.json despues.json
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RESULTADOS=$(realpath -m "${1:-target/jmh-result.json}")
+shift || true
+mkdir -p "$(dirname "$RESULTADOS")"
+
+mvn -q -B -f benchmarks/pom.xml package exec:exec \
+    -Djmh.resultados="$RESULTADOS" -Djmh.opciones="$*"
+echo "Resultados en $RESULTADOS"
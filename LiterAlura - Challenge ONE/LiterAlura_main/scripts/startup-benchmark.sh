@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+#
+# Compara el arranque de la compilación normal con la de arranque rápido: tiempo hasta que
+# aparece el menú y memoria residente máxima (RSS) en ese momento.
+#
+# Uso: scripts/startup-benchmark.sh [ejecuciones=5]
+# Necesita la base de datos configurada (DB_HOST, DB_USER y DB_PASSWORD).
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+EJECUCIONES=${1:-5}
+BASE=target/baseline
+
+mvn -q -B -DskipTests package
+rm -rf "$BASE"
+mkdir -p "$BASE"
+cp "$(ls target/*.jar | grep -v '\.original$' | head -n 1)" "$BASE/app.jar"
+
+scripts/build-fast-start.sh
+APP=$(ls target/fast-start/*.jar | head -n 1)
+
+java scripts/StartupBenchmark.java --runs="$EJECUCIONES" \
+    "normal::java -jar $BASE/app.jar" \
+    "rapido::java -XX:SharedArchiveFile=target/fast-start/app.jsa -Dspring.aot.enabled=true -Dspring.main.lazy-initialization=true -jar $APP"
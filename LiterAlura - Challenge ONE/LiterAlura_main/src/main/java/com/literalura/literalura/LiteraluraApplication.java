@@ -1,39 +1,170 @@
 package com.literalura.literalura;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.Banner;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import com.literalura.literalura.service.BookService;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.config.TaskManagementConfigUtils;
+import org.springframework.util.ClassUtils;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.literalura.literalura.cli.BatchRunner;
 
 /*
  * Clase principal de la aplicación Spring Boot.
  * Implementa CommandLineRunner para ejecutar el código al iniciar la aplicación.
  */
 @SpringBootApplication
-public class LiteraluraApplication implements CommandLineRunner {
+@EnableScheduling
+public class LiteraluraApplication implements CommandLineRunner, ExitCodeGenerator {
+
+	// Inyección del menú interactivo, que recibe a su vez los servicios de la aplicación.
+	// Se obtienen al ejecutarse: las pruebas de repositorios (@DataJpaTest) cargan esta clase sin
+	// el menú ni el modo por lotes.
+	@Autowired
+	private ObjectProvider<Principal> principal;
 
-	// Inyección de dependencias del servicio BookService
+	// Operaciones sin menú, elegidas con argumentos de línea de comandos.
 	@Autowired
-	private BookService servicio;
+	private ObjectProvider<BatchRunner> lotes;
+
+	// Con false la aplicación arranca sólo como servidor de la API REST, sin menú interactivo.
+	@Value("${literalura.menu.habilitado:true}")
+	private boolean menuHabilitado;
+
+	private int codigoSalida;
 
 	/*
 	 * Método principal que inicia la aplicación Spring Boot.
-	 * @param args Argumentos de línea de comandos (no utilizados aquí).
+	 * Si los argumentos piden una operación por lotes (por ejemplo --stats), la aplicación arranca
+	 * sin servidor web ni menú, ejecuta esa operación y termina con su código de salida.
+	 * @param args Argumentos de línea de comandos.
 	 */
 	public static void main(String[] args) {
-		SpringApplication.run(LiteraluraApplication.class, args);
+		if (!BatchRunner.solicitado(args)) {
+			SpringApplication.run(LiteraluraApplication.class, args);
+			return;
+		}
+		SpringApplication aplicacion = new SpringApplication(LiteraluraApplication.class);
+		aplicacion.setBannerMode(Banner.Mode.OFF);
+		Map<String, Object> propiedades = new HashMap<>();
+		// La salida estándar queda reservada para los resultados; los registros se pueden
+		// volver a mostrar con --logging.threshold.console=INFO.
+		propiedades.put("logging.threshold.console", "OFF");
+		if (AotDetector.useGeneratedArtifacts()) {
+			// Con AOT los beans del servidor web se fijan al compilar: el contexto sigue siendo web,
+			// pero sin abrir el puerto HTTP.
+			propiedades.put("server.port", "-1");
+		} else {
+			aplicacion.setWebApplicationType(WebApplicationType.NONE);
+		}
+		aplicacion.setDefaultProperties(propiedades);
+		System.exit(SpringApplication.exit(aplicacion.run(args)));
 	}
 
 	/*
 	 * Método que se ejecuta después de que la aplicación Spring Boot se haya iniciado.
-	 * Aquí se crea una instancia de Principal y se muestra el menú.
-	 * @param args Argumentos de línea de comandos (no utilizados aquí).
+	 * Aquí se ejecuta la operación por lotes pedida o, si no hay ninguna, se muestra el menú
+	 * de Principal, salvo que esté deshabilitado.
+	 * @param args Argumentos de línea de comandos.
 	 * @throws Exception En caso de que ocurra algún error durante la ejecución.
 	 */
 	@Override
 	public void run(String... args) throws Exception {
-		Principal miPrincipal = new Principal(servicio);
-		miPrincipal.mostrarMenu();
+		if (BatchRunner.solicitado(args)) {
+			codigoSalida = lotes.getObject().ejecutar(args);
+		} else if (menuHabilitado) {
+			principal.ifAvailable(Principal::mostrarMenu);
+		}
+	}
+
+	/*
+	 * Con spring.main.lazy-initialization=true (arranque rápido) los beans se crean al usarse
+	 * por primera vez. Se excluyen los que tienen que existir desde el arranque:
+	 * - Las migraciones de Flyway, que crean las tablas y los índices únicos que usan las
+	 *   escrituras masivas.
+	 * - Los beans de la aplicación con métodos @Scheduled, porque las tareas sólo se programan
+	 *   al crear el bean (MetricsSummaryLogger, CatalogRefresher).
+	 * - Los beans de la aplicación que escuchan eventos (@EventListener y
+	 *   @TransactionalEventListener), para que las cachés y los índices reciban también los
+	 *   cambios del catálogo anteriores a su primer uso.
+	 */
+	@Bean
+	static LazyInitializationExcludeFilter inicializacionAlArrancar() {
+		LazyInitializationExcludeFilter migraciones = LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class);
+		return (nombre, definicion, tipo) -> tipo != null && (migraciones.isExcluded(nombre, definicion, tipo) || tareasOEventos(tipo));
+	}
+
+	// Indica si la clase es de la aplicación y tiene métodos @Scheduled o que escuchan eventos.
+	static boolean tareasOEventos(Class<?> tipo) {
+		if (!tipo.getName().startsWith(LiteraluraApplication.class.getPackageName() + ".")) {
+			return false;
+		}
+		return !MethodIntrospector.selectMethods(ClassUtils.getUserClass(tipo),
+				(MethodIntrospector.MetadataLookup<Boolean>) metodo ->
+						AnnotatedElementUtils.hasAnnotation(metodo, Scheduled.class)
+								|| AnnotatedElementUtils.hasAnnotation(metodo, EventListener.class) ? Boolean.TRUE : null)
+				.isEmpty();
+	}
+
+	/*
+	 * En el modo por lotes no se programan tareas (@Scheduled): una operación larga, como el rastreo
+	 * del catálogo, no debe coincidir con el refresco programado ni con el resumen de métricas.
+	 * Se quita el procesador de @Scheduled antes de crear los beans. Las condiciones de propiedades
+	 * no sirven aquí porque con AOT se evalúan al compilar, no al arrancar.
+	 */
+	@Bean
+	static BeanFactoryPostProcessor sinTareasProgramadasEnLotes() {
+		return fabrica -> {
+			ApplicationArguments argumentos = fabrica.getBeanProvider(ApplicationArguments.class).getIfAvailable();
+			String procesador = TaskManagementConfigUtils.SCHEDULED_ANNOTATION_PROCESSOR_BEAN_NAME;
+			if (argumentos != null && BatchRunner.solicitado(argumentos.getSourceArgs())
+					&& fabrica instanceof BeanDefinitionRegistry registro && registro.containsBeanDefinition(procesador)) {
+				registro.removeBeanDefinition(procesador);
+			}
+		};
+	}
+
+	/*
+	 * Módulo Blackbird de Jackson: los DTO se leen y escriben con accesos generados en tiempo de
+	 * ejecución (LambdaMetafactory) en lugar de reflexión. Se registra en el ObjectMapper compartido,
+	 * después de los módulos de Spring Boot. Se desactiva con literalura.json.blackbird=false.
+	 * La propiedad se lee al crear el ObjectMapper y no con una condición sobre el bean, que la versión
+	 * de arranque rápido (AOT) evaluaría al compilar.
+	 */
+	@Bean
+	static Jackson2ObjectMapperBuilderCustomizer moduloBlackbird(Environment entorno) {
+		return builder -> {
+			if (entorno.getProperty("literalura.json.blackbird", Boolean.class, true)) {
+				builder.postConfigurer(mapper -> mapper.registerModule(new BlackbirdModule()));
+			}
+		};
+	}
+
+	@Override
+	public int getExitCode() {
+		return codigoSalida;
 	}
 }
\ No newline at end of file
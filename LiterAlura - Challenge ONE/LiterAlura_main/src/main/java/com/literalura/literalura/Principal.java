@@ -1,18 +1,44 @@
 package com.literalura.literalura;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.InputMismatchException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
+import org.springframework.stereotype.Component;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.dto.BookSummary;
 import com.literalura.literalura.dto.DataBook;
 import com.literalura.literalura.dto.DataResults;
+import com.literalura.literalura.index.AuthorAutocompleteIndex;
+import com.literalura.literalura.index.AuthorLifespanIndex;
+import com.literalura.literalura.index.BookSearchIndex;
+import com.literalura.literalura.index.LanguageIndex;
+import com.literalura.literalura.render.RecordWriter;
 import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.BulkTitleImporter;
+import com.literalura.literalura.service.CatalogCrawler;
+import com.literalura.literalura.service.CatalogCsvImporter;
 import com.literalura.literalura.service.ConexionAPI;
 import com.literalura.literalura.service.ConvierteDatos;
+import com.literalura.literalura.service.GutendexResponseCache;
+import com.literalura.literalura.service.ImportacionEnCursoException;
 
 //Clase que gestiona la interacción del usuario con el catálogo de libros.
+@Component
 public class Principal {
-    // Definición de constantes para el menú y los idiomas soportados.
+    // Definición de constantes para el menú.
     private static final String MENU =
             "\n\n\t\t\t\t\t    BIBLIOTECA DIGITAL\n\n" +
                     "----------------- MENÚ PRINCIPAL -----------------\n" +
@@ -22,25 +48,71 @@ public class Principal {
                     "4. Listar autores vivos en un determinado año\n" +
                     "5. Listar libros por idioma\n" +
                     "6. Visualizar datos estadísticos\n" +
-                    "7. Mostrar top 10 libros descargados\n" +
+                    "7. Mostrar ranking de libros más descargados\n" +
                     "8. Buscar autor por nombre\n" +
                     "9. Listar autores que nacieron y murieron en un determinado rango de años\n" +
+                    "10. Importar el catálogo completo de Gutendex\n" +
+                    "11. Importar libros desde un archivo de títulos\n" +
+                    "12. Importar el catálogo de Project Gutenberg desde un archivo CSV\n" +
+                    "13. Buscar en el catálogo local por título o autor\n" +
                     "0. Salir de la aplicación\n";
 
-    private static final String[] IDIOMAS = {"es", "en", "fr", "pt"};
+    // Cantidad de libros del ranking cuando no se indica otra.
+    private static final int TOP_POR_DEFECTO = 10;
+
+    // Filas por página en los listados del menú.
+    private static final int TAMANO_PAGINA = 20;
+
+    // Sugerencias que se muestran al buscar un autor por nombre.
+    private static final int SUGERENCIAS_AUTOR = 10;
+
+    // Columnas de los listados de libros y de autores.
+    private static final List<String> COLUMNAS_LIBRO = List.of("title", "authors", "languages", "totalDownloads");
+    private static final List<String> COLUMNAS_AUTOR = List.of("name", "yearBirth", "yearDeath", "books");
+
+    // Salida de las tablas. Se vacía antes de cada pregunta al usuario, que se escribe con System.out.
+    private final Writer consola = new BufferedWriter(new OutputStreamWriter(System.out));
 
     // Dependencias del servicio.
-    private ConexionAPI connection = new ConexionAPI();
-    private ConvierteDatos convertidor = new ConvierteDatos();
+    private ConexionAPI connection;
+    private ConvierteDatos convertidor;
     private Scanner teclado = new Scanner(System.in);
     private BookService servicio;
+    private CatalogCrawler crawler;
+    private BulkTitleImporter importador;
+    private CatalogCsvImporter importadorCsv;
+    private BookSearchIndex indiceBusqueda;
+    private AuthorAutocompleteIndex indiceAutores;
+    private AuthorLifespanIndex indiceVidas;
+    private LanguageIndex indiceIdiomas;
 
     /*
-     * Constructor que recibe el servicio de libros.
-     * @param servicio Instancia de BookService para gestionar las operaciones con los libros.
+     * Constructor que recibe los servicios de la aplicación.
+     * @param servicio       Instancia de BookService para gestionar las operaciones con los libros.
+     * @param crawler        Instancia de CatalogCrawler para importar el catálogo completo.
+     * @param importador     Instancia de BulkTitleImporter para importar listas de títulos.
+     * @param importadorCsv  Instancia de CatalogCsvImporter para importar el catálogo offline.
+     * @param connection     Instancia de ConexionAPI, compartida para aprovechar la caché de búsquedas.
+     * @param convertidor    Instancia de ConvierteDatos, el conversor de JSON compartido por la aplicación.
+     * @param indiceBusqueda Instancia de BookSearchIndex para buscar en el catálogo local.
+     * @param indiceAutores  Instancia de AuthorAutocompleteIndex para sugerir autores por nombre.
+     * @param indiceVidas    Instancia de AuthorLifespanIndex para buscar autores por años de vida.
+     * @param indiceIdiomas  Instancia de LanguageIndex para filtrar libros por idioma.
      */
-    public Principal(BookService servicio) {
+    public Principal(BookService servicio, CatalogCrawler crawler, BulkTitleImporter importador,
+                     CatalogCsvImporter importadorCsv, ConexionAPI connection, ConvierteDatos convertidor,
+                     BookSearchIndex indiceBusqueda, AuthorAutocompleteIndex indiceAutores,
+                     AuthorLifespanIndex indiceVidas, LanguageIndex indiceIdiomas) {
         this.servicio = servicio;
+        this.crawler = crawler;
+        this.importador = importador;
+        this.importadorCsv = importadorCsv;
+        this.connection = connection;
+        this.convertidor = convertidor;
+        this.indiceBusqueda = indiceBusqueda;
+        this.indiceAutores = indiceAutores;
+        this.indiceVidas = indiceVidas;
+        this.indiceIdiomas = indiceIdiomas;
     }
 
     // Muestra el menú principal y gestiona la interacción del usuario.
@@ -49,7 +121,7 @@ public class Principal {
 
         while (true) {
             try {
-                System.out.print("\nSelecciona una opción (0-9): ");
+                System.out.print("\nSelecciona una opción (0-13): ");
                 int opcion = Integer.parseInt(teclado.nextLine());
                 if (opcion == 0) {
                     System.out.println("Gracias por usar la aplicación. ¡Hasta pronto!");
@@ -57,7 +129,7 @@ public class Principal {
                 }
                 procesarOpcion(opcion);
             } catch (NumberFormatException e) {
-                System.out.println("¡Opción no válida! Por favor, ingresa un número del 0 al 9.");
+                System.out.println("¡Opción no válida! Por favor, ingresa un número del 0 al 13.");
             }
         }
     }
@@ -87,7 +159,7 @@ public class Principal {
                 mostrarDatosEstadisticos();
                 break;
             case 7:
-                listarTop10Libros();
+                listarTopLibros();
                 break;
             case 8:
                 buscarAutorXNombre();
@@ -95,81 +167,360 @@ public class Principal {
             case 9:
                 listarAutoresVivosDentroDeRango();
                 break;
+            case 10:
+                importarCatalogo();
+                break;
+            case 11:
+                importarTitulos();
+                break;
+            case 12:
+                importarCatalogoCsv();
+                break;
+            case 13:
+                buscarEnCatalogo();
+                break;
             default:
                 System.out.println("¡Opción no válida! Por favor, elige una opción del menú.");
         }
         System.out.println("\nRegresando al menú principal...");
     }
 
-    // Lista autores vivos dentro de un rango de años.
+    // Importa el catálogo completo de Gutendex, reanudando desde el último punto de control si existe.
+    private void importarCatalogo() {
+        System.out.println("Importando el catálogo completo de Gutendex. Esto puede tardar varios minutos...");
+        try {
+            CatalogCrawler.CrawlResult resultado = crawler.crawl();
+            System.out.printf("Páginas procesadas: %d%nLibros leídos: %d%nLibros nuevos guardados: %d%nVelocidad: %.1f libros/s%n",
+                    resultado.paginas(), resultado.librosLeidos(), resultado.librosGuardados(), resultado.librosPorSegundo());
+            if (!resultado.completo()) {
+                System.out.println("La importación se detuvo antes del final. Vuelve a ejecutarla para continuar.");
+            }
+        } catch (ImportacionEnCursoException e) {
+            System.out.println(e.getMessage() + ". Espera a que termine y vuelve a intentarlo.");
+        } catch (Exception e) {
+            System.out.println("La importación se interrumpió: " + e.getMessage()
+                    + ". Vuelve a ejecutarla para continuar desde el último punto guardado.");
+        }
+    }
+
+    // Importa los libros cuyos títulos aparecen en un archivo, uno por línea.
+    private void importarTitulos() {
+        System.out.print("Ingresa la ruta del archivo de títulos (uno por línea): ");
+        Path archivo = Path.of(teclado.nextLine().trim());
+        if (!Files.isReadable(archivo)) {
+            System.out.println("No se puede leer el archivo " + archivo + ".");
+            return;
+        }
+        try {
+            BulkTitleImporter.ImportReport informe = importador.importar(archivo);
+            for (BulkTitleImporter.TitleResult r : informe.resultados()) {
+                System.out.printf("[%s] %s -> %s%n", r.estado(), r.titulo(), r.detalle());
+            }
+            System.out.printf("Títulos procesados: %d%nGuardados: %d%nLibros nuevos: %d%nVelocidad: %.1f títulos/s%n",
+                    informe.resultados().size(), informe.exitosos(), informe.librosNuevos(), informe.titulosPorSegundo());
+        } catch (Exception e) {
+            System.out.println("Error al importar los títulos: " + e.getMessage());
+        }
+    }
+
+    // Importa el catálogo de Project Gutenberg (pg_catalog.csv) desde disco, sin llamar a Gutendex.
+    private void importarCatalogoCsv() {
+        System.out.print("Ingresa la ruta del archivo pg_catalog.csv: ");
+        Path archivo = Path.of(teclado.nextLine().trim());
+        if (!Files.isReadable(archivo)) {
+            System.out.println("No se puede leer el archivo " + archivo + ".");
+            return;
+        }
+        try {
+            CatalogCsvImporter.CsvImportResult resultado = importadorCsv.importar(archivo);
+            System.out.printf("Filas leídas: %d%nLibros nuevos: %d%nFilas descartadas: %d%nVelocidad: %.0f filas/s%n",
+                    resultado.filas(), resultado.librosNuevos(), resultado.descartadas(), resultado.filasPorSegundo());
+        } catch (Exception e) {
+            System.out.println("Error al importar el catálogo: " + e.getMessage());
+        }
+    }
+
+    // Busca libros registrados por palabras del título o del autor, sin salir a la red.
+    private void buscarEnCatalogo() {
+        System.out.print("Ingresa las palabras a buscar (título o autor): ");
+        String consulta = teclado.nextLine().trim();
+        if (consulta.isEmpty()) {
+            System.out.println("La búsqueda no puede estar vacía.");
+            return;
+        }
+        long inicio = System.nanoTime();
+        List<BookSearchIndex.SearchHit> resultados = indiceBusqueda.buscar(consulta, TAMANO_PAGINA);
+        double milisegundos = (System.nanoTime() - inicio) / 1_000_000.0;
+        if (resultados.isEmpty()) {
+            System.out.println("No se encontraron libros registrados para \"" + consulta + "\".");
+            return;
+        }
+        for (BookSearchIndex.SearchHit r : resultados) {
+            System.out.println(formatoLibro(r.libro()));
+        }
+        System.out.printf("-- %d resultados en %.2f ms%n", resultados.size(), milisegundos);
+    }
+
+    // Lista los autores que nacieron y murieron dentro de un rango de años.
     private void listarAutoresVivosDentroDeRango() {
         try {
             System.out.println("¡Descubre autores que nos inspiraron en un rango de años!");
-            int anioDesde = obtenerAno("Ingresa el año de inicio (año desde el cual deseas buscar autores vivos): ");
-            int anioHasta = obtenerAno("Ingresa el año final (año hasta el cual deseas buscar autores vivos): ");
-            servicio.getAuthorsAliveRange(anioDesde, anioHasta);
+            int anioDesde = obtenerAno("Ingresa el año de inicio del rango: ");
+            int anioHasta = obtenerAno("Ingresa el año final del rango: ");
+            mostrarPorPaginas(paginas(indiceVidas.nacidosYMuertosEntre(anioDesde, anioHasta)), COLUMNAS_AUTOR);
         } catch (NumberFormatException e) {
             System.out.println("Por favor, ingresa un número válido para los años.");
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + ".");
         }
     }
 
-    // Busca un autor por su nombre.
+    /*
+     * Busca un autor por su nombre. Basta con el comienzo de cualquier parte del nombre
+     * y se toleran errores de escritura; el usuario elige entre las sugerencias.
+     */
     private void buscarAutorXNombre() {
         System.out.println("¡Descubre a tus autores favoritos!");
         System.out.print("Ingresa el nombre del autor que deseas buscar: ");
         String nombre = teclado.nextLine().trim();
-        if (!nombre.isEmpty()) {
-            servicio.getAutor(nombre);
-        } else {
+        if (nombre.isEmpty()) {
             System.out.println("El nombre del autor no puede estar vacío.");
+            return;
+        }
+        List<AuthorSummary> sugerencias = indiceAutores.sugerir(nombre, SUGERENCIAS_AUTOR);
+        if (sugerencias.isEmpty()) {
+            System.out.println("No se encontraron autores registrados para \"" + nombre + "\".");
+            return;
+        }
+        for (int i = 0; i < sugerencias.size(); i++) {
+            System.out.println((i + 1) + ". " + formatoAutor(sugerencias.get(i)));
+        }
+        System.out.print("Elige un autor (1-" + sugerencias.size() + ", Enter = 1): ");
+        String eleccion = teclado.nextLine().trim();
+        try {
+            int indice = eleccion.isEmpty() ? 1 : Integer.parseInt(eleccion);
+            if (indice < 1 || indice > sugerencias.size()) {
+                System.out.println("¡Opción no válida!");
+                return;
+            }
+            try (RecordWriter tabla = tabla(COLUMNAS_LIBRO)) {
+                if (!servicio.getAutor(sugerencias.get(indice - 1).id(), tabla)) {
+                    System.out.println("El autor ya no está registrado.");
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Por favor, ingresa un número válido.");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
-    // Lista los 10 libros más descargados.
-    private void listarTop10Libros() {
-        servicio.getTopBooks();
+    // Muestra los N libros más descargados, con filtros opcionales por idioma y autor.
+    private void listarTopLibros() {
+        System.out.print("¿Cuántos libros quieres ver? (Enter = " + TOP_POR_DEFECTO + "): ");
+        String cantidad = teclado.nextLine().trim();
+        int n;
+        try {
+            n = cantidad.isEmpty() ? TOP_POR_DEFECTO : Integer.parseInt(cantidad);
+        } catch (NumberFormatException e) {
+            System.out.println("Por favor, ingresa un número válido.");
+            return;
+        }
+        if (n <= 0) {
+            System.out.println("La cantidad debe ser mayor que 0.");
+            return;
+        }
+        System.out.print("Filtrar por idioma (Enter = todos): ");
+        String idioma = teclado.nextLine().trim();
+        System.out.print("Filtrar por autor (Enter = todos): ");
+        String autor = teclado.nextLine().trim();
+
+        List<BookSummary> ranking = servicio.getTopBooks(n, idioma, autor);
+        if (ranking.isEmpty()) {
+            System.out.println("No hay libros registrados que cumplan los filtros.");
+        }
+        for (int i = 0; i < ranking.size(); i++) {
+            BookSummary libro = ranking.get(i);
+            System.out.printf("%d. %s - %s [%s] - %d descargas%n", i + 1, libro.title(),
+                    String.join(", ", libro.authors()), String.join(", ", libro.languages()), libro.totalDownloads());
+        }
     }
 
     // Muestra datos estadísticos.
     private void mostrarDatosEstadisticos() {
-        servicio.getStadisticData();
+        try (RecordWriter tabla = tabla(List.of())) {
+            servicio.getStadisticData(tabla);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        GutendexResponseCache.Estadisticas cache = connection.estadisticasCache();
+        if (cache != null) {
+            System.out.printf("%n----- CACHÉ DE BÚSQUEDAS -----%n" +
+                            "Aciertos (memoria/disco): %d/%d%nFallos: %d%nCaducadas: %d (revalidadas con 304: %d)%n" +
+                            "Desalojos (memoria/disco): %d/%d%nTasa de aciertos: %.1f%%%n",
+                    cache.aciertosMemoria(), cache.aciertosDisco(), cache.fallos(), cache.caducadas(), cache.revalidadas(),
+                    cache.desalojosMemoria(), cache.desalojosDisco(), cache.tasaAciertos() * 100);
+        }
     }
 
-    // Lista libros por idioma.
+    /*
+     * Lista libros por idioma. Se ofrecen los idiomas que tienen libros registrados y se puede
+     * elegir más de uno: "en,fr" muestra los libros en cualquiera de ellos y "en+fr" los que
+     * están en todos.
+     */
     private void listarLibroXIdioma() {
+        List<LanguageIndex.LanguageCount> disponibles = indiceIdiomas.idiomas();
+        if (disponibles.isEmpty()) {
+            System.out.println("Todavía no hay libros registrados.");
+            return;
+        }
         System.out.println("¡Viaja a través de las letras del mundo!");
         System.out.println("........................................");
         System.out.println("Descubre libros en diferentes idiomas:");
-        for (String idioma : IDIOMAS) {
-            System.out.println("• " + idioma);
+        for (LanguageIndex.LanguageCount idioma : disponibles) {
+            System.out.println("• " + idioma.idioma() + " (" + idioma.libros() + " libros)");
         }
-        System.out.print("Elige el idioma que te gustaría explorar: ");
-        String lenguaje = teclado.nextLine().trim();
-        if (lenguajeValido(lenguaje)) {
-            servicio.listBooksByLanguage(lenguaje);
-        } else {
+        System.out.print("Elige el idioma que te gustaría explorar (\"en,fr\" = cualquiera, \"en+fr\" = todos): ");
+        String entrada = teclado.nextLine().trim().toLowerCase(Locale.ROOT);
+        boolean todos = entrada.contains("+");
+        List<String> idiomas = new ArrayList<>();
+        for (String idioma : entrada.split(todos ? "\\+" : ",")) {
+            if (!idioma.isBlank()) {
+                idiomas.add(idioma.trim());
+            }
+        }
+        if (idiomas.isEmpty() || !idiomas.stream().allMatch(i -> disponibles.stream().anyMatch(d -> d.idioma().equals(i)))) {
             System.out.println("Idioma no válido. Por favor, elige uno de la lista.");
+            return;
+        }
+
+        List<Long> ids = indiceIdiomas.filtrar(idiomas, todos);
+        mostrarPorPaginas(paginasDeLibros(ids), COLUMNAS_LIBRO);
+        if (!ids.isEmpty()) {
+            StringBuilder facetas = new StringBuilder("Idiomas de estos libros:");
+            for (LanguageIndex.LanguageCount faceta : indiceIdiomas.facetas(idiomas, todos)) {
+                facetas.append(' ').append(faceta.idioma()).append(" (").append(faceta.libros()).append(')');
+            }
+            System.out.println(facetas);
         }
     }
 
-    // Lista autores vivos en un determinado año.
+    // Páginas de libros a partir de sus IDs; cada página se consulta cuando se va a mostrar.
+    private Iterator<List<BookSummary>> paginasDeLibros(List<Long> ids) {
+        Iterator<List<Long>> paginas = paginas(ids);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return paginas.hasNext();
+            }
+
+            @Override
+            public List<BookSummary> next() {
+                List<BookSummary> libros = new ArrayList<>(servicio.getBookSummaries(paginas.next()));
+                libros.sort((a, b) -> Long.compare(a.id(), b.id()));
+                return libros;
+            }
+        };
+    }
+
+    /*
+     * Lista los autores vivos en un determinado año, o en algún momento de un rango si se indica
+     * un año final. Los años desconocidos se estiman con la vida máxima configurada.
+     */
     private void listarAutoresVivos() {
         try {
             System.out.println("¡Descubre autores que aún nos inspiran!");
-            int anio = obtenerAno("Ingresa el año desde el cual deseas ver autores vivos: ");
-            servicio.listAuthorsAlive(anio);
+            int anio = obtenerAno("Ingresa el año en el que deseas ver autores vivos: ");
+            System.out.print("Ingresa un año final para ver un rango (Enter = sólo " + anio + "): ");
+            String hasta = teclado.nextLine().trim();
+            List<AuthorSummary> autores = hasta.isEmpty()
+                    ? indiceVidas.vivosEn(anio)
+                    : indiceVidas.vivosDurante(anio, Integer.parseInt(hasta));
+            mostrarPorPaginas(paginas(autores), COLUMNAS_AUTOR);
         } catch (NumberFormatException e) {
             System.out.println("Por favor, ingresa un número válido para el año.");
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + ".");
         }
     }
 
     // Lista todos los libros registrados.
     private void listarAutores() {
-        servicio.listAuthors();
+        mostrarPorPaginas(servicio.cursorAuthors(TAMANO_PAGINA), COLUMNAS_AUTOR);
     }
 
     // Busca un libro por su título.
     private void listarLibros() {
-        servicio.listBooks();
+        mostrarPorPaginas(servicio.cursorBooks(TAMANO_PAGINA), COLUMNAS_LIBRO);
+    }
+
+    /*
+     * Muestra un listado página a página como tabla. Cada página se consulta sólo cuando el usuario
+     * pide verla, así que el listado empieza de inmediato aunque el catálogo sea grande.
+     * Los anchos de las columnas se fijan con la primera página.
+     * @param cursor   Cursor del listado, o sus páginas si ya está cargado.
+     * @param columnas Componentes del record que se muestran.
+     */
+    private <T extends Record> void mostrarPorPaginas(Iterator<List<T>> cursor, List<String> columnas) {
+        try (RecordWriter tabla = tabla(columnas)) {
+            while (cursor.hasNext()) {
+                tabla.escribirTodos(cursor.next());
+                if (!cursor.hasNext()) {
+                    break;
+                }
+                tabla.flush();
+                System.out.print("-- " + tabla.registros() + " mostrados. Enter para ver más, 'q' para volver al menú: ");
+                if (teclado.nextLine().trim().equalsIgnoreCase("q")) {
+                    return;
+                }
+            }
+            tabla.flush();
+            System.out.println(tabla.registros() == 0 ? "No hay registros para mostrar." : "-- Total: " + tabla.registros());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private RecordWriter tabla(List<String> columnas) {
+        return new RecordWriter(consola, RecordWriter.Formato.TABLA, columnas);
+    }
+
+    // Formato de los resultados de la búsqueda local.
+    private static String formatoLibro(BookSummary libro) {
+        return String.format("%s - %s [%s] - %d descargas", libro.title(), String.join(" y ", libro.authors()),
+                String.join(", ", libro.languages()), libro.totalDownloads());
+    }
+
+    // Formato de las sugerencias de autores.
+    private static String formatoAutor(AuthorSummary autor) {
+        return String.format("%s (%s - %s) - %d libro(s)", autor.name(), formatoAnio(autor.yearBirth()),
+                formatoAnio(autor.yearDeath()), autor.books());
+    }
+
+    // Los años desconocidos se guardan como 0.
+    private static String formatoAnio(int anio) {
+        return anio == 0 ? "?" : String.valueOf(anio);
+    }
+
+    // Divide una lista ya cargada en páginas para mostrarla con mostrarPorPaginas.
+    private static <T> Iterator<List<T>> paginas(List<T> filas) {
+        return new Iterator<>() {
+            private int desde;
+
+            @Override
+            public boolean hasNext() {
+                return desde < filas.size();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> pagina = filas.subList(desde, Math.min(filas.size(), desde + TAMANO_PAGINA));
+                desde += pagina.size();
+                return pagina;
+            }
+        };
     }
 
     private void buscarLibro() {
@@ -204,13 +555,4 @@ public class Principal {
         System.out.print(mensaje);
         return Integer.parseInt(teclado.nextLine());
     }
-
-    private boolean lenguajeValido(String lenguaje) {
-        for (String idioma : IDIOMAS) {
-            if (idioma.equalsIgnoreCase(lenguaje)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
\ No newline at end of file
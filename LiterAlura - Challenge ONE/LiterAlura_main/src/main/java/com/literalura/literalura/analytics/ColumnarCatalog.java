@@ -0,0 +1,672 @@
+package com.literalura.literalura.analytics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.literalura.literalura.dto.DownloadStatistics;
+import com.literalura.literalura.repository.CatalogColumnsRepository;
+import com.literalura.literalura.service.CatalogReloadedEvent;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Motor de analítica en memoria: responde las estadísticas de descargas y los rankings de libros
+ * más descargados recorriendo una instantánea del catálogo por columnas (ColumnarSnapshot), sin
+ * cargar entidades. Cada consulta divide las filas en tramos que se recorren en paralelo en un
+ * ForkJoinPool propio y combina los resultados parciales.
+ *
+ * La instantánea se prepara al arrancar, en segundo plano: si la firma del archivo guardado en disco
+ * (cantidad de libros, suma de IDs y suma de revisiones) coincide con la de la base de datos se usa
+ * tal cual; si no, se lee el catálogo con JDBC y se guarda de nuevo. Mientras tanto BookService sigue respondiendo con consultas a la base de datos.
+ *
+ * Los libros modificados (CatalogUpdatedEvent) se vuelven a leer antes de la siguiente consulta y
+ * quedan en un conjunto de cambios que tapa sus filas anteriores. Cuando los cambios superan el
+ * máximo configurado se combinan en una instantánea nueva, que se guarda en disco. Si otro proceso
+ * cambia el catálogo (CatalogReloadedEvent), la instantánea se vuelve a preparar en segundo plano
+ * y mientras tanto se consulta la base de datos.
+ */
+@Component
+@ConditionalOnProperty(name = "literalura.analitica.habilitado", havingValue = "true")
+public class ColumnarCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarCatalog.class);
+
+    // Filas mínimas de cada tramo: por debajo, repartir el recorrido cuesta más de lo que ahorra.
+    private static final int FILAS_MINIMAS_POR_TRAMO = 16_384;
+
+    private final CatalogColumnsRepository repositorio;
+    private final Path archivo;
+    private final int maxCambios;
+    private final ForkJoinPool pool;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Long> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean iniciado = new AtomicBoolean();
+    private volatile boolean activo;
+    private volatile boolean listo;
+
+    // Estado protegido por lock.
+    private ColumnarSnapshot base;
+    // Filas de la instantánea tapadas por un cambio posterior (o por un libro que ya no existe).
+    private boolean[] reemplazadas;
+    // Libros modificados desde la última instantánea, por ID.
+    private final TreeMap<Integer, Fila> cambios = new TreeMap<>();
+    // Diccionarios: crecen con los idiomas y autores nuevos y nunca pierden códigos.
+    private final List<String> codigosIdioma = new ArrayList<>();
+    private final Map<String, Short> idiomaPorCodigo = new HashMap<>();
+    private final List<Long> idsAutor = new ArrayList<>();
+    private final List<String> nombresAutor = new ArrayList<>();
+    private final Map<Long, Integer> autorPorId = new HashMap<>();
+
+    public ColumnarCatalog(CatalogColumnsRepository repositorio,
+                           @Value("${literalura.analitica.archivo:${literalura.datos.directorio:datos}/catalogo-columnar.bin}") String archivo,
+                           @Value("${literalura.analitica.paralelismo:0}") int paralelismo,
+                           @Value("${literalura.analitica.max-cambios:10000}") int maxCambios) {
+        this.repositorio = repositorio;
+        this.archivo = Path.of(archivo);
+        this.maxCambios = Math.max(1, maxCambios);
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    // Prepara la instantánea en segundo plano cuando el contexto (y con él el esquema) está listo.
+    @EventListener(ContextRefreshedEvent.class)
+    public void alIniciar() {
+        if (iniciado.compareAndSet(false, true)) {
+            pool.execute(this::preparar);
+        }
+    }
+
+    // Indica si la instantánea está cargada y las consultas pueden responderse en memoria.
+    public boolean listo() {
+        return listo;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        if (activo) {
+            pendientes.addAll(evento.bookIds());
+        }
+    }
+
+    @EventListener
+    public void alRecargarCatalogo(CatalogReloadedEvent evento) {
+        if (activo) {
+            listo = false;
+            pool.execute(this::preparar);
+        }
+    }
+
+    // Estadísticas de descargas de todo el catálogo, con el mismo resultado que la consulta agregada.
+    public DownloadStatistics estadisticasDescargas() {
+        return consultar(() -> agregar(Agrupacion.TOTAL).estadisticas(0, "Total"));
+    }
+
+    // Estadísticas de descargas por idioma, de mayor a menor cantidad de libros.
+    public List<DownloadStatistics> estadisticasPorIdioma() {
+        return consultar(() -> {
+            Grupos grupos = agregar(Agrupacion.IDIOMA);
+            List<DownloadStatistics> filas = new ArrayList<>();
+            for (int codigo = 0; codigo < codigosIdioma.size(); codigo++) {
+                if (grupos.cantidad[codigo] > 0) {
+                    filas.add(grupos.estadisticas(codigo, codigosIdioma.get(codigo)));
+                }
+            }
+            filas.sort(Comparator.comparing(DownloadStatistics::cantidad).reversed()
+                    .thenComparing(DownloadStatistics::grupo));
+            return filas;
+        });
+    }
+
+    /*
+     * Estadísticas de descargas de los autores con más descargas totales.
+     *
+     * @param limite Cantidad máxima de autores.
+     * @return Una fila por autor, de mayor a menor total de descargas.
+     */
+    public List<DownloadStatistics> estadisticasPorAutor(int limite) {
+        return consultar(() -> {
+            Grupos grupos = agregar(Agrupacion.AUTOR);
+            List<Integer> codigos = new ArrayList<>();
+            for (int codigo = 0; codigo < nombresAutor.size(); codigo++) {
+                if (grupos.cantidad[codigo] > 0) {
+                    codigos.add(codigo);
+                }
+            }
+            codigos.sort(Comparator.<Integer>comparingLong(c -> grupos.suma[c]).reversed()
+                    .thenComparing(nombresAutor::get));
+            return codigos.stream().limit(limite).map(c -> grupos.estadisticas(c, nombresAutor.get(c))).toList();
+        });
+    }
+
+    /*
+     * IDs de los libros más descargados, con el mismo orden que las consultas de ranking:
+     * descargas de mayor a menor y, a igualdad, ID ascendente.
+     *
+     * @param n      Cantidad de libros.
+     * @param idioma Código de idioma exacto, o null para no filtrar.
+     * @param autor  Parte del nombre del autor, sin distinguir mayúsculas, o null para no filtrar.
+     * @return Los IDs del ranking.
+     */
+    public List<Long> topLibros(int n, String idioma, String autor) {
+        return consultar(() -> {
+            int codigoIdioma = -1;
+            if (idioma != null) {
+                Short codigo = idiomaPorCodigo.get(idioma);
+                if (codigo == null) {
+                    return List.of();
+                }
+                codigoIdioma = codigo;
+            }
+            boolean[] autoresValidos = null;
+            if (autor != null) {
+                autoresValidos = autoresQueContienen(autor);
+                if (autoresValidos == null) {
+                    return List.of();
+                }
+            }
+            Filtro filtro = new Filtro(codigoIdioma, autoresValidos);
+
+            ColumnarSnapshot s = base;
+            boolean[] fuera = reemplazadas;
+            Mejores mejores = enParalelo(s.filas(), (desde, hasta) -> {
+                Mejores parcial = new Mejores(n);
+                for (int i = desde; i < hasta; i++) {
+                    if (!fuera[i] && filtro.cumple(s.idiomas, s.inicioIdiomas[i], s.inicioIdiomas[i + 1],
+                            s.autores, s.inicioAutores[i], s.inicioAutores[i + 1])) {
+                        parcial.ofrecer(s.ids[i], s.descargas[i]);
+                    }
+                }
+                return parcial;
+            }, Mejores::combinar);
+            for (Fila fila : cambios.values()) {
+                if (filtro.cumple(fila.idiomas(), 0, fila.idiomas().length, fila.autores(), 0, fila.autores().length)) {
+                    mejores.ofrecer(fila.id(), fila.descargas());
+                }
+            }
+            return mejores.ids();
+        });
+    }
+
+    // Acumula cantidad, suma, mínimo y máximo de descargas por grupo, recorriendo la instantánea en paralelo.
+    private Grupos agregar(Agrupacion agrupacion) {
+        int cantidadGrupos = switch (agrupacion) {
+            case TOTAL -> 1;
+            case IDIOMA -> codigosIdioma.size();
+            case AUTOR -> nombresAutor.size();
+        };
+        ColumnarSnapshot s = base;
+        boolean[] fuera = reemplazadas;
+        Grupos grupos = enParalelo(s.filas(), (desde, hasta) -> {
+            Grupos parcial = new Grupos(cantidadGrupos);
+            for (int i = desde; i < hasta; i++) {
+                if (fuera[i]) {
+                    continue;
+                }
+                int descargas = s.descargas[i];
+                switch (agrupacion) {
+                    case TOTAL -> parcial.agregar(0, descargas);
+                    case IDIOMA -> {
+                        for (int j = s.inicioIdiomas[i]; j < s.inicioIdiomas[i + 1]; j++) {
+                            parcial.agregar(s.idiomas[j], descargas);
+                        }
+                    }
+                    case AUTOR -> {
+                        for (int j = s.inicioAutores[i]; j < s.inicioAutores[i + 1]; j++) {
+                            parcial.agregar(s.autores[j], descargas);
+                        }
+                    }
+                }
+            }
+            return parcial;
+        }, Grupos::combinar);
+
+        for (Fila fila : cambios.values()) {
+            switch (agrupacion) {
+                case TOTAL -> grupos.agregar(0, fila.descargas());
+                case IDIOMA -> {
+                    for (short codigo : fila.idiomas()) {
+                        grupos.agregar(codigo, fila.descargas());
+                    }
+                }
+                case AUTOR -> {
+                    for (int codigo : fila.autores()) {
+                        grupos.agregar(codigo, fila.descargas());
+                    }
+                }
+            }
+        }
+        return grupos;
+    }
+
+    // Marca los autores cuyo nombre contiene el texto; null si no hay ninguno.
+    private boolean[] autoresQueContienen(String texto) {
+        String buscado = texto.toLowerCase(Locale.ROOT);
+        boolean[] validos = new boolean[nombresAutor.size()];
+        boolean alguno = false;
+        for (int codigo = 0; codigo < validos.length; codigo++) {
+            if (nombresAutor.get(codigo).toLowerCase(Locale.ROOT).contains(buscado)) {
+                validos[codigo] = true;
+                alguno = true;
+            }
+        }
+        return alguno ? validos : null;
+    }
+
+    // Divide las filas en tramos, los recorre en el pool y combina los resultados parciales.
+    private <R> R enParalelo(int filas, Tramo<R> tramo, BinaryOperator<R> combinar) {
+        int umbral = Math.max(FILAS_MINIMAS_POR_TRAMO, (filas + pool.getParallelism() - 1) / pool.getParallelism());
+        return pool.invoke(new Recorrido<>(0, filas, umbral, tramo, combinar));
+    }
+
+    // Aplica los cambios pendientes y ejecuta la consulta con la instantánea bloqueada para lectura.
+    private <T> T consultar(Supplier<T> consulta) {
+        if (!listo) {
+            throw new IllegalStateException("La instantánea del catálogo todavía no está lista");
+        }
+        if (!pendientes.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                aplicarPendientes();
+                if (cambios.size() > maxCambios) {
+                    compactar();
+                    ColumnarSnapshot nueva = base;
+                    pool.execute(() -> guardar(nueva));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return consulta.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Carga la instantánea desde el archivo, o desde la base de datos si el archivo no está al día.
+    private void preparar() {
+        lock.writeLock().lock();
+        try {
+            long inicio = System.nanoTime();
+            activo = true;
+            pendientes.clear();
+            cambios.clear();
+            CatalogColumnsRepository.Firma firma = repositorio.firma();
+            ColumnarSnapshot guardada = leerArchivo();
+            if (guardada != null && guardada.firma().equals(firma)) {
+                instalar(guardada);
+                logger.info("Instantánea del catálogo cargada de {}: {} libros en {} ms",
+                        archivo, guardada.filas(), (System.nanoTime() - inicio) / 1_000_000);
+            } else {
+                ColumnarSnapshot.Constructor constructor = new ColumnarSnapshot.Constructor();
+                repositorio.recorrer(libro -> constructor.libro(Math.toIntExact(libro.id()), libro.descargas(), libro.revision()),
+                        idioma -> constructor.idioma(Math.toIntExact(idioma.libroId()), codigoIdioma(idioma.idioma())),
+                        autor -> constructor.autor(Math.toIntExact(autor.libroId()), codigoAutor(autor.autorId(), autor.nombre())));
+                base = constructor.construir(diccionarioIdiomas(), diccionarioIdsAutor(), diccionarioNombresAutor());
+                reemplazadas = new boolean[base.filas()];
+                logger.info("Instantánea del catálogo construida desde la base de datos: {} libros, {} idiomas, "
+                                + "{} autores en {} ms", base.filas(), codigosIdioma.size(), nombresAutor.size(),
+                        (System.nanoTime() - inicio) / 1_000_000);
+                guardar(base);
+            }
+            listo = true;
+        } catch (RuntimeException e) {
+            activo = false;
+            pendientes.clear();
+            logger.error("No se pudo preparar la instantánea del catálogo; se seguirá consultando la base de datos: {}",
+                    e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ColumnarSnapshot leerArchivo() {
+        if (!Files.exists(archivo)) {
+            return null;
+        }
+        try {
+            return ColumnarSnapshot.cargar(archivo);
+        } catch (IOException e) {
+            logger.warn("Se descarta la instantánea guardada en {}: {}", archivo, e.getMessage());
+            return null;
+        }
+    }
+
+    // Adopta una instantánea leída de disco junto con sus diccionarios.
+    private void instalar(ColumnarSnapshot instantanea) {
+        base = instantanea;
+        reemplazadas = new boolean[instantanea.filas()];
+        for (String codigo : instantanea.codigosIdioma) {
+            codigoIdioma(codigo);
+        }
+        for (int i = 0; i < instantanea.idsAutor.length; i++) {
+            codigoAutor(instantanea.idsAutor[i], instantanea.nombresAutor[i]);
+        }
+    }
+
+    // Vuelve a leer los libros modificados y los deja en el conjunto de cambios.
+    private void aplicarPendientes() {
+        TreeSet<Long> ids = new TreeSet<>();
+        Long id;
+        while ((id = pendientes.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        ColumnarSnapshot.Constructor constructor = new ColumnarSnapshot.Constructor();
+        repositorio.recorrer(new ArrayList<>(ids),
+                libro -> constructor.libro(Math.toIntExact(libro.id()), libro.descargas(), libro.revision()),
+                idioma -> constructor.idioma(Math.toIntExact(idioma.libroId()), codigoIdioma(idioma.idioma())),
+                autor -> constructor.autor(Math.toIntExact(autor.libroId()), codigoAutor(autor.autorId(), autor.nombre())));
+        // Sólo se usan sus columnas: los códigos apuntan a los diccionarios compartidos.
+        ColumnarSnapshot leidos = constructor.construir(null, null, null);
+
+        for (Long libro : ids) {
+            int valor = Math.toIntExact(libro);
+            int fila = base.fila(valor);
+            if (fila >= 0) {
+                reemplazadas[fila] = true;
+            }
+            cambios.remove(valor);
+        }
+        for (int i = 0; i < leidos.filas(); i++) {
+            cambios.put(leidos.ids[i], new Fila(leidos.ids[i], leidos.descargas[i], leidos.revisiones[i],
+                    Arrays.copyOfRange(leidos.idiomas, leidos.inicioIdiomas[i], leidos.inicioIdiomas[i + 1]),
+                    Arrays.copyOfRange(leidos.autores, leidos.inicioAutores[i], leidos.inicioAutores[i + 1])));
+        }
+    }
+
+    // Combina la instantánea y los cambios en una instantánea nueva, en orden de ID.
+    private void compactar() {
+        long inicio = System.nanoTime();
+        int aplicados = cambios.size();
+        ColumnarSnapshot.Constructor constructor = new ColumnarSnapshot.Constructor();
+        Iterator<Fila> nuevas = cambios.values().iterator();
+        Fila siguiente = nuevas.hasNext() ? nuevas.next() : null;
+        for (int i = 0; i < base.filas(); i++) {
+            int id = base.ids[i];
+            while (siguiente != null && siguiente.id() < id) {
+                agregar(constructor, siguiente);
+                siguiente = nuevas.hasNext() ? nuevas.next() : null;
+            }
+            if (!reemplazadas[i]) {
+                constructor.libro(id, base.descargas[i], base.revisiones[i]);
+                for (int j = base.inicioIdiomas[i]; j < base.inicioIdiomas[i + 1]; j++) {
+                    constructor.idioma(id, base.idiomas[j]);
+                }
+                for (int j = base.inicioAutores[i]; j < base.inicioAutores[i + 1]; j++) {
+                    constructor.autor(id, base.autores[j]);
+                }
+            }
+        }
+        for (; siguiente != null; siguiente = nuevas.hasNext() ? nuevas.next() : null) {
+            agregar(constructor, siguiente);
+        }
+        base = constructor.construir(diccionarioIdiomas(), diccionarioIdsAutor(), diccionarioNombresAutor());
+        reemplazadas = new boolean[base.filas()];
+        cambios.clear();
+        logger.info("Instantánea del catálogo compactada: {} cambios aplicados, {} libros en {} ms",
+                aplicados, base.filas(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static void agregar(ColumnarSnapshot.Constructor constructor, Fila fila) {
+        constructor.libro(fila.id(), fila.descargas(), fila.revision());
+        for (short codigo : fila.idiomas()) {
+            constructor.idioma(fila.id(), codigo);
+        }
+        for (int codigo : fila.autores()) {
+            constructor.autor(fila.id(), codigo);
+        }
+    }
+
+    // Escribe la instantánea en disco; un fallo sólo hace que el próximo arranque la reconstruya.
+    private synchronized void guardar(ColumnarSnapshot instantanea) {
+        try {
+            instantanea.guardar(archivo);
+        } catch (IOException e) {
+            logger.warn("No se pudo guardar la instantánea del catálogo en {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    // Al cerrar se aplican los cambios pendientes y se guarda la instantánea, para arrancar en caliente.
+    @PreDestroy
+    void cerrar() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+        if (!listo) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            aplicarPendientes();
+            if (!cambios.isEmpty()) {
+                compactar();
+                guardar(base);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo guardar la instantánea del catálogo al cerrar: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private short codigoIdioma(String idioma) {
+        Short codigo = idiomaPorCodigo.get(idioma);
+        if (codigo == null) {
+            if (codigosIdioma.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Demasiados idiomas distintos para la instantánea del catálogo");
+            }
+            codigo = (short) codigosIdioma.size();
+            codigosIdioma.add(idioma);
+            idiomaPorCodigo.put(idioma, codigo);
+        }
+        return codigo;
+    }
+
+    private int codigoAutor(long id, String nombre) {
+        Integer codigo = autorPorId.get(id);
+        if (codigo == null) {
+            codigo = nombresAutor.size();
+            idsAutor.add(id);
+            nombresAutor.add(nombre);
+            autorPorId.put(id, codigo);
+        }
+        return codigo;
+    }
+
+    private String[] diccionarioIdiomas() {
+        return codigosIdioma.toArray(String[]::new);
+    }
+
+    private long[] diccionarioIdsAutor() {
+        return idsAutor.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private String[] diccionarioNombresAutor() {
+        return nombresAutor.toArray(String[]::new);
+    }
+
+    private enum Agrupacion {
+        TOTAL, IDIOMA, AUTOR
+    }
+
+    // Un libro modificado desde la última instantánea, con los códigos de sus idiomas y autores.
+    private record Fila(int id, int descargas, long revision, short[] idiomas, int[] autores) {
+    }
+
+    // Filtro de los rankings: código de idioma (-1 para cualquiera) y autores aceptados (null para cualquiera).
+    private record Filtro(int idioma, boolean[] autores) {
+
+        boolean cumple(short[] idiomasFila, int desdeIdioma, int hastaIdioma, int[] autoresFila, int desdeAutor, int hastaAutor) {
+            if (idioma >= 0) {
+                boolean encontrado = false;
+                for (int j = desdeIdioma; j < hastaIdioma && !encontrado; j++) {
+                    encontrado = idiomasFila[j] == idioma;
+                }
+                if (!encontrado) {
+                    return false;
+                }
+            }
+            if (autores != null) {
+                for (int j = desdeAutor; j < hastaAutor; j++) {
+                    if (autores[autoresFila[j]]) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return true;
+        }
+    }
+
+    // Cantidad, suma, mínimo y máximo de descargas de cada grupo.
+    private static final class Grupos {
+
+        final long[] cantidad;
+        final long[] suma;
+        final int[] minimo;
+        final int[] maximo;
+
+        Grupos(int grupos) {
+            cantidad = new long[grupos];
+            suma = new long[grupos];
+            minimo = new int[grupos];
+            maximo = new int[grupos];
+            Arrays.fill(minimo, Integer.MAX_VALUE);
+            Arrays.fill(maximo, Integer.MIN_VALUE);
+        }
+
+        void agregar(int grupo, int descargas) {
+            cantidad[grupo]++;
+            suma[grupo] += descargas;
+            minimo[grupo] = Math.min(minimo[grupo], descargas);
+            maximo[grupo] = Math.max(maximo[grupo], descargas);
+        }
+
+        Grupos combinar(Grupos otro) {
+            for (int g = 0; g < cantidad.length; g++) {
+                cantidad[g] += otro.cantidad[g];
+                suma[g] += otro.suma[g];
+                minimo[g] = Math.min(minimo[g], otro.minimo[g]);
+                maximo[g] = Math.max(maximo[g], otro.maximo[g]);
+            }
+            return this;
+        }
+
+        DownloadStatistics estadisticas(int grupo, String nombre) {
+            if (cantidad[grupo] == 0) {
+                return new DownloadStatistics(nombre, 0L, null, null, null);
+            }
+            return new DownloadStatistics(nombre, cantidad[grupo], (double) suma[grupo] / cantidad[grupo],
+                    minimo[grupo], maximo[grupo]);
+        }
+    }
+
+    /*
+     * Los N mejores libros vistos en un recorrido, en un montículo de mínimos.
+     * Cada libro se guarda como una clave long: las descargas en los 32 bits altos y
+     * Integer.MAX_VALUE - id en los bajos, así que una clave mayor es un libro mejor ubicado.
+     */
+    private static final class Mejores {
+
+        private final int n;
+        private final PriorityQueue<Long> claves = new PriorityQueue<>();
+
+        Mejores(int n) {
+            this.n = n;
+        }
+
+        void ofrecer(int id, int descargas) {
+            ofrecer(((long) descargas << 32) | (Integer.MAX_VALUE - id));
+        }
+
+        private void ofrecer(long clave) {
+            if (claves.size() < n) {
+                claves.add(clave);
+            } else if (clave > claves.peek()) {
+                claves.poll();
+                claves.add(clave);
+            }
+        }
+
+        Mejores combinar(Mejores otro) {
+            otro.claves.forEach(this::ofrecer);
+            return this;
+        }
+
+        List<Long> ids() {
+            return claves.stream().sorted(Comparator.reverseOrder())
+                    .map(clave -> (long) (Integer.MAX_VALUE - (int) (clave & 0xFFFFFFFFL)))
+                    .toList();
+        }
+    }
+
+    // Recorre las filas [desde, hasta) y devuelve un resultado parcial.
+    @FunctionalInterface
+    private interface Tramo<R> {
+        R recorrer(int desde, int hasta);
+    }
+
+    // Tarea que parte el rango por la mitad hasta llegar al umbral y combina los resultados.
+    private static final class Recorrido<R> extends RecursiveTask<R> {
+
+        private final int desde;
+        private final int hasta;
+        private final int umbral;
+        private final Tramo<R> tramo;
+        private final BinaryOperator<R> combinar;
+
+        Recorrido(int desde, int hasta, int umbral, Tramo<R> tramo, BinaryOperator<R> combinar) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.umbral = umbral;
+            this.tramo = tramo;
+            this.combinar = combinar;
+        }
+
+        @Override
+        protected R compute() {
+            if (hasta - desde <= umbral) {
+                return tramo.recorrer(desde, hasta);
+            }
+            int medio = (desde + hasta) >>> 1;
+            Recorrido<R> izquierda = new Recorrido<>(desde, medio, umbral, tramo, combinar);
+            izquierda.fork();
+            R derecha = new Recorrido<>(medio, hasta, umbral, tramo, combinar).compute();
+            return combinar.apply(izquierda.join(), derecha);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.literalura.literalura.analytics;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.literalura.literalura.repository.CatalogColumnsRepository;
+
+/*
+ * Instantánea inmutable del catálogo guardada por columnas en arreglos primitivos.
+ * Cada libro es una fila; las filas están ordenadas por ID y guardan la revisión del libro en la
+ * base de datos, con la que se calcula la firma que dice si la instantánea sigue al día. Los idiomas y los autores de cada libro
+ * se guardan como códigos pequeños en arreglos contiguos: los de la fila i ocupan las posiciones
+ * inicioIdiomas[i] a inicioIdiomas[i + 1] - 1 (igual con los autores), y los diccionarios traducen
+ * cada código al idioma o al autor.
+ *
+ * Se guarda en disco con un archivo mapeado en memoria: cabecera, columnas una detrás de otra
+ * y al final los diccionarios. Leerla en un arranque en caliente es copiar bloques de bytes.
+ */
+final class ColumnarSnapshot {
+
+    // "LCAT" al inicio del archivo.
+    private static final int MAGICO = 0x4C434154;
+    private static final int VERSION_FORMATO = 2;
+
+    // Columnas de los libros, indexadas por fila.
+    final int[] ids;
+    final int[] descargas;
+    final long[] revisiones;
+    final int[] inicioIdiomas;
+    final short[] idiomas;
+    final int[] inicioAutores;
+    final int[] autores;
+
+    // Diccionarios, indexados por código.
+    final String[] codigosIdioma;
+    final long[] idsAutor;
+    final String[] nombresAutor;
+
+    private ColumnarSnapshot(int[] ids, int[] descargas, long[] revisiones, int[] inicioIdiomas, short[] idiomas,
+                             int[] inicioAutores, int[] autores,
+                             String[] codigosIdioma, long[] idsAutor, String[] nombresAutor) {
+        this.ids = ids;
+        this.descargas = descargas;
+        this.revisiones = revisiones;
+        this.inicioIdiomas = inicioIdiomas;
+        this.idiomas = idiomas;
+        this.inicioAutores = inicioAutores;
+        this.autores = autores;
+        this.codigosIdioma = codigosIdioma;
+        this.idsAutor = idsAutor;
+        this.nombresAutor = nombresAutor;
+    }
+
+    int filas() {
+        return ids.length;
+    }
+
+    // Fila del libro indicado, o un valor negativo si no está en la instantánea.
+    int fila(int id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    // Firma de la instantánea, comparable con la de la base de datos.
+    CatalogColumnsRepository.Firma firma() {
+        long sumaIds = 0;
+        long sumaRevisiones = 0;
+        for (int i = 0; i < ids.length; i++) {
+            sumaIds += ids[i];
+            sumaRevisiones += revisiones[i];
+        }
+        return new CatalogColumnsRepository.Firma(ids.length, sumaIds, sumaRevisiones);
+    }
+
+    /*
+     * Guarda la instantánea en el archivo indicado. Se escribe en un archivo temporal mapeado
+     * en memoria y se mueve al destino al terminar, así que un archivo a medio escribir nunca
+     * reemplaza al anterior.
+     *
+     * @param ruta Ruta del archivo.
+     * @throws IOException si no se puede escribir el archivo
+     */
+    void guardar(Path ruta) throws IOException {
+        byte[][] idiomasUtf8 = utf8(codigosIdioma);
+        byte[][] nombresUtf8 = utf8(nombresAutor);
+        long tamano = 7L * Integer.BYTES
+                + (long) ids.length * 2 * Integer.BYTES
+                + (long) ids.length * Long.BYTES
+                + (long) (ids.length + 1) * 2 * Integer.BYTES
+                + (long) idiomas.length * Short.BYTES
+                + (long) autores.length * Integer.BYTES
+                + Arrays.stream(idiomasUtf8).mapToLong(b -> Short.BYTES + b.length).sum()
+                + Arrays.stream(nombresUtf8).mapToLong(b -> Long.BYTES + Integer.BYTES + b.length).sum();
+        if (tamano > Integer.MAX_VALUE) {
+            throw new IOException("La instantánea ocupa más de 2 GB y no se puede mapear en un solo bloque");
+        }
+
+        Path directorio = ruta.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+            buffer.putInt(MAGICO).putInt(VERSION_FORMATO)
+                    .putInt(ids.length).putInt(idiomas.length).putInt(autores.length)
+                    .putInt(codigosIdioma.length).putInt(nombresAutor.length);
+            escribir(buffer, ids);
+            escribir(buffer, descargas);
+            buffer.asLongBuffer().put(revisiones);
+            buffer.position(buffer.position() + revisiones.length * Long.BYTES);
+            escribir(buffer, inicioIdiomas);
+            buffer.asShortBuffer().put(idiomas);
+            buffer.position(buffer.position() + idiomas.length * Short.BYTES);
+            escribir(buffer, inicioAutores);
+            escribir(buffer, autores);
+            for (byte[] codigo : idiomasUtf8) {
+                buffer.putShort((short) codigo.length).put(codigo);
+            }
+            for (int i = 0; i < nombresUtf8.length; i++) {
+                buffer.putLong(idsAutor[i]).putInt(nombresUtf8[i].length).put(nombresUtf8[i]);
+            }
+            buffer.force();
+        }
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Lee una instantánea guardada con guardar.
+     *
+     * @param ruta Ruta del archivo.
+     * @return La instantánea.
+     * @throws IOException si el archivo no se puede leer, tiene otro formato o está dañado
+     */
+    static ColumnarSnapshot cargar(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (buffer.getInt() != MAGICO || buffer.getInt() != VERSION_FORMATO) {
+                throw new IOException("Formato de instantánea desconocido: " + ruta);
+            }
+            int filas = buffer.getInt();
+            int entradasIdioma = buffer.getInt();
+            int entradasAutor = buffer.getInt();
+            int cantidadIdiomas = buffer.getInt();
+            int cantidadAutores = buffer.getInt();
+            long minimo = 7L * Integer.BYTES + (long) filas * (4 * Integer.BYTES + Long.BYTES) + 2L * Integer.BYTES
+                    + (long) entradasIdioma * Short.BYTES + (long) entradasAutor * Integer.BYTES
+                    + (long) cantidadIdiomas * Short.BYTES + (long) cantidadAutores * (Long.BYTES + Integer.BYTES);
+            if (filas < 0 || entradasIdioma < 0 || entradasAutor < 0 || cantidadIdiomas < 0 || cantidadAutores < 0
+                    || minimo > canal.size()) {
+                throw new IOException("Instantánea dañada: " + ruta);
+            }
+
+            int[] ids = leerEnteros(buffer, filas);
+            int[] descargas = leerEnteros(buffer, filas);
+            long[] revisiones = new long[filas];
+            buffer.asLongBuffer().get(revisiones);
+            buffer.position(buffer.position() + filas * Long.BYTES);
+            int[] inicioIdiomas = leerEnteros(buffer, filas + 1);
+            short[] idiomas = new short[entradasIdioma];
+            buffer.asShortBuffer().get(idiomas);
+            buffer.position(buffer.position() + entradasIdioma * Short.BYTES);
+            int[] inicioAutores = leerEnteros(buffer, filas + 1);
+            int[] autores = leerEnteros(buffer, entradasAutor);
+
+            String[] codigosIdioma = new String[cantidadIdiomas];
+            for (int i = 0; i < cantidadIdiomas; i++) {
+                codigosIdioma[i] = leerTexto(buffer, buffer.getShort());
+            }
+            long[] idsAutor = new long[cantidadAutores];
+            String[] nombresAutor = new String[cantidadAutores];
+            for (int i = 0; i < cantidadAutores; i++) {
+                idsAutor[i] = buffer.getLong();
+                nombresAutor[i] = leerTexto(buffer, buffer.getInt());
+            }
+
+            ColumnarSnapshot instantanea = new ColumnarSnapshot(ids, descargas, revisiones, inicioIdiomas, idiomas,
+                    inicioAutores, autores, codigosIdioma, idsAutor, nombresAutor);
+            instantanea.validar();
+            return instantanea;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Instantánea dañada: " + ruta, e);
+        }
+    }
+
+    // Comprueba que las columnas leídas de disco sean coherentes antes de usarlas en los recorridos.
+    private void validar() {
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] <= ids[i - 1]) {
+                throw new IllegalArgumentException("IDs desordenados en la fila " + i);
+            }
+        }
+        validarRangos(inicioIdiomas, idiomas.length);
+        validarRangos(inicioAutores, autores.length);
+        for (short codigo : idiomas) {
+            if (codigo < 0 || codigo >= codigosIdioma.length) {
+                throw new IllegalArgumentException("Código de idioma fuera del diccionario: " + codigo);
+            }
+        }
+        for (int codigo : autores) {
+            if (codigo < 0 || codigo >= nombresAutor.length) {
+                throw new IllegalArgumentException("Código de autor fuera del diccionario: " + codigo);
+            }
+        }
+    }
+
+    private static void validarRangos(int[] inicios, int entradas) {
+        if (inicios[0] != 0 || inicios[inicios.length - 1] != entradas) {
+            throw new IllegalArgumentException("Rangos de entradas incompletos");
+        }
+        for (int i = 1; i < inicios.length; i++) {
+            if (inicios[i] < inicios[i - 1]) {
+                throw new IllegalArgumentException("Rangos de entradas desordenados en la fila " + i);
+            }
+        }
+    }
+
+    private static void escribir(ByteBuffer buffer, int[] valores) {
+        buffer.asIntBuffer().put(valores);
+        buffer.position(buffer.position() + valores.length * Integer.BYTES);
+    }
+
+    private static int[] leerEnteros(ByteBuffer buffer, int cantidad) {
+        int[] valores = new int[cantidad];
+        buffer.asIntBuffer().get(valores);
+        buffer.position(buffer.position() + cantidad * Integer.BYTES);
+        return valores;
+    }
+
+    private static String leerTexto(ByteBuffer buffer, int longitud) {
+        byte[] bytes = new byte[longitud];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] utf8(String[] textos) {
+        byte[][] bytes = new byte[textos.length][];
+        for (int i = 0; i < textos.length; i++) {
+            bytes[i] = textos[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+    /*
+     * Construye una instantánea fila a fila. Los libros deben llegar en orden de ID, y los idiomas
+     * y autores ordenados por ID de libro: pueden llegar intercalados con los libros o después de
+     * todos ellos. Las entradas de libros que no se agregaron se descartan.
+     */
+    static final class Constructor {
+
+        private int filas;
+        private int[] ids = new int[1024];
+        private int[] descargas = new int[1024];
+        private long[] revisiones = new long[1024];
+        private int[] cuentaIdiomas = new int[1024];
+        private int[] cuentaAutores = new int[1024];
+
+        private int entradasIdioma;
+        private short[] idiomas = new short[1024];
+        private int entradasAutor;
+        private int[] autores = new int[1024];
+
+        // Fila a la que se asignan los siguientes idiomas y autores.
+        private int filaIdiomas;
+        private int filaAutores;
+
+        void libro(int id, int totalDescargas, long revision) {
+            if (filas > 0 && id <= ids[filas - 1]) {
+                throw new IllegalArgumentException("Los libros deben llegar ordenados por ID: " + id);
+            }
+            if (filas == ids.length) {
+                int capacidad = filas * 2;
+                ids = Arrays.copyOf(ids, capacidad);
+                descargas = Arrays.copyOf(descargas, capacidad);
+                revisiones = Arrays.copyOf(revisiones, capacidad);
+                cuentaIdiomas = Arrays.copyOf(cuentaIdiomas, capacidad);
+                cuentaAutores = Arrays.copyOf(cuentaAutores, capacidad);
+            }
+            ids[filas] = id;
+            descargas[filas] = totalDescargas;
+            revisiones[filas] = revision;
+            filas++;
+        }
+
+        void idioma(int libroId, short codigo) {
+            filaIdiomas = avanzar(filaIdiomas, libroId);
+            if (filaIdiomas < filas && ids[filaIdiomas] == libroId) {
+                if (entradasIdioma == idiomas.length) {
+                    idiomas = Arrays.copyOf(idiomas, entradasIdioma * 2);
+                }
+                idiomas[entradasIdioma++] = codigo;
+                cuentaIdiomas[filaIdiomas]++;
+            }
+        }
+
+        void autor(int libroId, int codigo) {
+            filaAutores = avanzar(filaAutores, libroId);
+            if (filaAutores < filas && ids[filaAutores] == libroId) {
+                if (entradasAutor == autores.length) {
+                    autores = Arrays.copyOf(autores, entradasAutor * 2);
+                }
+                autores[entradasAutor++] = codigo;
+                cuentaAutores[filaAutores]++;
+            }
+        }
+
+        private int avanzar(int fila, int libroId) {
+            while (fila < filas && ids[fila] < libroId) {
+                fila++;
+            }
+            return fila;
+        }
+
+        ColumnarSnapshot construir(String[] codigosIdioma, long[] idsAutor, String[] nombresAutor) {
+            return new ColumnarSnapshot(Arrays.copyOf(ids, filas), Arrays.copyOf(descargas, filas),
+                    Arrays.copyOf(revisiones, filas), inicios(cuentaIdiomas, filas), Arrays.copyOf(idiomas, entradasIdioma),
+                    inicios(cuentaAutores, filas), Arrays.copyOf(autores, entradasAutor),
+                    codigosIdioma, idsAutor, nombresAutor);
+        }
+
+        private static int[] inicios(int[] cuentas, int filas) {
+            int[] inicios = new int[filas + 1];
+            for (int i = 0; i < filas; i++) {
+                inicios[i + 1] = inicios[i] + cuentas[i];
+            }
+            return inicios;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,361 @@
+package com.literalura.literalura.cli;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DataResults;
+import com.literalura.literalura.dto.DownloadStatistics;
+import com.literalura.literalura.index.AuthorAutocompleteIndex;
+import com.literalura.literalura.index.AuthorLifespanIndex;
+import com.literalura.literalura.index.BookSearchIndex;
+import com.literalura.literalura.index.LanguageIndex;
+import com.literalura.literalura.render.RecordWriter;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.BulkTitleImporter;
+import com.literalura.literalura.service.CatalogCrawler;
+import com.literalura.literalura.service.CatalogCsvImporter;
+import com.literalura.literalura.service.ConexionAPI;
+import com.literalura.literalura.service.ConvierteDatos;
+import com.literalura.literalura.service.KeysetCursor;
+import com.literalura.literalura.service.LegacyBookRekeyer;
+
+/*
+ * Modo por lotes: ejecuta una sola operación elegida con argumentos de línea de comandos,
+ * sin menú ni lectura de System.in, para poder usar la aplicación desde scripts o cron.
+ * Los resultados se escriben en la salida estándar como JSON Lines, CSV o tabla, a través de un
+ * búfer que se vacía al terminar; los mensajes de error van a la salida de errores.
+ *
+ * El código de salida indica el resultado: 0 correcto, 1 error durante la operación,
+ * 2 argumentos no válidos, 3 la búsqueda en Gutendex no encontró nada.
+ */
+@Component
+public class BatchRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchRunner.class);
+
+    public static final int CORRECTO = 0;
+    public static final int ERROR = 1;
+    public static final int USO_INVALIDO = 2;
+    public static final int SIN_RESULTADOS = 3;
+
+    private static final int TAMANO_PAGINA = 1000;
+    private static final int TAMANO_BUFER = 1 << 16;
+
+    // Operaciones: se debe indicar exactamente una.
+    private static final Set<String> OPERACIONES = Set.of("help", "fetch", "list-books", "list-authors", "alive",
+            "language", "languages", "stats", "top", "suggest-author", "born-died", "crawl", "import", "import-csv",
+            "search", "rekey-legacy");
+
+    // Opciones que modifican una operación.
+    private static final Set<String> MODIFICADORES = Set.of("format", "columns", "limit", "lang", "author");
+
+    private static final String USO = """
+            Uso: java -jar literalura.jar <operación> [--format=jsonl|csv|table] [--columns=a,b,...] [opciones de Spring]
+
+            Operaciones:
+              --fetch=TÍTULO             Busca un título en Gutendex y guarda el primer resultado
+              --list-books               Libros registrados
+              --list-authors             Autores registrados
+              --alive=AÑO[:AÑO_FINAL]    Autores vivos en un año o en algún momento de un rango
+              --language=en,fr|en+fr     Libros en alguno (",") o en todos ("+") los idiomas
+              --languages                Idiomas con su cantidad de libros
+              --stats                    Estadísticas de descargas: total, por idioma y por autor
+              --top=N [--lang=xx] [--author=NOMBRE]
+                                         Los N libros más descargados
+              --suggest-author=TEXTO [--limit=N]
+                                         Autores cuyo nombre se parece al texto
+              --born-died=DESDE:HASTA    Autores que nacieron y murieron en el rango
+              --crawl                    Importa el catálogo completo de Gutendex
+              --import=ARCHIVO           Importa los títulos de un archivo (uno por línea)
+              --import-csv=ARCHIVO       Importa pg_catalog.csv sin llamar a Gutendex
+              --search=TEXTO [--limit=N] Busca en el catálogo local por título o autor
+              --rekey-legacy             Asigna su ID de Gutendex a los libros guardados por la primera versión
+
+            --columns elige las columnas de salida y su orden, por ejemplo --columns=title,totalDownloads.
+
+            Códigos de salida: 0 correcto, 1 error, 2 argumentos no válidos, 3 sin resultados en Gutendex.
+            """;
+
+    private final BookService servicio;
+    private final BookSearchIndex indiceBusqueda;
+    private final AuthorAutocompleteIndex indiceAutores;
+    private final AuthorLifespanIndex indiceVidas;
+    private final LanguageIndex indiceIdiomas;
+    private final CatalogCrawler crawler;
+    private final BulkTitleImporter importador;
+    private final CatalogCsvImporter importadorCsv;
+    private final ConexionAPI conexion;
+    private final ConvierteDatos convertidor;
+    private final LegacyBookRekeyer reasignador;
+
+    public BatchRunner(BookService servicio, BookSearchIndex indiceBusqueda, AuthorAutocompleteIndex indiceAutores,
+                       AuthorLifespanIndex indiceVidas, LanguageIndex indiceIdiomas, CatalogCrawler crawler,
+                       BulkTitleImporter importador, CatalogCsvImporter importadorCsv, ConexionAPI conexion,
+                       ConvierteDatos convertidor, LegacyBookRekeyer reasignador) {
+        this.servicio = servicio;
+        this.indiceBusqueda = indiceBusqueda;
+        this.indiceAutores = indiceAutores;
+        this.indiceVidas = indiceVidas;
+        this.indiceIdiomas = indiceIdiomas;
+        this.crawler = crawler;
+        this.importador = importador;
+        this.importadorCsv = importadorCsv;
+        this.conexion = conexion;
+        this.convertidor = convertidor;
+        this.reasignador = reasignador;
+    }
+
+    /*
+     * Indica si los argumentos piden una operación del modo por lotes.
+     * Los demás argumentos "--clave=valor" se dejan a Spring como propiedades.
+     */
+    public static boolean solicitado(String[] args) {
+        for (String arg : args) {
+            if (OPERACIONES.contains(nombre(arg))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Ejecuta la operación indicada en los argumentos y escribe el resultado en la salida estándar.
+     *
+     * @param args Argumentos de línea de comandos.
+     * @return El código de salida del proceso.
+     */
+    public int ejecutar(String[] args) {
+        Writer salida = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), TAMANO_BUFER);
+        return ejecutar(args, salida, System.err);
+    }
+
+    int ejecutar(String[] args, Writer salida, PrintStream errores) {
+        Map<String, String> opciones = new LinkedHashMap<>();
+        for (String arg : args) {
+            String nombre = nombre(arg);
+            if (OPERACIONES.contains(nombre) || MODIFICADORES.contains(nombre)) {
+                int igual = arg.indexOf('=');
+                opciones.put(nombre, igual < 0 ? "" : arg.substring(igual + 1));
+            }
+        }
+        List<String> operaciones = opciones.keySet().stream().filter(OPERACIONES::contains).toList();
+        if (operaciones.size() != 1) {
+            errores.println("Indica exactamente una operación (se recibieron: " + operaciones + ").");
+            errores.print(USO);
+            return USO_INVALIDO;
+        }
+        String operacion = operaciones.get(0);
+        if (operacion.equals("help")) {
+            errores.print(USO);
+            return CORRECTO;
+        }
+
+        try (RecordWriter registros = new RecordWriter(salida,
+                RecordWriter.Formato.desde(opciones.getOrDefault("format", "jsonl")), columnas(opciones.get("columns")))) {
+            int codigo = ejecutar(operacion, opciones.get(operacion), opciones, registros, errores);
+            logger.info("Operación {} terminada: {} registros, código {}", operacion, registros.registros(), codigo);
+            return codigo;
+        } catch (IllegalArgumentException e) {
+            errores.println(e.getMessage());
+            return USO_INVALIDO;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error en la operación {}", operacion, e);
+            errores.println("Error en la operación " + operacion + ": " + e.getMessage());
+            return ERROR;
+        }
+    }
+
+    private int ejecutar(String operacion, String valor, Map<String, String> opciones,
+                         RecordWriter salida, PrintStream errores) throws IOException {
+        switch (operacion) {
+            case "fetch" -> {
+                DataResults datos = convertidor.convertidora(conexion.obtenerDatos(requerido(operacion, valor)), DataResults.class);
+                if (datos.results() == null || datos.results().isEmpty()) {
+                    errores.println("Gutendex no encontró ningún libro para \"" + valor + "\".");
+                    return SIN_RESULTADOS;
+                }
+                DataBook libro = datos.results().get(0);
+                servicio.saveBook(libro);
+                salida.escribirTodos(servicio.getBookSummaries(List.of(libro.id())));
+            }
+            case "list-books" -> volcar(servicio.cursorBooks(TAMANO_PAGINA), salida);
+            case "list-authors" -> volcar(servicio.cursorAuthors(TAMANO_PAGINA), salida);
+            case "alive" -> {
+                int[] anios = anios(operacion, valor, false);
+                salida.escribirTodos(anios.length == 1 ? indiceVidas.vivosEn(anios[0]) : indiceVidas.vivosDurante(anios[0], anios[1]));
+            }
+            case "born-died" -> {
+                int[] anios = anios(operacion, valor, true);
+                salida.escribirTodos(indiceVidas.nacidosYMuertosEntre(anios[0], anios[1]));
+            }
+            case "language" -> {
+                String texto = requerido(operacion, valor).toLowerCase(Locale.ROOT);
+                boolean todos = texto.contains("+");
+                List<String> idiomas = new ArrayList<>();
+                for (String idioma : texto.split(todos ? "\\+" : ",")) {
+                    if (!idioma.isBlank()) {
+                        idiomas.add(idioma.trim());
+                    }
+                }
+                volcarLibros(indiceIdiomas.filtrar(idiomas, todos), salida);
+            }
+            case "languages" -> salida.escribirTodos(indiceIdiomas.idiomas());
+            case "stats" -> {
+                salida.escribir(Estadistica.de("total", servicio.getDownloadStatistics()));
+                for (DownloadStatistics e : servicio.getStatisticsByLanguage()) {
+                    salida.escribir(Estadistica.de("idioma", e));
+                }
+                for (DownloadStatistics e : servicio.getStatisticsByAuthor(entero("limit", opciones.getOrDefault("limit", "10")))) {
+                    salida.escribir(Estadistica.de("autor", e));
+                }
+            }
+            case "top" -> salida.escribirTodos(servicio.getTopBooks(entero(operacion, requerido(operacion, valor)),
+                    opciones.get("lang"), opciones.get("author")));
+            case "suggest-author" -> salida.escribirTodos(indiceAutores.sugerir(requerido(operacion, valor),
+                    entero("limit", opciones.getOrDefault("limit", "10"))));
+            case "crawl" -> {
+                CatalogCrawler.CrawlResult resultado = crawler.crawl();
+                salida.escribir(resultado);
+                return resultado.completo() ? CORRECTO : ERROR;
+            }
+            case "import" -> {
+                BulkTitleImporter.ImportReport informe = importador.importar(archivo(operacion, valor));
+                salida.escribirTodos(informe.resultados());
+                errores.printf("Títulos: %d, guardados: %d, libros nuevos: %d%n",
+                        informe.resultados().size(), informe.exitosos(), informe.librosNuevos());
+                return informe.resultados().stream().anyMatch(r -> r.estado() == BulkTitleImporter.Estado.ERROR)
+                        ? ERROR : CORRECTO;
+            }
+            case "import-csv" -> salida.escribir(importadorCsv.importar(archivo(operacion, valor)));
+            case "search" -> {
+                for (BookSearchIndex.SearchHit hit : indiceBusqueda.buscar(requerido(operacion, valor),
+                        entero("limit", opciones.getOrDefault("limit", "20")))) {
+                    salida.escribir(hit.libro());
+                }
+            }
+            case "rekey-legacy" -> {
+                LegacyBookRekeyer.RekeyResult resultado = reasignador.reasignar();
+                salida.escribir(resultado);
+                return resultado.fallidos() == 0 ? CORRECTO : ERROR;
+            }
+            default -> throw new IllegalArgumentException("Operación desconocida: " + operacion);
+        }
+        return CORRECTO;
+    }
+
+    // Escribe todas las páginas de un cursor; sólo la página actual está en memoria.
+    private static <T extends Record> void volcar(KeysetCursor<T> cursor, RecordWriter salida) throws IOException {
+        while (cursor.hasNext()) {
+            salida.escribirTodos(cursor.next());
+        }
+    }
+
+    // Escribe los libros indicados en orden de ID, consultándolos por páginas.
+    private void volcarLibros(List<Long> ids, RecordWriter salida) throws IOException {
+        for (int i = 0; i < ids.size(); i += TAMANO_PAGINA) {
+            List<BookSummary> pagina = new ArrayList<>(servicio.getBookSummaries(ids.subList(i, Math.min(ids.size(), i + TAMANO_PAGINA))));
+            pagina.sort((a, b) -> Long.compare(a.id(), b.id()));
+            salida.escribirTodos(pagina);
+        }
+    }
+
+    private static List<String> columnas(String valor) {
+        List<String> columnas = new ArrayList<>();
+        if (valor != null) {
+            for (String columna : valor.split(",")) {
+                if (!columna.isBlank()) {
+                    columnas.add(columna.trim());
+                }
+            }
+        }
+        return columnas;
+    }
+
+    private static String nombre(String arg) {
+        if (!arg.startsWith("--")) {
+            return "";
+        }
+        int igual = arg.indexOf('=');
+        return arg.substring(2, igual < 0 ? arg.length() : igual);
+    }
+
+    private static String requerido(String opcion, String valor) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("La opción --" + opcion + " necesita un valor.");
+        }
+        return valor.trim();
+    }
+
+    private static int entero(String opcion, String valor) {
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero <= 0) {
+                throw new IllegalArgumentException("La opción --" + opcion + " debe ser mayor que 0.");
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La opción --" + opcion + " debe ser un número: " + valor);
+        }
+    }
+
+    // Lee "AÑO" o "AÑO:AÑO"; los años pueden ser negativos (antes de nuestra era).
+    private static int[] anios(String opcion, String valor, boolean rangoObligatorio) {
+        String[] partes = requerido(opcion, valor).split(":");
+        try {
+            if (partes.length == 1 && !rangoObligatorio) {
+                return new int[]{Integer.parseInt(partes[0].trim())};
+            }
+            if (partes.length == 2) {
+                int desde = Integer.parseInt(partes[0].trim());
+                int hasta = Integer.parseInt(partes[1].trim());
+                if (desde > hasta) {
+                    throw new IllegalArgumentException("En --" + opcion + " el primer año no puede ser posterior al segundo.");
+                }
+                return new int[]{desde, hasta};
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo junto con el formato esperado.
+        }
+        throw new IllegalArgumentException("La opción --" + opcion + " espera " + (rangoObligatorio ? "DESDE:HASTA" : "AÑO o AÑO:AÑO") + ": " + valor);
+    }
+
+    private static Path archivo(String opcion, String valor) {
+        Path archivo = Path.of(requerido(opcion, valor));
+        if (!Files.isReadable(archivo)) {
+            throw new IllegalArgumentException("No se puede leer el archivo " + archivo + ".");
+        }
+        return archivo;
+    }
+
+    /*
+     * Fila de estadísticas para la salida por lotes: el tipo indica si es el total,
+     * un idioma o un autor, para poder mezclarlas en un mismo CSV.
+     */
+    record Estadistica(String tipo, String grupo, Long cantidad, Double media, Integer minimo, Integer maximo) {
+
+        static Estadistica de(String tipo, DownloadStatistics e) {
+            return new Estadistica(tipo, e.grupo(), e.cantidad(), e.media(), e.minimo(), e.maximo());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.literalura.literalura.dto;
+
+/*
+ * Resumen de un autor para los listados: sus datos y la cantidad de libros registrados,
+ * sin cargar los libros.
+ */
+public record AuthorSummary(
+
+        // El ID del autor.
+        Long id,
+
+        // El nombre del autor.
+        String name,
+
+        // El año de nacimiento del autor.
+        int yearBirth,
+
+        // El año de fallecimiento del autor.
+        int yearDeath,
+
+        // La cantidad de libros registrados del autor.
+        long books
+
+) {
+}
\ No newline at end of file
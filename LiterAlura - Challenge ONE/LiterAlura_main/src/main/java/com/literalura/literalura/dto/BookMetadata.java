@@ -0,0 +1,22 @@
+package com.literalura.literalura.dto;
+
+/*
+ * Valores de un libro que cambian en Gutendex con el tiempo y que el refresco del catálogo
+ * compara con los guardados. No incluye título, idiomas ni autores.
+ */
+public record BookMetadata(
+
+        // El ID del libro.
+        Long id,
+
+        // El número total de descargas del libro.
+        int totalDownloads,
+
+        // El género del libro; null si no se conoce.
+        String genre,
+
+        // La sinopsis del libro; null si no se conoce.
+        String synopsis
+
+) {
+}
\ No newline at end of file
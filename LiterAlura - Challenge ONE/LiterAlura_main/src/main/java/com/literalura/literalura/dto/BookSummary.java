@@ -0,0 +1,28 @@
+package com.literalura.literalura.dto;
+
+import java.util.List;
+
+/*
+ * Resumen de un libro para listados y rankings.
+ * Contiene sólo datos ya cargados, por lo que puede usarse fuera de una transacción
+ * y guardarse en caché sin arrastrar entidades de JPA.
+ */
+public record BookSummary(
+
+        // El ID del libro.
+        Long id,
+
+        // El título del libro.
+        String title,
+
+        // Los nombres de los autores del libro.
+        List<String> authors,
+
+        // Los idiomas en que el libro está disponible.
+        List<String> languages,
+
+        // El número total de descargas del libro.
+        int totalDownloads
+
+) {
+}
\ No newline at end of file
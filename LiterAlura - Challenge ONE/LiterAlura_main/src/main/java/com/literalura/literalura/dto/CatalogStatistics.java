@@ -0,0 +1,20 @@
+package com.literalura.literalura.dto;
+
+import java.util.List;
+
+/*
+ * Estadísticas de descargas del catálogo: totales, por idioma y de los autores más descargados.
+ */
+public record CatalogStatistics(
+
+        // Estadísticas de todo el catálogo.
+        DownloadStatistics total,
+
+        // Estadísticas de cada idioma.
+        List<DownloadStatistics> byLanguage,
+
+        // Estadísticas de los autores con más descargas.
+        List<DownloadStatistics> byAuthor
+
+) {
+}
\ No newline at end of file
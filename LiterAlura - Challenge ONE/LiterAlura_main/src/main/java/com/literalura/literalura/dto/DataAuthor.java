@@ -20,7 +20,8 @@ public record DataAuthor(
 
         /*
          * Año de nacimiento del autor.
-         * Este valor debe ser un entero positivo o cero.
+         * Este valor debe ser un entero positivo o cero; Gutendex envía null
+         * cuando no se conoce y se recibe como 0.
          */
         @PositiveOrZero
         @JsonAlias("birth_year")
@@ -28,7 +29,8 @@ public record DataAuthor(
 
         /*
          * Año de fallecimiento del autor.
-         * Este valor debe ser un número entero positivo o cero.
+         * Este valor debe ser un número entero positivo o cero; Gutendex envía null
+         * cuando no se conoce (o el autor sigue vivo) y se recibe como 0.
          */
         @PositiveOrZero
         @JsonAlias("death_year")
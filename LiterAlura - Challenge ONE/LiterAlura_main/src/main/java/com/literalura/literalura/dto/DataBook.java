@@ -45,7 +45,19 @@ public record DataBook(
         @NotEmpty
         @Valid
         @JsonAlias("authors")
-        List<DataAuthor> authors
+        List<DataAuthor> authors,
+
+        // Los temas del libro; puede ser null si la respuesta no los incluye.
+        @JsonAlias("subjects")
+        List<String> subjects,
+
+        // Las estanterías (colecciones temáticas) de Project Gutenberg en que aparece el libro.
+        @JsonAlias("bookshelves")
+        List<String> bookshelves,
+
+        // Los resúmenes del libro generados por Project Gutenberg.
+        @JsonAlias("summaries")
+        List<String> summaries
 
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.literalura.literalura.dto;
+
+/*
+ * Datos de paginación de una respuesta de Gutendex leída en streaming.
+ * A diferencia de DataResults, no contiene los libros: estos se entregan uno a uno
+ * a medida que se leen de la respuesta.
+ */
+public record DataPageInfo(
+
+        // Cantidad total de libros que coinciden con la consulta.
+        Integer count,
+
+        // URL de la siguiente página de resultados, o null si es la última.
+        String next,
+
+        // Cantidad de libros leídos en esta página.
+        int books
+
+) {
+}
\ No newline at end of file
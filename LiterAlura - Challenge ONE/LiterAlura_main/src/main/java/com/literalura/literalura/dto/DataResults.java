@@ -22,7 +22,18 @@ public record DataResults(
         @NotNull
         @Valid
         @JsonAlias("results")
-        List<DataBook> results
+        List<DataBook> results,
+
+        // Cantidad total de libros que coinciden con la consulta.
+        @JsonAlias("count")
+        Integer count,
+
+        /*
+         * URL de la siguiente página de resultados.
+         * Es null cuando la respuesta corresponde a la última página.
+         */
+        @JsonAlias("next")
+        String next
 
 ) {
     // Clase creada con el propósito de almacenar los resultados obtenidos de la API de Gutendex.
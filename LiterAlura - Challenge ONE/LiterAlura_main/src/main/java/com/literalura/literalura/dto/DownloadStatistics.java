@@ -0,0 +1,25 @@
+package com.literalura.literalura.dto;
+
+/*
+ * Estadísticas de descargas calculadas directamente por la base de datos.
+ * Se usan tanto para el catálogo completo como para cada idioma o autor.
+ */
+public record DownloadStatistics(
+
+        // Grupo al que corresponden las estadísticas: "Total", un código de idioma o un nombre de autor.
+        String grupo,
+
+        // Cantidad de libros del grupo.
+        Long cantidad,
+
+        // Media de descargas; null si el grupo no tiene libros.
+        Double media,
+
+        // Menor número de descargas; null si el grupo no tiene libros.
+        Integer minimo,
+
+        // Mayor número de descargas; null si el grupo no tiene libros.
+        Integer maximo
+
+) {
+}
\ No newline at end of file
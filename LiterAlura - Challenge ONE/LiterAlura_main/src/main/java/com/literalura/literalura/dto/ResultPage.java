@@ -0,0 +1,18 @@
+package com.literalura.literalura.dto;
+
+import java.util.List;
+
+/*
+ * Página de resultados de la API REST.
+ * Para pedir la página siguiente se envía "next" como parámetro de posición; es null en la última página.
+ */
+public record ResultPage<T>(
+
+        // Los elementos de la página.
+        List<T> items,
+
+        // Posición desde la que continúa el listado, o null si no hay más elementos.
+        Long next
+
+) {
+}
\ No newline at end of file
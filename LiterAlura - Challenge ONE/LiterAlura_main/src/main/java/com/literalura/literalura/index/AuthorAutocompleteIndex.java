@@ -0,0 +1,430 @@
+package com.literalura.literalura.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogReloadedEvent;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+import com.literalura.literalura.service.KeysetCursor;
+
+/*
+ * Índice de autocompletado de nombres de autor: un trie en memoria sobre los nombres
+ * normalizados que devuelve los autores con más libros cuyo nombre empieza por el texto escrito.
+ * Tolera errores de escritura salvo en la primera letra: el texto se compara con los prefijos del
+ * trie calculando la distancia de edición (Levenshtein) fila a fila mientras se recorre, y se
+ * abandona cada rama en cuanto la distancia mínima supera el máximo permitido.
+ *
+ * Cada autor se indexa por su nombre completo, por el nombre en orden "Nombre Apellido" y a partir
+ * de cada una de sus palabras, así que "dickens", "charles" y "charles dick" encuentran a
+ * "Dickens, Charles". Los nodos con muchos autores por debajo guardan sus mejores resultados
+ * precalculados; en el resto se recorre el subárbol, que es pequeño. Los autores que se quedan sin
+ * libros siguen en el trie, pero no se sugieren.
+ */
+@Component
+public class AuthorAutocompleteIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorAutocompleteIndex.class);
+
+    // Resultados precalculados por nodo.
+    private static final int K = 10;
+
+    // Entradas por debajo de las cuales un nodo no guarda resultados precalculados.
+    private static final int UMBRAL_PRECALCULO = 64;
+
+    private static final int TAMANO_PAGINA_CARGA = 1000;
+
+    private final BookService servicio;
+    private final int maxDistancia;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Long> pendientes = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> autoresPendientes = new ConcurrentLinkedQueue<>();
+    private volatile boolean activo;
+    private volatile boolean construido;
+    // Otro proceso cambió el catálogo: se vuelve a construir antes de la siguiente consulta.
+    private volatile boolean recargar;
+
+    // Estado protegido por lock. Los autores se identifican en el trie por su posición en la lista.
+    private final List<AuthorSummary> autores = new ArrayList<>();
+    private final Map<Long, Integer> posicionPorId = new HashMap<>();
+    private Nodo raiz = new Nodo();
+
+    private final Comparator<Integer> porLibros = Comparator.<Integer>comparingLong(a -> autores.get(a).books()).reversed()
+            .thenComparing(a -> autores.get(a).name());
+
+    public AuthorAutocompleteIndex(BookService servicio,
+                                   @Value("${literalura.autocompletado.max-distancia:2}") int maxDistancia) {
+        this.servicio = servicio;
+        this.maxDistancia = maxDistancia;
+    }
+
+    /*
+     * Sugiere autores cuyo nombre empieza por el texto indicado, admitiendo algunos errores.
+     * La cantidad de errores permitida crece con la longitud del texto: ninguno hasta 3 letras,
+     * uno hasta 5 y después el máximo configurado.
+     *
+     * @param texto Texto escrito por el usuario.
+     * @param k     Cantidad máxima de sugerencias.
+     * @return Autores ordenados por distancia al texto y después por cantidad de libros.
+     */
+    public List<AuthorSummary> sugerir(String texto, int k) {
+        String consulta = String.join(" ", TextNormalizer.terminos(texto));
+        if (consulta.isEmpty() || k <= 0) {
+            return List.of();
+        }
+        preparar();
+
+        lock.readLock().lock();
+        try {
+            int distancia = Math.min(maxDistancia, consulta.length() <= 3 ? 0 : consulta.length() <= 5 ? 1 : 2);
+            Map<Integer, Integer> encontrados = new HashMap<>();
+            int[] filaInicial = new int[consulta.length() + 1];
+            for (int i = 0; i < filaInicial.length; i++) {
+                filaInicial[i] = i;
+            }
+            // La primera letra debe coincidir: casi nunca es la equivocada y así sólo se recorre una rama de la raíz.
+            char primera = consulta.charAt(0);
+            Nodo rama = raiz.hijo(primera);
+            if (rama != null) {
+                buscar(rama, primera, consulta, filaInicial, distancia, distancia + 1, k, encontrados);
+            }
+
+            List<Integer> orden = new ArrayList<>(encontrados.keySet());
+            orden.sort(Comparator.<Integer>comparingInt(encontrados::get).thenComparing(porLibros));
+            return orden.stream().map(autores::get).filter(a -> a.books() > 0).limit(k).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        if (activo) {
+            autoresPendientes.addAll(evento.authorIds());
+            pendientes.addAll(evento.bookIds());
+        }
+    }
+
+    @EventListener
+    public void alRecargarCatalogo(CatalogReloadedEvent evento) {
+        recargar = true;
+    }
+
+    // Cantidad de autores indexados.
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return autores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Recorre un hijo del trie calculando la siguiente fila de la matriz de Levenshtein
+     * entre la consulta y el prefijo del nodo. "cubierta" es la menor distancia con la que ya se
+     * recogió un antecesor: los mejores autores de su subárbol incluyen a los de este nodo, así que
+     * sólo vale la pena recogerlo otra vez con una distancia menor.
+     */
+    private void buscar(Nodo nodo, char letra, String consulta, int[] filaAnterior, int distancia,
+                        int cubierta, int k, Map<Integer, Integer> encontrados) {
+        int columnas = consulta.length() + 1;
+        int[] fila = new int[columnas];
+        fila[0] = filaAnterior[0] + 1;
+        int minimo = fila[0];
+        for (int i = 1; i < columnas; i++) {
+            int sustitucion = filaAnterior[i - 1] + (consulta.charAt(i - 1) == letra ? 0 : 1);
+            fila[i] = Math.min(Math.min(fila[i - 1] + 1, filaAnterior[i] + 1), sustitucion);
+            minimo = Math.min(minimo, fila[i]);
+        }
+        // La consulta completa está a "distancia" o menos de este prefijo: todo el subárbol es candidato.
+        if (fila[columnas - 1] < cubierta) {
+            recoger(nodo, fila[columnas - 1], k, encontrados);
+            cubierta = fila[columnas - 1];
+        }
+        if (minimo < cubierta) {
+            for (int h = 0; h < nodo.cantidad; h++) {
+                buscar(nodo.hijos[h], nodo.claves[h], consulta, fila, distancia, cubierta, k, encontrados);
+            }
+        }
+    }
+
+    // Añade los mejores autores del subárbol con la distancia indicada, conservando la menor por autor.
+    private void recoger(Nodo nodo, int distancia, int k, Map<Integer, Integer> encontrados) {
+        for (int autor : mejores(nodo, k)) {
+            encontrados.merge(autor, distancia, Math::min);
+        }
+    }
+
+    private List<Integer> mejores(Nodo nodo, int k) {
+        if (nodo.mejores != null && k <= K) {
+            List<Integer> lista = new ArrayList<>(Math.min(k, nodo.mejores.length));
+            for (int i = 0; i < nodo.mejores.length && i < k; i++) {
+                lista.add(nodo.mejores[i]);
+            }
+            return lista;
+        }
+        Set<Integer> todos = new LinkedHashSet<>();
+        recorrer(nodo, todos);
+        List<Integer> lista = new ArrayList<>(todos);
+        lista.sort(porLibros);
+        return lista.size() > k ? lista.subList(0, k) : lista;
+    }
+
+    private static void recorrer(Nodo nodo, Set<Integer> salida) {
+        for (int i = 0; i < nodo.cantidadTerminales; i++) {
+            salida.add(nodo.terminales[i]);
+        }
+        for (int h = 0; h < nodo.cantidad; h++) {
+            recorrer(nodo.hijos[h], salida);
+        }
+    }
+
+    // Construye el índice si hace falta y aplica los cambios pendientes.
+    private void preparar() {
+        if (construido && !recargar && pendientes.isEmpty() && autoresPendientes.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (recargar) {
+                recargar = false;
+                pendientes.clear();
+                autoresPendientes.clear();
+                limpiar();
+                construido = false;
+            }
+            if (!construido) {
+                construir();
+            }
+            aplicarPendientes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void construir() {
+        long inicio = System.nanoTime();
+        activo = true;
+        KeysetCursor<AuthorSummary> cursor = servicio.cursorAuthorsById(TAMANO_PAGINA_CARGA);
+        while (cursor.hasNext()) {
+            cursor.next().forEach(this::agregar);
+        }
+        construido = true;
+        logger.info("Índice de autocompletado construido: {} autores en {} ms",
+                autores.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private void limpiar() {
+        autores.clear();
+        posicionPorId.clear();
+        raiz = new Nodo();
+    }
+
+    /*
+     * Vuelve a leer los autores de los libros modificados y los que ganaron o perdieron alguno de
+     * esos libros, aunque ya no estén enlazados a ninguno. Los autores nuevos se insertan en el trie;
+     * a los existentes sólo se les actualiza la cantidad de libros y los resultados precalculados.
+     */
+    private void aplicarPendientes() {
+        Set<Long> libros = new HashSet<>();
+        Set<Long> idsAutores = new HashSet<>();
+        Long id;
+        while ((id = pendientes.poll()) != null) {
+            libros.add(id);
+        }
+        while ((id = autoresPendientes.poll()) != null) {
+            idsAutores.add(id);
+        }
+        List<AuthorSummary> leidos = new ArrayList<>();
+        if (!libros.isEmpty()) {
+            leidos.addAll(servicio.getAuthorSummariesForBooks(libros));
+            leidos.forEach(a -> idsAutores.remove(a.id()));
+        }
+        if (!idsAutores.isEmpty()) {
+            leidos.addAll(servicio.getAuthorSummaries(idsAutores));
+        }
+        for (AuthorSummary autor : leidos) {
+            Integer posicion = posicionPorId.get(autor.id());
+            if (posicion == null) {
+                if (autor.books() > 0) {
+                    agregar(autor);
+                }
+            } else {
+                actualizar(posicion, autor);
+            }
+        }
+    }
+
+    /*
+     * Cambia la cantidad de libros de un autor ya indexado en los nodos de sus claves. Si la cantidad
+     * baja y el autor estaba entre los mejores de un nodo, otro autor del subárbol puede pasar a
+     * ocupar su lugar, así que esos resultados se recalculan desde el subárbol.
+     */
+    private void actualizar(int posicion, AuthorSummary autor) {
+        boolean baja = autor.books() < autores.get(posicion).books();
+        autores.set(posicion, autor);
+        for (String clave : claves(autor.name())) {
+            Nodo nodo = raiz;
+            for (int i = 0; nodo != null; i++) {
+                if (nodo.mejores != null) {
+                    if (baja && contiene(nodo.mejores, posicion)) {
+                        recalcularMejores(nodo);
+                    } else {
+                        actualizarMejores(nodo, posicion);
+                    }
+                }
+                nodo = i < clave.length() ? nodo.hijo(clave.charAt(i)) : null;
+            }
+        }
+    }
+
+    private void agregar(AuthorSummary autor) {
+        int posicion = autores.size();
+        autores.add(autor);
+        posicionPorId.put(autor.id(), posicion);
+        for (String clave : claves(autor.name())) {
+            Nodo nodo = raiz;
+            registrarEntrada(nodo, posicion);
+            for (int i = 0; i < clave.length(); i++) {
+                nodo = nodo.hijoOCrear(clave.charAt(i));
+                registrarEntrada(nodo, posicion);
+            }
+            nodo.agregarTerminal(posicion);
+        }
+    }
+
+    // Cuenta una entrada más en el subárbol del nodo y mantiene sus resultados precalculados.
+    private void registrarEntrada(Nodo nodo, int autor) {
+        nodo.entradas++;
+        if (nodo.mejores != null) {
+            actualizarMejores(nodo, autor);
+        } else if (nodo.entradas > UMBRAL_PRECALCULO) {
+            recalcularMejores(nodo);
+            actualizarMejores(nodo, autor);
+        }
+    }
+
+    private void recalcularMejores(Nodo nodo) {
+        Set<Integer> todos = new LinkedHashSet<>();
+        recorrer(nodo, todos);
+        List<Integer> lista = new ArrayList<>(todos);
+        lista.sort(porLibros);
+        nodo.mejores = lista.stream().limit(K).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean contiene(int[] mejores, int autor) {
+        for (int a : mejores) {
+            if (a == autor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void actualizarMejores(Nodo nodo, int autor) {
+        if (nodo.mejores == null) {
+            return;
+        }
+        List<Integer> lista = new ArrayList<>(nodo.mejores.length + 1);
+        for (int a : nodo.mejores) {
+            if (a != autor) {
+                lista.add(a);
+            }
+        }
+        lista.add(autor);
+        lista.sort(porLibros);
+        nodo.mejores = lista.stream().limit(K).mapToInt(Integer::intValue).toArray();
+    }
+
+    /*
+     * Claves con las que se indexa un nombre: el nombre completo normalizado, el nombre en orden
+     * "Nombre Apellido" si viene como "Apellido, Nombre", y el resto del nombre a partir de cada palabra.
+     */
+    static Set<String> claves(String nombre) {
+        Set<String> claves = new LinkedHashSet<>();
+        List<String> palabras = TextNormalizer.terminos(nombre);
+        for (int i = 0; i < palabras.size(); i++) {
+            claves.add(String.join(" ", palabras.subList(i, palabras.size())));
+        }
+        int coma = nombre == null ? -1 : nombre.indexOf(',');
+        if (coma > 0) {
+            List<String> invertido = new ArrayList<>(TextNormalizer.terminos(nombre.substring(coma + 1)));
+            invertido.addAll(TextNormalizer.terminos(nombre.substring(0, coma)));
+            claves.add(String.join(" ", invertido));
+        }
+        claves.remove("");
+        return claves;
+    }
+
+    // Nodo del trie. Los hijos se guardan en arreglos ordenados por letra para ocupar poca memoria.
+    private static final class Nodo {
+        private char[] claves = new char[0];
+        private Nodo[] hijos = new Nodo[0];
+        private int cantidad;
+
+        private int[] terminales = new int[0];
+        private int cantidadTerminales;
+
+        // Entradas (autor, clave) que pasan por este nodo.
+        private int entradas;
+        // Mejores autores del subárbol por cantidad de libros; null si el subárbol es pequeño.
+        private int[] mejores;
+
+        Nodo hijo(char letra) {
+            int i = Arrays.binarySearch(claves, 0, cantidad, letra);
+            return i >= 0 ? hijos[i] : null;
+        }
+
+        Nodo hijoOCrear(char letra) {
+            int i = Arrays.binarySearch(claves, 0, cantidad, letra);
+            if (i >= 0) {
+                return hijos[i];
+            }
+            int posicion = -i - 1;
+            if (cantidad == claves.length) {
+                int capacidad = Math.max(2, cantidad * 2);
+                claves = Arrays.copyOf(claves, capacidad);
+                hijos = Arrays.copyOf(hijos, capacidad);
+            }
+            System.arraycopy(claves, posicion, claves, posicion + 1, cantidad - posicion);
+            System.arraycopy(hijos, posicion, hijos, posicion + 1, cantidad - posicion);
+            Nodo nuevo = new Nodo();
+            claves[posicion] = letra;
+            hijos[posicion] = nuevo;
+            cantidad++;
+            return nuevo;
+        }
+
+        void agregarTerminal(int autor) {
+            for (int i = 0; i < cantidadTerminales; i++) {
+                if (terminales[i] == autor) {
+                    return;
+                }
+            }
+            if (cantidadTerminales == terminales.length) {
+                terminales = Arrays.copyOf(terminales, Math.max(1, cantidadTerminales * 2));
+            }
+            terminales[cantidadTerminales++] = autor;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,444 @@
+package com.literalura.literalura.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogReloadedEvent;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+import com.literalura.literalura.service.KeysetCursor;
+
+/*
+ * Índice en memoria de los años de vida de los autores, para responder "vivos en un año",
+ * "vivos durante un rango" y "nacieron y murieron dentro de un rango" sin recorrer la tabla
+ * y con cada autor una sola vez. Los autores que se quedan sin libros dejan de aparecer en las
+ * consultas y salen de los arreglos la próxima vez que se reordenan.
+ *
+ * Los intervalos se guardan en arreglos primitivos ordenados por año de inicio. Sobre ese orden
+ * se usa un árbol binario implícito (cada posición es la raíz del subrango del que es el punto
+ * medio) con el máximo y el mínimo año de fin de cada subárbol, de modo que una consulta localiza
+ * el rango por búsqueda binaria y descarta ramas enteras: O(log n + resultados · log n).
+ *
+ * Gutendex envía como null los años desconocidos y se guardan como 0 (el año 0 no existe en el
+ * calendario que usa Gutenberg: el año 1 a. C. es -1). Un año desconocido se estima con la vida
+ * máxima configurada, así que un autor sólo con año de nacimiento se considera posiblemente vivo
+ * hasta nacimiento + vida máxima. Los autores sin ningún año no aparecen en las consultas por año,
+ * y "nacieron y murieron dentro de un rango" sólo incluye autores con ambos años conocidos.
+ */
+@Component
+public class AuthorLifespanIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorLifespanIndex.class);
+
+    private static final int TAMANO_PAGINA_CARGA = 1000;
+
+    // Autores añadidos desde la última construcción que se revisan uno a uno antes de reordenar.
+    private static final int MAX_RECIENTES = 1024;
+
+    private final BookService servicio;
+    private final int maxAniosVida;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Long> pendientes = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> autoresPendientes = new ConcurrentLinkedQueue<>();
+    private volatile boolean activo;
+    private volatile boolean construido;
+    // Otro proceso cambió el catálogo: se vuelve a construir antes de la siguiente consulta.
+    private volatile boolean recargar;
+
+    // Estado protegido por lock.
+    private final List<AuthorSummary> autores = new ArrayList<>();
+    private final Map<Long, Integer> posicionPorId = new HashMap<>();
+    // Intervalos estimados de todos los autores con algún año conocido.
+    private Intervalos vidas = Intervalos.VACIO;
+    // Intervalos de los autores con ambos años conocidos.
+    private Intervalos exactos = Intervalos.VACIO;
+    // Posiciones de autores añadidos después de construir los intervalos.
+    private final List<Integer> recientes = new ArrayList<>();
+    // Autores que se quedaron sin libros y siguen ocupando su posición hasta compactar.
+    private int sinLibros;
+
+    public AuthorLifespanIndex(BookService servicio,
+                               @Value("${literalura.autores.max-anios-vida:100}") int maxAniosVida) {
+        this.servicio = servicio;
+        this.maxAniosVida = maxAniosVida;
+    }
+
+    /*
+     * Autores que pudieron estar vivos en un año.
+     *
+     * @param anio Año a consultar; los años antes de nuestra era son negativos.
+     * @return Autores ordenados por año de nacimiento (estimado) y nombre.
+     */
+    public List<AuthorSummary> vivosEn(int anio) {
+        return vivosDurante(anio, anio);
+    }
+
+    /*
+     * Autores que pudieron estar vivos en algún momento entre dos años, inclusive.
+     *
+     * @param desde Primer año del rango.
+     * @param hasta Último año del rango.
+     * @return Autores ordenados por año de nacimiento (estimado) y nombre.
+     */
+    public List<AuthorSummary> vivosDurante(int desde, int hasta) {
+        validarRango(desde, hasta);
+        return consultar(false, desde, hasta);
+    }
+
+    /*
+     * Autores que nacieron y murieron dentro de un rango de años, inclusive.
+     * Sólo se consideran los autores con ambos años conocidos.
+     *
+     * @param desde Primer año del rango.
+     * @param hasta Último año del rango.
+     * @return Autores ordenados por año de nacimiento y nombre.
+     */
+    public List<AuthorSummary> nacidosYMuertosEntre(int desde, int hasta) {
+        validarRango(desde, hasta);
+        return consultar(true, desde, hasta);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        if (activo) {
+            autoresPendientes.addAll(evento.authorIds());
+            pendientes.addAll(evento.bookIds());
+        }
+    }
+
+    @EventListener
+    public void alRecargarCatalogo(CatalogReloadedEvent evento) {
+        recargar = true;
+    }
+
+    // Cantidad de autores indexados, incluidos los que no tienen años conocidos.
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return autores.size() - sinLibros;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void validarRango(int desde, int hasta) {
+        if (desde > hasta) {
+            throw new IllegalArgumentException("El año inicial no puede ser mayor que el año final");
+        }
+    }
+
+    private List<AuthorSummary> consultar(boolean dentro, int desde, int hasta) {
+        preparar();
+        lock.readLock().lock();
+        try {
+            List<AuthorSummary> resultado = new ArrayList<>();
+            IntConsumer salida = posicion -> {
+                if (autores.get(posicion).books() > 0) {
+                    resultado.add(autores.get(posicion));
+                }
+            };
+            if (dentro) {
+                // Nacimiento en [desde, hasta] y fallecimiento <= hasta.
+                exactos.buscar(desde, hasta, Integer.MIN_VALUE, hasta, salida);
+            } else {
+                // Intervalos que se solapan con [desde, hasta]: inicio <= hasta y fin >= desde.
+                vidas.buscar(Integer.MIN_VALUE, hasta, desde, Integer.MAX_VALUE, salida);
+            }
+            for (int posicion : recientes) {
+                int[] vida = vida(autores.get(posicion));
+                if (vida == null || dentro && !exacto(autores.get(posicion))) {
+                    continue;
+                }
+                boolean coincide = dentro
+                        ? vida[0] >= desde && vida[0] <= hasta && vida[1] <= hasta
+                        : vida[0] <= hasta && vida[1] >= desde;
+                if (coincide) {
+                    salida.accept(posicion);
+                }
+            }
+            resultado.sort(Comparator.comparingInt((AuthorSummary a) -> vida(a)[0]).thenComparing(AuthorSummary::name)
+                    .thenComparing(AuthorSummary::id));
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Intervalo de vida usado por el índice: los años conocidos tal cual y los desconocidos
+     * estimados con la vida máxima.
+     *
+     * @return {inicio, fin}, o null si no se conoce ningún año.
+     */
+    private int[] vida(AuthorSummary autor) {
+        boolean nacimiento = autor.yearBirth() != 0;
+        boolean muerte = autor.yearDeath() != 0;
+        if (nacimiento && muerte) {
+            return new int[]{autor.yearBirth(), autor.yearDeath()};
+        } else if (nacimiento) {
+            return new int[]{autor.yearBirth(), autor.yearBirth() + maxAniosVida};
+        } else if (muerte) {
+            return new int[]{autor.yearDeath() - maxAniosVida, autor.yearDeath()};
+        }
+        return null;
+    }
+
+    private static boolean exacto(AuthorSummary autor) {
+        return autor.yearBirth() != 0 && autor.yearDeath() != 0;
+    }
+
+    // Construye el índice si hace falta y aplica los cambios pendientes.
+    private void preparar() {
+        if (construido && !recargar && pendientes.isEmpty() && autoresPendientes.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (recargar) {
+                recargar = false;
+                pendientes.clear();
+                autoresPendientes.clear();
+                limpiar();
+                construido = false;
+            }
+            if (!construido) {
+                long inicio = System.nanoTime();
+                activo = true;
+                KeysetCursor<AuthorSummary> cursor = servicio.cursorAuthorsById(TAMANO_PAGINA_CARGA);
+                while (cursor.hasNext()) {
+                    for (AuthorSummary autor : cursor.next()) {
+                        posicionPorId.put(autor.id(), autores.size());
+                        autores.add(autor);
+                    }
+                }
+                ordenar();
+                construido = true;
+                logger.info("Índice de años de vida construido: {} autores en {} ms",
+                        autores.size(), (System.nanoTime() - inicio) / 1_000_000);
+            }
+            aplicarPendientes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Vuelve a leer los autores de los libros modificados y los que ganaron o perdieron alguno de
+     * esos libros. Los años forman parte de la identidad de un autor, así que los existentes sólo
+     * cambian su cantidad de libros (con 0 dejan de aparecer en las consultas); los nuevos se
+     * revisan uno a uno hasta que son suficientes para reordenar los arreglos.
+     */
+    private void aplicarPendientes() {
+        Set<Long> libros = new HashSet<>();
+        Set<Long> idsAutores = new HashSet<>();
+        Long id;
+        while ((id = pendientes.poll()) != null) {
+            libros.add(id);
+        }
+        while ((id = autoresPendientes.poll()) != null) {
+            idsAutores.add(id);
+        }
+        List<AuthorSummary> leidos = new ArrayList<>();
+        if (!libros.isEmpty()) {
+            leidos.addAll(servicio.getAuthorSummariesForBooks(libros));
+            leidos.forEach(a -> idsAutores.remove(a.id()));
+        }
+        if (!idsAutores.isEmpty()) {
+            leidos.addAll(servicio.getAuthorSummaries(idsAutores));
+        }
+        for (AuthorSummary autor : leidos) {
+            Integer posicion = posicionPorId.get(autor.id());
+            if (posicion != null) {
+                if (autor.books() == 0 && autores.get(posicion).books() > 0) {
+                    sinLibros++;
+                } else if (autor.books() > 0 && autores.get(posicion).books() == 0) {
+                    sinLibros--;
+                }
+                autores.set(posicion, autor);
+            } else if (autor.books() > 0) {
+                posicionPorId.put(autor.id(), autores.size());
+                recientes.add(autores.size());
+                autores.add(autor);
+            }
+        }
+        if (recientes.size() + sinLibros > MAX_RECIENTES) {
+            compactar();
+            ordenar();
+        }
+    }
+
+    private void limpiar() {
+        autores.clear();
+        posicionPorId.clear();
+        recientes.clear();
+        sinLibros = 0;
+        vidas = Intervalos.VACIO;
+        exactos = Intervalos.VACIO;
+    }
+
+    // Quita los autores sin libros y renumera las posiciones de los demás.
+    private void compactar() {
+        if (sinLibros == 0) {
+            return;
+        }
+        List<AuthorSummary> conLibros = autores.stream().filter(a -> a.books() > 0).toList();
+        autores.clear();
+        posicionPorId.clear();
+        for (AuthorSummary autor : conLibros) {
+            posicionPorId.put(autor.id(), autores.size());
+            autores.add(autor);
+        }
+        sinLibros = 0;
+    }
+
+    private void ordenar() {
+        List<Integer> conVida = new ArrayList<>();
+        List<Integer> conAmbos = new ArrayList<>();
+        for (int i = 0; i < autores.size(); i++) {
+            if (vida(autores.get(i)) != null) {
+                conVida.add(i);
+                if (exacto(autores.get(i))) {
+                    conAmbos.add(i);
+                }
+            }
+        }
+        vidas = crearIntervalos(conVida);
+        exactos = crearIntervalos(conAmbos);
+        recientes.clear();
+    }
+
+    private Intervalos crearIntervalos(List<Integer> posiciones) {
+        int n = posiciones.size();
+        int[] inicios = new int[n];
+        int[] fines = new int[n];
+        int[] orden = new int[n];
+        for (int i = 0; i < n; i++) {
+            int[] vida = vida(autores.get(posiciones.get(i)));
+            inicios[i] = vida[0];
+            fines[i] = vida[1];
+            orden[i] = posiciones.get(i);
+        }
+        return Intervalos.crear(inicios, fines, orden);
+    }
+
+    /*
+     * Intervalos [inicio, fin] ordenados por inicio, con el mínimo y el máximo fin de cada subárbol
+     * del árbol implícito. La raíz de un subrango [lo, hi) es su punto medio.
+     */
+    private static final class Intervalos {
+
+        static final Intervalos VACIO = new Intervalos(new int[0], new int[0], new int[0]);
+
+        private final int[] inicios;
+        private final int[] fines;
+        private final int[] posiciones;
+        private final int[] minFin;
+        private final int[] maxFin;
+
+        private Intervalos(int[] inicios, int[] fines, int[] posiciones) {
+            this.inicios = inicios;
+            this.fines = fines;
+            this.posiciones = posiciones;
+            this.minFin = new int[inicios.length];
+            this.maxFin = new int[inicios.length];
+            agregar(0, inicios.length);
+        }
+
+        static Intervalos crear(int[] inicios, int[] fines, int[] posiciones) {
+            Integer[] orden = new Integer[inicios.length];
+            for (int i = 0; i < orden.length; i++) {
+                orden[i] = i;
+            }
+            Arrays.sort(orden, Comparator.comparingInt(i -> inicios[i]));
+            int[] iniciosOrdenados = new int[orden.length];
+            int[] finesOrdenados = new int[orden.length];
+            int[] posicionesOrdenadas = new int[orden.length];
+            for (int i = 0; i < orden.length; i++) {
+                iniciosOrdenados[i] = inicios[orden[i]];
+                finesOrdenados[i] = fines[orden[i]];
+                posicionesOrdenadas[i] = posiciones[orden[i]];
+            }
+            return new Intervalos(iniciosOrdenados, finesOrdenados, posicionesOrdenadas);
+        }
+
+        // Calcula el mínimo y el máximo fin de cada subárbol.
+        private void agregar(int lo, int hi) {
+            if (lo >= hi) {
+                return;
+            }
+            int medio = (lo + hi) >>> 1;
+            agregar(lo, medio);
+            agregar(medio + 1, hi);
+            int minimo = fines[medio];
+            int maximo = fines[medio];
+            if (lo < medio) {
+                int hijo = (lo + medio) >>> 1;
+                minimo = Math.min(minimo, minFin[hijo]);
+                maximo = Math.max(maximo, maxFin[hijo]);
+            }
+            if (medio + 1 < hi) {
+                int hijo = (medio + 1 + hi) >>> 1;
+                minimo = Math.min(minimo, minFin[hijo]);
+                maximo = Math.max(maximo, maxFin[hijo]);
+            }
+            minFin[medio] = minimo;
+            maxFin[medio] = maximo;
+        }
+
+        // Entrega las posiciones con inicio en [inicioDesde, inicioHasta] y fin en [finDesde, finHasta].
+        void buscar(int inicioDesde, int inicioHasta, int finDesde, int finHasta, IntConsumer salida) {
+            int desde = primeroMayorOIgual(inicioDesde);
+            int hasta = inicioHasta == Integer.MAX_VALUE ? inicios.length : primeroMayorOIgual(inicioHasta + 1);
+            buscar(0, inicios.length, desde, hasta, finDesde, finHasta, salida);
+        }
+
+        private void buscar(int lo, int hi, int desde, int hasta, int finDesde, int finHasta, IntConsumer salida) {
+            if (lo >= hi || hi <= desde || lo >= hasta) {
+                return;
+            }
+            int medio = (lo + hi) >>> 1;
+            if (maxFin[medio] < finDesde || minFin[medio] > finHasta) {
+                return;
+            }
+            buscar(lo, medio, desde, hasta, finDesde, finHasta, salida);
+            if (medio >= desde && medio < hasta && fines[medio] >= finDesde && fines[medio] <= finHasta) {
+                salida.accept(posiciones[medio]);
+            }
+            buscar(medio + 1, hi, desde, hasta, finDesde, finHasta, salida);
+        }
+
+        // Primera posición cuyo inicio es mayor o igual que el valor.
+        private int primeroMayorOIgual(int valor) {
+            int lo = 0;
+            int hi = inicios.length;
+            while (lo < hi) {
+                int medio = (lo + hi) >>> 1;
+                if (inicios[medio] < valor) {
+                    lo = medio + 1;
+                } else {
+                    hi = medio;
+                }
+            }
+            return lo;
+        }
+    }
+}
\ No newline at end of file
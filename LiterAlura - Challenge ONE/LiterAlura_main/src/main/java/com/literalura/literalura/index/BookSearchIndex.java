@@ -0,0 +1,339 @@
+package com.literalura.literalura.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogReloadedEvent;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+import com.literalura.literalura.service.KeysetCursor;
+
+/*
+ * Índice invertido en memoria para buscar libros del catálogo local por título y autor.
+ * Cada término apunta a la lista de libros que lo contienen; una búsqueda sólo recorre las
+ * listas de sus términos, sin consultar la base de datos ni la red.
+ *
+ * El índice se construye la primera vez que se usa. Después se mantiene al día con
+ * CatalogUpdatedEvent: los IDs modificados se anotan al confirmarse cada transacción y se
+ * vuelven a indexar antes de la siguiente búsqueda. Si otro proceso cambia el catálogo
+ * (CatalogReloadedEvent), el índice se vuelve a construir entero.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    // Un término del título pesa más que uno del nombre de un autor.
+    private static final int PESO_TITULO = 2;
+    private static final int PESO_AUTOR = 1;
+
+    private static final int TAMANO_PAGINA_CARGA = 1000;
+
+    private final BookService servicio;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Long> pendientes = new ConcurrentLinkedQueue<>();
+    private volatile boolean activo;
+    private volatile boolean construido;
+    // Otro proceso cambió el catálogo: se vuelve a construir antes de la siguiente consulta.
+    private volatile boolean recargar;
+
+    // Estado protegido por lock. Los documentos se identifican por su posición en la lista.
+    private final List<BookSummary> documentos = new ArrayList<>();
+    private final BitSet eliminados = new BitSet();
+    private final Map<Long, Integer> documentoPorLibro = new HashMap<>();
+    private final Map<String, Postings> indice = new HashMap<>();
+
+    public BookSearchIndex(BookService servicio) {
+        this.servicio = servicio;
+    }
+
+    /*
+     * Busca libros por palabras del título o del nombre de los autores, sin distinguir
+     * mayúsculas ni acentos. Los resultados se ordenan por cantidad de palabras encontradas,
+     * después por relevancia (las palabras poco frecuentes y las del título valen más)
+     * y por último por descargas.
+     *
+     * @param consulta Texto a buscar.
+     * @param limite   Cantidad máxima de resultados.
+     * @return Los libros encontrados, del más al menos relevante.
+     */
+    public List<SearchHit> buscar(String consulta, int limite) {
+        List<String> terminos = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.terminos(consulta)));
+        if (terminos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        preparar();
+
+        lock.readLock().lock();
+        try {
+            int vivos = documentos.size() - eliminados.cardinality();
+            List<Postings> listas = new ArrayList<>(terminos.size());
+            int entradas = 0;
+            for (String termino : terminos) {
+                Postings p = indice.get(termino);
+                if (p != null) {
+                    listas.add(p);
+                    entradas += p.tamano;
+                }
+            }
+
+            Acumulador acumulador = new Acumulador(entradas);
+            for (Postings p : listas) {
+                // IDF de BM25: los términos presentes en menos libros aportan más.
+                float idf = (float) Math.log(1 + (vivos - p.tamano + 0.5) / (p.tamano + 0.5));
+                for (int i = 0; i < p.tamano; i++) {
+                    int doc = p.documentos[i];
+                    if (!eliminados.get(doc)) {
+                        acumulador.sumar(doc, idf * p.pesos[i]);
+                    }
+                }
+            }
+
+            // Se ordenan ranuras del acumulador, no documentos.
+            Comparator<Integer> orden = Comparator.<Integer>comparingInt(r -> acumulador.coincidencias[r])
+                    .thenComparingDouble(r -> acumulador.puntos[r])
+                    .thenComparingInt(r -> documentos.get(acumulador.documento(r)).totalDownloads())
+                    .thenComparingLong(r -> -documentos.get(acumulador.documento(r)).id());
+            // Montículo acotado con el peor resultado en la cima: O(n log k) en lugar de ordenar todo.
+            PriorityQueue<Integer> mejores = new PriorityQueue<>(limite + 1, orden);
+            for (int i = 0; i < acumulador.cantidad; i++) {
+                mejores.add(acumulador.ocupadas[i]);
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+            List<SearchHit> resultados = new ArrayList<>(mejores.size());
+            while (!mejores.isEmpty()) {
+                int ranura = mejores.poll();
+                resultados.add(new SearchHit(documentos.get(acumulador.documento(ranura)),
+                        acumulador.coincidencias[ranura], acumulador.puntos[ranura]));
+            }
+            Collections.reverse(resultados);
+            return resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        // Mientras el índice no se haya empezado a construir no hace falta anotar nada: la carga leerá todo.
+        if (activo) {
+            pendientes.addAll(evento.bookIds());
+        }
+    }
+
+    @EventListener
+    public void alRecargarCatalogo(CatalogReloadedEvent evento) {
+        recargar = true;
+    }
+
+    // Cantidad de libros indexados, sin contar los reemplazados.
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return documentos.size() - eliminados.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documentos reemplazados que siguen en las listas; sirve para comprobar la compactación.
+    int documentosEliminados() {
+        lock.readLock().lock();
+        try {
+            return eliminados.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Construye el índice si hace falta y aplica los cambios pendientes.
+    private void preparar() {
+        if (construido && !recargar && pendientes.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (recargar) {
+                recargar = false;
+                pendientes.clear();
+                limpiar();
+                construido = false;
+            }
+            if (!construido) {
+                construir();
+            }
+            aplicarPendientes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void construir() {
+        long inicio = System.nanoTime();
+        activo = true;
+        KeysetCursor<BookSummary> cursor = servicio.cursorBooks(TAMANO_PAGINA_CARGA);
+        while (cursor.hasNext()) {
+            cursor.next().forEach(this::agregar);
+        }
+        construido = true;
+        logger.info("Índice de búsqueda construido: {} libros, {} términos en {} ms",
+                documentos.size(), indice.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private void aplicarPendientes() {
+        Set<Long> ids = new HashSet<>();
+        Long id;
+        while ((id = pendientes.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        // Tras una importación grande es más rápido volver a leer todo el catálogo por páginas.
+        if (ids.size() > documentos.size() / 4) {
+            limpiar();
+            construir();
+            return;
+        }
+        for (Long libro : ids) {
+            Integer anterior = documentoPorLibro.remove(libro);
+            if (anterior != null) {
+                eliminados.set(anterior);
+            }
+        }
+        servicio.getBookSummaries(ids).forEach(this::agregar);
+
+        // Con muchos documentos reemplazados, las listas se compactan para no recorrer entradas muertas.
+        if (eliminados.cardinality() > documentos.size() / 4) {
+            compactar();
+        }
+    }
+
+    private void limpiar() {
+        documentos.clear();
+        eliminados.clear();
+        documentoPorLibro.clear();
+        indice.clear();
+    }
+
+    private void compactar() {
+        List<BookSummary> vivos = new ArrayList<>(documentos.size() - eliminados.cardinality());
+        for (int doc = 0; doc < documentos.size(); doc++) {
+            if (!eliminados.get(doc)) {
+                vivos.add(documentos.get(doc));
+            }
+        }
+        limpiar();
+        vivos.forEach(this::agregar);
+    }
+
+    private void agregar(BookSummary libro) {
+        int doc = documentos.size();
+        documentos.add(libro);
+        documentoPorLibro.put(libro.id(), doc);
+
+        Map<String, Integer> pesos = new HashMap<>();
+        for (String termino : TextNormalizer.terminos(libro.title())) {
+            pesos.merge(termino, PESO_TITULO, Integer::sum);
+        }
+        for (String autor : libro.authors()) {
+            for (String termino : TextNormalizer.terminos(autor)) {
+                pesos.merge(termino, PESO_AUTOR, Integer::sum);
+            }
+        }
+        pesos.forEach((termino, peso) -> indice.computeIfAbsent(termino, t -> new Postings()).agregar(doc, peso));
+    }
+
+    // Lista de documentos que contienen un término, con el peso del término en cada uno.
+    private static final class Postings {
+        private int[] documentos = new int[4];
+        private int[] pesos = new int[4];
+        private int tamano;
+
+        void agregar(int documento, int peso) {
+            if (tamano == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamano * 2);
+                pesos = Arrays.copyOf(pesos, tamano * 2);
+            }
+            documentos[tamano] = documento;
+            pesos[tamano] = peso;
+            tamano++;
+        }
+    }
+
+    /*
+     * Puntos y palabras encontradas por documento durante una búsqueda. Es una tabla hash de
+     * direccionamiento abierto con capacidad para todas las entradas de las listas recorridas, así
+     * que cada búsqueda reserva memoria según sus términos y no según el tamaño del catálogo.
+     */
+    private static final class Acumulador {
+        // Documento + 1 en cada ranura; 0 si está libre.
+        private final int[] claves;
+        private final float[] puntos;
+        private final int[] coincidencias;
+        // Ranuras ocupadas, en el orden en que se ocuparon.
+        private final int[] ocupadas;
+        private int cantidad;
+
+        Acumulador(int entradas) {
+            // Potencia de dos de al menos el doble de entradas, para que las secuencias de sondeo sean cortas.
+            int capacidad = Integer.highestOneBit(Math.max(1, entradas * 2 - 1)) << 1;
+            claves = new int[capacidad];
+            puntos = new float[capacidad];
+            coincidencias = new int[capacidad];
+            ocupadas = new int[entradas];
+        }
+
+        void sumar(int documento, float valor) {
+            int mascara = claves.length - 1;
+            int hash = documento * 0x9E3779B9;
+            int ranura = (hash ^ hash >>> 16) & mascara;
+            while (claves[ranura] != 0 && claves[ranura] != documento + 1) {
+                ranura = (ranura + 1) & mascara;
+            }
+            if (claves[ranura] == 0) {
+                claves[ranura] = documento + 1;
+                ocupadas[cantidad++] = ranura;
+            }
+            coincidencias[ranura]++;
+            puntos[ranura] += valor;
+        }
+
+        int documento(int ranura) {
+            return claves[ranura] - 1;
+        }
+    }
+
+    /*
+     * Resultado de una búsqueda.
+     *
+     * @param libro      El libro encontrado.
+     * @param terminos   Cantidad de palabras de la búsqueda presentes en el libro.
+     * @param puntuacion Relevancia del libro para la búsqueda.
+     */
+    public record SearchHit(BookSummary libro, int terminos, double puntuacion) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,472 @@
+package com.literalura.literalura.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/*
+ * Conjunto de enteros no negativos comprimido al estilo de los "roaring bitmaps".
+ * Los 16 bits altos de cada valor eligen un bloque y los 16 bajos se guardan en el bloque:
+ * como arreglo ordenado de char mientras tiene pocos valores, y como mapa de 65536 bits
+ * (1024 longs) cuando pasa de 4096, que es el punto en el que el mapa ocupa menos. Un mapa sólo
+ * vuelve a ser arreglo al bajar a 2048 valores, para que un bloque que sube y baja alrededor de
+ * 4096 no se convierta en cada operación.
+ * Las intersecciones y uniones se hacen bloque a bloque, con operaciones de 64 bits
+ * entre mapas de bits.
+ *
+ * No es seguro para hilos; quien lo usa se encarga de sincronizar.
+ */
+final class CompactBitmap {
+
+    // Valores a partir de los cuales un bloque pasa de arreglo a mapa de bits.
+    private static final int MAX_ARREGLO = 4096;
+
+    // Valores con los que un mapa de bits vuelve a ser arreglo al quitar.
+    private static final int MIN_MAPA = MAX_ARREGLO / 2;
+
+    private char[] claves = new char[0];
+    private Bloque[] bloques = new Bloque[0];
+    private int cantidad;
+
+    // Añade un valor; devuelve true si no estaba.
+    boolean agregar(int valor) {
+        comprobar(valor);
+        char clave = (char) (valor >>> 16);
+        int i = Arrays.binarySearch(claves, 0, cantidad, clave);
+        if (i < 0) {
+            i = -i - 1;
+            insertarBloque(i, clave, new Arreglo());
+        }
+        Bloque bloque = bloques[i];
+        boolean nuevo = bloque.agregar((char) valor);
+        if (bloque instanceof Arreglo arreglo && arreglo.cantidad > MAX_ARREGLO) {
+            bloques[i] = arreglo.aMapa();
+        }
+        return nuevo;
+    }
+
+    // Quita un valor; devuelve true si estaba.
+    boolean quitar(int valor) {
+        if (valor < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(claves, 0, cantidad, (char) (valor >>> 16));
+        if (i < 0 || !bloques[i].quitar((char) valor)) {
+            return false;
+        }
+        Bloque bloque = bloques[i];
+        if (bloque.cardinalidad() == 0) {
+            System.arraycopy(claves, i + 1, claves, i, cantidad - i - 1);
+            System.arraycopy(bloques, i + 1, bloques, i, cantidad - i - 1);
+            bloques[--cantidad] = null;
+        } else if (bloque instanceof Mapa mapa && mapa.cardinalidad <= MIN_MAPA) {
+            bloques[i] = mapa.aArreglo();
+        }
+        return true;
+    }
+
+    boolean contiene(int valor) {
+        if (valor < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(claves, 0, cantidad, (char) (valor >>> 16));
+        return i >= 0 && bloques[i].contiene((char) valor);
+    }
+
+    int cardinalidad() {
+        int total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            total += bloques[i].cardinalidad();
+        }
+        return total;
+    }
+
+    boolean vacio() {
+        return cantidad == 0;
+    }
+
+    // Cantidad de bloques guardados como mapa de bits; sirve para comprobar las conversiones.
+    int bloquesMapa() {
+        int total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (bloques[i] instanceof Mapa) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    // Entrega los valores en orden ascendente.
+    void recorrer(IntConsumer salida) {
+        for (int i = 0; i < cantidad; i++) {
+            bloques[i].recorrer(claves[i] << 16, salida);
+        }
+    }
+
+    int[] aArreglo() {
+        int[] valores = new int[cardinalidad()];
+        int[] posicion = {0};
+        recorrer(v -> valores[posicion[0]++] = v);
+        return valores;
+    }
+
+    // Intersección de dos conjuntos.
+    static CompactBitmap and(CompactBitmap a, CompactBitmap b) {
+        CompactBitmap resultado = new CompactBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.cantidad && j < b.cantidad) {
+            if (a.claves[i] < b.claves[j]) {
+                i++;
+            } else if (a.claves[i] > b.claves[j]) {
+                j++;
+            } else {
+                Bloque bloque = a.bloques[i].and(b.bloques[j]);
+                if (bloque.cardinalidad() > 0) {
+                    resultado.insertarBloque(resultado.cantidad, a.claves[i], bloque);
+                }
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    // Unión de dos conjuntos.
+    static CompactBitmap or(CompactBitmap a, CompactBitmap b) {
+        CompactBitmap resultado = new CompactBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.cantidad || j < b.cantidad) {
+            if (j == b.cantidad || i < a.cantidad && a.claves[i] < b.claves[j]) {
+                resultado.insertarBloque(resultado.cantidad, a.claves[i], a.bloques[i].copia());
+                i++;
+            } else if (i == a.cantidad || a.claves[i] > b.claves[j]) {
+                resultado.insertarBloque(resultado.cantidad, b.claves[j], b.bloques[j].copia());
+                j++;
+            } else {
+                resultado.insertarBloque(resultado.cantidad, a.claves[i], a.bloques[i].or(b.bloques[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    // Tamaño de la intersección, sin construirla.
+    static int andCardinalidad(CompactBitmap a, CompactBitmap b) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.cantidad && j < b.cantidad) {
+            if (a.claves[i] < b.claves[j]) {
+                i++;
+            } else if (a.claves[i] > b.claves[j]) {
+                j++;
+            } else {
+                total += a.bloques[i].andCardinalidad(b.bloques[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    private void insertarBloque(int posicion, char clave, Bloque bloque) {
+        if (cantidad == claves.length) {
+            int capacidad = Math.max(4, cantidad * 2);
+            claves = Arrays.copyOf(claves, capacidad);
+            bloques = Arrays.copyOf(bloques, capacidad);
+        }
+        System.arraycopy(claves, posicion, claves, posicion + 1, cantidad - posicion);
+        System.arraycopy(bloques, posicion, bloques, posicion + 1, cantidad - posicion);
+        claves[posicion] = clave;
+        bloques[posicion] = bloque;
+        cantidad++;
+    }
+
+    private static void comprobar(int valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("Sólo se admiten valores no negativos: " + valor);
+        }
+    }
+
+    // Bloque de hasta 65536 valores con los mismos 16 bits altos.
+    private interface Bloque {
+        boolean agregar(char valor);
+
+        boolean quitar(char valor);
+
+        boolean contiene(char valor);
+
+        int cardinalidad();
+
+        void recorrer(int base, IntConsumer salida);
+
+        Bloque and(Bloque otro);
+
+        Bloque or(Bloque otro);
+
+        int andCardinalidad(Bloque otro);
+
+        Bloque copia();
+    }
+
+    // Bloque con pocos valores: arreglo ordenado.
+    private static final class Arreglo implements Bloque {
+        private char[] valores;
+        private int cantidad;
+
+        Arreglo() {
+            this(new char[4], 0);
+        }
+
+        Arreglo(char[] valores, int cantidad) {
+            this.valores = valores;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        public boolean agregar(char valor) {
+            int i = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (i >= 0) {
+                return false;
+            }
+            i = -i - 1;
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, Math.max(4, cantidad * 2));
+            }
+            System.arraycopy(valores, i, valores, i + 1, cantidad - i);
+            valores[i] = valor;
+            cantidad++;
+            return true;
+        }
+
+        @Override
+        public boolean quitar(char valor) {
+            int i = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(valores, i + 1, valores, i, cantidad - i - 1);
+            cantidad--;
+            return true;
+        }
+
+        @Override
+        public boolean contiene(char valor) {
+            return Arrays.binarySearch(valores, 0, cantidad, valor) >= 0;
+        }
+
+        @Override
+        public int cardinalidad() {
+            return cantidad;
+        }
+
+        @Override
+        public void recorrer(int base, IntConsumer salida) {
+            for (int i = 0; i < cantidad; i++) {
+                salida.accept(base | valores[i]);
+            }
+        }
+
+        @Override
+        public Bloque and(Bloque otro) {
+            char[] resultado = new char[Math.min(cantidad, otro.cardinalidad())];
+            int n = 0;
+            if (otro instanceof Arreglo arreglo) {
+                int i = 0;
+                int j = 0;
+                while (i < cantidad && j < arreglo.cantidad) {
+                    if (valores[i] < arreglo.valores[j]) {
+                        i++;
+                    } else if (valores[i] > arreglo.valores[j]) {
+                        j++;
+                    } else {
+                        resultado[n++] = valores[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cantidad; i++) {
+                    if (otro.contiene(valores[i])) {
+                        resultado[n++] = valores[i];
+                    }
+                }
+            }
+            return new Arreglo(resultado, n);
+        }
+
+        @Override
+        public Bloque or(Bloque otro) {
+            if (otro instanceof Mapa) {
+                return otro.or(this);
+            }
+            Arreglo arreglo = (Arreglo) otro;
+            char[] resultado = new char[cantidad + arreglo.cantidad];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cantidad || j < arreglo.cantidad) {
+                if (j == arreglo.cantidad || i < cantidad && valores[i] < arreglo.valores[j]) {
+                    resultado[n++] = valores[i++];
+                } else if (i == cantidad || valores[i] > arreglo.valores[j]) {
+                    resultado[n++] = arreglo.valores[j++];
+                } else {
+                    resultado[n++] = valores[i];
+                    i++;
+                    j++;
+                }
+            }
+            Arreglo union = new Arreglo(resultado, n);
+            return n > MAX_ARREGLO ? union.aMapa() : union;
+        }
+
+        @Override
+        public int andCardinalidad(Bloque otro) {
+            if (otro instanceof Mapa) {
+                return otro.andCardinalidad(this);
+            }
+            return and(otro).cardinalidad();
+        }
+
+        @Override
+        public Bloque copia() {
+            return new Arreglo(Arrays.copyOf(valores, Math.max(4, cantidad)), cantidad);
+        }
+
+        Mapa aMapa() {
+            Mapa mapa = new Mapa();
+            for (int i = 0; i < cantidad; i++) {
+                mapa.agregar(valores[i]);
+            }
+            return mapa;
+        }
+    }
+
+    // Bloque con muchos valores: un bit por valor.
+    private static final class Mapa implements Bloque {
+        private final long[] palabras;
+        private int cardinalidad;
+
+        Mapa() {
+            this(new long[1024], 0);
+        }
+
+        private Mapa(long[] palabras, int cardinalidad) {
+            this.palabras = palabras;
+            this.cardinalidad = cardinalidad;
+        }
+
+        @Override
+        public boolean agregar(char valor) {
+            long antes = palabras[valor >>> 6];
+            long despues = antes | (1L << valor);
+            palabras[valor >>> 6] = despues;
+            if (antes == despues) {
+                return false;
+            }
+            cardinalidad++;
+            return true;
+        }
+
+        @Override
+        public boolean quitar(char valor) {
+            long antes = palabras[valor >>> 6];
+            long despues = antes & ~(1L << valor);
+            palabras[valor >>> 6] = despues;
+            if (antes == despues) {
+                return false;
+            }
+            cardinalidad--;
+            return true;
+        }
+
+        @Override
+        public boolean contiene(char valor) {
+            return (palabras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        public int cardinalidad() {
+            return cardinalidad;
+        }
+
+        @Override
+        public void recorrer(int base, IntConsumer salida) {
+            for (int w = 0; w < palabras.length; w++) {
+                long palabra = palabras[w];
+                while (palabra != 0) {
+                    salida.accept(base | (w << 6) | Long.numberOfTrailingZeros(palabra));
+                    palabra &= palabra - 1;
+                }
+            }
+        }
+
+        @Override
+        public Bloque and(Bloque otro) {
+            if (otro instanceof Arreglo) {
+                return otro.and(this);
+            }
+            Mapa mapa = (Mapa) otro;
+            long[] resultado = new long[1024];
+            int total = 0;
+            for (int w = 0; w < resultado.length; w++) {
+                resultado[w] = palabras[w] & mapa.palabras[w];
+                total += Long.bitCount(resultado[w]);
+            }
+            Mapa interseccion = new Mapa(resultado, total);
+            return total <= MAX_ARREGLO ? interseccion.aArreglo() : interseccion;
+        }
+
+        @Override
+        public Bloque or(Bloque otro) {
+            Mapa resultado = new Mapa(palabras.clone(), cardinalidad);
+            if (otro instanceof Arreglo arreglo) {
+                for (int i = 0; i < arreglo.cantidad; i++) {
+                    resultado.agregar(arreglo.valores[i]);
+                }
+                return resultado;
+            }
+            Mapa mapa = (Mapa) otro;
+            int total = 0;
+            for (int w = 0; w < resultado.palabras.length; w++) {
+                resultado.palabras[w] |= mapa.palabras[w];
+                total += Long.bitCount(resultado.palabras[w]);
+            }
+            resultado.cardinalidad = total;
+            return resultado;
+        }
+
+        @Override
+        public int andCardinalidad(Bloque otro) {
+            if (otro instanceof Arreglo arreglo) {
+                int total = 0;
+                for (int i = 0; i < arreglo.cantidad; i++) {
+                    if (contiene(arreglo.valores[i])) {
+                        total++;
+                    }
+                }
+                return total;
+            }
+            Mapa mapa = (Mapa) otro;
+            int total = 0;
+            for (int w = 0; w < palabras.length; w++) {
+                total += Long.bitCount(palabras[w] & mapa.palabras[w]);
+            }
+            return total;
+        }
+
+        @Override
+        public Bloque copia() {
+            return new Mapa(palabras.clone(), cardinalidad);
+        }
+
+        Arreglo aArreglo() {
+            char[] valores = new char[Math.max(4, cardinalidad)];
+            int[] n = {0};
+            recorrer(0, v -> valores[n[0]++] = (char) v);
+            return new Arreglo(valores, n[0]);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+package com.literalura.literalura.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogReloadedEvent;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+import com.literalura.literalura.service.KeysetCursor;
+
+/*
+ * Índice en memoria de los idiomas del catálogo: un mapa de bits comprimido por idioma con los
+ * IDs de sus libros. Los filtros por varios idiomas son intersecciones o uniones de mapas de bits
+ * y los conteos por idioma (facetas) sólo cuentan bits, sin leer la tabla de idiomas.
+ *
+ * Se construye la primera vez que se usa y se mantiene al día con CatalogUpdatedEvent,
+ * igual que el índice de búsqueda.
+ */
+@Component
+public class LanguageIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LanguageIndex.class);
+
+    private static final int TAMANO_PAGINA_CARGA = 1000;
+
+    private static final Comparator<LanguageCount> POR_LIBROS =
+            Comparator.comparingInt(LanguageCount::libros).reversed().thenComparing(LanguageCount::idioma);
+
+    private final BookService servicio;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Long> pendientes = new ConcurrentLinkedQueue<>();
+    private volatile boolean activo;
+    private volatile boolean construido;
+    // Otro proceso cambió el catálogo: se vuelve a construir antes de la siguiente consulta.
+    private volatile boolean recargar;
+
+    // Estado protegido por lock.
+    private final Map<String, CompactBitmap> libros = new HashMap<>();
+
+    public LanguageIndex(BookService servicio) {
+        this.servicio = servicio;
+    }
+
+    /*
+     * Idiomas con al menos un libro registrado.
+     *
+     * @return Cada idioma con su cantidad de libros, de mayor a menor.
+     */
+    public List<LanguageCount> idiomas() {
+        preparar();
+        lock.readLock().lock();
+        try {
+            List<LanguageCount> conteos = new ArrayList<>(libros.size());
+            libros.forEach((idioma, bitmap) -> conteos.add(new LanguageCount(idioma, bitmap.cardinalidad())));
+            conteos.sort(POR_LIBROS);
+            return conteos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * IDs de los libros disponibles en los idiomas indicados.
+     *
+     * @param idiomas Códigos de idioma.
+     * @param todos   true para exigir todos los idiomas (AND), false para cualquiera de ellos (OR).
+     * @return Los IDs de los libros, en orden ascendente.
+     */
+    public List<Long> filtrar(Collection<String> idiomas, boolean todos) {
+        preparar();
+        lock.readLock().lock();
+        try {
+            CompactBitmap seleccion = seleccionar(idiomas, todos);
+            List<Long> ids = new ArrayList<>(seleccion.cardinalidad());
+            seleccion.recorrer(id -> ids.add((long) id));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Cantidad de libros disponibles en los idiomas indicados, con la misma lógica que filtrar.
+    public int contar(Collection<String> idiomas, boolean todos) {
+        preparar();
+        lock.readLock().lock();
+        try {
+            List<CompactBitmap> bitmaps = bitmaps(idiomas);
+            if (todos && bitmaps.size() == 2) {
+                return CompactBitmap.andCardinalidad(bitmaps.get(0), bitmaps.get(1));
+            }
+            return seleccionar(idiomas, todos).cardinalidad();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Conteo por idioma de los libros que cumplen un filtro, por ejemplo para mostrar en qué otros
+     * idiomas están los libros en español. Con una lista vacía se cuentan todos los libros.
+     *
+     * @param idiomas Códigos de idioma del filtro.
+     * @param todos   true para exigir todos los idiomas del filtro, false para cualquiera de ellos.
+     * @return Los idiomas con al menos un libro de la selección, de mayor a menor.
+     */
+    public List<LanguageCount> facetas(Collection<String> idiomas, boolean todos) {
+        if (idiomas.isEmpty()) {
+            return idiomas();
+        }
+        preparar();
+        lock.readLock().lock();
+        try {
+            CompactBitmap seleccion = seleccionar(idiomas, todos);
+            List<LanguageCount> conteos = new ArrayList<>();
+            libros.forEach((idioma, bitmap) -> {
+                int cantidad = CompactBitmap.andCardinalidad(seleccion, bitmap);
+                if (cantidad > 0) {
+                    conteos.add(new LanguageCount(idioma, cantidad));
+                }
+            });
+            conteos.sort(POR_LIBROS);
+            return conteos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        if (activo) {
+            pendientes.addAll(evento.bookIds());
+        }
+    }
+
+    @EventListener
+    public void alRecargarCatalogo(CatalogReloadedEvent evento) {
+        recargar = true;
+    }
+
+    // Combina los mapas de bits de los idiomas; un idioma sin libros cuenta como conjunto vacío.
+    private CompactBitmap seleccionar(Collection<String> idiomas, boolean todos) {
+        List<CompactBitmap> bitmaps = bitmaps(idiomas);
+        if (bitmaps.isEmpty()) {
+            return new CompactBitmap();
+        }
+        // Las intersecciones empiezan por el conjunto más pequeño.
+        bitmaps.sort(Comparator.comparingInt(CompactBitmap::cardinalidad));
+        Iterator<CompactBitmap> resto = bitmaps.iterator();
+        CompactBitmap resultado = resto.next();
+        while (resto.hasNext()) {
+            CompactBitmap siguiente = resto.next();
+            resultado = todos ? CompactBitmap.and(resultado, siguiente) : CompactBitmap.or(resultado, siguiente);
+        }
+        return resultado;
+    }
+
+    private List<CompactBitmap> bitmaps(Collection<String> idiomas) {
+        List<CompactBitmap> bitmaps = new ArrayList<>(idiomas.size());
+        for (String idioma : new LinkedHashSet<>(idiomas)) {
+            bitmaps.add(libros.getOrDefault(codigo(idioma), new CompactBitmap()));
+        }
+        return bitmaps;
+    }
+
+    private static String codigo(String idioma) {
+        return idioma.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Construye el índice si hace falta y aplica los cambios pendientes.
+    private void preparar() {
+        if (construido && !recargar && pendientes.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (recargar) {
+                recargar = false;
+                pendientes.clear();
+                limpiar();
+                construido = false;
+            }
+            if (!construido) {
+                long inicio = System.nanoTime();
+                activo = true;
+                KeysetCursor<BookSummary> cursor = servicio.cursorBooks(TAMANO_PAGINA_CARGA);
+                int total = 0;
+                while (cursor.hasNext()) {
+                    for (BookSummary libro : cursor.next()) {
+                        agregar(libro);
+                        total++;
+                    }
+                }
+                construido = true;
+                logger.info("Índice de idiomas construido: {} libros, {} idiomas en {} ms",
+                        total, libros.size(), (System.nanoTime() - inicio) / 1_000_000);
+            }
+            aplicarPendientes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Vuelve a leer los libros modificados: se quitan de todos los idiomas y se añaden a los actuales.
+    private void aplicarPendientes() {
+        Set<Long> ids = new HashSet<>();
+        Long id;
+        while ((id = pendientes.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Long libro : ids) {
+            int valor = Math.toIntExact(libro);
+            libros.values().forEach(bitmap -> bitmap.quitar(valor));
+        }
+        libros.values().removeIf(CompactBitmap::vacio);
+        servicio.getBookSummaries(ids).forEach(this::agregar);
+    }
+
+    private void limpiar() {
+        libros.clear();
+    }
+
+    private void agregar(BookSummary libro) {
+        int valor = Math.toIntExact(libro.id());
+        for (String idioma : libro.languages()) {
+            libros.computeIfAbsent(codigo(idioma), i -> new CompactBitmap()).agregar(valor);
+        }
+    }
+
+    /*
+     * Cantidad de libros en un idioma.
+     *
+     * @param idioma Código del idioma.
+     * @param libros Cantidad de libros.
+     */
+    public record LanguageCount(String idioma, int libros) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.literalura.literalura.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/*
+ * Normalización de texto compartida por los índices en memoria: minúsculas, sin acentos
+ * y separado en palabras. "Cervantes Saavedra, Miguel de" y "cervantes saavedra miguel de"
+ * producen los mismos términos.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    // Devuelve el texto en minúsculas y sin marcas diacríticas.
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFKD);
+        return MARCAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Separa el texto normalizado en palabras formadas por letras y dígitos.
+    public static List<String> terminos(String texto) {
+        String normalizado = normalizar(texto);
+        List<String> terminos = new ArrayList<>();
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean esParteDePalabra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (esParteDePalabra && inicio < 0) {
+                inicio = i;
+            } else if (!esParteDePalabra && inicio >= 0) {
+                terminos.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return terminos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.literalura.literalura.metrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/*
+ * Escribe periódicamente en el registro un resumen de las métricas de latencia: una línea por
+ * cada temporizador que tuvo actividad desde el resumen anterior, con sus percentiles y un
+ * histograma acumulado en los límites configurados, y una línea con las estadísticas de Hibernate.
+ * Los conteos, la media y el histograma cubren toda la ejecución; los percentiles y el máximo,
+ * sólo los últimos minutos (la ventana que usa Micrometer).
+ */
+@Component
+@ConditionalOnProperty(name = "literalura.metricas.resumen.habilitado", havingValue = "true", matchIfMissing = true)
+public class MetricsSummaryLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsSummaryLogger.class);
+
+    // Temporizadores que se incluyen en el resumen, por prefijo de nombre.
+    private static final List<String> PREFIJOS = List.of("literalura.", "spring.data.repository.", "http.server.requests");
+
+    private final MeterRegistry registro;
+    private final List<Duration> limites;
+
+    // Conteo de cada temporizador en el resumen anterior, para omitir los que no tuvieron actividad.
+    private final Map<Meter.Id, Long> conteosAnteriores = new HashMap<>();
+
+    public MetricsSummaryLogger(MeterRegistry registro,
+                                @Value("${literalura.metricas.resumen.limites:5ms,25ms,100ms,500ms,2s}") List<Duration> limites) {
+        this.registro = registro;
+        this.limites = limites;
+    }
+
+    @Scheduled(initialDelayString = "${literalura.metricas.resumen.intervalo:PT5M}",
+            fixedDelayString = "${literalura.metricas.resumen.intervalo:PT5M}")
+    public synchronized void registrarResumen() {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        for (Meter medidor : registro.getMeters()) {
+            if (medidor instanceof Timer temporizador && incluido(medidor.getId().getName())) {
+                HistogramSnapshot instantanea = temporizador.takeSnapshot();
+                Long anterior = conteosAnteriores.put(medidor.getId(), instantanea.count());
+                long nuevas = instantanea.count() - (anterior != null ? anterior : 0);
+                if (nuevas > 0) {
+                    logger.info(linea(medidor.getId(), instantanea, nuevas));
+                }
+            }
+        }
+        double consultas = sumar("hibernate.query.executions");
+        double aciertosConsultas = sumar("hibernate.cache.query.requests", "result", "hit");
+        if (consultas > 0 || aciertosConsultas > 0) {
+            double aciertos = sumar("hibernate.second.level.cache.requests", "result", "hit");
+            double fallos = sumar("hibernate.second.level.cache.requests", "result", "miss");
+            double fallosConsultas = sumar("hibernate.cache.query.requests", "result", "miss");
+            logger.info(String.format(Locale.ROOT,
+                    "hibernate: %.0f consultas, %.0f sentencias, %.0f entidades cargadas, caché L2 %.0f aciertos / %.0f fallos (%s), "
+                            + "caché de consultas %.0f aciertos / %.0f fallos (%s)",
+                    consultas, sumar("hibernate.statements", "status", "prepared"), sumar("hibernate.entities.loads"),
+                    aciertos, fallos, porcentaje(aciertos, fallos),
+                    aciertosConsultas, fallosConsultas, porcentaje(aciertosConsultas, fallosConsultas)));
+        }
+    }
+
+    private static boolean incluido(String nombre) {
+        for (String prefijo : PREFIJOS) {
+            if (nombre.startsWith(prefijo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Formatea una línea: "nombre{etiquetas}: n (+nuevas), media, percentiles, máx | histograma".
+    private String linea(Meter.Id id, HistogramSnapshot instantanea, long nuevas) {
+        StringBuilder linea = new StringBuilder(160).append(id.getName()).append('{');
+        boolean primera = true;
+        for (Tag etiqueta : id.getTags()) {
+            if (!primera) {
+                linea.append(',');
+            }
+            linea.append(etiqueta.getKey()).append('=').append(etiqueta.getValue());
+            primera = false;
+        }
+        linea.append("}: ").append(instantanea.count()).append(" (+").append(nuevas).append("), media ")
+                .append(milisegundos(instantanea.mean(TimeUnit.NANOSECONDS)));
+        for (ValueAtPercentile percentil : instantanea.percentileValues()) {
+            linea.append(", p").append(Math.round(percentil.percentile() * 100))
+                    .append(' ').append(milisegundos(percentil.value(TimeUnit.NANOSECONDS)));
+        }
+        linea.append(", máx ").append(milisegundos(instantanea.max(TimeUnit.NANOSECONDS)));
+
+        CountAtBucket[] cubetas = instantanea.histogramCounts();
+        String separador = " |";
+        for (Duration limite : limites) {
+            for (CountAtBucket cubeta : cubetas) {
+                if (Math.abs(cubeta.bucket(TimeUnit.NANOSECONDS) - limite.toNanos()) < 1) {
+                    linea.append(separador).append(" ≤").append(limite.toMillis()).append("ms ")
+                            .append(Math.round(cubeta.count()));
+                    separador = ",";
+                    break;
+                }
+            }
+        }
+        return linea.toString();
+    }
+
+    private double sumar(String nombre, String... etiquetas) {
+        return registro.find(nombre).tags(etiquetas).functionCounters().stream()
+                .mapToDouble(FunctionCounter::count)
+                .sum();
+    }
+
+    private static String porcentaje(double aciertos, double fallos) {
+        double total = aciertos + fallos;
+        return total == 0 ? "-" : String.format(Locale.ROOT, "%.1f%%", aciertos * 100 / total);
+    }
+
+    private static String milisegundos(double nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000);
+    }
+}
\ No newline at end of file
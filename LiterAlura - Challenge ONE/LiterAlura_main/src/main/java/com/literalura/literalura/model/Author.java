@@ -2,9 +2,12 @@ package com.literalura.literalura.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import jakarta.persistence.CascadeType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -18,19 +21,27 @@ import jakarta.persistence.ManyToMany;
  * y una lista de libros asociados.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Author.REGION_CACHE)
 public class Author {
 
+    // Regiones de la caché de segundo nivel: los autores y sus listas de libros.
+    public static final String REGION_CACHE = "catalogo.autores";
+    public static final String REGION_CACHE_LIBROS = "catalogo.autores.libros";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false)
     private String name;
 
     private int yearBirth;
 
     private int yearDeath;
 
-    @ManyToMany(mappedBy = "authors", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToMany(mappedBy = "authors", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = REGION_CACHE_LIBROS)
     private List<Book> books = new ArrayList<>();
 
     /*
@@ -108,10 +119,16 @@ public class Author {
      */
     @Override
     public String toString() {
-        return "Autor: " + this.name +
-                "\nFecha de Nacimiento: " + this.yearBirth +
-                "\nFecha de Fallecimiento: " + this.yearDeath +
-                "\nLibros: " + this.getBooks().stream().map(b -> b.getTitle()).collect(Collectors.toList()) +
-                "\n";
+        StringBuilder texto = new StringBuilder(128).append("Autor: ").append(name)
+                .append("\nFecha de Nacimiento: ").append(yearBirth)
+                .append("\nFecha de Fallecimiento: ").append(yearDeath)
+                .append("\nLibros: [");
+        for (int i = 0; i < books.size(); i++) {
+            if (i > 0) {
+                texto.append(", ");
+            }
+            texto.append(books.get(i).getTitle());
+        }
+        return texto.append("]\n").toString();
     }
 }
\ No newline at end of file
@@ -2,14 +2,15 @@ package com.literalura.literalura.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
@@ -20,15 +21,30 @@ import jakarta.persistence.ManyToMany;
  * Incluye información sobre el título, idiomas, número de descargas, autores, y otros atributos adicionales.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Book.REGION_CACHE)
 public class Book {
 
+    // Regiones de la caché de segundo nivel: los libros y cada una de sus colecciones.
+    public static final String REGION_CACHE = "catalogo.libros";
+    public static final String REGION_CACHE_IDIOMAS = "catalogo.libros.idiomas";
+    public static final String REGION_CACHE_AUTORES = "catalogo.libros.autores";
+
+    /*
+     * Primer ID del rango de libros antiguos: los que la primera versión guardó con un ID de la
+     * secuencia de la base de datos en lugar del de Gutendex. La migración V2 los movió a este rango
+     * (ID de la secuencia + INICIO_IDS_ANTIGUOS) y LegacyBookRekeyer les asigna su ID de Gutendex.
+     */
+    public static final long INICIO_IDS_ANTIGUOS = 1_000_000_000L;
+
+    // ID del libro en Gutendex / Project Gutenberg; es la clave natural y no se genera.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String title;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = REGION_CACHE_IDIOMAS)
     private List<String> languages;
 
     private int totalDownloads;
@@ -40,7 +56,8 @@ public class Book {
     private String publisher;
 
     @JoinTable(name = "book_author", joinColumns = @JoinColumn(name = "book_id"), inverseJoinColumns = @JoinColumn(name = "author_id"))
-    @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = REGION_CACHE_AUTORES)
     private List<Author> authors = new ArrayList<>();
 
     /*
@@ -91,6 +108,10 @@ public class Book {
         return authors;
     }
 
+    public void setAuthors(List<Author> authors) {
+        this.authors = authors;
+    }
+
     public void addAuthor(Author author) {
         this.authors.add(author);
     }
@@ -142,15 +163,29 @@ public class Book {
      */
     @Override
     public String toString() {
-        return "----- LIBRO ---- \n" +
-                "Título: " + this.getTitle() + "\n" +
-                "Autor(es): " + String.join(" y ", this.getAuthors().stream().map(Author::getName).collect(Collectors.toList())) + "\n" +
-                "Idiomas: " + String.join(", ", this.getLanguages()) + "\n" +
-                "Número de descargas: " + this.getTotalDownloads() + "\n" +
-                "Fecha de publicación: " + this.getPublicationDate() + "\n" +
-                "Género: " + this.getGenre() + "\n" +
-                "Sinopsis: " + this.getSynopsis() + "\n" +
-                "Editorial: " + this.getPublisher() + "\n" +
-                "----------------";
+        // Se construye en un solo StringBuilder: se usa para registrar cada libro guardado.
+        StringBuilder texto = new StringBuilder(256).append("----- LIBRO ---- \n")
+                .append("Título: ").append(title).append('\n')
+                .append("Autor(es): ");
+        for (int i = 0; i < authors.size(); i++) {
+            if (i > 0) {
+                texto.append(" y ");
+            }
+            texto.append(authors.get(i).getName());
+        }
+        texto.append("\nIdiomas: ");
+        for (int i = 0; i < languages.size(); i++) {
+            if (i > 0) {
+                texto.append(", ");
+            }
+            texto.append(languages.get(i));
+        }
+        return texto.append("\nNúmero de descargas: ").append(totalDownloads)
+                .append("\nFecha de publicación: ").append(publicationDate)
+                .append("\nGénero: ").append(genre)
+                .append("\nSinopsis: ").append(synopsis)
+                .append("\nEditorial: ").append(publisher)
+                .append("\n----------------")
+                .toString();
     }
 }
\ No newline at end of file
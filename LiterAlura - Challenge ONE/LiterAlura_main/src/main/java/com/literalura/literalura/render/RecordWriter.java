@@ -0,0 +1,398 @@
+package com.literalura.literalura.render;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/*
+ * Escribe records fila a fila en un Writer con búfer, como tabla de texto, JSON Lines (un objeto
+ * JSON por línea) o CSV (RFC 4180). Sirve para listados de cualquier tamaño: no pasa por el
+ * sistema de registro, no guarda las filas (salvo las primeras de cada tabla, para calcular los
+ * anchos de las columnas) y reutiliza el mismo StringBuilder para todas las filas.
+ *
+ * Las columnas son los componentes del record, en su orden, o sólo las indicadas al crear el
+ * escritor. En CSV la cabecera se escribe antes del primer registro de cada tipo y las listas se
+ * unen con ';'. El destino no se vacía después de cada registro, sólo con flush() o close().
+ */
+public class RecordWriter implements Closeable {
+
+    // Formatos de salida.
+    public enum Formato {
+        TABLA, JSONL, CSV;
+
+        public static Formato desde(String nombre) {
+            String texto = nombre.trim().toUpperCase(Locale.ROOT);
+            if (texto.equals("TABLE")) {
+                return TABLA;
+            }
+            try {
+                return valueOf(texto);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato no válido: " + nombre + " (usa table, jsonl o csv)");
+            }
+        }
+    }
+
+    // Filas de una tabla que se guardan para calcular el ancho de cada columna antes de escribirla.
+    private static final int FILAS_MUESTRA = 100;
+
+    // Ancho máximo de una columna de la tabla; los valores más largos se recortan con '…'.
+    private static final int MAX_ANCHO = 50;
+
+    private static final JsonFactory FABRICA_JSON = new JsonFactory();
+
+    private final Writer destino;
+    private final Formato formato;
+    private final List<String> columnasPedidas;
+    private final JsonGenerator json;
+
+    // Fila en construcción; se reutiliza para todas las filas.
+    private final StringBuilder fila = new StringBuilder(256);
+
+    private Class<?> tipoActual;
+    private Columna[] columnas;
+    private long registros;
+
+    // Estado de la tabla actual: filas pendientes mientras no se conocen los anchos.
+    private final List<String[]> muestra = new ArrayList<>();
+    private int[] anchos;
+
+    public RecordWriter(Writer destino, Formato formato) {
+        this(destino, formato, List.of());
+    }
+
+    /*
+     * @param destino  Writer donde se escribe; conviene que tenga búfer.
+     * @param formato  Formato de salida.
+     * @param columnas Nombres de los componentes a escribir, en ese orden; vacío para todos.
+     */
+    public RecordWriter(Writer destino, Formato formato, List<String> columnas) {
+        this.destino = destino;
+        this.formato = formato;
+        this.columnasPedidas = List.copyOf(columnas);
+        try {
+            this.json = formato == Formato.JSONL
+                    ? FABRICA_JSON.createGenerator(destino)
+                            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                            .setRootValueSeparator(null)
+                    : null;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo crear el generador JSON", e);
+        }
+    }
+
+    public void escribir(Record registro) throws IOException {
+        if (registro.getClass() != tipoActual) {
+            cambiarTipo(registro.getClass());
+        }
+        switch (formato) {
+            case JSONL -> escribirJson(registro);
+            case CSV -> escribirCsv(registro);
+            case TABLA -> escribirTabla(registro);
+        }
+        registros++;
+    }
+
+    public void escribirTodos(Iterable<? extends Record> lista) throws IOException {
+        for (Record registro : lista) {
+            escribir(registro);
+        }
+    }
+
+    /*
+     * Empieza una sección con título. En una tabla termina la tabla actual y la siguiente fila
+     * empieza otra, con su propia cabecera; en JSON Lines y CSV no escribe nada.
+     */
+    public void seccion(String titulo) throws IOException {
+        if (formato != Formato.TABLA) {
+            return;
+        }
+        terminarTabla();
+        tipoActual = null;
+        if (registros > 0) {
+            destino.write('\n');
+        }
+        destino.write(titulo);
+        destino.write('\n');
+    }
+
+    // Cantidad de registros escritos.
+    public long registros() {
+        return registros;
+    }
+
+    /*
+     * Escribe las filas pendientes y vacía el destino. En una tabla, los anchos de las columnas
+     * quedan fijados por las filas vistas hasta ahora.
+     */
+    public void flush() throws IOException {
+        if (formato == Formato.TABLA && anchos == null && !muestra.isEmpty()) {
+            escribirMuestra();
+        }
+        if (json != null) {
+            json.flush();
+        }
+        destino.flush();
+    }
+
+    // Vacía el búfer sin cerrar el destino, que normalmente es la salida estándar.
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void cambiarTipo(Class<?> tipo) throws IOException {
+        terminarTabla();
+        tipoActual = tipo;
+        columnas = Columna.de(tipo, columnasPedidas);
+        if (formato == Formato.CSV) {
+            fila.setLength(0);
+            for (int i = 0; i < columnas.length; i++) {
+                if (i > 0) {
+                    fila.append(',');
+                }
+                fila.append(columnas[i].nombre());
+            }
+            fila.append('\n');
+            destino.append(fila);
+        }
+    }
+
+    // JSON Lines: un objeto por línea, escrito campo a campo sin construir el texto completo.
+    private void escribirJson(Record registro) throws IOException {
+        json.writeStartObject();
+        for (Columna columna : columnas) {
+            json.writeFieldName(columna.nombre());
+            escribirValorJson(columna.valor(registro));
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void escribirValorJson(Object valor) throws IOException {
+        if (valor == null) {
+            json.writeNull();
+        } else if (valor instanceof CharSequence || valor instanceof Character || valor instanceof Enum<?>) {
+            json.writeString(valor.toString());
+        } else if (valor instanceof Integer || valor instanceof Long || valor instanceof Short || valor instanceof Byte) {
+            json.writeNumber(((Number) valor).longValue());
+        } else if (valor instanceof Double || valor instanceof Float) {
+            json.writeNumber(((Number) valor).doubleValue());
+        } else if (valor instanceof BigDecimal numero) {
+            json.writeNumber(numero);
+        } else if (valor instanceof BigInteger numero) {
+            json.writeNumber(numero);
+        } else if (valor instanceof Boolean logico) {
+            json.writeBoolean(logico);
+        } else if (valor instanceof Collection<?> lista) {
+            json.writeStartArray();
+            for (Object elemento : lista) {
+                escribirValorJson(elemento);
+            }
+            json.writeEndArray();
+        } else {
+            json.writeString(valor.toString());
+        }
+    }
+
+    private void escribirCsv(Record registro) throws IOException {
+        fila.setLength(0);
+        for (int i = 0; i < columnas.length; i++) {
+            if (i > 0) {
+                fila.append(',');
+            }
+            int inicio = fila.length();
+            agregarTexto(columnas[i].valor(registro), ";");
+            citarCsv(inicio);
+        }
+        fila.append('\n');
+        destino.append(fila);
+    }
+
+    // Encierra entre comillas el campo que empieza en "inicio" si contiene separadores o comillas.
+    private void citarCsv(int inicio) {
+        boolean comillas = false;
+        for (int i = inicio; i < fila.length() && !comillas; i++) {
+            char c = fila.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            return;
+        }
+        for (int i = fila.length() - 1; i >= inicio; i--) {
+            if (fila.charAt(i) == '"') {
+                fila.insert(i, '"');
+            }
+        }
+        fila.insert(inicio, '"').append('"');
+    }
+
+    private void escribirTabla(Record registro) throws IOException {
+        if (anchos == null) {
+            String[] celdas = new String[columnas.length];
+            for (int i = 0; i < columnas.length; i++) {
+                fila.setLength(0);
+                agregarTexto(columnas[i].valor(registro), ", ");
+                celdas[i] = fila.toString();
+            }
+            muestra.add(celdas);
+            if (muestra.size() == FILAS_MUESTRA) {
+                escribirMuestra();
+            }
+            return;
+        }
+        fila.setLength(0);
+        for (int i = 0; i < columnas.length; i++) {
+            int inicio = fila.length();
+            agregarTexto(columnas[i].valor(registro), ", ");
+            ajustarCelda(inicio, i);
+        }
+        fila.append('\n');
+        destino.append(fila);
+    }
+
+    // Fija los anchos con las filas guardadas y escribe la cabecera y esas filas.
+    private void escribirMuestra() throws IOException {
+        anchos = new int[columnas.length];
+        for (int i = 0; i < columnas.length; i++) {
+            anchos[i] = Math.min(MAX_ANCHO, columnas[i].nombre().length());
+            for (String[] celdas : muestra) {
+                anchos[i] = Math.min(MAX_ANCHO, Math.max(anchos[i], celdas[i].length()));
+            }
+        }
+        fila.setLength(0);
+        for (int i = 0; i < columnas.length; i++) {
+            int inicio = fila.length();
+            fila.append(columnas[i].nombre());
+            ajustarCelda(inicio, i);
+        }
+        fila.append('\n');
+        for (int i = 0; i < columnas.length; i++) {
+            if (i > 0) {
+                fila.append('+');
+            }
+            fila.append("-".repeat(anchos[i] + (i > 0 ? 2 : 1)));
+        }
+        fila.setLength(fila.length() - 1);
+        fila.append('\n');
+        destino.append(fila);
+        for (String[] celdas : muestra) {
+            fila.setLength(0);
+            for (int i = 0; i < columnas.length; i++) {
+                int inicio = fila.length();
+                fila.append(celdas[i]);
+                ajustarCelda(inicio, i);
+            }
+            fila.append('\n');
+            destino.append(fila);
+        }
+        muestra.clear();
+    }
+
+    /*
+     * Ajusta al ancho de la columna la celda que empieza en "inicio": recorta los valores largos,
+     * alinea los números a la derecha y el texto a la izquierda, y agrega el separador.
+     * La última columna no se rellena, para no dejar espacios al final de la línea.
+     */
+    private void ajustarCelda(int inicio, int columna) {
+        int ancho = anchos[columna];
+        int largo = fila.length() - inicio;
+        if (largo > ancho) {
+            fila.setLength(inicio + ancho - 1);
+            fila.append('…');
+        } else if (columnas[columna].numerica()) {
+            fila.insert(inicio, " ".repeat(ancho - largo));
+        } else if (columna < columnas.length - 1) {
+            fila.append(" ".repeat(ancho - largo));
+        }
+        if (columna < columnas.length - 1) {
+            fila.append(" | ");
+        }
+    }
+
+    private void terminarTabla() throws IOException {
+        if (formato == Formato.TABLA) {
+            if (anchos == null && !muestra.isEmpty()) {
+                escribirMuestra();
+            }
+            anchos = null;
+        }
+    }
+
+    // Agrega el valor como texto a la fila; las listas se unen con el separador indicado.
+    private void agregarTexto(Object valor, String separadorLista) {
+        if (valor == null) {
+            return;
+        }
+        if (valor instanceof Collection<?> lista) {
+            boolean primero = true;
+            for (Object elemento : lista) {
+                if (!primero) {
+                    fila.append(separadorLista);
+                }
+                fila.append(elemento);
+                primero = false;
+            }
+        } else if (formato == Formato.TABLA && (valor instanceof Double || valor instanceof Float)) {
+            fila.append(String.format(Locale.ROOT, "%.2f", ((Number) valor).doubleValue()));
+        } else {
+            fila.append(valor);
+        }
+    }
+
+    // Una columna: el nombre de un componente del record y su método de acceso.
+    private record Columna(String nombre, Method acceso, boolean numerica) {
+
+        static Columna[] de(Class<?> tipo, List<String> pedidas) {
+            RecordComponent[] componentes = tipo.getRecordComponents();
+            List<Columna> columnas = new ArrayList<>(componentes.length);
+            if (pedidas.isEmpty()) {
+                for (RecordComponent componente : componentes) {
+                    columnas.add(de(componente));
+                }
+            } else {
+                for (String nombre : pedidas) {
+                    RecordComponent componente = Arrays.stream(componentes)
+                            .filter(c -> c.getName().equals(nombre))
+                            .findFirst()
+                            .orElseThrow(() -> new IllegalArgumentException("Columna desconocida: " + nombre + " (disponibles: "
+                                    + String.join(", ", Arrays.stream(componentes).map(RecordComponent::getName).toList()) + ")"));
+                    columnas.add(de(componente));
+                }
+            }
+            return columnas.toArray(new Columna[0]);
+        }
+
+        private static Columna de(RecordComponent componente) {
+            Method acceso = componente.getAccessor();
+            // Los records de otros paquetes pueden no ser públicos.
+            acceso.setAccessible(true);
+            Class<?> tipo = componente.getType();
+            boolean numerica = Number.class.isAssignableFrom(tipo)
+                    || (tipo.isPrimitive() && tipo != boolean.class && tipo != char.class);
+            return new Columna(componente.getName(), acceso, numerica);
+        }
+
+        Object valor(Record registro) {
+            try {
+                return acceso.invoke(registro);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("No se pudo leer " + nombre, e);
+            }
+        }
+    }
+}
\ No newline at end of file
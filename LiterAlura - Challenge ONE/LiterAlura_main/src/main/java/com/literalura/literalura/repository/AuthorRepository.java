@@ -1,36 +1,117 @@
 package com.literalura.literalura.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.literalura.literalura.dto.AuthorSummary;
 import com.literalura.literalura.model.Author;
 
+import jakarta.persistence.QueryHint;
+
 /*
  * Interfaz de repositorio para gestionar las operaciones CRUD sobre la entidad Author.
  * Utiliza JpaRepository de Spring Data JPA para proporcionar métodos estándar de persistencia.
+ * El resumen de un autor se guarda en la caché de consultas (@CachedQuery); los recorridos por páginas
+ * no, porque cada página se lee una sola vez.
  */
 public interface AuthorRepository extends JpaRepository<Author, Long> {
 
     /*
-     * Busca un autor por su nombre, año de nacimiento y año de muerte.
-     * Este método es útil para encontrar un autor específico con información completa de su vida.
+     * Busca los autores cuyo nombre coincide exactamente con alguno de los indicados.
+     * Se usa para resolver un lote completo de autores en una sola consulta; quien llama
+     * compara además los años de nacimiento y fallecimiento.
+     * Los autores leídos no se guardan en la caché de segundo nivel: la consulta se hace dentro
+     * de la transacción que los inserta, y si esta se deshace la caché tendría autores inexistentes.
      *
-     * @param nombre El nombre del autor a buscar.
-     * @param anioNacimiento El año de nacimiento del autor.
-     * @param anioMuerte El año de muerte del autor.
-     * @return El autor que coincide con los criterios especificados o null si no se encuentra.
+     * @param nombres Los nombres exactos de los autores a buscar.
+     * @return Los autores encontrados.
      */
-    @Query("SELECT a FROM Author a WHERE a.name LIKE :nombre% AND a.yearBirth = :anioNacimiento AND a.yearDeath = :anioMuerte")
-    Author buscarAutor(String nombre, int anioNacimiento, int anioMuerte);
-}
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("SELECT a FROM Author a WHERE a.name IN :nombres")
+    List<Author> buscarAutoresPorNombre(Collection<String> nombres);
 
-/*
- * Busca autores que nacieron y murieron dentro de un rango de años especificado.
- *
- * @param anioNacimientoInicio El año de inicio del rango de nacimiento (inclusivo).
- * @param anioNacimientoFin El año de fin del rango de nacimiento (inclusivo).
- * @param anioMuerteInicio El año de inicio del rango de muerte (inclusivo).
- * @param anioMuerteFin El año de fin del rango de muerte (inclusivo).
- * @return Una lista de autores que nacieron y murieron dentro del rango especificado.
- */
-@Query("SELECT a FROM Author a WHERE a.yearBirth BETWEEN :anioNacimientoInicio AND :anioNacimientoFin AND a.yearDeath BETWEEN :anioMuerteInicio AND :anioMuerteFin")
-List<Author> buscarAutoresPorRango(int anioNacimientoInicio, int anioNacimientoFin, int anioMuerteInicio, int anioMuerteFin);
\ No newline at end of file
+    /*
+     * Busca autores que nacieron y murieron dentro de un rango de años especificado.
+     *
+     * @param anioNacimientoInicio El año de inicio del rango de nacimiento (inclusivo).
+     * @param anioNacimientoFin El año de fin del rango de nacimiento (inclusivo).
+     * @param anioMuerteInicio El año de inicio del rango de muerte (inclusivo).
+     * @param anioMuerteFin El año de fin del rango de muerte (inclusivo).
+     * @return Una lista de autores que nacieron y murieron dentro del rango especificado.
+     */
+    @Query("SELECT a FROM Author a WHERE a.yearBirth BETWEEN :anioNacimientoInicio AND :anioNacimientoFin AND a.yearDeath BETWEEN :anioMuerteInicio AND :anioMuerteFin")
+    List<Author> buscarAutoresPorRango(int anioNacimientoInicio, int anioNacimientoFin, int anioMuerteInicio, int anioMuerteFin);
+
+    /*
+     * Busca la siguiente página de autores con libros registrados, una fila por autor
+     * con la cantidad de libros. Se recorre por clave (keyset) sobre el ID del autor, y los libros
+     * se cuentan sólo para los autores de la página con una subconsulta por autor.
+     *
+     * @param despuesDe El último ID leído; se devuelven los autores con ID mayor.
+     * @param limite    Cantidad máxima de autores de la página.
+     * @return Una lista de resúmenes de autores ordenada por ID.
+     */
+    @Query("SELECT new com.literalura.literalura.dto.AuthorSummary(a.id, a.name, a.yearBirth, a.yearDeath, " +
+            "(SELECT COUNT(b) FROM a.books b)) " +
+            "FROM Author a WHERE a.id > :despuesDe AND a.books IS NOT EMPTY ORDER BY a.id")
+    List<AuthorSummary> buscarResumenAutoresDesde(long despuesDe, Limit limite);
+
+    /*
+     * Busca la siguiente página de autores con libros registrados ordenados por nombre, como los
+     * listados del menú y del modo por lotes. La clave es (nombre, ID): el ID desempata los autores
+     * con el mismo nombre. La página se lee en orden del índice author_nombre_idx: la condición
+     * a.name >= :nombre, redundante, le da a la base de datos el punto de partida del recorrido.
+     *
+     * @param nombre    El nombre del último autor leído ("" para la primera página).
+     * @param despuesDe El ID del último autor leído (Long.MIN_VALUE para la primera página).
+     * @param limite    Cantidad máxima de autores de la página.
+     * @return Una lista de resúmenes de autores ordenada por nombre e ID.
+     */
+    @Query("SELECT new com.literalura.literalura.dto.AuthorSummary(a.id, a.name, a.yearBirth, a.yearDeath, " +
+            "(SELECT COUNT(b) FROM a.books b)) " +
+            "FROM Author a WHERE a.name >= :nombre AND (a.name > :nombre OR (a.name = :nombre AND a.id > :despuesDe)) " +
+            "AND a.books IS NOT EMPTY ORDER BY a.name, a.id")
+    List<AuthorSummary> buscarResumenAutoresPorNombreDesde(String nombre, long despuesDe, Limit limite);
+
+    /*
+     * Busca el resumen (con la cantidad de libros) de los autores de los libros indicados.
+     * Se usa para poner al día los índices en memoria tras guardar libros.
+     *
+     * @param librosIds Los IDs de los libros.
+     * @return Una lista de resúmenes de autores ordenada por ID.
+     */
+    @Query("SELECT new com.literalura.literalura.dto.AuthorSummary(a.id, a.name, a.yearBirth, a.yearDeath, COUNT(b)) " +
+            "FROM Author a JOIN a.books b WHERE a.id IN (SELECT a2.id FROM Book b2 JOIN b2.authors a2 WHERE b2.id IN :librosIds) " +
+            "GROUP BY a.id, a.name, a.yearBirth, a.yearDeath ORDER BY a.id")
+    List<AuthorSummary> buscarResumenAutoresDeLibros(Collection<Long> librosIds);
+
+    /*
+     * Busca el resumen de los autores indicados. A diferencia de las demás consultas, incluye
+     * los autores que se quedaron sin libros, con cantidad 0.
+     *
+     * @param ids Los IDs de los autores.
+     * @return Una lista de resúmenes de autores ordenada por ID.
+     */
+    @Query("SELECT new com.literalura.literalura.dto.AuthorSummary(a.id, a.name, a.yearBirth, a.yearDeath, COUNT(b)) " +
+            "FROM Author a LEFT JOIN a.books b WHERE a.id IN :ids " +
+            "GROUP BY a.id, a.name, a.yearBirth, a.yearDeath ORDER BY a.id")
+    List<AuthorSummary> buscarResumenAutores(Collection<Long> ids);
+
+    /*
+     * Busca el resumen de un autor con su cantidad de libros.
+     *
+     * @param id El ID del autor.
+     * @return El resumen, o vacío si el autor no existe o no tiene libros registrados.
+     */
+    @CachedQuery
+    @Query("SELECT new com.literalura.literalura.dto.AuthorSummary(a.id, a.name, a.yearBirth, a.yearDeath, COUNT(b)) " +
+            "FROM Author a JOIN a.books b WHERE a.id = :id GROUP BY a.id, a.name, a.yearBirth, a.yearDeath")
+    Optional<AuthorSummary> buscarResumenAutor(Long id);
+}
\ No newline at end of file
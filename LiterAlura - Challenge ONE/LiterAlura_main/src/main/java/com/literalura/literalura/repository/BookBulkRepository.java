@@ -0,0 +1,197 @@
+package com.literalura.literalura.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.literalura.literalura.dto.BookMetadata;
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+
+import io.micrometer.core.annotation.Timed;
+
+/*
+ * Escrituras masivas del catálogo con JDBC por lotes.
+ * Las sentencias resuelven los conflictos en la base de datos (ON CONFLICT), así que son
+ * idempotentes: dos importaciones que ven el mismo libro a la vez no fallan ni lo duplican.
+ * Requiere los índices únicos que crean las migraciones (db/migration). Debe usarse dentro de una
+ * transacción de Spring para compartir la conexión con JPA.
+ * Cada escritura de un libro renueva su revisión (revision = DEFAULT, el siguiente valor de la
+ * secuencia), con la que el motor de analítica comprueba si su instantánea sigue al día.
+ * Spring Data no mide este repositorio; cada escritura se mide en literalura.repositorio.lotes.
+ */
+@Repository
+@Timed("literalura.repositorio.lotes")
+public class BookBulkRepository {
+
+    // Filas por lote JDBC. Con reWriteBatchedInserts el driver de PostgreSQL agrupa cada lote en pocas sentencias.
+    private static final int TAMANO_LOTE = 500;
+
+    // Los libros que ya existen se actualizan; los campos opcionales nulos no borran los valores registrados.
+    private static final String ACTUALIZAR_LIBRO =
+            "UPDATE book SET title = ?, total_downloads = ?, publication_date = COALESCE(?, publication_date), " +
+            "genre = COALESCE(?, genre), synopsis = COALESCE(?, synopsis), publisher = COALESCE(?, publisher), " +
+            "revision = DEFAULT WHERE id = ?";
+
+    // Igual que ACTUALIZAR_LIBRO, pero conserva las descargas registradas (para fuentes que no las incluyen).
+    private static final String ACTUALIZAR_LIBRO_SIN_DESCARGAS =
+            "UPDATE book SET title = ?, publication_date = COALESCE(?, publication_date), " +
+            "genre = COALESCE(?, genre), synopsis = COALESCE(?, synopsis), publisher = COALESCE(?, publisher), " +
+            "revision = DEFAULT WHERE id = ?";
+
+    // Los libros nuevos se insertan; si otra transacción acaba de insertar el mismo ID, se conserva el suyo.
+    private static final String INSERTAR_LIBRO =
+            "INSERT INTO book (id, title, total_downloads, publication_date, genre, synopsis, publisher) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    // Actualización del refresco: sólo toca libros existentes y los campos nulos no borran los valores registrados.
+    private static final String ACTUALIZAR_METADATOS =
+            "UPDATE book SET total_downloads = ?, genre = COALESCE(?, genre), synopsis = COALESCE(?, synopsis), " +
+            "revision = DEFAULT WHERE id = ?";
+
+    private final JdbcTemplate jdbc;
+
+    public BookBulkRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /*
+     * Inserta los libros indicados o actualiza los que ya existen con el mismo ID de Gutendex.
+     * Los existentes se actualizan con UPDATE y el resto se inserta con INSERT ... ON CONFLICT DO NOTHING,
+     * dos sentencias que también acepta H2 en modo PostgreSQL. Si otra importación inserta uno de los
+     * libros nuevos entre la consulta de existentes y el INSERT, queda la fila de esa importación, que
+     * trae los mismos datos de Gutendex.
+     *
+     * @param libros              Libros a guardar.
+     * @param existentes          IDs de los libros que ya estaban registrados.
+     * @param actualizarDescargas false para conservar las descargas de los libros existentes.
+     */
+    public void upsertLibros(Collection<Book> libros, Set<Long> existentes, boolean actualizarDescargas) {
+        List<Book> actualizados = new ArrayList<>(existentes.size());
+        List<Book> nuevos = new ArrayList<>(libros.size());
+        for (Book b : libros) {
+            (existentes.contains(b.getId()) ? actualizados : nuevos).add(b);
+        }
+        if (!actualizados.isEmpty()) {
+            jdbc.batchUpdate(actualizarDescargas ? ACTUALIZAR_LIBRO : ACTUALIZAR_LIBRO_SIN_DESCARGAS, actualizados,
+                    TAMANO_LOTE, (ps, b) -> {
+                        int i = 1;
+                        ps.setString(i++, b.getTitle());
+                        if (actualizarDescargas) {
+                            ps.setInt(i++, b.getTotalDownloads());
+                        }
+                        setTexto(ps, i++, b.getPublicationDate());
+                        setTexto(ps, i++, b.getGenre());
+                        setTexto(ps, i++, b.getSynopsis());
+                        setTexto(ps, i++, b.getPublisher());
+                        ps.setLong(i, b.getId());
+                    });
+        }
+        if (!nuevos.isEmpty()) {
+            jdbc.batchUpdate(INSERTAR_LIBRO, nuevos, TAMANO_LOTE, (ps, b) -> {
+                ps.setLong(1, b.getId());
+                ps.setString(2, b.getTitle());
+                ps.setInt(3, b.getTotalDownloads());
+                setTexto(ps, 4, b.getPublicationDate());
+                setTexto(ps, 5, b.getGenre());
+                setTexto(ps, 6, b.getSynopsis());
+                setTexto(ps, 7, b.getPublisher());
+            });
+        }
+    }
+
+    /*
+     * Actualiza las descargas, el género y la sinopsis de libros ya registrados.
+     * Los libros que no existen se ignoran.
+     *
+     * @param cambios Valores nuevos de cada libro.
+     */
+    public void actualizarMetadatos(Collection<BookMetadata> cambios) {
+        jdbc.batchUpdate(ACTUALIZAR_METADATOS, cambios, TAMANO_LOTE, (ps, m) -> {
+            ps.setInt(1, m.totalDownloads());
+            setTexto(ps, 2, m.genre());
+            setTexto(ps, 3, m.synopsis());
+            ps.setLong(4, m.id());
+        });
+    }
+
+    /*
+     * Elimina los libros indicados con sus idiomas y sus enlaces a autores.
+     * Los autores se conservan aunque queden sin libros.
+     *
+     * @param ids IDs de los libros a eliminar.
+     */
+    public void eliminarLibros(Collection<Long> ids) {
+        jdbc.batchUpdate("DELETE FROM book_languages WHERE book_id = ?", ids, TAMANO_LOTE, (ps, id) -> ps.setLong(1, id));
+        jdbc.batchUpdate("DELETE FROM book_author WHERE book_id = ?", ids, TAMANO_LOTE, (ps, id) -> ps.setLong(1, id));
+        jdbc.batchUpdate("DELETE FROM book WHERE id = ?", ids, TAMANO_LOTE, (ps, id) -> ps.setLong(1, id));
+    }
+
+    /*
+     * Sustituye los idiomas de los libros indicados por los que traen las entidades.
+     *
+     * @param libros Libros con sus idiomas.
+     */
+    public void reemplazarIdiomas(Collection<Book> libros) {
+        jdbc.batchUpdate("DELETE FROM book_languages WHERE book_id = ?", libros, TAMANO_LOTE,
+                (ps, b) -> ps.setLong(1, b.getId()));
+        List<Object[]> filas = new ArrayList<>();
+        for (Book b : libros) {
+            if (b.getLanguages() != null) {
+                b.getLanguages().stream().distinct().forEach(idioma -> filas.add(new Object[]{b.getId(), idioma}));
+            }
+        }
+        insertar("INSERT INTO book_languages (book_id, languages) VALUES (?, ?) ON CONFLICT DO NOTHING", filas);
+    }
+
+    /*
+     * Sustituye los autores de los libros indicados. Los autores deben estar guardados.
+     *
+     * @param libros Libros con sus autores.
+     */
+    public void reemplazarAutores(Collection<Book> libros) {
+        jdbc.batchUpdate("DELETE FROM book_author WHERE book_id = ?", libros, TAMANO_LOTE,
+                (ps, b) -> ps.setLong(1, b.getId()));
+        List<Object[]> filas = new ArrayList<>();
+        for (Book b : libros) {
+            b.getAuthors().stream().map(Author::getId).distinct().forEach(id -> filas.add(new Object[]{b.getId(), id}));
+        }
+        insertar("INSERT INTO book_author (book_id, author_id) VALUES (?, ?) ON CONFLICT DO NOTHING", filas);
+    }
+
+    /*
+     * Inserta los autores que todavía no existen con la misma clave (nombre, nacimiento, fallecimiento).
+     * Si otra transacción inserta el mismo autor a la vez, el índice único lo descarta sin error.
+     *
+     * @param autores Autores a insertar, sin ID.
+     */
+    public void insertarAutores(Collection<Author> autores) {
+        jdbc.batchUpdate("INSERT INTO author (name, year_birth, year_death) VALUES (?, ?, ?) ON CONFLICT DO NOTHING",
+                autores, TAMANO_LOTE, (ps, a) -> {
+                    ps.setString(1, a.getName());
+                    ps.setInt(2, a.getYearBirth());
+                    ps.setInt(3, a.getYearDeath());
+                });
+    }
+
+    private void insertar(String sql, List<Object[]> filas) {
+        for (int i = 0; i < filas.size(); i += TAMANO_LOTE) {
+            jdbc.batchUpdate(sql, filas.subList(i, Math.min(filas.size(), i + TAMANO_LOTE)));
+        }
+    }
+
+    private static void setTexto(PreparedStatement ps, int indice, String valor) throws SQLException {
+        if (valor != null) {
+            ps.setString(indice, valor);
+        } else {
+            ps.setNull(indice, Types.VARCHAR);
+        }
+    }
+}
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.literalura.literalura.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
-import com.literalura.literalura.model.Author;
+import com.literalura.literalura.dto.BookMetadata;
+import com.literalura.literalura.dto.DownloadStatistics;
 import com.literalura.literalura.model.Book;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -13,6 +17,8 @@ import java.util.Set;
 /*
  * Interfaz de repositorio para gestionar las operaciones CRUD sobre la entidad Book.
  * Utiliza JpaRepository de Spring Data JPA para proporcionar métodos estándar de persistencia.
+ * Los idiomas, los rankings y las estadísticas se guardan en la caché de consultas
+ * (@CachedQuery); los recorridos por páginas no, porque cada página se lee una sola vez.
  */
 public interface BookRepository extends JpaRepository<Book, Long> {
 
@@ -24,56 +30,127 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     Optional<Book> findById(Long id);
 
     /*
-     * Encuentra todos los autores de los libros en la base de datos.
-     * @return Una lista de todos los autores encontrados.
+     * Encuentra cuáles de los IDs indicados ya están registrados, sin cargar las entidades.
+     * @param ids Los IDs de libros a comprobar.
+     * @return El conjunto de IDs que ya existen en la base de datos.
      */
-    @Query("SELECT a FROM Book b JOIN b.authors a")
-    List<Author> encontrarAutores();
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    Set<Long> encontrarIdsExistentes(Collection<Long> ids);
 
     /*
-     * Encuentra autores que están vivos desde un año específico.
-     * @param anio El año desde el cual buscar autores vivos.
-     * @return Una lista de autores vivos en o después del año especificado.
+     * Encuentra los IDs de los autores enlazados con los libros indicados, sin cargar las entidades.
+     * @param ids Los IDs de los libros.
+     * @return El conjunto de IDs de sus autores.
      */
-    @Query("SELECT a FROM Book b JOIN b.authors a WHERE a.yearDeath >= :anio")
-    List<Author> encontrarAutoresVivos(int anio);
+    @Query("SELECT DISTINCT a.id FROM Book b JOIN b.authors a WHERE b.id IN :ids")
+    Set<Long> encontrarIdsAutores(Collection<Long> ids);
+
+    /*
+     * Encuentra los IDs de libros a partir del indicado, sin cargar las entidades.
+     * Se usa para recorrer los libros antiguos (Book.INICIO_IDS_ANTIGUOS); no pasa por la caché de consultas.
+     * @param desde El primer ID que se devuelve.
+     * @return Los IDs ordenados.
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.id >= :desde ORDER BY b.id")
+    List<Long> encontrarIdsDesde(long desde);
+
+    /*
+     * Encuentra la siguiente página de libros para un recorrido por clave (keyset).
+     * Autores e idiomas no se incluyen con JOIN FETCH, porque obligaría a Hibernate a paginar
+     * en memoria; se cargan por lotes al recorrer la página.
+     * @param despuesDe El último ID leído; se devuelven los libros con ID mayor.
+     * @param limite    Cantidad máxima de libros de la página.
+     * @return Los libros de la página ordenados por ID.
+     */
+    @Query("SELECT b FROM Book b WHERE b.id > :despuesDe ORDER BY b.id")
+    List<Book> encontrarLibrosDesde(long despuesDe, Limit limite);
+
+    /*
+     * Encuentra la siguiente página de descargas, género y sinopsis guardados, para el refresco del catálogo.
+     * No se guarda en la caché de consultas: el refresco compara siempre con lo que hay en la base de datos.
+     * @param despuesDe El último ID leído; se devuelven los libros con ID mayor.
+     * @param limite    Cantidad máxima de libros de la página.
+     * @return Los valores de los libros de la página ordenados por ID.
+     */
+    @Query("SELECT new com.literalura.literalura.dto.BookMetadata(b.id, b.totalDownloads, b.genre, b.synopsis) " +
+            "FROM Book b WHERE b.id > :despuesDe ORDER BY b.id")
+    List<BookMetadata> encontrarMetadatosDesde(long despuesDe, Limit limite);
 
     /*
      * Encuentra todos los idiomas de los libros en la base de datos.
      * @return Un conjunto de idiomas únicos encontrados.
      */
+    @CachedQuery
     @Query("SELECT DISTINCT l FROM Book b JOIN b.languages l")
     Set<String> encontrarIdiomas();
 
     /*
-     * Encuentra libros por un idioma específico.
-     * @param lenguaje El idioma por el cual buscar libros.
-     * @return Una lista de libros que están en el idioma especificado.
+     * Encuentra los libros más descargados. El límite se aplica en la base de datos.
+     * @param pagina Página de resultados; su tamaño es la cantidad de libros del ranking.
+     * @return Los libros ordenados de mayor a menor cantidad de descargas.
+     */
+    @CachedQuery
+    @Query("SELECT b FROM Book b ORDER BY b.totalDownloads DESC, b.id")
+    List<Book> encontrarTopLibros(Pageable pagina);
+
+    /*
+     * Encuentra los libros más descargados en un idioma.
+     * @param lenguaje El código del idioma.
+     * @param pagina   Página de resultados; su tamaño es la cantidad de libros del ranking.
+     * @return Los libros del idioma ordenados de mayor a menor cantidad de descargas.
+     */
+    @CachedQuery
+    @Query("SELECT b FROM Book b WHERE :lenguaje MEMBER OF b.languages ORDER BY b.totalDownloads DESC, b.id")
+    List<Book> encontrarTopLibrosXIdioma(String lenguaje, Pageable pagina);
+
+    /*
+     * Encuentra los libros más descargados de los autores cuyo nombre contiene el texto indicado.
+     * @param autor  Parte del nombre del autor, sin distinguir mayúsculas.
+     * @param pagina Página de resultados; su tamaño es la cantidad de libros del ranking.
+     * @return Los libros del autor ordenados de mayor a menor cantidad de descargas.
+     */
+    @CachedQuery
+    @Query("SELECT b FROM Book b WHERE EXISTS (SELECT a FROM Author a WHERE a MEMBER OF b.authors " +
+            "AND LOWER(a.name) LIKE LOWER(CONCAT('%', :autor, '%'))) ORDER BY b.totalDownloads DESC, b.id")
+    List<Book> encontrarTopLibrosXAutor(String autor, Pageable pagina);
+
+    /*
+     * Encuentra los libros más descargados filtrando a la vez por idioma y por autor.
+     * @param lenguaje El código del idioma.
+     * @param autor    Parte del nombre del autor, sin distinguir mayúsculas.
+     * @param pagina   Página de resultados; su tamaño es la cantidad de libros del ranking.
+     * @return Los libros ordenados de mayor a menor cantidad de descargas.
      */
-    @Query("SELECT DISTINCT b FROM Book b JOIN b.languages l WHERE :lenguaje IN (l)")
-    List<Book> encontrarLibroXIdioma(String lenguaje);
+    @CachedQuery
+    @Query("SELECT b FROM Book b WHERE :lenguaje MEMBER OF b.languages AND EXISTS (SELECT a FROM Author a " +
+            "WHERE a MEMBER OF b.authors AND LOWER(a.name) LIKE LOWER(CONCAT('%', :autor, '%'))) " +
+            "ORDER BY b.totalDownloads DESC, b.id")
+    List<Book> encontrarTopLibrosXIdiomaYAutor(String lenguaje, String autor, Pageable pagina);
 
     /*
-     * Encuentra los 10 libros más descargados.
-     * @return Una lista de los 10 libros con más descargas.
+     * Calcula las estadísticas de descargas de todo el catálogo en una sola consulta agregada.
+     * @return Cantidad, media, mínimo y máximo de descargas.
      */
-    @Query("SELECT b FROM Book b ORDER BY b.totalDownloads DESC")
-    List<Book> encontrarTop10Libros();
+    @CachedQuery
+    @Query("SELECT new com.literalura.literalura.dto.DownloadStatistics('Total', COUNT(b), AVG(b.totalDownloads), MIN(b.totalDownloads), MAX(b.totalDownloads)) FROM Book b")
+    DownloadStatistics estadisticasDescargas();
 
     /*
-     * Encuentra un autor por su nombre.
-     * @param nombre El nombre del autor a buscar.
-     * @return El autor encontrado o null si no se encuentra.
+     * Calcula las estadísticas de descargas agrupadas por idioma.
+     * @return Una fila por idioma, ordenadas de mayor a menor cantidad de libros.
      */
-    @Query("SELECT a FROM Book b JOIN b.authors a WHERE a.name LIKE :nombre%")
-    Author encontrarAutor(String nombre);
+    @CachedQuery
+    @Query("SELECT new com.literalura.literalura.dto.DownloadStatistics(l, COUNT(b), AVG(b.totalDownloads), MIN(b.totalDownloads), MAX(b.totalDownloads)) " +
+            "FROM Book b JOIN b.languages l GROUP BY l ORDER BY COUNT(b) DESC")
+    List<DownloadStatistics> estadisticasPorIdioma();
 
     /*
-     * Encuentra autores que nacieron y murieron dentro de un rango específico de años.
-     * @param anioDesde El año de inicio del rango.
-     * @param anioHasta El año final del rango.
-     * @return Una lista de autores que nacieron y murieron dentro del rango especificado.
+     * Calcula las estadísticas de descargas agrupadas por autor.
+     * @param pagina Página de resultados; permite limitar la cantidad de autores devueltos.
+     * @return Una fila por autor, ordenadas de mayor a menor total de descargas.
      */
-    @Query("SELECT a FROM Book b JOIN b.authors a WHERE a.yearBirth BETWEEN :anioDesde AND :anioHasta AND a.yearDeath BETWEEN :anioDesde AND :anioHasta")
-    List<Author> encontrarAutoresVivosRango(int anioDesde, int anioHasta);
+    @CachedQuery
+    @Query("SELECT new com.literalura.literalura.dto.DownloadStatistics(a.name, COUNT(b), AVG(b.totalDownloads), MIN(b.totalDownloads), MAX(b.totalDownloads)) " +
+            "FROM Book b JOIN b.authors a GROUP BY a.id, a.name ORDER BY SUM(b.totalDownloads) DESC")
+    List<DownloadStatistics> estadisticasPorAutor(Pageable pagina);
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.literalura.literalura.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
+
+/*
+ * Marca una consulta de repositorio para guardar sus resultados en la caché de consultas de
+ * Hibernate, en la región REGION. Para las consultas de entidades se guardan sólo los IDs; las
+ * entidades se leen después de la caché de segundo nivel.
+ * Las escrituras del catálogo se hacen con JDBC, que Hibernate no ve, así que la región se vacía
+ * al confirmarse cada actualización (ver SecondLevelCache).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CachedQuery.REGION)
+})
+public @interface CachedQuery {
+
+    String REGION = "catalogo.consultas";
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.literalura.literalura.repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * Lecturas del catálogo por columnas para el motor de analítica en memoria (ColumnarCatalog).
+ * Las filas se leen con JDBC en streaming, sin crear entidades de JPA, y se entregan ordenadas por
+ * ID de libro para que puedan volcarse directamente en arreglos.
+ * Cada recorrido se hace en una sola transacción REPEATABLE READ, así que libros, idiomas y
+ * autores corresponden al mismo estado del catálogo.
+ */
+@Repository
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+public class CatalogColumnsRepository {
+
+    // Filas que el driver trae por cada viaje a la base de datos durante un recorrido completo.
+    private static final int TAMANO_FETCH = 5000;
+
+    // IDs por consulta IN al recargar libros modificados.
+    private static final int TAMANO_BLOQUE = 500;
+
+    private final JdbcTemplate jdbc;
+
+    public CatalogColumnsRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /*
+     * Firma del contenido del catálogo, con la que se comprueba si una instantánea guardada en disco
+     * sigue al día sin leer las filas. Cada escritura de un libro, de sus idiomas o de sus autores
+     * le da una revisión nueva (BookBulkRepository), así que cualquier cambio, alta o baja cambia la
+     * suma de las revisiones o de los IDs.
+     *
+     * @return Cantidad de libros, suma de sus IDs y suma de sus revisiones.
+     */
+    public Firma firma() {
+        return jdbc.queryForObject("SELECT COUNT(*), COALESCE(SUM(id), 0), COALESCE(SUM(revision), 0) FROM book",
+                (rs, i) -> new Firma(rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+    }
+
+    /*
+     * Recorre todo el catálogo: primero los libros, después los idiomas y por último los autores
+     * de cada libro, cada grupo ordenado por ID de libro.
+     */
+    public void recorrer(Consumer<FilaLibro> libros, Consumer<FilaIdioma> idiomas, Consumer<FilaAutor> autores) {
+        recorrer("", List.of(), libros, idiomas, autores);
+    }
+
+    /*
+     * Igual que recorrer, pero sólo para los libros indicados, que deben venir ordenados.
+     * Los libros que ya no existen simplemente no aparecen.
+     */
+    public void recorrer(List<Long> ids, Consumer<FilaLibro> libros, Consumer<FilaIdioma> idiomas,
+                         Consumer<FilaAutor> autores) {
+        // Bloques consecutivos: como la lista está ordenada, cada bloque entrega sus filas en orden.
+        for (int i = 0; i < ids.size(); i += TAMANO_BLOQUE) {
+            List<Long> bloque = ids.subList(i, Math.min(ids.size(), i + TAMANO_BLOQUE));
+            String marcadores = String.join(",", Collections.nCopies(bloque.size(), "?"));
+            recorrer(" WHERE {id} IN (" + marcadores + ")", bloque, libros, idiomas, autores);
+        }
+    }
+
+    // Lee libros, idiomas y autores. El filtro es vacío o una condición sobre "{id}", el ID de libro de cada tabla.
+    private void recorrer(String filtro, List<Long> parametros, Consumer<FilaLibro> libros,
+                          Consumer<FilaIdioma> idiomas, Consumer<FilaAutor> autores) {
+        consultar("SELECT id, total_downloads, revision FROM book" + filtro.replace("{id}", "id") + " ORDER BY id",
+                parametros, rs -> libros.accept(new FilaLibro(rs.getLong(1), rs.getInt(2), rs.getLong(3))));
+        consultar("SELECT book_id, languages FROM book_languages" + filtro.replace("{id}", "book_id") +
+                        " ORDER BY book_id, languages",
+                parametros, rs -> idiomas.accept(new FilaIdioma(rs.getLong(1), rs.getString(2))));
+        consultar("SELECT ba.book_id, a.id, a.name FROM book_author ba JOIN author a ON a.id = ba.author_id" +
+                        filtro.replace("{id}", "ba.book_id") + " ORDER BY ba.book_id, a.id",
+                parametros, rs -> autores.accept(new FilaAutor(rs.getLong(1), rs.getLong(2), rs.getString(3))));
+    }
+
+    // Lee una consulta en streaming; cada fila se entrega al manejador y se descarta.
+    private void consultar(String sql, List<Long> parametros, RowCallbackHandler manejador) {
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(TAMANO_FETCH);
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setLong(i + 1, parametros.get(i));
+            }
+            return ps;
+        }, manejador);
+    }
+
+    /*
+     * Firma del contenido del catálogo.
+     *
+     * @param libros         Cantidad de libros.
+     * @param sumaIds        Suma de los IDs de los libros.
+     * @param sumaRevisiones Suma de las revisiones de los libros.
+     */
+    public record Firma(long libros, long sumaIds, long sumaRevisiones) {
+    }
+
+    // Un libro con sus descargas y su revisión.
+    public record FilaLibro(long id, int descargas, long revision) {
+    }
+
+    // Un idioma de un libro.
+    public record FilaIdioma(long libroId, String idioma) {
+    }
+
+    // Un autor de un libro.
+    public record FilaAutor(long libroId, long autorId, String nombre) {
+    }
+}
\ No newline at end of file
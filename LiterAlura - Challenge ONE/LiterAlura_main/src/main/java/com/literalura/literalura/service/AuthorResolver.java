@@ -0,0 +1,214 @@
+package com.literalura.literalura.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.repository.AuthorRepository;
+import com.literalura.literalura.repository.BookBulkRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Resuelve lotes de autores a entidades registradas, identificándolos por la clave exacta
+ * (nombre, año de nacimiento, año de fallecimiento).
+ * Los autores del lote se buscan con una sola consulta, los que faltan se insertan juntos,
+ * y los IDs resueltos se recuerdan en una caché LRU acotada para que los autores frecuentes
+ * no vuelvan a consultarse en los lotes siguientes.
+ */
+@Component
+public class AuthorResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorResolver.class);
+
+    // Nombres por consulta IN, para no exceder el límite de parámetros del driver.
+    private static final int NOMBRES_POR_CONSULTA = 1000;
+
+    private final AuthorRepository repoAuthor;
+    private final BookBulkRepository bulk;
+    private final int maxEntradas;
+    private final Map<Clave, Long> ids;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong consultados = new AtomicLong();
+    private final AtomicLong creados = new AtomicLong();
+
+    public AuthorResolver(AuthorRepository repoAuthor,
+                          BookBulkRepository bulk,
+                          @Value("${literalura.autores.max-cache:10000}") int maxEntradas) {
+        this.repoAuthor = repoAuthor;
+        this.bulk = bulk;
+        this.maxEntradas = maxEntradas;
+        this.ids = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Long> eldest) {
+                return size() > AuthorResolver.this.maxEntradas;
+            }
+        };
+    }
+
+    /*
+     * Resuelve los autores indicados. Debe llamarse dentro de una transacción: los autores
+     * nuevos se guardan en ella y sólo pasan a la caché cuando se confirma.
+     *
+     * @param autores Autores a resolver; pueden venir sin guardar y repetidos.
+     * @return Un autor administrado por cada clave distinta.
+     */
+    public Map<Clave, Author> resolver(Collection<Author> autores) {
+        Set<Clave> claves = claves(autores);
+        Map<Clave, Long> encontrados = new HashMap<>();
+        Map<Clave, Author> resueltos = buscarRegistrados(claves, encontrados);
+        if (resueltos.size() == claves.size()) {
+            recordarAlConfirmar(encontrados);
+            return resueltos;
+        }
+
+        // 3. Autores nuevos: se insertan juntos en un lote JDBC y se leen sus IDs con una consulta.
+        // Si otra importación inserta el mismo autor a la vez, el índice único lo descarta y se lee el suyo.
+        List<Author> nuevos = new ArrayList<>();
+        for (Clave clave : claves) {
+            if (!resueltos.containsKey(clave)) {
+                nuevos.add(new Author(clave.nombre(), clave.nacimiento(), clave.muerte()));
+            }
+        }
+        if (!nuevos.isEmpty()) {
+            bulk.insertarAutores(nuevos);
+            Set<Clave> clavesNuevas = new HashSet<>();
+            nuevos.forEach(a -> clavesNuevas.add(Clave.de(a)));
+            List<String> nombresNuevos = nuevos.stream().map(Author::getName).distinct().toList();
+            for (int i = 0; i < nombresNuevos.size(); i += NOMBRES_POR_CONSULTA) {
+                List<String> bloque = nombresNuevos.subList(i, Math.min(nombresNuevos.size(), i + NOMBRES_POR_CONSULTA));
+                for (Author a : repoAuthor.buscarAutoresPorNombre(bloque)) {
+                    Clave clave = Clave.de(a);
+                    if (clavesNuevas.contains(clave) && resueltos.putIfAbsent(clave, a) == null) {
+                        encontrados.put(clave, a.getId());
+                    }
+                }
+            }
+            creados.addAndGet(nuevos.size());
+        }
+
+        recordarAlConfirmar(encontrados);
+        return resueltos;
+    }
+
+    /*
+     * Busca los autores indicados sin insertar los que faltan. Debe llamarse dentro de una
+     * transacción, que puede ser de sólo lectura.
+     *
+     * @param autores Autores a buscar; pueden venir sin guardar y repetidos.
+     * @return Un autor administrado por cada clave registrada; las que no existen no aparecen.
+     */
+    public Map<Clave, Author> buscar(Collection<Author> autores) {
+        Map<Clave, Long> encontrados = new HashMap<>();
+        Map<Clave, Author> resueltos = buscarRegistrados(claves(autores), encontrados);
+        recordarAlConfirmar(encontrados);
+        return resueltos;
+    }
+
+    /*
+     * Pasos 1 y 2: autores recordados en la caché y autores registrados en la base de datos.
+     * Los IDs leídos de la base se añaden a "encontrados" para recordarlos al confirmar.
+     */
+    private Map<Clave, Author> buscarRegistrados(Set<Clave> claves, Map<Clave, Long> encontrados) {
+        Map<Clave, Author> resueltos = new HashMap<>();
+
+        // 1. Autores ya conocidos: una referencia por ID basta para asociarlos, sin consultar.
+        List<Clave> pendientes = new ArrayList<>();
+        synchronized (ids) {
+            for (Clave clave : claves) {
+                Long id = ids.get(clave);
+                if (id != null) {
+                    resueltos.put(clave, repoAuthor.getReferenceById(id));
+                } else {
+                    pendientes.add(clave);
+                }
+            }
+        }
+        aciertos.addAndGet(resueltos.size());
+        if (pendientes.isEmpty()) {
+            return resueltos;
+        }
+
+        // 2. Autores registrados: una consulta por bloque de nombres, comparando la clave exacta.
+        List<String> nombres = pendientes.stream().map(Clave::nombre).distinct().toList();
+        for (int i = 0; i < nombres.size(); i += NOMBRES_POR_CONSULTA) {
+            List<String> bloque = nombres.subList(i, Math.min(nombres.size(), i + NOMBRES_POR_CONSULTA));
+            for (Author a : repoAuthor.buscarAutoresPorNombre(bloque)) {
+                Clave clave = Clave.de(a);
+                if (claves.contains(clave) && resueltos.putIfAbsent(clave, a) == null) {
+                    encontrados.put(clave, a.getId());
+                }
+            }
+        }
+        consultados.addAndGet(pendientes.size());
+        return resueltos;
+    }
+
+    private static Set<Clave> claves(Collection<Author> autores) {
+        Set<Clave> claves = new LinkedHashSet<>();
+        for (Author a : autores) {
+            claves.add(Clave.de(a));
+        }
+        return claves;
+    }
+
+    /*
+     * Guarda los IDs en la caché cuando la transacción se confirma; si se revierte,
+     * los autores creados en ella no existen y no deben recordarse.
+     */
+    private void recordarAlConfirmar(Map<Clave, Long> nuevos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordar(nuevos);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordar(nuevos);
+            }
+        });
+    }
+
+    private void recordar(Map<Clave, Long> nuevos) {
+        synchronized (ids) {
+            ids.putAll(nuevos);
+        }
+    }
+
+    // Descarta los IDs recordados.
+    public void limpiar() {
+        synchronized (ids) {
+            ids.clear();
+        }
+    }
+
+    @PreDestroy
+    void registrarEstadisticas() {
+        logger.info("Autores resueltos: {} desde la caché, {} consultados, {} creados",
+                aciertos.get(), consultados.get(), creados.get());
+    }
+
+    // Clave exacta de un autor.
+    public record Clave(String nombre, int nacimiento, int muerte) {
+
+        public static Clave de(Author a) {
+            return new Clave(a.getName(), a.getYearBirth(), a.getYearDeath());
+        }
+    }
+}
\ No newline at end of file
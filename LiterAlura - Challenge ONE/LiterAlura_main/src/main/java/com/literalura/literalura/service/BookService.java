@@ -1,150 +1,547 @@
 package com.literalura.literalura.service;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.DoubleSummaryStatistics;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.literalura.literalura.analytics.ColumnarCatalog;
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.dto.BookMetadata;
+import com.literalura.literalura.dto.BookSummary;
 import com.literalura.literalura.dto.DataAuthor;
 import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DownloadStatistics;
 import com.literalura.literalura.model.Author;
 import com.literalura.literalura.model.Book;
+import com.literalura.literalura.render.RecordWriter;
 import com.literalura.literalura.repository.AuthorRepository;
+import com.literalura.literalura.repository.BookBulkRepository;
 import com.literalura.literalura.repository.BookRepository;
 
+import io.micrometer.core.annotation.Timed;
+
+// Cada operación pública se mide en la métrica literalura.servicio, etiquetada con el método.
 @Service
+@Timed("literalura.servicio")
 public class BookService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookService.class);
 
+    // Cantidad de autores que se muestran en las estadísticas.
+    private static final int AUTORES_ESTADISTICAS = 10;
+
+    // Filas por página al volcar un listado completo.
+    private static final int TAMANO_PAGINA_VOLCADO = 500;
+
     @Autowired
     private AuthorRepository repoAuthor;
     @Autowired
     private BookRepository repoBook;
+    @Autowired
+    private BookBulkRepository bulk;
+    @Autowired
+    private AuthorResolver resolver;
+    @Autowired
+    private TopBooksCache topBooks;
+    @Autowired
+    private SecondLevelCache segundoNivel;
+    @Autowired
+    private ApplicationEventPublisher eventos;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    // Motor de analítica en memoria; sólo existe con literalura.analitica.habilitado=true.
+    @Autowired(required = false)
+    private ColumnarCatalog analitica;
 
     /*
-     * Guarda un nuevo libro en el repositorio si no existe.
+     * Guarda un libro en el repositorio, o lo actualiza si ya existe un libro con el mismo ID.
      *
      * @param d Datos del libro a guardar.
      */
+    @Transactional
     public void saveBook(DataBook d) {
-        Optional<Book> libroBuscado = repoBook.findById(d.id());
-        if (libroBuscado.isEmpty()) {
-            List<Author> autores = verifyAuthors(d.authors());
-            Book nuevoLibro = new Book(d.id(), d.title(), d.languages(), d.totalDownloads());
-            for (Author author : autores) {
-                nuevoLibro.addAuthor(author);
-            }
-            repoBook.save(nuevoLibro);
-            logger.info("Libro guardado: {}", nuevoLibro);
+        Book libro = ConvierteDatos.aLibro(d);
+        if (upsertBooks(List.of(libro), true) == 1) {
+            logger.info("Libro guardado: {}", libro);
         } else {
-            logger.warn("No se puede registrar el mismo libro más de una vez: {}", d.title());
+            logger.info("Libro actualizado: {}", libro);
         }
     }
 
     /*
-     * Verifica si los autores ya existen en el repositorio y los retorna.
+     * Guarda un lote de libros en una sola transacción, actualizando los que ya existen.
+     * Los autores repetidos dentro del lote se resuelven una sola vez.
+     *
+     * @param datos Lista de datos de libros a guardar.
+     * @return Cantidad de libros nuevos guardados.
+     */
+    @Transactional
+    public int saveBooks(List<DataBook> datos) {
+        List<Book> libros = new ArrayList<>(datos.size());
+        for (DataBook d : datos) {
+            libros.add(ConvierteDatos.aLibro(d));
+        }
+        return upsertBooks(libros, true);
+    }
+
+    /*
+     * Igual que saveBooks, pero devuelve los IDs de los libros que no estaban registrados, para
+     * que quien llama pueda informar qué libros se guardaron y cuáles sólo se actualizaron.
+     *
+     * @param datos Lista de datos de libros a guardar.
+     * @return IDs de los libros nuevos.
+     */
+    @Transactional
+    public Set<Long> saveBooksReturningNewIds(List<DataBook> datos) {
+        List<Book> libros = new ArrayList<>(datos.size());
+        for (DataBook d : datos) {
+            libros.add(ConvierteDatos.aLibro(d));
+        }
+        return upsert(libros, true);
+    }
+
+    /*
+     * Inserta o actualiza un lote de libros ya construidos, identificados por su ID de Gutendex.
+     * Los libros, sus idiomas y sus autores se escriben con JDBC por lotes y los conflictos se
+     * resuelven en la base de datos, de modo que la operación es idempotente y dos importaciones
+     * que ven el mismo libro a la vez no fallan. Los autores de cada libro pueden venir sin guardar:
+     * se resuelven todos juntos con AuthorResolver.
+     *
+     * @param libros              Lista de libros a guardar.
+     * @param actualizarDescargas false para conservar las descargas de los libros que ya existen,
+     *                            cuando la fuente no las incluye (catálogo CSV).
+     * @return Cantidad de libros nuevos guardados.
+     */
+    @Transactional
+    public int upsertBooks(List<Book> libros, boolean actualizarDescargas) {
+        return upsert(libros, actualizarDescargas).size();
+    }
+
+    // Inserta o actualiza el lote y devuelve los IDs de los libros nuevos.
+    private Set<Long> upsert(List<Book> libros, boolean actualizarDescargas) {
+        // Ordenados por ID: dos lotes concurrentes bloquean las mismas filas en el mismo orden.
+        Map<Long, Book> porId = new TreeMap<>();
+        for (Book libro : libros) {
+            porId.putIfAbsent(libro.getId(), libro);
+        }
+        if (porId.isEmpty()) {
+            return Set.of();
+        }
+        // Los existentes se actualizan y el resto se inserta.
+        Set<Long> existentes = repoBook.encontrarIdsExistentes(porId.keySet());
+        // Autores que pierden o ganan libros: los que tenían los libros existentes y los que traen ahora.
+        Set<Long> autoresTocados = new HashSet<>();
+        if (!existentes.isEmpty()) {
+            autoresTocados.addAll(repoBook.encontrarIdsAutores(existentes));
+        }
+
+        List<Author> autores = new ArrayList<>();
+        for (Book libro : porId.values()) {
+            autores.addAll(libro.getAuthors());
+        }
+        Map<AuthorResolver.Clave, Author> resueltos = resolver.resolver(autores);
+        for (Book libro : porId.values()) {
+            libro.setAuthors(new ArrayList<>(libro.getAuthors().stream()
+                    .map(a -> resueltos.get(AuthorResolver.Clave.de(a))).distinct().toList()));
+            libro.getAuthors().forEach(a -> autoresTocados.add(a.getId()));
+        }
+
+        bulk.upsertLibros(porId.values(), existentes, actualizarDescargas);
+        bulk.reemplazarIdiomas(porId.values());
+        bulk.reemplazarAutores(porId.values());
+        eventos.publishEvent(new CatalogUpdatedEvent(List.copyOf(porId.keySet()), List.copyOf(autoresTocados)));
+
+        Set<Long> nuevos = new HashSet<>(porId.keySet());
+        nuevos.removeAll(existentes);
+        logger.info("Lote guardado: {} libros nuevos y {} actualizados de {} recibidos",
+                nuevos.size(), existentes.size(), libros.size());
+        return nuevos;
+    }
+
+    /*
+     * Actualiza las descargas, el género y la sinopsis de libros ya registrados en una sola
+     * transacción, con JDBC por lotes. Los campos nulos conservan el valor guardado.
+     *
+     * @param cambios Valores nuevos de los libros que cambiaron.
+     */
+    @Transactional
+    public void updateBookMetadata(List<BookMetadata> cambios) {
+        if (cambios.isEmpty()) {
+            return;
+        }
+        bulk.actualizarMetadatos(cambios);
+        eventos.publishEvent(new CatalogUpdatedEvent(cambios.stream().map(BookMetadata::id).toList()));
+        logger.info("Metadatos actualizados: {} libros", cambios.size());
+    }
+
+    /*
+     * Reemplaza un libro antiguo (guardado por la primera versión con un ID de la secuencia) por el
+     * mismo libro de Gutendex con su ID real, en una sola transacción. Si ese libro ya estaba
+     * registrado, se actualiza y el antiguo sólo se elimina.
+     *
+     * @param legacyId ID del libro antiguo, desde Book.INICIO_IDS_ANTIGUOS.
+     * @param d        Datos del libro en Gutendex.
+     */
+    @Transactional
+    public void replaceLegacyBook(Long legacyId, DataBook d) {
+        if (legacyId < Book.INICIO_IDS_ANTIGUOS) {
+            throw new IllegalArgumentException("El libro " + legacyId + " no es un libro antiguo");
+        }
+        upsertBooks(List.of(ConvierteDatos.aLibro(d)), true);
+        Set<Long> autores = repoBook.encontrarIdsAutores(List.of(legacyId));
+        bulk.eliminarLibros(List.of(legacyId));
+        eventos.publishEvent(new CatalogUpdatedEvent(List.of(legacyId), List.copyOf(autores)));
+        logger.info("Libro antiguo {} reemplazado por el libro {} de Gutendex", legacyId, d.id());
+    }
+
+    // IDs de los libros antiguos que todavía no tienen su ID de Gutendex, en orden.
+    @Transactional(readOnly = true)
+    public List<Long> getLegacyBookIds() {
+        return repoBook.encontrarIdsDesde(Book.INICIO_IDS_ANTIGUOS);
+    }
+
+    /*
+     * Verifica si los autores ya existen en el repositorio y los retorna. No escribe nada:
+     * los que no existen se devuelven sin guardar.
      *
      * @param authors Lista de datos de autores a verificar.
-     * @return Lista de autores verificados.
+     * @return Lista de autores verificados, en el mismo orden.
      */
+    @Transactional(readOnly = true)
     public List<Author> verifyAuthors(List<DataAuthor> authors) {
-        List<Author> autores = new ArrayList<>();
-        for (DataAuthor a : authors) {
-            Author autor = repoAuthor.buscarAutor(a.name(), a.birthYear(), a.deathYear());
-            if (autor == null) {
-                autores.add(new Author(a.name(), a.birthYear(), a.deathYear()));
-            } else {
-                autores.add(autor);
-            }
+        List<Author> autores = aAutores(authors);
+        Map<AuthorResolver.Clave, Author> registrados = resolver.buscar(autores);
+        return autores.stream().map(a -> registrados.getOrDefault(AuthorResolver.Clave.de(a), a)).distinct().toList();
+    }
+
+    private static List<Author> aAutores(List<DataAuthor> datos) {
+        List<Author> autores = new ArrayList<>(datos.size());
+        for (DataAuthor a : datos) {
+            autores.add(ConvierteDatos.aAutor(a));
         }
         return autores;
     }
 
-    // Lista todos los libros almacenados en el repositorio.
-    public void listBooks() {
-        List<Book> books = repoBook.findAll();
-        books.forEach(book -> logger.info(book.toString()));
+    /*
+     * Lista todos los libros almacenados en el repositorio.
+     * Los libros se leen por páginas, así que la salida empieza de inmediato y la memoria
+     * usada no depende del tamaño del catálogo.
+     *
+     * @param salida Destino de las filas.
+     * @return Cantidad de libros listados.
+     * @throws IOException si no se puede escribir en la salida
+     */
+    public long listBooks(RecordWriter salida) throws IOException {
+        return volcar(cursorBooks(TAMANO_PAGINA_VOLCADO), salida);
+    }
+
+    /*
+     * Lista los autores con libros registrados, una vez cada uno y con su cantidad de libros.
+     *
+     * @param salida Destino de las filas.
+     * @return Cantidad de autores listados.
+     * @throws IOException si no se puede escribir en la salida
+     */
+    public long listAuthors(RecordWriter salida) throws IOException {
+        return volcar(cursorAuthors(TAMANO_PAGINA_VOLCADO), salida);
+    }
+
+    /*
+     * Abre un cursor sobre todos los libros, ordenados por ID.
+     * Cada página se lee y se convierte en resúmenes dentro de su propia transacción de solo lectura,
+     * de modo que las entidades de una página se liberan antes de leer la siguiente.
+     *
+     * @param tamanoPagina Cantidad de libros por página.
+     * @return El cursor, posicionado antes de la primera página.
+     */
+    public KeysetCursor<BookSummary> cursorBooks(int tamanoPagina) {
+        return new KeysetCursor<>((despuesDe, tamano) -> enLectura(() ->
+                repoBook.encontrarLibrosDesde(despuesDe, Limit.of(tamano)).stream().map(BookService::resumen).toList()),
+                BookSummary::id, tamanoPagina);
+    }
+
+    /*
+     * Abre un cursor sobre las descargas, el género y la sinopsis guardados de todos los libros,
+     * ordenados por ID. Las páginas no pasan por la caché de consultas.
+     *
+     * @param tamanoPagina Cantidad de libros por página.
+     * @return El cursor, posicionado antes de la primera página.
+     */
+    public KeysetCursor<BookMetadata> cursorBookMetadata(int tamanoPagina) {
+        return new KeysetCursor<>((despuesDe, tamano) -> repoBook.encontrarMetadatosDesde(despuesDe, Limit.of(tamano)),
+                BookMetadata::id, tamanoPagina);
     }
 
-    // Lista todos los autores almacenados en el repositorio.
-    public void listAuthors() {
-        List<Author> authors = repoBook.encontrarAutores();
-        authors.forEach(author -> logger.info(author.toString()));
+    /*
+     * Abre un cursor sobre los autores con libros registrados, ordenados por nombre.
+     *
+     * @param tamanoPagina Cantidad de autores por página.
+     * @return El cursor, posicionado antes de la primera página.
+     */
+    public KeysetCursor<AuthorSummary> cursorAuthors(int tamanoPagina) {
+        return new KeysetCursor<>((ultimo, tamano) -> repoAuthor.buscarResumenAutoresPorNombreDesde(
+                nombreClave(ultimo), idClave(ultimo), Limit.of(tamano)), tamanoPagina);
     }
 
     /*
-     * Lista todos los autores que están vivos en un año específico.
+     * Abre un cursor sobre los autores con libros registrados, ordenados por ID. Lo usan los índices
+     * en memoria, que no necesitan el orden alfabético y así recorren la clave primaria.
      *
-     * @param anio Año para verificar autores vivos.
+     * @param tamanoPagina Cantidad de autores por página.
+     * @return El cursor, posicionado antes de la primera página.
      */
-    public void listAuthorsAlive(int anio) {
-        List<Author> authors = repoBook.encontrarAutoresVivos(anio);
-        authors.forEach(author -> logger.info(author.toString()));
+    public KeysetCursor<AuthorSummary> cursorAuthorsById(int tamanoPagina) {
+        return new KeysetCursor<>((despuesDe, tamano) -> repoAuthor.buscarResumenAutoresDesde(despuesDe, Limit.of(tamano)),
+                AuthorSummary::id, tamanoPagina);
     }
 
-    // Lista todos los idiomas disponibles en el repositorio.
-    public void listAvailableLanguages() {
-        List<String> languages = new ArrayList<>(repoBook.encontrarIdiomas());
-        languages.forEach(language -> logger.info(language));
+    /*
+     * Devuelve una página de libros ordenados por ID, a partir del último ID de la página anterior.
+     *
+     * @param despuesDe Último ID leído (0 para la primera página).
+     * @param tamano    Cantidad máxima de libros.
+     * @return Los resúmenes de los libros de la página.
+     */
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBooksPage(long despuesDe, int tamano) {
+        return repoBook.encontrarLibrosDesde(despuesDe, Limit.of(tamano)).stream().map(BookService::resumen).toList();
     }
 
     /*
-     * Lista todos los libros en un idioma específico.
+     * Devuelve una página de autores con libros registrados, ordenados por ID.
      *
-     * @param lenguaje Idioma para filtrar libros.
+     * @param despuesDe Último ID leído (0 para la primera página).
+     * @param tamano    Cantidad máxima de autores.
+     * @return Los resúmenes de los autores de la página.
      */
-    public void listBooksByLanguage(String lenguaje) {
-        List<Book> books = repoBook.encontrarLibroXIdioma(lenguaje);
-        books.forEach(book -> logger.info(book.toString()));
+    public List<AuthorSummary> getAuthorsPage(long despuesDe, int tamano) {
+        return repoAuthor.buscarResumenAutoresDesde(despuesDe, Limit.of(tamano));
+    }
+
+    // Resumen de un autor con su cantidad de libros, si existe y tiene libros registrados.
+    public Optional<AuthorSummary> getAuthorSummary(Long id) {
+        return repoAuthor.buscarResumenAutor(id);
+    }
+
+    // Clave (nombre, ID) del último autor leído; null en la primera página.
+    private static String nombreClave(AuthorSummary ultimo) {
+        return ultimo == null ? "" : ultimo.name();
     }
 
-    // Muestra estadísticas de los libros almacenados.
-    public void getStadisticData() {
-        List<Book> books = repoBook.findAll();
-        DoubleSummaryStatistics data = books.stream().collect(Collectors.summarizingDouble(Book::getTotalDownloads));
-        logger.info("----- DATOS LIBROS -----\n" +
-                        "Media de descargas: {}\n" +
-                        "Mayor descargada: {}\n" +
-                        "Menor descargada: {}\n" +
-                        "Cantidad de libros almacenados: {}\n" +
-                        "------------------------------",
-                String.format("%1.2f", data.getAverage()),
-                data.getMax(),
-                data.getMin(),
-                data.getCount());
+    private static long idClave(AuthorSummary ultimo) {
+        return ultimo == null ? Long.MIN_VALUE : ultimo.id();
     }
 
-    // Lista los 10 libros más descargados.
-    public void getTopBooks() {
-        List<Book> libros = repoBook.encontrarTop10Libros();
-        libros.forEach(book -> logger.info(book.toString()));
+    // Ejecuta una consulta en una transacción de solo lectura propia (o en la transacción en curso, si la hay).
+    private <T> List<T> enLectura(Supplier<List<T>> consulta) {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        return lectura.execute(status -> consulta.get());
+    }
+
+    // Recorre todas las páginas del cursor y escribe cada fila en la salida indicada.
+    private static <T extends Record> long volcar(KeysetCursor<T> cursor, RecordWriter salida) throws IOException {
+        long total = 0;
+        while (cursor.hasNext()) {
+            List<T> pagina = cursor.next();
+            salida.escribirTodos(pagina);
+            total += pagina.size();
+        }
+        return total;
+    }
+
+    /*
+     * Devuelve el resumen de los libros indicados, por ejemplo para actualizar un índice en memoria.
+     *
+     * @param ids IDs de los libros.
+     * @return Los resúmenes de los libros que existen, en cualquier orden.
+     */
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBookSummaries(Collection<Long> ids) {
+        List<Long> lista = new ArrayList<>(ids);
+        List<BookSummary> resumenes = new ArrayList<>(lista.size());
+        // Por bloques, para no superar el límite de parámetros de una consulta IN.
+        for (int i = 0; i < lista.size(); i += TAMANO_PAGINA_VOLCADO) {
+            repoBook.findAllById(lista.subList(i, Math.min(lista.size(), i + TAMANO_PAGINA_VOLCADO)))
+                    .forEach(libro -> resumenes.add(resumen(libro)));
+        }
+        return resumenes;
+    }
+
+    /*
+     * Devuelve el resumen de los autores de los libros indicados, con su cantidad de libros actual.
+     *
+     * @param librosIds IDs de los libros.
+     * @return Los resúmenes de los autores; un autor puede repetirse si sus libros caen en bloques distintos.
+     */
+    @Transactional(readOnly = true)
+    public List<AuthorSummary> getAuthorSummariesForBooks(Collection<Long> librosIds) {
+        List<Long> lista = new ArrayList<>(librosIds);
+        List<AuthorSummary> resumenes = new ArrayList<>();
+        for (int i = 0; i < lista.size(); i += TAMANO_PAGINA_VOLCADO) {
+            resumenes.addAll(repoAuthor.buscarResumenAutoresDeLibros(
+                    lista.subList(i, Math.min(lista.size(), i + TAMANO_PAGINA_VOLCADO))));
+        }
+        return resumenes;
     }
 
     /*
-     * Busca y muestra un autor por nombre.
+     * Devuelve el resumen de los autores indicados, con su cantidad de libros actual. Incluye a los
+     * que se quedaron sin libros, con cantidad 0, para que los índices puedan dejar de sugerirlos.
      *
-     * @param nombre Nombre del autor a buscar.
+     * @param autoresIds IDs de los autores.
+     * @return Los resúmenes de los autores que existen.
      */
-    public void getAutor(String nombre) {
-        Author author = repoBook.encontrarAutor(nombre);
-        logger.info(author.toString());
+    @Transactional(readOnly = true)
+    public List<AuthorSummary> getAuthorSummaries(Collection<Long> autoresIds) {
+        List<Long> lista = new ArrayList<>(autoresIds);
+        List<AuthorSummary> resumenes = new ArrayList<>();
+        for (int i = 0; i < lista.size(); i += TAMANO_PAGINA_VOLCADO) {
+            resumenes.addAll(repoAuthor.buscarResumenAutores(
+                    lista.subList(i, Math.min(lista.size(), i + TAMANO_PAGINA_VOLCADO))));
+        }
+        return resumenes;
     }
 
     /*
-     * Lista todos los autores vivos en un rango de años.
+     * Escribe estadísticas de los libros almacenados: globales, por idioma y de los autores
+     * más descargados, cada una en su sección. Todas se calculan con consultas agregadas (o con
+     * el motor de analítica en memoria, si está activo), sin cargar libros. Si la caché de segundo
+     * nivel está activa, se agregan los aciertos de cada región.
      *
-     * @param anioDesde Año de inicio del rango.
-     * @param anioHasta Año de fin del rango.
+     * @param salida Destino de las filas.
+     * @throws IOException si no se puede escribir en la salida
      */
-    public void getAuthorsAliveRange(int anioDesde, int anioHasta) {
-        List<Author> autores = repoBook.encontrarAutoresVivosRango(anioDesde, anioHasta);
-        autores.forEach(author -> logger.info(author.toString()));
+    public void getStadisticData(RecordWriter salida) throws IOException {
+        salida.seccion("----- DATOS LIBROS -----");
+        salida.escribir(getDownloadStatistics());
+        salida.seccion("----- POR IDIOMA -----");
+        salida.escribirTodos(getStatisticsByLanguage());
+        salida.seccion("----- AUTORES MÁS DESCARGADOS -----");
+        salida.escribirTodos(getStatisticsByAuthor(AUTORES_ESTADISTICAS));
+        List<SecondLevelCache.EstadisticasRegion> regiones = segundoNivel.estadisticas();
+        if (!regiones.isEmpty()) {
+            salida.seccion("----- CACHÉ DE HIBERNATE -----");
+            salida.escribirTodos(regiones);
+        }
+    }
+
+    // Estadísticas de descargas de todo el catálogo.
+    public DownloadStatistics getDownloadStatistics() {
+        ColumnarCatalog columnas = analitica();
+        return columnas != null ? columnas.estadisticasDescargas() : repoBook.estadisticasDescargas();
+    }
+
+    // Estadísticas de descargas por idioma.
+    public List<DownloadStatistics> getStatisticsByLanguage() {
+        ColumnarCatalog columnas = analitica();
+        return columnas != null ? columnas.estadisticasPorIdioma() : repoBook.estadisticasPorIdioma();
+    }
+
+    /*
+     * Estadísticas de descargas de los autores con más descargas totales.
+     *
+     * @param limite Cantidad máxima de autores a devolver.
+     */
+    public List<DownloadStatistics> getStatisticsByAuthor(int limite) {
+        ColumnarCatalog columnas = analitica();
+        return columnas != null ? columnas.estadisticasPorAutor(limite) : repoBook.estadisticasPorAutor(PageRequest.of(0, limite));
+    }
+
+    // El motor de analítica en memoria, si está habilitado y ya cargó la instantánea; si no, null.
+    private ColumnarCatalog analitica() {
+        return analitica != null && analitica.listo() ? analitica : null;
+    }
+
+    /*
+     * Devuelve los N libros más descargados, opcionalmente filtrados por idioma y por autor.
+     * El ranking se limita en la base de datos (o se calcula en el motor de analítica en memoria,
+     * si está activo) y se guarda en caché hasta que cambie el catálogo.
+     *
+     * @param n      Cantidad de libros del ranking.
+     * @param idioma Código de idioma, o null/vacío para no filtrar.
+     * @param autor  Parte del nombre del autor, o null/vacío para no filtrar.
+     * @return El ranking de libros.
+     */
+    @Transactional(readOnly = true)
+    public List<BookSummary> getTopBooks(int n, String idioma, String autor) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("La cantidad de libros debe ser mayor que 0");
+        }
+        String filtroIdioma = idioma == null || idioma.isBlank() ? null : idioma.trim().toLowerCase(Locale.ROOT);
+        String filtroAutor = autor == null || autor.isBlank() ? null : autor.trim();
+        return topBooks.obtener(n, filtroIdioma, filtroAutor, () -> consultarTopBooks(n, filtroIdioma, filtroAutor));
+    }
+
+    // Consulta el ranking en la base de datos y lo convierte en resúmenes dentro de la misma transacción.
+    private List<BookSummary> consultarTopBooks(int n, String idioma, String autor) {
+        ColumnarCatalog columnas = analitica();
+        if (columnas != null) {
+            List<Long> ids = columnas.topLibros(n, idioma, autor);
+            Map<Long, BookSummary> porId = new HashMap<>();
+            getBookSummaries(ids).forEach(libro -> porId.put(libro.id(), libro));
+            return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+        }
+        Pageable pagina = PageRequest.of(0, n);
+        List<Book> libros;
+        if (idioma != null && autor != null) {
+            libros = repoBook.encontrarTopLibrosXIdiomaYAutor(idioma, autor, pagina);
+        } else if (idioma != null) {
+            libros = repoBook.encontrarTopLibrosXIdioma(idioma, pagina);
+        } else if (autor != null) {
+            libros = repoBook.encontrarTopLibrosXAutor(autor, pagina);
+        } else {
+            libros = repoBook.encontrarTopLibros(pagina);
+        }
+        return libros.stream().map(BookService::resumen).toList();
+    }
+
+    private static BookSummary resumen(Book libro) {
+        return new BookSummary(libro.getId(), libro.getTitle(),
+                libro.getAuthors().stream().map(Author::getName).toList(),
+                List.copyOf(libro.getLanguages()), libro.getTotalDownloads());
+    }
+
+    /*
+     * Escribe los libros registrados de un autor. El autor se elige entre las sugerencias
+     * del índice de autocompletado, así que se busca por ID.
+     *
+     * @param id     ID del autor.
+     * @param salida Destino de las filas.
+     * @return false si no existe el autor.
+     * @throws IOException si no se puede escribir en la salida
+     */
+    @Transactional(readOnly = true)
+    public boolean getAutor(Long id, RecordWriter salida) throws IOException {
+        Optional<Author> autor = repoAuthor.findById(id);
+        if (autor.isEmpty()) {
+            return false;
+        }
+        for (Book libro : autor.get().getBooks()) {
+            salida.escribir(resumen(libro));
+        }
+        return true;
     }
 }
\ No newline at end of file
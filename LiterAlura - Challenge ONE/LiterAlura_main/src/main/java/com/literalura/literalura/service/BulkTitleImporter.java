@@ -0,0 +1,226 @@
+package com.literalura.literalura.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DataResults;
+
+/*
+ * Servicio que importa libros a partir de un archivo con un título por línea.
+ * Las búsquedas en Gutendex se envían de forma asíncrona con un límite de peticiones
+ * simultáneas, y los libros encontrados se guardan en lotes.
+ * Las respuestas se convierten en un grupo de hilos propio de cada importación, no en los hilos
+ * del cliente HTTP, que quedan libres para recibir las demás respuestas.
+ */
+@Service
+public class BulkTitleImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkTitleImporter.class);
+
+    private final ConexionAPI conexion;
+    private final ConvierteDatos convertidor;
+    private final BookService servicio;
+    private final int concurrencia;
+    private final int tamanoLote;
+
+    public BulkTitleImporter(ConexionAPI conexion,
+                             ConvierteDatos convertidor,
+                             BookService servicio,
+                             @Value("${literalura.importacion.concurrencia:8}") int concurrencia,
+                             @Value("${literalura.importacion.tamano-lote:100}") int tamanoLote) {
+        this.conexion = conexion;
+        this.convertidor = convertidor;
+        this.servicio = servicio;
+        this.concurrencia = Math.max(1, concurrencia);
+        this.tamanoLote = Math.max(1, tamanoLote);
+    }
+
+    /*
+     * Importa los títulos del archivo indicado. Las líneas vacías y las que empiezan
+     * por '#' se ignoran. Igual que en la búsqueda del menú, de cada búsqueda se guarda
+     * el primer resultado.
+     *
+     * @param archivo Ruta del archivo de títulos (UTF-8).
+     * @return Informe con el resultado de cada título y el rendimiento total.
+     * @throws IOException si no se puede leer el archivo
+     */
+    public ImportReport importar(Path archivo) throws IOException {
+        List<String> titulos = new ArrayList<>();
+        for (String linea : Files.readAllLines(archivo, StandardCharsets.UTF_8)) {
+            String titulo = linea.trim();
+            if (!titulo.isEmpty() && !titulo.startsWith("#")) {
+                titulos.add(titulo);
+            }
+        }
+        return importar(titulos);
+    }
+
+    /*
+     * Importa una lista de títulos. Este hilo envía búsquedas mientras haya menos de
+     * "concurrencia" en vuelo, y procesa las respuestas en el orden en que llegan.
+     *
+     * @param titulos Títulos a buscar.
+     * @return Informe con el resultado de cada título y el rendimiento total.
+     */
+    public ImportReport importar(List<String> titulos) {
+        long inicio = System.nanoTime();
+        ExecutorService conversiones = Executors.newFixedThreadPool(
+                Math.min(concurrencia, Runtime.getRuntime().availableProcessors()), hilos());
+        BlockingQueue<Busqueda> completadas = new LinkedBlockingQueue<>();
+        Iterator<String> pendientes = titulos.iterator();
+        List<TitleResult> resultados = new ArrayList<>(titulos.size());
+        List<Busqueda> lote = new ArrayList<>(tamanoLote);
+        int enVuelo = 0;
+        int librosNuevos = 0;
+
+        try {
+            for (int recibidas = 0; recibidas < titulos.size(); recibidas++) {
+                while (pendientes.hasNext() && enVuelo < concurrencia) {
+                    enviar(pendientes.next(), completadas, conversiones);
+                    enVuelo++;
+                }
+                Busqueda busqueda = completadas.take();
+                enVuelo--;
+
+                if (busqueda.error() != null) {
+                    resultados.add(new TitleResult(busqueda.titulo(), Estado.ERROR, null, mensaje(busqueda.error())));
+                } else if (busqueda.libro() == null) {
+                    resultados.add(new TitleResult(busqueda.titulo(), Estado.NO_ENCONTRADO, null, "Sin resultados en Gutendex"));
+                } else {
+                    lote.add(busqueda);
+                    if (lote.size() >= tamanoLote) {
+                        librosNuevos += guardarLote(lote, resultados);
+                    }
+                }
+            }
+            librosNuevos += guardarLote(lote, resultados);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Importación interrumpida tras {} de {} títulos", resultados.size(), titulos.size());
+        } finally {
+            conversiones.shutdownNow();
+        }
+
+        ImportReport informe = new ImportReport(resultados, librosNuevos, Duration.ofNanos(System.nanoTime() - inicio));
+        logger.info("Importación terminada: {} títulos, {} guardados, {} libros nuevos, {} títulos/s",
+                titulos.size(), informe.exitosos(), librosNuevos, String.format("%1.1f", informe.titulosPorSegundo()));
+        return informe;
+    }
+
+    // Envía la búsqueda de un título; la respuesta se convierte en el grupo de hilos indicado y
+    // el resultado se deja en la cola al completarse.
+    private void enviar(String titulo, BlockingQueue<Busqueda> completadas, Executor conversiones) {
+        conexion.obtenerDatosAsync(titulo)
+                .thenApplyAsync(json -> primerResultado(convertidor.convertidora(json, DataResults.class)), conversiones)
+                .whenComplete((libro, error) -> completadas.add(new Busqueda(titulo, libro, error)));
+    }
+
+    // Hilos de conversión con nombre reconocible en los volcados de hilos, que no impiden cerrar la JVM.
+    private static ThreadFactory hilos() {
+        AtomicInteger numero = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, "importacion-titulos-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    private static DataBook primerResultado(DataResults datos) {
+        return datos.results() == null || datos.results().isEmpty() ? null : datos.results().get(0);
+    }
+
+    /*
+     * Guarda los libros encontrados en una sola transacción y registra el resultado
+     * de cada título del lote: GUARDADO si el libro no estaba registrado y ACTUALIZADO si ya lo estaba.
+     *
+     * @return Cantidad de libros nuevos guardados.
+     */
+    private int guardarLote(List<Busqueda> lote, List<TitleResult> resultados) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        int nuevos = 0;
+        try {
+            Set<Long> idsNuevos = servicio.saveBooksReturningNewIds(lote.stream().map(Busqueda::libro).toList());
+            nuevos = idsNuevos.size();
+            for (Busqueda b : lote) {
+                Estado estado = idsNuevos.contains(b.libro().id()) ? Estado.GUARDADO : Estado.ACTUALIZADO;
+                resultados.add(new TitleResult(b.titulo(), estado, b.libro().id(), b.libro().title()));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error al guardar un lote de {} libros: {}", lote.size(), e.getMessage());
+            for (Busqueda b : lote) {
+                resultados.add(new TitleResult(b.titulo(), Estado.ERROR, b.libro().id(), "Error al guardar: " + e.getMessage()));
+            }
+        }
+        lote.clear();
+        return nuevos;
+    }
+
+    private static String mensaje(Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+    }
+
+    // Resultado de una búsqueda asíncrona, pendiente de guardar.
+    private record Busqueda(String titulo, DataBook libro, Throwable error) {
+    }
+
+    // Estado final de cada título importado. GUARDADO es un libro nuevo y ACTUALIZADO uno que ya estaba registrado.
+    public enum Estado {
+        GUARDADO, ACTUALIZADO, NO_ENCONTRADO, ERROR
+    }
+
+    /*
+     * Resultado de la importación de un título.
+     *
+     * @param titulo  Título leído del archivo.
+     * @param estado  Estado final.
+     * @param libroId ID en Gutendex del libro encontrado, si lo hay.
+     * @param detalle Título del libro guardado o descripción del error.
+     */
+    public record TitleResult(String titulo, Estado estado, Long libroId, String detalle) {
+    }
+
+    /*
+     * Informe de una importación masiva.
+     *
+     * @param resultados   Resultado de cada título.
+     * @param librosNuevos Libros que no estaban registrados y se guardaron.
+     * @param duracion     Duración total de la importación.
+     */
+    public record ImportReport(List<TitleResult> resultados, int librosNuevos, Duration duracion) {
+
+        // Títulos cuyo libro quedó guardado en la base de datos, nuevo o actualizado.
+        public long exitosos() {
+            return resultados.stream().filter(r -> r.estado() == Estado.GUARDADO || r.estado() == Estado.ACTUALIZADO).count();
+        }
+
+        // Títulos procesados por segundo.
+        public double titulosPorSegundo() {
+            long millis = Math.max(1, duracion.toMillis());
+            return resultados.size() * 1000.0 / millis;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.literalura.literalura.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.literalura.literalura.repository.CatalogColumnsRepository;
+
+/*
+ * Detecta los cambios del catálogo hechos por otro proceso, como las operaciones del modo por lotes
+ * (--crawl, --import, --import-csv, --fetch, --rekey-legacy) lanzadas desde cron contra la misma
+ * base de datos. Esas escrituras no publican CatalogUpdatedEvent en este proceso, así que sin esta
+ * revisión las cachés, los índices en memoria y la versión de los ETag seguirían como antes.
+ *
+ * Cada cierto tiempo se lee la firma del catálogo (cantidad de libros, suma de IDs y suma de
+ * revisiones; cualquier escritura de un libro le da una revisión nueva) y, si cambió, se publica
+ * CatalogReloadedEvent. Las escrituras de este mismo proceso ya se notifican con CatalogUpdatedEvent:
+ * después de ellas la revisión sólo adopta la firma nueva. Si en el mismo intervalo escriben este
+ * proceso y otro, el cambio externo no se detecta hasta el siguiente.
+ *
+ * En el modo por lotes no se programan tareas, así que allí no se revisa nada.
+ */
+@Component
+@ConditionalOnProperty(name = "literalura.catalogo.revisar-cambios", havingValue = "true", matchIfMissing = true)
+public class CatalogChangeWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangeWatcher.class);
+
+    private final CatalogColumnsRepository repositorio;
+    private final ApplicationEventPublisher eventos;
+
+    private final AtomicBoolean cambiosPropios = new AtomicBoolean();
+    private CatalogColumnsRepository.Firma ultima;
+
+    public CatalogChangeWatcher(CatalogColumnsRepository repositorio, ApplicationEventPublisher eventos) {
+        this.repositorio = repositorio;
+        this.eventos = eventos;
+    }
+
+    // La primera revisión se hace al arrancar y sólo guarda la firma.
+    @Scheduled(fixedDelayString = "${literalura.catalogo.intervalo-revision:PT30S}")
+    public void revisionProgramada() {
+        try {
+            revisar();
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo revisar si el catálogo cambió: {}", e.getMessage());
+        }
+    }
+
+    /*
+     * Compara la firma del catálogo con la de la revisión anterior.
+     *
+     * @return true si el catálogo cambió fuera de este proceso y se publicó CatalogReloadedEvent.
+     */
+    public synchronized boolean revisar() {
+        boolean propios = cambiosPropios.getAndSet(false);
+        CatalogColumnsRepository.Firma firma = repositorio.firma();
+        CatalogColumnsRepository.Firma anterior = ultima;
+        ultima = firma;
+        if (anterior == null || propios || firma.equals(anterior)) {
+            return false;
+        }
+        logger.info("El catálogo cambió fuera de este proceso ({} libros): se vacían las cachés y se reconstruyen los índices",
+                firma.libros());
+        eventos.publishEvent(new CatalogReloadedEvent());
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        cambiosPropios.set(true);
+    }
+}
\ No newline at end of file
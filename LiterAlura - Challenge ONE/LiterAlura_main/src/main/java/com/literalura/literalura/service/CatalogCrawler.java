@@ -0,0 +1,245 @@
+package com.literalura.literalura.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DataPageInfo;
+
+/*
+ * Servicio que recorre el catálogo completo de Gutendex siguiendo los enlaces "next"
+ * página por página y guarda los libros en lotes.
+ * Después de cada lote confirmado se escribe un punto de control, de modo que un rastreo
+ * interrumpido se reanuda desde la última página pendiente.
+ */
+@Service
+public class CatalogCrawler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCrawler.class);
+
+    private final ConexionAPI conexion;
+    private final ConvierteDatos convertidor;
+    private final BookService servicio;
+    private final String urlInicial;
+    private final Path rutaCheckpoint;
+    private final int tamanoLote;
+    private final int reintentos;
+    private final int maxPaginas;
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    public CatalogCrawler(ConexionAPI conexion,
+                          ConvierteDatos convertidor,
+                          BookService servicio,
+                          @Value("${literalura.crawler.url-inicial:https://gutendex.com/books/}") String urlInicial,
+                          @Value("${literalura.crawler.checkpoint:${literalura.datos.directorio:datos}/crawler-checkpoint.properties}") String rutaCheckpoint,
+                          @Value("${literalura.crawler.tamano-lote:500}") int tamanoLote,
+                          @Value("${literalura.crawler.reintentos:3}") int reintentos,
+                          @Value("${literalura.crawler.max-paginas:0}") int maxPaginas) {
+        this.conexion = conexion;
+        this.convertidor = convertidor;
+        this.servicio = servicio;
+        this.urlInicial = urlInicial;
+        this.rutaCheckpoint = Path.of(rutaCheckpoint);
+        this.tamanoLote = tamanoLote;
+        this.reintentos = reintentos;
+        this.maxPaginas = maxPaginas;
+    }
+
+    // Indica si este proceso está rastreando el catálogo.
+    public boolean enCurso() {
+        return enCurso.get();
+    }
+
+    /*
+     * Recorre el catálogo desde el último punto de control (o desde el inicio si no hay uno).
+     * Mientras se guarda un lote, la siguiente página ya se está descargando en segundo plano,
+     * así la red y la base de datos trabajan en paralelo. Los libros de cada página se añaden al
+     * lote a medida que se leen; en memoria nunca hay más que el lote que se guarda y el siguiente.
+     * Sólo puede haber un rastreo a la vez, porque todos comparten el punto de control: además del
+     * indicador de este proceso (menú, API), se bloquea un archivo junto al punto de control para
+     * excluir a otros procesos (modo por lotes).
+     *
+     * @return Resumen del rastreo realizado.
+     * @throws ImportacionEnCursoException si ya hay un rastreo en curso
+     */
+    @SuppressWarnings("try")
+    public CrawlResult crawl() {
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new ImportacionEnCursoException("Ya hay un rastreo del catálogo en curso");
+        }
+        try (FileChannel bloqueo = bloquear()) {
+            return rastrear();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo bloquear el punto de control " + rutaCheckpoint, e);
+        } finally {
+            enCurso.set(false);
+        }
+    }
+
+    // Abre y bloquea el archivo de bloqueo; el bloqueo se libera al cerrar el canal.
+    // Crea el directorio del punto de control si todavía no existe.
+    private FileChannel bloquear() throws IOException {
+        Path ruta = rutaCheckpoint.resolveSibling(rutaCheckpoint.getFileName() + ".lock");
+        if (ruta.getParent() != null) {
+            Files.createDirectories(ruta.getParent());
+        }
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (canal.tryLock() != null) {
+                return canal;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Otro rastreo de este mismo proceso tiene el bloqueo.
+        }
+        canal.close();
+        throw new ImportacionEnCursoException("Otro proceso está rastreando el catálogo (" + ruta + ")");
+    }
+
+    private CrawlResult rastrear() {
+        CrawlerCheckpoint checkpoint = CrawlerCheckpoint.cargar(rutaCheckpoint);
+        String url = checkpoint.pendiente() ? checkpoint.siguienteUrl() : urlInicial;
+        if (checkpoint.pendiente()) {
+            logger.info("Reanudando rastreo desde {} ({} páginas y {} libros procesados)",
+                    url, checkpoint.paginas(), checkpoint.librosLeidos());
+        }
+
+        int paginas = checkpoint.paginas();
+        int paginasSesion = 0;
+        long leidos = checkpoint.librosLeidos();
+        long guardados = checkpoint.librosGuardados();
+        long leidosSesion = 0;
+        String siguiente = url;
+        long inicio = System.nanoTime();
+
+        // Dos lotes: mientras uno se guarda, la página siguiente se lee directamente en el otro.
+        List<DataBook> lote = new ArrayList<>(tamanoLote);
+        List<DataBook> libre = new ArrayList<>(tamanoLote);
+        ExecutorService descargas = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<DataPageInfo> pendiente = descargar(url, lote, descargas);
+            while (pendiente != null) {
+                DataPageInfo pagina = esperar(pendiente);
+                paginas++;
+                paginasSesion++;
+                siguiente = pagina.next();
+
+                boolean limiteAlcanzado = maxPaginas > 0 && paginasSesion >= maxPaginas;
+                boolean hayMas = siguiente != null && !limiteAlcanzado;
+                if (lote.size() < tamanoLote && hayMas) {
+                    // El lote no está lleno: la página siguiente se sigue leyendo en él.
+                    pendiente = descargar(siguiente, lote, descargas);
+                    continue;
+                }
+
+                List<DataBook> completo = lote;
+                lote = libre;
+                pendiente = hayMas ? descargar(siguiente, lote, descargas) : null;
+                guardados += servicio.saveBooks(completo);
+                leidos += completo.size();
+                leidosSesion += completo.size();
+                completo.clear();
+                libre = completo;
+                new CrawlerCheckpoint(siguiente, paginas, leidos, guardados).guardar(rutaCheckpoint);
+                logger.info("Rastreo: {} páginas, {} libros leídos, {} guardados", paginas, leidos, guardados);
+            }
+        } finally {
+            descargas.shutdownNow();
+        }
+
+        boolean completo = siguiente == null;
+        if (completo) {
+            CrawlerCheckpoint.eliminar(rutaCheckpoint);
+        }
+        return new CrawlResult(paginas, leidos, guardados, leidosSesion, completo,
+                Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    /*
+     * Descarga una página en segundo plano y añade sus libros al lote indicado. El hilo que llama no
+     * toca el lote hasta que la descarga termina.
+     */
+    private CompletableFuture<DataPageInfo> descargar(String url, List<DataBook> lote, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> leerPagina(url, lote), executor);
+    }
+
+    /*
+     * Descarga una página, reintentando con una espera creciente si la API falla.
+     * La respuesta se lee en streaming: cada libro pasa del flujo HTTP al lote a medida que se lee,
+     * sin construir antes el cuerpo como cadena ni una lista por página. Si un intento falla a mitad
+     * de la página, se quitan del lote los libros que alcanzó a añadir.
+     *
+     * @param url  URL de la página.
+     * @param lote Lote al que se añaden los libros.
+     * @return Los datos de paginación de la página.
+     */
+    private DataPageInfo leerPagina(String url, List<DataBook> lote) {
+        int inicio = lote.size();
+        for (int intento = 1; ; intento++) {
+            try {
+                return convertidor.leerResultados(conexion.abrirPagina(url), lote::add);
+            } catch (ConexionApiException | ConversionException e) {
+                lote.subList(inicio, lote.size()).clear();
+                if (intento >= reintentos) {
+                    throw e;
+                }
+                logger.warn("Fallo al descargar {} (intento {} de {}): {}", url, intento, reintentos, e.getMessage());
+                try {
+                    Thread.sleep(1000L * intento);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new ConexionApiException("Rastreo interrumpido", ie);
+                }
+            }
+        }
+    }
+
+    // Espera el resultado de una descarga y propaga la excepción original si falló.
+    private static DataPageInfo esperar(CompletableFuture<DataPageInfo> pendiente) {
+        try {
+            return pendiente.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * Resumen de un rastreo.
+     *
+     * @param paginas         Páginas procesadas en total, incluidas las de ejecuciones anteriores.
+     * @param librosLeidos    Libros recibidos en total.
+     * @param librosGuardados Libros nuevos guardados en total.
+     * @param librosSesion    Libros recibidos en esta ejecución.
+     * @param completo        Indica si se llegó a la última página del catálogo.
+     * @param duracion        Duración de esta ejecución.
+     */
+    public record CrawlResult(int paginas, long librosLeidos, long librosGuardados, long librosSesion,
+                              boolean completo, Duration duracion) {
+
+        // Libros procesados por segundo en esta ejecución.
+        public double librosPorSegundo() {
+            long millis = Math.max(1, duracion.toMillis());
+            return librosSesion * 1000.0 / millis;
+        }
+    }
+}
\ No newline at end of file
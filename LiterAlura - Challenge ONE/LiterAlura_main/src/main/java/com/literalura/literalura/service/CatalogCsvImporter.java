@@ -0,0 +1,336 @@
+package com.literalura.literalura.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+
+/*
+ * Servicio que importa el catálogo de Project Gutenberg (pg_catalog.csv) desde disco,
+ * sin llamar a Gutendex.
+ * El archivo se lee en un solo hilo y se separa en bloques de registros completos; cada bloque
+ * se analiza en paralelo en un ForkJoinPool y los libros resultantes se insertan por lotes en el
+ * orden del archivo, igual que si se importara en un solo hilo.
+ * Como el número de bloques en vuelo está acotado, la memoria no crece con el tamaño del archivo.
+ */
+@Service
+public class CatalogCsvImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCsvImporter.class);
+
+    // Longitud de las columnas de texto generadas por defecto para Book.
+    private static final int MAX_TEXTO = 255;
+
+    // Años de un autor al final de su entrada: "1812-1870", "1564?-1616", "-1850", "1900-", "384 BCE-322 BCE".
+    private static final Pattern ANIOS = Pattern.compile(
+            ",\\s*(?:(\\d{1,4})\\??\\s*(BCE)?)?\\s*-\\s*(?:(\\d{1,4})\\??\\s*(BCE)?)?\\s*$");
+
+    // Rol opcional al final de un autor: "Tenniel, John, 1820-1914 [Illustrator]".
+    private static final Pattern ROL = Pattern.compile("\\s*\\[[^]]*]\\s*$");
+
+    private final BookService servicio;
+    private final int paralelismo;
+    private final int tamanoLote;
+
+    public CatalogCsvImporter(BookService servicio,
+                              @Value("${literalura.catalogo.paralelismo:0}") int paralelismo,
+                              @Value("${literalura.catalogo.tamano-lote:1000}") int tamanoLote) {
+        this.servicio = servicio;
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.tamanoLote = Math.max(1, tamanoLote);
+    }
+
+    /*
+     * Importa el archivo de catálogo indicado.
+     *
+     * @param archivo Ruta de pg_catalog.csv.
+     * @return Resumen de la importación.
+     * @throws IOException si no se puede leer el archivo
+     */
+    public CsvImportResult importar(Path archivo) throws IOException {
+        long inicio = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        // Bloques en vuelo en el orden del archivo: se guardan al terminar el primero de la cola.
+        Deque<Future<Bloque>> enVuelo = new ArrayDeque<>();
+        int maxEnVuelo = paralelismo * 2;
+        long filas = 0;
+        long descartadas = 0;
+        long nuevos = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String cabecera = leerRegistro(reader);
+            if (cabecera == null) {
+                return new CsvImportResult(0, 0, 0, Duration.ZERO);
+            }
+            Map<String, Integer> columnas = columnas(separarCampos(cabecera));
+
+            List<String> registros = new ArrayList<>(tamanoLote);
+            String registro;
+            while ((registro = leerRegistro(reader)) != null) {
+                registros.add(registro);
+                if (registros.size() == tamanoLote) {
+                    List<String> bloque = registros;
+                    enVuelo.add(pool.submit(() -> analizar(bloque, columnas)));
+                    registros = new ArrayList<>(tamanoLote);
+                    if (enVuelo.size() >= maxEnVuelo) {
+                        Bloque listo = siguiente(enVuelo);
+                        filas += listo.filas();
+                        descartadas += listo.descartadas();
+                        nuevos += servicio.upsertBooks(listo.libros(), false);
+                    }
+                }
+            }
+            if (!registros.isEmpty()) {
+                List<String> bloque = registros;
+                enVuelo.add(pool.submit(() -> analizar(bloque, columnas)));
+            }
+            while (!enVuelo.isEmpty()) {
+                Bloque listo = siguiente(enVuelo);
+                filas += listo.filas();
+                descartadas += listo.descartadas();
+                nuevos += servicio.upsertBooks(listo.libros(), false);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        CsvImportResult resultado = new CsvImportResult(filas, nuevos, descartadas, Duration.ofNanos(System.nanoTime() - inicio));
+        logger.info("Catálogo importado: {} filas, {} libros nuevos, {} filas descartadas en {} ms",
+                filas, nuevos, descartadas, resultado.duracion().toMillis());
+        return resultado;
+    }
+
+    // Espera el bloque más antiguo de la cola y lo saca.
+    private static Bloque siguiente(Deque<Future<Bloque>> enVuelo) {
+        try {
+            return enVuelo.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importación del catálogo interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error al analizar el catálogo: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /*
+     * Lee un registro CSV completo. Un título puede contener saltos de línea entre comillas,
+     * así que se siguen leyendo líneas mientras el número de comillas sea impar.
+     *
+     * @return El registro sin el salto de línea final, o null al llegar al final del archivo.
+     */
+    static String leerRegistro(BufferedReader reader) throws IOException {
+        String linea = reader.readLine();
+        if (linea == null) {
+            return null;
+        }
+        int comillas = contarComillas(linea);
+        if (comillas % 2 == 0) {
+            return linea;
+        }
+        StringBuilder registro = new StringBuilder(linea);
+        while (comillas % 2 != 0 && (linea = reader.readLine()) != null) {
+            registro.append('\n').append(linea);
+            comillas += contarComillas(linea);
+        }
+        return registro.toString();
+    }
+
+    private static int contarComillas(String linea) {
+        int total = 0;
+        for (int i = 0; i < linea.length(); i++) {
+            if (linea.charAt(i) == '"') {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    // Analiza un bloque de registros; se ejecuta en el ForkJoinPool.
+    private Bloque analizar(List<String> registros, Map<String, Integer> columnas) {
+        List<Book> libros = new ArrayList<>(registros.size());
+        int descartadas = 0;
+        for (String registro : registros) {
+            Book libro = aLibro(separarCampos(registro), columnas);
+            if (libro != null) {
+                libros.add(libro);
+            } else {
+                descartadas++;
+            }
+        }
+        return new Bloque(libros, registros.size(), descartadas);
+    }
+
+    /*
+     * Convierte una fila del catálogo en un libro con sus autores (sin guardar).
+     * El CSV no incluye descargas: los libros nuevos se registran con 0 y los existentes conservan las suyas.
+     *
+     * @return El libro, o null si la fila no tiene un número de texto o un título válidos.
+     */
+    static Book aLibro(List<String> campos, Map<String, Integer> columnas) {
+        String id = campo(campos, columnas, "Text#");
+        String titulo = campo(campos, columnas, "Title");
+        if (id.isEmpty() || titulo.isEmpty()) {
+            return null;
+        }
+        long numero;
+        try {
+            numero = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        List<String> idiomas = new ArrayList<>();
+        for (String idioma : campo(campos, columnas, "Language").split(";")) {
+            if (!idioma.isBlank()) {
+                idiomas.add(idioma.trim());
+            }
+        }
+        Book libro = new Book(numero, recortar(titulo.replace('\n', ' ')), idiomas, 0);
+        libro.setPublicationDate(emptyToNull(campo(campos, columnas, "Issued")));
+        String estanteria = primero(campo(campos, columnas, "Bookshelves"));
+        libro.setGenre(recortar(estanteria != null ? estanteria : primero(campo(campos, columnas, "Subjects"))));
+
+        for (String entrada : campo(campos, columnas, "Authors").split(";")) {
+            Author autor = aAutor(entrada);
+            if (autor != null) {
+                libro.addAuthor(autor);
+            }
+        }
+        return libro;
+    }
+
+    /*
+     * Convierte una entrada de autor del catálogo ("Apellido, Nombre, 1812-1870") en un Author.
+     * Los años desconocidos se registran en 0, igual que los que Gutendex envía como null;
+     * los años antes de nuestra era se guardan como negativos.
+     */
+    static Author aAutor(String entrada) {
+        String texto = ROL.matcher(entrada.trim()).replaceFirst("");
+        if (texto.isEmpty()) {
+            return null;
+        }
+        int nacimiento = 0;
+        int muerte = 0;
+        Matcher anios = ANIOS.matcher(texto);
+        if (anios.find()) {
+            nacimiento = anio(anios.group(1), anios.group(2));
+            muerte = anio(anios.group(3), anios.group(4));
+            texto = texto.substring(0, anios.start()).trim();
+        }
+        return new Author(recortar(texto), nacimiento, muerte);
+    }
+
+    private static int anio(String valor, String era) {
+        if (valor == null) {
+            return 0;
+        }
+        int anio = Integer.parseInt(valor);
+        return era != null ? -anio : anio;
+    }
+
+    /*
+     * Separa un registro CSV en campos según RFC 4180: comas como separador,
+     * comillas dobles para encerrar campos y "" como comilla escapada.
+     */
+    static List<String> separarCampos(String registro) {
+        List<String> campos = new ArrayList<>(9);
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < registro.length(); i++) {
+            char c = registro.charAt(i);
+            if (entreComillas) {
+                if (c == '"') {
+                    if (i + 1 < registro.length() && registro.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    private static Map<String, Integer> columnas(List<String> cabecera) {
+        Map<String, Integer> columnas = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            columnas.put(cabecera.get(i).trim().replace("\uFEFF", ""), i);
+        }
+        return columnas;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> columnas, String nombre) {
+        Integer indice = columnas.get(nombre);
+        return indice != null && indice < campos.size() ? campos.get(indice).trim() : "";
+    }
+
+    private static String primero(String lista) {
+        for (String valor : lista.split(";")) {
+            if (!valor.isBlank()) {
+                return valor.trim();
+            }
+        }
+        return null;
+    }
+
+    private static String recortar(String texto) {
+        return texto == null || texto.length() <= MAX_TEXTO ? texto : texto.substring(0, MAX_TEXTO);
+    }
+
+    private static String emptyToNull(String texto) {
+        return texto.isEmpty() ? null : texto;
+    }
+
+    // Libros analizados de un bloque de registros.
+    private record Bloque(List<Book> libros, int filas, int descartadas) {
+    }
+
+    /*
+     * Resumen de una importación del catálogo.
+     *
+     * @param filas        Filas de datos leídas.
+     * @param librosNuevos Libros que no estaban registrados y se guardaron.
+     * @param descartadas  Filas sin número de texto o título válidos.
+     * @param duracion     Duración total de la importación.
+     */
+    public record CsvImportResult(long filas, long librosNuevos, long descartadas, Duration duracion) {
+
+        // Filas procesadas por segundo.
+        public double filasPorSegundo() {
+            long millis = Math.max(1, duracion.toMillis());
+            return filas * 1000.0 / millis;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.literalura.literalura.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.literalura.literalura.dto.BookMetadata;
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.model.Book;
+
+/*
+ * Servicio que mantiene al día las descargas, el género y la sinopsis de los libros guardados.
+ * Recorre el catálogo local por ID y consulta Gutendex en grupos con el parámetro "ids=",
+ * compara la respuesta con los valores guardados y escribe, por lotes, sólo los libros que cambiaron.
+ * Así las estadísticas y los rankings se mantienen actuales sin volver a rastrear todo el catálogo.
+ * Entre dos peticiones se espera la pausa configurada, para no saturar la API.
+ * Los libros antiguos (desde Book.INICIO_IDS_ANTIGUOS) no se refrescan hasta reasignarles su ID.
+ */
+@Service
+@ConditionalOnProperty(name = "literalura.refresco.habilitado", havingValue = "true")
+public class CatalogRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogRefresher.class);
+
+    // Gutendex devuelve como máximo 32 libros por página, así que un grupo mayor no cabe en una petición.
+    static final int MAX_IDS_POR_PETICION = 32;
+
+    private final ConexionAPI conexion;
+    private final ConvierteDatos convertidor;
+    private final BookService servicio;
+    private final String urlBase;
+    private final int idsPorPeticion;
+    private final Duration pausa;
+    private final int loteEscritura;
+
+    public CatalogRefresher(ConexionAPI conexion,
+                            ConvierteDatos convertidor,
+                            BookService servicio,
+                            @Value("${literalura.refresco.url:https://gutendex.com/books/}") String urlBase,
+                            @Value("${literalura.refresco.ids-por-peticion:32}") int idsPorPeticion,
+                            @Value("${literalura.refresco.pausa:PT1S}") Duration pausa,
+                            @Value("${literalura.refresco.lote-escritura:500}") int loteEscritura) {
+        this.conexion = conexion;
+        this.convertidor = convertidor;
+        this.servicio = servicio;
+        this.urlBase = urlBase;
+        this.idsPorPeticion = Math.max(1, Math.min(MAX_IDS_POR_PETICION, idsPorPeticion));
+        this.pausa = pausa;
+        this.loteEscritura = Math.max(1, loteEscritura);
+    }
+
+    @Scheduled(initialDelayString = "${literalura.refresco.retraso-inicial:PT10M}",
+            fixedDelayString = "${literalura.refresco.intervalo:PT24H}")
+    public void refrescoProgramado() {
+        try {
+            refrescar();
+        } catch (RuntimeException e) {
+            logger.error("El refresco del catálogo terminó con error: {}", e.getMessage(), e);
+        }
+    }
+
+    /*
+     * Recorre todos los libros guardados y actualiza los que cambiaron en Gutendex.
+     * Si una petición falla, su grupo se omite y se revisa en el siguiente refresco.
+     *
+     * @return Resumen del refresco realizado.
+     */
+    public synchronized RefreshResult refrescar() {
+        long inicio = System.nanoTime();
+        long revisados = 0;
+        long actualizados = 0;
+        int peticiones = 0;
+        int fallidas = 0;
+
+        List<BookMetadata> cambios = new ArrayList<>();
+        KeysetCursor<BookMetadata> cursor = servicio.cursorBookMetadata(idsPorPeticion);
+        while (cursor.hasNext()) {
+            // Los libros antiguos todavía no tienen su ID de Gutendex: consultarlos traería otro libro.
+            List<BookMetadata> guardados = cursor.next().stream()
+                    .filter(m -> m.id() < Book.INICIO_IDS_ANTIGUOS)
+                    .toList();
+            if (guardados.isEmpty()) {
+                continue;
+            }
+            if (peticiones++ > 0) {
+                esperar();
+            }
+            Map<Long, DataBook> recibidos;
+            try {
+                recibidos = consultar(guardados);
+            } catch (ConexionApiException | ConversionException e) {
+                fallidas++;
+                logger.warn("Refresco: no se pudo consultar el grupo desde el libro {}: {}",
+                        guardados.get(0).id(), e.getMessage());
+                continue;
+            }
+            for (BookMetadata guardado : guardados) {
+                DataBook datos = recibidos.get(guardado.id());
+                BookMetadata cambio = datos != null ? diferencias(guardado, datos) : null;
+                if (cambio != null) {
+                    cambios.add(cambio);
+                }
+            }
+            revisados += guardados.size();
+            if (cambios.size() >= loteEscritura) {
+                servicio.updateBookMetadata(cambios);
+                actualizados += cambios.size();
+                cambios = new ArrayList<>();
+            }
+        }
+        servicio.updateBookMetadata(cambios);
+        actualizados += cambios.size();
+
+        RefreshResult resultado = new RefreshResult(revisados, actualizados, peticiones, fallidas,
+                Duration.ofNanos(System.nanoTime() - inicio));
+        logger.info("Refresco del catálogo: {} libros revisados, {} actualizados, {} peticiones ({} fallidas) en {} ms",
+                revisados, actualizados, peticiones, fallidas, resultado.duracion().toMillis());
+        return resultado;
+    }
+
+    /*
+     * Compara los valores guardados de un libro con los que informa Gutendex.
+     * Un género o una sinopsis que Gutendex no informa no cuenta como cambio.
+     *
+     * @return Los valores nuevos, o null si el libro no cambió.
+     */
+    static BookMetadata diferencias(BookMetadata guardado, DataBook datos) {
+        String genero = ConvierteDatos.genero(datos);
+        String sinopsis = ConvierteDatos.sinopsis(datos);
+        boolean cambio = guardado.totalDownloads() != datos.totalDownloads()
+                || genero != null && !genero.equals(guardado.genre())
+                || sinopsis != null && !sinopsis.equals(guardado.synopsis());
+        return cambio ? new BookMetadata(guardado.id(), datos.totalDownloads(), genero, sinopsis) : null;
+    }
+
+    // Consulta en una sola petición los libros del grupo; la respuesta se lee en streaming.
+    private Map<Long, DataBook> consultar(List<BookMetadata> grupo) {
+        String ids = grupo.stream().map(m -> String.valueOf(m.id())).collect(Collectors.joining(","));
+        String url = urlBase + (urlBase.contains("?") ? "&" : "?") + "ids=" + ids;
+        Map<Long, DataBook> recibidos = new HashMap<>();
+        convertidor.leerResultados(conexion.abrirPagina(url), libro -> recibidos.put(libro.id(), libro));
+        return recibidos;
+    }
+
+    private void esperar() {
+        if (pausa.isZero() || pausa.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(pausa.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConexionApiException("Refresco interrumpido", e);
+        }
+    }
+
+    /*
+     * Resumen de un refresco.
+     *
+     * @param revisados    Libros guardados que se compararon con Gutendex.
+     * @param actualizados Libros que cambiaron y se escribieron.
+     * @param peticiones   Peticiones enviadas a Gutendex.
+     * @param fallidas     Peticiones que fallaron; sus libros no se revisaron.
+     * @param duracion     Duración total del refresco.
+     */
+    public record RefreshResult(long revisados, long actualizados, int peticiones, int fallidas, Duration duracion) {
+    }
+}
\ No newline at end of file
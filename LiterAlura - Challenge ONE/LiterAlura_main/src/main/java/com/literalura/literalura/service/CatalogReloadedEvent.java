@@ -0,0 +1,9 @@
+package com.literalura.literalura.service;
+
+/*
+ * Evento que CatalogChangeWatcher publica cuando el catálogo cambió en la base de datos sin pasar
+ * por este proceso, por ejemplo con el modo por lotes lanzado desde otra JVM. No se sabe qué libros
+ * cambiaron, así que las cachés se vacían por completo y los índices en memoria se reconstruyen.
+ */
+public record CatalogReloadedEvent() {
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.literalura.literalura.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Evento que BookService publica cuando se insertan, actualizan o eliminan libros.
+ * Las cachés e índices derivados del catálogo lo escuchan para invalidarse o actualizarse
+ * una vez confirmada la transacción.
+ *
+ * @param bookIds   IDs de los libros insertados, modificados o eliminados.
+ * @param authorIds IDs de los autores que ganaron o perdieron alguno de esos libros,
+ *                  incluidos los que quedaron sin enlace al volver a guardar un libro.
+ */
+public record CatalogUpdatedEvent(Collection<Long> bookIds, Collection<Long> authorIds) {
+
+    // Cambios que no tocan los autores de ningún libro (descargas, género, sinopsis).
+    public CatalogUpdatedEvent(Collection<Long> bookIds) {
+        this(bookIds, List.of());
+    }
+}
\ No newline at end of file
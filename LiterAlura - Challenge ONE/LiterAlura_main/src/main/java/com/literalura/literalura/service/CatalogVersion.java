@@ -0,0 +1,33 @@
+package com.literalura.literalura.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/*
+ * Versión del catálogo: cambia cada vez que se confirma una transacción que inserta o actualiza
+ * libros, y cuando CatalogChangeWatcher detecta un cambio hecho por otro proceso. Permite saber si una respuesta ya enviada sigue vigente (por ejemplo para los ETag de
+ * la API) sin volver a consultar la base de datos.
+ */
+@Component
+public class CatalogVersion {
+
+    // Empieza en la hora de arranque para que las versiones no se repitan entre ejecuciones.
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long actual() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        version.incrementAndGet();
+    }
+
+    @EventListener
+    public void alRecargarCatalogo(CatalogReloadedEvent evento) {
+        version.incrementAndGet();
+    }
+}
\ No newline at end of file
@@ -1,58 +1,200 @@
 package com.literalura.literalura.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.literalura.literalura.service.impl.ConvierteDatosImpl;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 // Servicio para realizar conexiones a la API externa de Gutendex.
 @Service
 public class ConexionAPI {
 
-    private final ConvierteDatosImpl convierteDatos;
+    private static final String URL_BUSQUEDA = "https://gutendex.com/books/?search=";
+
+    // Tiempo máximo de espera de cada petición, desde que se envía hasta recibir la respuesta.
+    private static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(30);
+
+    // Duración de cada petición a Gutendex, etiquetada con la operación y el estado:
+    // el código HTTP, "cache" si se respondió sin salir a la red o "error" si falló la conexión.
+    static final String METRICA_PETICIONES = "literalura.gutendex.peticiones";
 
-    public ConexionAPI(ConvierteDatosImpl convierteDatos) {
-        this.convierteDatos = convierteDatos;
+    // Cliente HTTP compartido entre peticiones para reutilizar las conexiones abiertas.
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final GutendexResponseCache cache;
+    private final MeterRegistry metricas;
+    private final String urlBusqueda;
+
+    @Autowired
+    public ConexionAPI(GutendexResponseCache cache, MeterRegistry metricas) {
+        this(cache, metricas, URL_BUSQUEDA);
+    }
+
+    // Permite a las pruebas dirigir las búsquedas a un servidor local.
+    ConexionAPI(GutendexResponseCache cache, MeterRegistry metricas, String urlBusqueda) {
+        this.cache = cache;
+        this.metricas = metricas;
+        this.urlBusqueda = urlBusqueda;
+    }
+
+    // Constructor sin caché: cada búsqueda va siempre a Gutendex. Las métricas van al registro global.
+    public ConexionAPI() {
+        this(null, Metrics.globalRegistry);
     }
 
     /*
      * Obtiene datos de libros desde la API de Gutendex utilizando el título proporcionado.
+     * A Gutendex se le envía el título tal como lo escribió el usuario; la forma normalizada
+     * sólo identifica la entrada de la caché. Si la búsqueda está en caché y vigente se responde
+     * sin salir a la red; si está caducada se revalida con If-None-Match/If-Modified-Since y un
+     * 304 reutiliza el cuerpo guardado.
      *
      * @param titulo el título del libro a buscar
-     * @return una lista de objetos Book obtenidos de la API
-     * @throws ConexionApiException si ocurre un error en la conexión o procesamiento de datos
+     * @return el JSON devuelto por la API
+     * @throws ConexionApiException si ocurre un error en la conexión
      */
-    public List<Book> obtenerDatos(String titulo) {
-        String encodedTitulo = URLEncoder.encode(titulo, StandardCharsets.UTF_8);
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create("https://gutendex.com/books/?search=" + encodedTitulo))
-                .build();
+    public String obtenerDatos(String titulo) {
+        Timer.Sample muestra = Timer.start(metricas);
+        String clave = GutendexResponseCache.normalizar(titulo);
+        GutendexResponseCache.Entrada previa = cache != null ? cache.obtener(clave) : null;
+        if (previa != null && cache.vigente(previa)) {
+            registrar(muestra, "busqueda", "cache");
+            return previa.cuerpo();
+        }
 
         HttpResponse<String> response;
         try {
-            response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new ConexionApiException("Error en la respuesta de la API: " + response.statusCode());
-            }
-        } catch (IOException | InterruptedException e) {
+            response = client.send(peticionBusqueda(titulo, previa), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            registrar(muestra, "busqueda", "error");
             throw new ConexionApiException("Error al conectarse a la API", e);
+        } catch (InterruptedException e) {
+            registrar(muestra, "busqueda", "error");
+            Thread.currentThread().interrupt();
+            throw new ConexionApiException("Conexión a la API interrumpida", e);
         }
+        registrar(muestra, "busqueda", String.valueOf(response.statusCode()));
+        return procesarBusqueda(clave, previa, response);
+    }
 
-        // Convertir el JSON a una lista de objetos Book utilizando ConvierteDatos
+    /*
+     * Versión asíncrona de obtenerDatos: la petición se envía con sendAsync y no bloquea
+     * el hilo que llama, de modo que se pueden tener varias búsquedas en vuelo a la vez.
+     * Usa la misma caché que obtenerDatos.
+     *
+     * @param titulo el título del libro a buscar
+     * @return un futuro con el JSON devuelto por la API; falla con ConexionApiException
+     *         si la respuesta no es 200
+     */
+    public CompletableFuture<String> obtenerDatosAsync(String titulo) {
+        Timer.Sample muestra = Timer.start(metricas);
+        String clave = GutendexResponseCache.normalizar(titulo);
+        GutendexResponseCache.Entrada previa = cache != null ? cache.obtener(clave) : null;
+        if (previa != null && cache.vigente(previa)) {
+            registrar(muestra, "busqueda", "cache");
+            return CompletableFuture.completedFuture(previa.cuerpo());
+        }
+        return client.sendAsync(peticionBusqueda(titulo, previa), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) ->
+                        registrar(muestra, "busqueda", error != null ? "error" : String.valueOf(response.statusCode())))
+                .thenApply(response -> procesarBusqueda(clave, previa, response));
+    }
+
+    // Devuelve los contadores de la caché de búsquedas, o null si no hay caché.
+    public GutendexResponseCache.Estadisticas estadisticasCache() {
+        return cache != null ? cache.estadisticas() : null;
+    }
+
+    // Construye la petición de búsqueda, condicional si hay una respuesta previa en caché.
+    private HttpRequest peticionBusqueda(String titulo, GutendexResponseCache.Entrada previa) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(urlBusqueda + URLEncoder.encode(titulo, StandardCharsets.UTF_8)))
+                .timeout(TIEMPO_MAXIMO);
+        if (previa != null && previa.etag() != null) {
+            builder.header("If-None-Match", previa.etag());
+        }
+        if (previa != null && previa.lastModified() != null) {
+            builder.header("If-Modified-Since", previa.lastModified());
+        }
+        return builder.build();
+    }
+
+    // Interpreta la respuesta de una búsqueda y actualiza la caché.
+    private String procesarBusqueda(String clave, GutendexResponseCache.Entrada previa, HttpResponse<String> response) {
+        if (response.statusCode() == 304 && previa != null) {
+            return cache.renovar(clave, previa).cuerpo();
+        }
+        if (response.statusCode() != 200) {
+            throw new ConexionApiException("Error en la respuesta de la API: " + response.statusCode());
+        }
+        if (cache != null) {
+            cache.guardar(clave, new GutendexResponseCache.Entrada(response.body(),
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null),
+                    System.currentTimeMillis()));
+        }
+        return response.body();
+    }
+
+    /*
+     * Abre una página de resultados de Gutendex como flujo de bytes, sin leer el cuerpo
+     * completo en memoria. Quien llama es responsable de cerrar el flujo. El tiempo máximo
+     * cubre hasta recibir las cabeceras; la lectura del cuerpo la acota quien consume el flujo.
+     *
+     * @param url la URL de la página a descargar
+     * @return el flujo con el cuerpo de la respuesta
+     * @throws ConexionApiException si ocurre un error en la conexión o la respuesta no es 200
+     */
+    public InputStream abrirPagina(String url) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(TIEMPO_MAXIMO)
+                .build();
+
+        // Con el cuerpo en streaming, el tiempo medido llega hasta recibir las cabeceras.
+        Timer.Sample muestra = Timer.start(metricas);
+        HttpResponse<InputStream> response;
         try {
-            return convierteDatos.convertidora(response.body(), new TypeReference<List<Book>>() {});
-        } catch (Exception e) {
-            throw new ConexionApiException("Error al procesar la respuesta de la API", e);
+            response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            registrar(muestra, "pagina-streaming", "error");
+            throw new ConexionApiException("Error al conectarse a la API", e);
+        } catch (InterruptedException e) {
+            registrar(muestra, "pagina-streaming", "error");
+            Thread.currentThread().interrupt();
+            throw new ConexionApiException("Conexión a la API interrumpida", e);
+        }
+        registrar(muestra, "pagina-streaming", String.valueOf(response.statusCode()));
+        if (response.statusCode() != 200) {
+            try (InputStream cuerpo = response.body()) {
+                cuerpo.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                // La conexión se descarta de todos modos.
+            }
+            throw new ConexionApiException("Error en la respuesta de la API: " + response.statusCode());
         }
+        return response.body();
+    }
+
+    private void registrar(Timer.Sample muestra, String operacion, String estado) {
+        muestra.stop(metricas.timer(METRICA_PETICIONES, "operacion", operacion, "estado", estado));
     }
 }
 
@@ -1,18 +1,70 @@
 package com.literalura.literalura.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.literalura.literalura.dto.DataAuthor;
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DataPageInfo;
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-// Implementación de la interfaz IConvierteDatos utilizando la biblioteca Jackson para la conversión de JSON a objetos y viceversa.
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * Implementación de la interfaz IConvierteDatos utilizando la biblioteca Jackson para la conversión de JSON a objetos y viceversa.
+ * Es el único punto de conversión de la aplicación: usa el ObjectMapper que configura Spring Boot
+ * (el mismo de la API REST) y guarda un ObjectReader/ObjectWriter ya construido por cada tipo,
+ * así que cada conversión no vuelve a buscar los deserializadores en el mapper.
+ */
 @Service
 public class ConvierteDatos implements IConvierteDatos {
 
     private static final Logger logger = LoggerFactory.getLogger(ConvierteDatos.class);
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Duración de cada conversión, etiquetada con la operación, el tipo de destino y si terminó bien.
+    static final String METRICA_CONVERSION = "literalura.json.conversion";
+
+    // Longitud de las columnas de texto generadas por defecto para Book.
+    private static final int MAX_TEXTO = 255;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry metricas;
+
+    // Lectores y escritores por tipo; son inmutables y seguros entre hilos.
+    private final Map<Class<?>, ObjectReader> lectores = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> escritores = new ConcurrentHashMap<>();
+
+    // Lector reutilizable para los libros de la propiedad "results".
+    private final ObjectReader lectorLibros;
+
+    @Autowired
+    public ConvierteDatos(ObjectMapper objectMapper, MeterRegistry metricas) {
+        this.objectMapper = objectMapper;
+        this.metricas = metricas;
+        this.lectorLibros = lector(DataBook.class);
+    }
+
+    // Constructor para usar fuera de Spring: un ObjectMapper propio y las métricas en el registro global.
+    public ConvierteDatos() {
+        this(new ObjectMapper(), Metrics.globalRegistry);
+    }
 
     /*
      * Convierte una cadena JSON en un objeto del tipo especificado.
@@ -24,14 +76,66 @@ public class ConvierteDatos implements IConvierteDatos {
      */
     @Override
     public <T> T convertidora(String json, Class<T> clase) {
+        Timer.Sample muestra = Timer.start(metricas);
         try {
-            return objectMapper.readValue(json, clase);
+            T resultado = lector(clase).readValue(json);
+            registrar(muestra, "convertidora", clase, "ok");
+            return resultado;
         } catch (JsonProcessingException e) {
+            registrar(muestra, "convertidora", clase, "error");
             logger.error("Error al convertir JSON a objeto: {}", e.getMessage());
             throw new ConversionException("Error al convertir JSON a objeto", e);
         }
     }
 
+    /*
+     * Lee una respuesta de Gutendex directamente desde el flujo de entrada y entrega
+     * cada libro de "results" al consumidor a medida que se lee.
+     * Ni el cuerpo completo ni la lista de libros llegan a existir en memoria a la vez;
+     * el resto de propiedades desconocidas se saltan sin construir objetos.
+     *
+     * @param entrada    el flujo con el JSON de la respuesta; se cierra al terminar
+     * @param consumidor recibe cada libro leído
+     * @return los datos de paginación de la respuesta
+     */
+    public DataPageInfo leerResultados(InputStream entrada, Consumer<DataBook> consumidor) {
+        // Incluye el tiempo del consumidor y de la lectura de la red, que llegan entrelazados con el análisis.
+        Timer.Sample muestra = Timer.start(metricas);
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ConversionException("Se esperaba un objeto JSON en la respuesta", null);
+            }
+            Integer count = null;
+            String next = null;
+            int libros = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+                switch (campo) {
+                    case "count" -> count = valor == JsonToken.VALUE_NULL ? null : parser.getIntValue();
+                    case "next" -> next = valor == JsonToken.VALUE_NULL ? null : parser.getText();
+                    case "results" -> {
+                        if (valor == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                consumidor.accept(lectorLibros.readValue(parser));
+                                libros++;
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            registrar(muestra, "leerResultados", DataBook.class, "ok");
+            return new DataPageInfo(count, next, libros);
+        } catch (IOException e) {
+            registrar(muestra, "leerResultados", DataBook.class, "error");
+            logger.error("Error al leer JSON en streaming: {}", e.getMessage());
+            throw new ConversionException("Error al leer JSON en streaming", e);
+        }
+    }
+
     /*
      * Convierte un objeto del tipo especificado en una cadena JSON.
      *
@@ -41,7 +145,7 @@ public class ConvierteDatos implements IConvierteDatos {
      */
     public <T> String convertirAJson(T objeto) {
         try {
-            return objectMapper.writeValueAsString(objeto);
+            return objeto == null ? "null" : escritor(objeto.getClass()).writeValueAsString(objeto);
         } catch (JsonProcessingException e) {
             logger.error("Error al convertir objeto a JSON: {}", e.getMessage());
             throw new ConversionException("Error al convertir objeto a JSON", e);
@@ -49,21 +153,81 @@ public class ConvierteDatos implements IConvierteDatos {
     }
 
     /*
-     * Convierte entre clases DTO (Data Transfer Object).
+     * Convierte los datos de un libro de Gutendex en la entidad Book con sus autores (sin guardar).
+     * Se copian los campos directamente, sin pasar por JSON.
+     * Gutendex no informa la fecha de publicación ni la editorial, así que esos campos quedan en null.
      *
-     * @param origen el objeto de origen
-     * @param destinoClass la clase del objeto de destino
-     * @param <T> el tipo del objeto de destino
-     * @return el objeto convertido del tipo especificado
+     * @param datos los datos del libro
+     * @return el libro con sus autores
      */
-    public <T> T convertirDTO(Object origen, Class<T> destinoClass) {
-        try {
-            String json = objectMapper.writeValueAsString(origen);
-            return objectMapper.readValue(json, destinoClass);
-        } catch (JsonProcessingException e) {
-            logger.error("Error al convertir DTO: {}", e.getMessage());
-            throw new ConversionException("Error al convertir DTO", e);
+    public static Book aLibro(DataBook datos) {
+        Book libro = new Book(datos.id(), datos.title(), datos.languages(), datos.totalDownloads());
+        libro.setGenre(genero(datos));
+        libro.setSynopsis(sinopsis(datos));
+        for (DataAuthor autor : datos.authors()) {
+            libro.addAuthor(aAutor(autor));
+        }
+        return libro;
+    }
+
+    /*
+     * Género de un libro de Gutendex: la primera estantería o, si no tiene, el primer tema.
+     * Es la misma regla que usa la importación del catálogo CSV.
+     *
+     * @param datos los datos del libro
+     * @return el género, o null si el libro no tiene estanterías ni temas
+     */
+    public static String genero(DataBook datos) {
+        String estanteria = primero(datos.bookshelves());
+        return recortar(estanteria != null ? estanteria : primero(datos.subjects()));
+    }
+
+    /*
+     * Sinopsis de un libro de Gutendex: el primer resumen, recortado al largo de la columna.
+     *
+     * @param datos los datos del libro
+     * @return la sinopsis, o null si el libro no tiene resúmenes
+     */
+    public static String sinopsis(DataBook datos) {
+        return recortar(primero(datos.summaries()));
+    }
+
+    /*
+     * Convierte los datos de un autor de Gutendex en la entidad Author (sin guardar).
+     * Gutendex envía algunos autores sin nombre; se guardan con el nombre vacío.
+     *
+     * @param datos los datos del autor
+     * @return el autor
+     */
+    public static Author aAutor(DataAuthor datos) {
+        return new Author(datos.name() == null ? "" : datos.name(), datos.birthYear(), datos.deathYear());
+    }
+
+    private static String primero(List<String> valores) {
+        if (valores != null) {
+            for (String valor : valores) {
+                if (valor != null && !valor.isBlank()) {
+                    return valor.trim();
+                }
+            }
         }
+        return null;
+    }
+
+    private static String recortar(String texto) {
+        return texto == null || texto.length() <= MAX_TEXTO ? texto : texto.substring(0, MAX_TEXTO);
+    }
+
+    private ObjectReader lector(Class<?> clase) {
+        return lectores.computeIfAbsent(clase, objectMapper::readerFor);
+    }
+
+    private ObjectWriter escritor(Class<?> clase) {
+        return escritores.computeIfAbsent(clase, objectMapper::writerFor);
+    }
+
+    private void registrar(Timer.Sample muestra, String operacion, Class<?> tipo, String estado) {
+        muestra.stop(metricas.timer(METRICA_CONVERSION, "operacion", operacion, "tipo", tipo.getSimpleName(), "estado", estado));
     }
 }
 
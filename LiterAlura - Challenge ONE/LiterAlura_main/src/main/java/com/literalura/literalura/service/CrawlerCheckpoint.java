@@ -0,0 +1,93 @@
+package com.literalura.literalura.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/*
+ * Punto de control del rastreo del catálogo de Gutendex.
+ * Guarda la URL de la siguiente página pendiente y los contadores acumulados,
+ * de forma que un rastreo interrumpido pueda reanudarse sin empezar de nuevo.
+ *
+ * @param siguienteUrl    URL de la siguiente página a descargar, o null si no hay rastreo pendiente.
+ * @param paginas         Páginas procesadas hasta el momento.
+ * @param librosLeidos    Libros recibidos de la API hasta el momento.
+ * @param librosGuardados Libros nuevos guardados en la base de datos hasta el momento.
+ */
+record CrawlerCheckpoint(String siguienteUrl, int paginas, long librosLeidos, long librosGuardados) {
+
+    static final CrawlerCheckpoint VACIO = new CrawlerCheckpoint(null, 0, 0, 0);
+
+    /*
+     * Carga el punto de control desde disco.
+     *
+     * @param ruta Ruta del archivo de punto de control.
+     * @return El punto de control guardado, o VACIO si el archivo no existe.
+     */
+    static CrawlerCheckpoint cargar(Path ruta) {
+        if (!Files.exists(ruta)) {
+            return VACIO;
+        }
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(ruta, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el punto de control " + ruta, e);
+        }
+        return new CrawlerCheckpoint(
+                props.getProperty("siguienteUrl"),
+                Integer.parseInt(props.getProperty("paginas", "0")),
+                Long.parseLong(props.getProperty("librosLeidos", "0")),
+                Long.parseLong(props.getProperty("librosGuardados", "0")));
+    }
+
+    /*
+     * Guarda el punto de control en disco. Se escribe primero un archivo temporal y luego
+     * se reemplaza el original, para que una interrupción nunca deje un archivo a medias.
+     *
+     * @param ruta Ruta del archivo de punto de control.
+     */
+    void guardar(Path ruta) {
+        Properties props = new Properties();
+        if (siguienteUrl != null) {
+            props.setProperty("siguienteUrl", siguienteUrl);
+        }
+        props.setProperty("paginas", String.valueOf(paginas));
+        props.setProperty("librosLeidos", String.valueOf(librosLeidos));
+        props.setProperty("librosGuardados", String.valueOf(librosGuardados));
+
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+                props.store(writer, "Punto de control del rastreo de Gutendex");
+            }
+            Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el punto de control " + ruta, e);
+        }
+    }
+
+    /*
+     * Elimina el punto de control una vez terminado el rastreo completo.
+     *
+     * @param ruta Ruta del archivo de punto de control.
+     */
+    static void eliminar(Path ruta) {
+        try {
+            Files.deleteIfExists(ruta);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo eliminar el punto de control " + ruta, e);
+        }
+    }
+
+    // Indica si hay un rastreo pendiente de reanudar.
+    boolean pendiente() {
+        return siguienteUrl != null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,367 @@
+package com.literalura.literalura.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Caché de respuestas de búsqueda de Gutendex en dos niveles:
+ * un nivel en memoria con política LRU y un nivel en disco que sobrevive a los reinicios.
+ * Las entradas se identifican por el texto de búsqueda normalizado. Una entrada caducada
+ * no se descarta: se conserva para revalidarla con ETag/Last-Modified.
+ * Los contadores se publican como métricas literalura.gutendex.cache.*.
+ */
+@Component
+public class GutendexResponseCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(GutendexResponseCache.class);
+
+    private static final int VERSION_FORMATO = 1;
+
+    private final boolean habilitada;
+    private final Duration ttl;
+    private final int maxEntradasMemoria;
+    private final long maxBytesDisco;
+    private final Path directorio;
+
+    private final Map<String, Entrada> memoria;
+    private final AtomicLong bytesDisco = new AtomicLong();
+
+    private final AtomicLong aciertosMemoria = new AtomicLong();
+    private final AtomicLong aciertosDisco = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong caducadas = new AtomicLong();
+    private final AtomicLong revalidadas = new AtomicLong();
+    private final AtomicLong desalojosMemoria = new AtomicLong();
+    private final AtomicLong desalojosDisco = new AtomicLong();
+
+    public GutendexResponseCache(@Value("${literalura.cache.habilitada:true}") boolean habilitada,
+                                 @Value("${literalura.cache.ttl:PT24H}") Duration ttl,
+                                 @Value("${literalura.cache.max-entradas-memoria:1000}") int maxEntradasMemoria,
+                                 @Value("${literalura.cache.max-bytes-disco:104857600}") long maxBytesDisco,
+                                 @Value("${literalura.cache.directorio:${literalura.datos.directorio:datos}/gutendex}") String directorio) {
+        this.habilitada = habilitada;
+        this.ttl = ttl;
+        this.maxEntradasMemoria = maxEntradasMemoria;
+        this.maxBytesDisco = maxBytesDisco;
+        this.directorio = Path.of(directorio);
+        this.memoria = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                if (size() > GutendexResponseCache.this.maxEntradasMemoria) {
+                    desalojosMemoria.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        if (habilitada) {
+            inicializarDisco();
+        }
+    }
+
+    /*
+     * Normaliza un texto de búsqueda para usarlo como clave: forma Unicode NFKC,
+     * minúsculas y espacios colapsados. "  Don QUIJOTE " y "don quijote" comparten entrada.
+     *
+     * @param busqueda Texto de búsqueda original.
+     * @return La clave normalizada.
+     */
+    public static String normalizar(String busqueda) {
+        String texto = Normalizer.normalize(busqueda, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+        return texto.replaceAll("\\s+", " ");
+    }
+
+    /*
+     * Busca una entrada primero en memoria y después en disco. Las entradas leídas de
+     * disco se promueven a memoria. Se devuelven también las entradas caducadas, para
+     * que quien llama pueda revalidarlas.
+     *
+     * @param clave Clave normalizada.
+     * @return La entrada encontrada, o null si no existe.
+     */
+    public Entrada obtener(String clave) {
+        if (!habilitada) {
+            return null;
+        }
+        Entrada entrada;
+        synchronized (memoria) {
+            entrada = memoria.get(clave);
+        }
+        boolean enMemoria = entrada != null;
+        if (!enMemoria) {
+            entrada = leerDisco(clave);
+            if (entrada != null) {
+                synchronized (memoria) {
+                    memoria.put(clave, entrada);
+                }
+            }
+        }
+        if (entrada == null) {
+            fallos.incrementAndGet();
+        } else if (!vigente(entrada)) {
+            caducadas.incrementAndGet();
+        } else if (enMemoria) {
+            aciertosMemoria.incrementAndGet();
+        } else {
+            aciertosDisco.incrementAndGet();
+        }
+        return entrada;
+    }
+
+    // Indica si la entrada sigue dentro de su tiempo de vida.
+    public boolean vigente(Entrada entrada) {
+        return System.currentTimeMillis() - entrada.guardadaEn() < ttl.toMillis();
+    }
+
+    /*
+     * Guarda una respuesta en ambos niveles.
+     *
+     * @param clave   Clave normalizada.
+     * @param entrada Respuesta a guardar.
+     */
+    public void guardar(String clave, Entrada entrada) {
+        if (!habilitada) {
+            return;
+        }
+        synchronized (memoria) {
+            memoria.put(clave, entrada);
+        }
+        escribirDisco(clave, entrada);
+    }
+
+    /*
+     * Marca como vigente una entrada que el servidor confirmó sin cambios (304).
+     *
+     * @param clave   Clave normalizada.
+     * @param entrada Entrada revalidada.
+     * @return La entrada con la nueva marca de tiempo.
+     */
+    public Entrada renovar(String clave, Entrada entrada) {
+        revalidadas.incrementAndGet();
+        Entrada renovada = new Entrada(entrada.cuerpo(), entrada.etag(), entrada.lastModified(), System.currentTimeMillis());
+        guardar(clave, renovada);
+        return renovada;
+    }
+
+    // Devuelve una copia de los contadores actuales de la caché.
+    public Estadisticas estadisticas() {
+        int entradasMemoria;
+        synchronized (memoria) {
+            entradasMemoria = memoria.size();
+        }
+        return new Estadisticas(aciertosMemoria.get(), aciertosDisco.get(), fallos.get(), caducadas.get(),
+                revalidadas.get(), desalojosMemoria.get(), desalojosDisco.get(), entradasMemoria, bytesDisco.get());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        contador(registro, "literalura.gutendex.cache.consultas", aciertosMemoria, "resultado", "acierto-memoria");
+        contador(registro, "literalura.gutendex.cache.consultas", aciertosDisco, "resultado", "acierto-disco");
+        contador(registro, "literalura.gutendex.cache.consultas", fallos, "resultado", "fallo");
+        contador(registro, "literalura.gutendex.cache.consultas", caducadas, "resultado", "caducada");
+        contador(registro, "literalura.gutendex.cache.revalidadas", revalidadas);
+        contador(registro, "literalura.gutendex.cache.desalojos", desalojosMemoria, "nivel", "memoria");
+        contador(registro, "literalura.gutendex.cache.desalojos", desalojosDisco, "nivel", "disco");
+        Gauge.builder("literalura.gutendex.cache.entradas", this, c -> c.estadisticas().entradasMemoria())
+                .register(registro);
+        Gauge.builder("literalura.gutendex.cache.disco", bytesDisco, AtomicLong::get)
+                .baseUnit("bytes")
+                .register(registro);
+    }
+
+    private static void contador(MeterRegistry registro, String nombre, AtomicLong valor, String... etiquetas) {
+        FunctionCounter.builder(nombre, valor, AtomicLong::get)
+                .tags(etiquetas)
+                .register(registro);
+    }
+
+    @PreDestroy
+    void registrarEstadisticas() {
+        if (habilitada) {
+            logger.info("Caché de Gutendex: {}", estadisticas());
+        }
+    }
+
+    private void inicializarDisco() {
+        try {
+            Files.createDirectories(directorio);
+            try (Stream<Path> archivos = Files.list(directorio)) {
+                bytesDisco.set(archivos.filter(p -> p.toString().endsWith(".bin")).mapToLong(GutendexResponseCache::tamano).sum());
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo preparar el directorio de caché {}: {}", directorio, e.getMessage());
+        }
+    }
+
+    private Entrada leerDisco(String clave) {
+        Path archivo = archivo(clave);
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(archivo))) {
+            if (in.readInt() != VERSION_FORMATO || !clave.equals(in.readUTF())) {
+                return null;
+            }
+            long guardadaEn = in.readLong();
+            String etag = leerOpcional(in);
+            String lastModified = leerOpcional(in);
+            byte[] cuerpo = in.readNBytes(in.readInt());
+            // La fecha de modificación del archivo se usa como marca LRU del nivel en disco.
+            Files.setLastModifiedTime(archivo, FileTime.fromMillis(System.currentTimeMillis()));
+            return new Entrada(new String(cuerpo, StandardCharsets.UTF_8), etag, lastModified, guardadaEn);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Entrada de caché ilegible {}: {}", archivo, e.getMessage());
+            return null;
+        }
+    }
+
+    private void escribirDisco(String clave, Entrada entrada) {
+        Path archivo = archivo(clave);
+        try {
+            Path temporal = Files.createTempFile(directorio, "entrada", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporal))) {
+                byte[] cuerpo = entrada.cuerpo().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(VERSION_FORMATO);
+                out.writeUTF(clave);
+                out.writeLong(entrada.guardadaEn());
+                escribirOpcional(out, entrada.etag());
+                escribirOpcional(out, entrada.lastModified());
+                out.writeInt(cuerpo.length);
+                out.write(cuerpo);
+            }
+            instalar(temporal, archivo);
+        } catch (IOException e) {
+            logger.warn("No se pudo escribir la entrada de caché {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    /*
+     * Reemplaza el archivo de una entrada por el recién escrito y actualiza los bytes ocupados.
+     * Los reemplazos y los recortes se serializan: si dos hilos guardan la misma búsqueda a la vez,
+     * cada uno descuenta el tamaño del archivo que reemplaza de verdad, y el recorte no borra un
+     * archivo entre la medición y el reemplazo.
+     */
+    private synchronized void instalar(Path temporal, Path archivo) throws IOException {
+        long anterior = tamano(archivo);
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (bytesDisco.addAndGet(tamano(archivo) - anterior) > maxBytesDisco) {
+            recortarDisco();
+        }
+    }
+
+    // Elimina los archivos usados hace más tiempo hasta bajar al 90% del límite en disco.
+    // Se llama desde instalar, con el monitor de la caché tomado.
+    private void recortarDisco() {
+        List<Path> archivos = new ArrayList<>();
+        try (Stream<Path> lista = Files.list(directorio)) {
+            lista.filter(p -> p.toString().endsWith(".bin")).forEach(archivos::add);
+        } catch (IOException e) {
+            logger.warn("No se pudo recorrer el directorio de caché {}: {}", directorio, e.getMessage());
+            return;
+        }
+        archivos.sort((a, b) -> ultimaModificacion(a).compareTo(ultimaModificacion(b)));
+        long objetivo = maxBytesDisco * 9 / 10;
+        for (Path archivo : archivos) {
+            if (bytesDisco.get() <= objetivo) {
+                break;
+            }
+            long bytes = tamano(archivo);
+            try {
+                if (Files.deleteIfExists(archivo)) {
+                    bytesDisco.addAndGet(-bytes);
+                    desalojosDisco.incrementAndGet();
+                }
+            } catch (IOException e) {
+                logger.warn("No se pudo eliminar la entrada de caché {}: {}", archivo, e.getMessage());
+            }
+        }
+    }
+
+    private Path archivo(String clave) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(clave.getBytes(StandardCharsets.UTF_8));
+            return directorio.resolve(HexFormat.of().formatHex(hash) + ".bin");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static String leerOpcional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void escribirOpcional(DataOutputStream out, String valor) throws IOException {
+        out.writeBoolean(valor != null);
+        if (valor != null) {
+            out.writeUTF(valor);
+        }
+    }
+
+    private static long tamano(Path archivo) {
+        try {
+            return Files.size(archivo);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime ultimaModificacion(Path archivo) {
+        try {
+            return Files.getLastModifiedTime(archivo);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /*
+     * Respuesta almacenada en la caché.
+     *
+     * @param cuerpo       JSON devuelto por Gutendex.
+     * @param etag         Cabecera ETag de la respuesta, si la hubo.
+     * @param lastModified Cabecera Last-Modified de la respuesta, si la hubo.
+     * @param guardadaEn   Momento (epoch ms) en que la respuesta se obtuvo o se revalidó.
+     */
+    public record Entrada(String cuerpo, String etag, String lastModified, long guardadaEn) {
+    }
+
+    // Contadores de la caché.
+    public record Estadisticas(long aciertosMemoria, long aciertosDisco, long fallos, long caducadas,
+                               long revalidadas, long desalojosMemoria, long desalojosDisco,
+                               int entradasMemoria, long bytesDisco) {
+
+        // Proporción de consultas servidas localmente sin contactar a Gutendex.
+        public double tasaAciertos() {
+            long total = aciertosMemoria + aciertosDisco + fallos + caducadas;
+            return total == 0 ? 0 : (double) (aciertosMemoria + aciertosDisco) / total;
+        }
+    }
+}
\ No newline at end of file
@@ -1,36 +1,15 @@
-package com.literalura.literalura.service.impl;
+package com.literalura.literalura.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.literalura.literalura.service.IConvierteDatos;
-import org.springframework.stereotype.Service;
-
-// Implementación de la interfaz IConvierteDatos utilizando la biblioteca Jackson para la conversión de JSON a objetos Java.
-@Service
-public class ConvierteDatosImpl implements IConvierteDatos {
-
-    private final ObjectMapper objectMapper;
-
-    // Constructor que inicializa el ObjectMapper.
-    public ConvierteDatosImpl() {
-        this.objectMapper = new ObjectMapper();
-    }
+// Interfaz que define la conversión de cadenas JSON a objetos Java.
+public interface IConvierteDatos {
 
     /*
-     * Convierte una cadena JSON en un objeto del tipo especificado utilizando Jackson.
+     * Convierte una cadena JSON en un objeto del tipo especificado.
      *
-     * @param json la cadena JSON a convertir
+     * @param json  la cadena JSON a convertir
      * @param clase la clase del tipo al que se desea convertir el JSON
+     * @param <T>   el tipo de objeto resultante
      * @return el objeto convertido del tipo especificado
      */
-    @Override
-    public <T> T convertidora(String json, Class<T> clase) {
-        try {
-            return objectMapper.readValue(json, clase);
-        } catch (Exception e) {
-            // Manejo de errores en la conversión JSON
-            System.err.println("Error al convertir JSON a objeto: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
-    }
+    <T> T convertidora(String json, Class<T> clase);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.literalura.literalura.service;
+
+// Excepción que indica que ya hay una importación en curso que no admite otra simultánea.
+public class ImportacionEnCursoException extends IllegalStateException {
+    public ImportacionEnCursoException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.literalura.literalura.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Cursor que recorre una consulta por páginas usando paginación por clave (keyset):
+ * cada página pide las filas con ID mayor que el último ID leído, en lugar de usar OFFSET.
+ * Si la clave es compuesta (por ejemplo nombre e ID), la consulta recibe la última fila leída.
+ * Sólo se mantiene en memoria la página actual, y el costo de cada página no crece
+ * a medida que se avanza en el recorrido.
+ *
+ * Sirve tanto para mostrar resultados página a página en el menú (next) como para
+ * volcar el listado completo (stream).
+ */
+public class KeysetCursor<T> implements Iterator<List<T>> {
+
+    /*
+     * Consulta que devuelve, ordenadas por clave, como máximo "tamano" filas
+     * con clave mayor que "despuesDe".
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        List<T> cargar(long despuesDe, int tamano);
+    }
+
+    /*
+     * Consulta que devuelve, en el orden de su clave, como máximo "tamano" filas posteriores
+     * a "despuesDe", que es null en la primera página.
+     */
+    @FunctionalInterface
+    public interface RowPageLoader<T> {
+        List<T> cargar(T despuesDe, int tamano);
+    }
+
+    private final RowPageLoader<T> cargador;
+    private final int tamanoPagina;
+
+    private T ultima;
+    private List<T> siguiente;
+    private boolean agotado;
+
+    public KeysetCursor(PageLoader<T> cargador, ToLongFunction<T> clave, int tamanoPagina) {
+        this((ultima, tamano) -> cargador.cargar(ultima == null ? Long.MIN_VALUE : clave.applyAsLong(ultima), tamano),
+                tamanoPagina);
+    }
+
+    public KeysetCursor(RowPageLoader<T> cargador, int tamanoPagina) {
+        if (tamanoPagina <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que 0");
+        }
+        this.cargador = cargador;
+        this.tamanoPagina = tamanoPagina;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null && !agotado) {
+            List<T> pagina = cargador.cargar(ultima, tamanoPagina);
+            // Una página incompleta es la última: no hace falta otra consulta para saberlo.
+            agotado = pagina.size() < tamanoPagina;
+            if (!pagina.isEmpty()) {
+                ultima = pagina.get(pagina.size() - 1);
+                siguiente = pagina;
+            }
+        }
+        return siguiente != null;
+    }
+
+    // Devuelve la siguiente página; nunca está vacía.
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<T> pagina = siguiente;
+        siguiente = null;
+        return pagina;
+    }
+
+    // Recorre las filas restantes una a una; las páginas se cargan a medida que se consumen.
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(List::stream);
+    }
+}
\ No newline at end of file
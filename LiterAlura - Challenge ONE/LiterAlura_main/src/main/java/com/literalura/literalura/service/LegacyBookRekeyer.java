@@ -0,0 +1,104 @@
+package com.literalura.literalura.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DataResults;
+import com.literalura.literalura.index.TextNormalizer;
+
+/*
+ * Asigna su ID de Gutendex a los libros antiguos: los que la primera versión guardó con un ID de la
+ * secuencia de la base de datos y que la migración V2 movió al rango de Book.INICIO_IDS_ANTIGUOS.
+ * Busca cada título en Gutendex y reemplaza el libro antiguo por el primer resultado con el mismo
+ * título y algún autor en común, que es el que la primera versión habría guardado.
+ * Los libros sin una coincidencia clara se dejan como están y se informan en el registro.
+ */
+@Service
+public class LegacyBookRekeyer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyBookRekeyer.class);
+
+    // Libros antiguos que se leen de la base de datos a la vez.
+    private static final int TAMANO_PAGINA = 100;
+
+    private final BookService servicio;
+    private final ConexionAPI conexion;
+    private final ConvierteDatos convertidor;
+
+    public LegacyBookRekeyer(BookService servicio, ConexionAPI conexion, ConvierteDatos convertidor) {
+        this.servicio = servicio;
+        this.conexion = conexion;
+        this.convertidor = convertidor;
+    }
+
+    /*
+     * Busca en Gutendex todos los libros antiguos y reemplaza los que tienen una coincidencia.
+     * Si la búsqueda de un libro falla, se omite y se vuelve a intentar en la siguiente ejecución.
+     *
+     * @return Resumen de la reasignación.
+     */
+    public synchronized RekeyResult reasignar() {
+        List<Long> ids = servicio.getLegacyBookIds();
+        int reasignados = 0;
+        int sinCoincidencia = 0;
+        int fallidos = 0;
+        for (int i = 0; i < ids.size(); i += TAMANO_PAGINA) {
+            for (BookSummary antiguo : servicio.getBookSummaries(ids.subList(i, Math.min(ids.size(), i + TAMANO_PAGINA)))) {
+                try {
+                    DataResults datos = convertidor.convertidora(conexion.obtenerDatos(antiguo.title()), DataResults.class);
+                    Optional<DataBook> libro = coincidencia(antiguo, datos.results());
+                    if (libro.isPresent()) {
+                        servicio.replaceLegacyBook(antiguo.id(), libro.get());
+                        reasignados++;
+                    } else {
+                        sinCoincidencia++;
+                        logger.info("Libro antiguo {} (\"{}\") sin coincidencia en Gutendex", antiguo.id(), antiguo.title());
+                    }
+                } catch (ConexionApiException | ConversionException e) {
+                    fallidos++;
+                    logger.warn("No se pudo buscar el libro antiguo {} en Gutendex: {}", antiguo.id(), e.getMessage());
+                }
+            }
+        }
+        RekeyResult resultado = new RekeyResult(ids.size(), reasignados, sinCoincidencia, fallidos);
+        logger.info("Libros antiguos: {} revisados, {} reasignados, {} sin coincidencia, {} con error",
+                ids.size(), reasignados, sinCoincidencia, fallidos);
+        return resultado;
+    }
+
+    /*
+     * Primer resultado de la búsqueda con el mismo título que el libro antiguo (sin distinguir
+     * mayúsculas ni acentos) y, si el libro antiguo tiene autores, con alguno de ellos.
+     */
+    static Optional<DataBook> coincidencia(BookSummary antiguo, List<DataBook> resultados) {
+        if (resultados == null) {
+            return Optional.empty();
+        }
+        String titulo = TextNormalizer.normalizar(antiguo.title());
+        Set<String> autores = antiguo.authors().stream().map(TextNormalizer::normalizar).collect(Collectors.toSet());
+        return resultados.stream()
+                .filter(d -> titulo.equals(TextNormalizer.normalizar(d.title())))
+                .filter(d -> autores.isEmpty() || d.authors() != null && d.authors().stream()
+                        .anyMatch(a -> autores.contains(TextNormalizer.normalizar(a.name()))))
+                .findFirst();
+    }
+
+    /*
+     * Resumen de una reasignación.
+     *
+     * @param revisados       Libros antiguos encontrados.
+     * @param reasignados     Libros reemplazados por el de Gutendex con su ID real.
+     * @param sinCoincidencia Libros para los que Gutendex no devolvió el mismo título y autor.
+     * @param fallidos        Libros cuya búsqueda falló; se revisan en la siguiente ejecución.
+     */
+    public record RekeyResult(int revisados, int reasignados, int sinCoincidencia, int fallidos) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.literalura.literalura.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.repository.CachedQuery;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Caché de segundo nivel de Hibernate (JCache sobre Caffeine) para las lecturas del catálogo:
+ * libros, autores y sus colecciones, y los resultados de las consultas marcadas con @CachedQuery.
+ * Se activa con hibernate.cache.use_second_level_cache y hibernate.cache.use_query_cache.
+ *
+ * Las escrituras del catálogo se hacen con JDBC por lotes (BookBulkRepository), que Hibernate no
+ * ve, así que las entradas afectadas se descartan aquí con cada actualización (CatalogUpdatedEvent):
+ * justo antes de confirmar y otra vez después, antes que las demás cachés e índices que se recargan
+ * desde la base.
+ * Si otro proceso cambia el catálogo (CatalogReloadedEvent) se vacían todas las regiones.
+ */
+@Component
+public class SecondLevelCache {
+
+    // Regiones de entidades y colecciones; todas usan los mismos límites.
+    static final List<String> REGIONES_CATALOGO = List.of(Book.REGION_CACHE, Book.REGION_CACHE_IDIOMAS,
+            Book.REGION_CACHE_AUTORES, Author.REGION_CACHE, Author.REGION_CACHE_LIBROS);
+
+    private static final String ROL_IDIOMAS = Book.class.getName() + ".languages";
+    private static final String ROL_AUTORES = Book.class.getName() + ".authors";
+    private static final String ROL_LIBROS_AUTOR = Author.class.getName() + ".books";
+
+    private final SessionFactory sesiones;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sesiones = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /*
+     * Gestor de JCache con una caché por región. Las regiones del catálogo y de consultas se
+     * limitan por cantidad de entradas y caducan tras el tiempo indicado (0 = sin caducidad);
+     * la región de marcas de actualización de Hibernate no debe perder entradas y no tiene límites.
+     * Cada contexto usa su propio proveedor, para no compartir cachés entre contextos de prueba.
+     */
+    @Bean(destroyMethod = "close")
+    static CacheManager cacheManagerHibernate(@Value("${literalura.cache-hibernate.max-entradas:50000}") long maxEntradas,
+                                              @Value("${literalura.cache-hibernate.max-consultas:2000}") long maxConsultas,
+                                              @Value("${literalura.cache-hibernate.ttl:PT1H}") Duration ttl) {
+        CacheManager manager = new CaffeineCachingProvider().getCacheManager();
+        for (String region : REGIONES_CATALOGO) {
+            manager.createCache(region, configuracion(maxEntradas, ttl));
+        }
+        manager.createCache(CachedQuery.REGION, configuracion(maxConsultas, ttl));
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, configuracion(maxConsultas, ttl));
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuracion(0, Duration.ZERO));
+        return manager;
+    }
+
+    // Entrega el gestor a Hibernate en lugar de que cree uno con la configuración por defecto.
+    @Bean
+    static HibernatePropertiesCustomizer cacheManagerEnHibernate(CacheManager cacheManagerHibernate) {
+        return propiedades -> propiedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuracion(long maxEntradas, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        if (maxEntradas > 0) {
+            configuracion.setMaximumSize(OptionalLong.of(maxEntradas));
+        }
+        if (!ttl.isZero()) {
+            configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuracion;
+    }
+
+    /*
+     * Primer descarte, antes de confirmar. Quita lo que otras transacciones guardaron antes de la
+     * escritura, pero una lectura que llegue antes de la confirmación puede volver a guardar los
+     * valores anteriores; por eso se descarta otra vez después (alActualizarCatalogo).
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void antesDeConfirmar(CatalogUpdatedEvent evento) {
+        descartar(evento);
+    }
+
+    /*
+     * Segundo descarte, al confirmarse la escritura (o enseguida, si no hay transacción). A partir de
+     * aquí ninguna entrada de la caché es anterior a la escritura.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        descartar(evento);
+    }
+
+    // El catálogo cambió fuera de este proceso y no se sabe qué libros: se vacían todas las regiones.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void alRecargarCatalogo(CatalogReloadedEvent evento) {
+        sesiones.getCache().evictAllRegions();
+    }
+
+    /*
+     * Descarta los libros modificados con sus colecciones, las listas de libros de los autores que
+     * ganaron o perdieron alguno y los resultados de consultas guardados.
+     * Los autores no se descartan: las escrituras masivas sólo insertan autores nuevos.
+     * Con la caché desactivada, las llamadas no hacen nada.
+     */
+    private void descartar(CatalogUpdatedEvent evento) {
+        Cache cache = sesiones.getCache();
+        for (Long id : evento.bookIds()) {
+            cache.evictEntityData(Book.class, id);
+            cache.evictCollectionData(ROL_IDIOMAS, id);
+            cache.evictCollectionData(ROL_AUTORES, id);
+        }
+        for (Long id : evento.authorIds()) {
+            cache.evictCollectionData(ROL_LIBROS_AUTOR, id);
+        }
+        cache.evictQueryRegion(CachedQuery.REGION);
+    }
+
+    /*
+     * Aciertos y fallos de cada región desde el arranque, según las estadísticas de Hibernate
+     * (hibernate.generate_statistics). Vacío si la caché de segundo nivel está desactivada.
+     */
+    public List<EstadisticasRegion> estadisticas() {
+        Statistics estadisticas = sesiones.getStatistics();
+        List<EstadisticasRegion> regiones = new ArrayList<>();
+        List<String> nombres = new ArrayList<>(REGIONES_CATALOGO);
+        nombres.add(CachedQuery.REGION);
+        for (String nombre : nombres) {
+            CacheRegionStatistics region = estadisticas.getCacheRegionStatistics(nombre);
+            if (region != null) {
+                regiones.add(EstadisticasRegion.de(nombre, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+        return regiones;
+    }
+
+    // Contadores de una región; la tasa de aciertos se incluye para mostrarla en los listados.
+    public record EstadisticasRegion(String region, long aciertos, long fallos, long guardadas, double tasaAciertos) {
+
+        static EstadisticasRegion de(String region, long aciertos, long fallos, long guardadas) {
+            long total = aciertos + fallos;
+            return new EstadisticasRegion(region, aciertos, fallos, guardadas, total == 0 ? 0 : (double) aciertos / total);
+        }
+    }
+}
\ No newline at end of file
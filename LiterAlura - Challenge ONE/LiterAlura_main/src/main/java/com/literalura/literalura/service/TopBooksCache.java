@@ -0,0 +1,93 @@
+package com.literalura.literalura.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.literalura.literalura.dto.BookSummary;
+
+/*
+ * Caché en memoria de los rankings de libros más descargados.
+ * Cada combinación de N, idioma y autor se guarda por separado, con política LRU: al llegar al
+ * máximo se descarta el ranking consultado hace más tiempo. Toda la caché se invalida cuando se
+ * confirma una transacción que inserta o actualiza libros (CatalogUpdatedEvent) y cuando otro
+ * proceso cambió el catálogo (CatalogReloadedEvent).
+ */
+@Component
+public class TopBooksCache {
+
+    // Rankings en orden de acceso; protegido por su propio monitor.
+    private final Map<Clave, Entrada> rankings;
+
+    // Se incrementa en cada invalidación. Cada ranking guarda la generación en la que se empezó a
+    // calcular y sólo se usa mientras siga siendo la actual, así que un ranking calculado antes de
+    // un cambio nunca se sirve después de él, aunque se guarde cuando la invalidación ya pasó.
+    private final AtomicLong generacion = new AtomicLong();
+
+    public TopBooksCache(@Value("${literalura.top.max-entradas-cache:64}") int maxEntradas) {
+        this.rankings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Entrada> eldest) {
+                return size() > maxEntradas;
+            }
+        };
+    }
+
+    /*
+     * Devuelve el ranking guardado o lo calcula con el cargador indicado.
+     *
+     * @param n       Cantidad de libros del ranking.
+     * @param idioma  Filtro de idioma, o null.
+     * @param autor   Filtro de autor, o null.
+     * @param cargador Consulta a la base de datos si el ranking no está en caché.
+     * @return El ranking.
+     */
+    public List<BookSummary> obtener(int n, String idioma, String autor, Supplier<List<BookSummary>> cargador) {
+        Clave clave = new Clave(n, idioma, autor);
+        long generacionInicial = generacion.get();
+        synchronized (rankings) {
+            Entrada entrada = rankings.get(clave);
+            if (entrada != null && entrada.generacion() == generacionInicial) {
+                return entrada.ranking();
+            }
+        }
+        List<BookSummary> ranking = List.copyOf(cargador.get());
+        synchronized (rankings) {
+            if (generacion.get() == generacionInicial) {
+                rankings.put(clave, new Entrada(generacionInicial, ranking));
+            }
+        }
+        return ranking;
+    }
+
+    // Descarta todos los rankings guardados.
+    public void invalidar() {
+        generacion.incrementAndGet();
+        synchronized (rankings) {
+            rankings.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alActualizarCatalogo(CatalogUpdatedEvent evento) {
+        invalidar();
+    }
+
+    @EventListener
+    public void alRecargarCatalogo(CatalogReloadedEvent evento) {
+        invalidar();
+    }
+
+    private record Clave(int n, String idioma, String autor) {
+    }
+
+    private record Entrada(long generacion, List<BookSummary> ranking) {
+    }
+}
\ No newline at end of file
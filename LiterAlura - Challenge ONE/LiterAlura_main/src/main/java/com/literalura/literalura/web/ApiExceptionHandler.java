@@ -0,0 +1,24 @@
+package com.literalura.literalura.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.literalura.literalura.service.ImportacionEnCursoException;
+
+// Traduce los errores de validación de los servicios e índices a respuestas 400 de la API,
+// y las importaciones rechazadas porque ya hay otra en curso a 409.
+@RestControllerAdvice(basePackages = "com.literalura.literalura.web")
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail parametroInvalido(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(ImportacionEnCursoException.class)
+    public ProblemDetail importacionEnCurso(ImportacionEnCursoException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+}
\ No newline at end of file
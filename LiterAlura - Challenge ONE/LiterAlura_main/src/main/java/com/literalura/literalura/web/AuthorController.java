@@ -0,0 +1,104 @@
+package com.literalura.literalura.web;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.dto.ResultPage;
+import com.literalura.literalura.index.AuthorAutocompleteIndex;
+import com.literalura.literalura.index.AuthorLifespanIndex;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogVersion;
+
+/*
+ * API REST de autores. Las sugerencias y las consultas por años se responden desde los
+ * índices en memoria; el listado completo se pagina por clave en la base de datos.
+ */
+@RestController
+@RequestMapping("/api/autores")
+public class AuthorController {
+
+    private final BookService servicio;
+    private final AuthorAutocompleteIndex indiceAutores;
+    private final AuthorLifespanIndex indiceVidas;
+    private final CatalogVersion version;
+
+    public AuthorController(BookService servicio, AuthorAutocompleteIndex indiceAutores,
+                            AuthorLifespanIndex indiceVidas, CatalogVersion version) {
+        this.servicio = servicio;
+        this.indiceAutores = indiceAutores;
+        this.indiceVidas = indiceVidas;
+        this.version = version;
+    }
+
+    // Autores con libros registrados ordenados por ID; "next" es el ID a enviar como despuesDe.
+    @GetMapping
+    public ResultPage<AuthorSummary> listar(@RequestParam(defaultValue = "0") long despuesDe,
+                                            @RequestParam(defaultValue = "20") int tamano,
+                                            WebRequest request) {
+        int limite = Respuestas.tamano(tamano);
+        if (Respuestas.noModificado(request, version, "autores", despuesDe, limite)) {
+            return null;
+        }
+        return Respuestas.paginaPorClave(servicio.getAuthorsPage(despuesDe, limite), limite, AuthorSummary::id);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AuthorSummary> obtener(@PathVariable Long id, WebRequest request) {
+        if (Respuestas.noModificado(request, version, "autor", id)) {
+            return null;
+        }
+        return ResponseEntity.of(servicio.getAuthorSummary(id));
+    }
+
+    // Sugerencias de autores para un texto parcial o con errores de escritura.
+    @GetMapping("/sugerencias")
+    public List<AuthorSummary> sugerencias(@RequestParam String q,
+                                           @RequestParam(defaultValue = "10") int k,
+                                           WebRequest request) {
+        int cantidad = Respuestas.tamano(k);
+        if (Respuestas.noModificado(request, version, "sugerencias", q, cantidad)) {
+            return null;
+        }
+        return indiceAutores.sugerir(q, cantidad);
+    }
+
+    /*
+     * Autores vivos en un año, o en algún momento entre "inicio" y "fin" si se indica el segundo.
+     * Los resultados se paginan por posición.
+     */
+    @GetMapping("/vivos")
+    public ResultPage<AuthorSummary> vivos(@RequestParam int inicio,
+                                           @RequestParam(required = false) Integer fin,
+                                           @RequestParam(defaultValue = "0") int desde,
+                                           @RequestParam(defaultValue = "20") int tamano,
+                                           WebRequest request) {
+        int limite = Respuestas.tamano(tamano);
+        if (Respuestas.noModificado(request, version, "vivos", inicio, fin, desde, limite)) {
+            return null;
+        }
+        List<AuthorSummary> autores = fin == null ? indiceVidas.vivosEn(inicio) : indiceVidas.vivosDurante(inicio, fin);
+        return Respuestas.paginaPorPosicion(autores, desde, limite);
+    }
+
+    // Autores que nacieron y murieron dentro del rango de años indicado.
+    @GetMapping("/rango")
+    public ResultPage<AuthorSummary> rango(@RequestParam int inicio,
+                                           @RequestParam int fin,
+                                           @RequestParam(defaultValue = "0") int desde,
+                                           @RequestParam(defaultValue = "20") int tamano,
+                                           WebRequest request) {
+        int limite = Respuestas.tamano(tamano);
+        if (Respuestas.noModificado(request, version, "rango", inicio, fin, desde, limite)) {
+            return null;
+        }
+        return Respuestas.paginaPorPosicion(indiceVidas.nacidosYMuertosEntre(inicio, fin), desde, limite);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.literalura.literalura.web;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DataResults;
+import com.literalura.literalura.dto.ResultPage;
+import com.literalura.literalura.index.BookSearchIndex;
+import com.literalura.literalura.index.BookSearchIndex.SearchHit;
+import com.literalura.literalura.index.LanguageIndex;
+import com.literalura.literalura.index.LanguageIndex.LanguageCount;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogVersion;
+import com.literalura.literalura.service.ConexionAPI;
+import com.literalura.literalura.service.ConvierteDatos;
+
+/*
+ * API REST de libros. Las consultas se responden desde los índices en memoria o con consultas
+ * paginadas por clave, y llevan un ETag ligado a la versión del catálogo: mientras el catálogo
+ * no cambie, un cliente con If-None-Match recibe 304 sin que se toque la base de datos.
+ */
+@RestController
+@RequestMapping("/api/libros")
+public class BookController {
+
+    private final BookService servicio;
+    private final BookSearchIndex indiceBusqueda;
+    private final LanguageIndex indiceIdiomas;
+    private final ConexionAPI conexion;
+    private final ConvierteDatos convertidor;
+    private final CatalogVersion version;
+
+    public BookController(BookService servicio, BookSearchIndex indiceBusqueda, LanguageIndex indiceIdiomas,
+                          ConexionAPI conexion, ConvierteDatos convertidor, CatalogVersion version) {
+        this.servicio = servicio;
+        this.indiceBusqueda = indiceBusqueda;
+        this.indiceIdiomas = indiceIdiomas;
+        this.conexion = conexion;
+        this.convertidor = convertidor;
+        this.version = version;
+    }
+
+    // Libros registrados ordenados por ID; "next" es el ID a enviar como despuesDe.
+    @GetMapping
+    public ResultPage<BookSummary> listar(@RequestParam(defaultValue = "0") long despuesDe,
+                                          @RequestParam(defaultValue = "20") int tamano,
+                                          WebRequest request) {
+        int limite = Respuestas.tamano(tamano);
+        if (Respuestas.noModificado(request, version, "libros", despuesDe, limite)) {
+            return null;
+        }
+        return Respuestas.paginaPorClave(servicio.getBooksPage(despuesDe, limite), limite, BookSummary::id);
+    }
+
+    // Búsqueda local por palabras del título o de los autores.
+    @GetMapping("/busqueda")
+    public List<SearchHit> buscar(@RequestParam String q,
+                                  @RequestParam(defaultValue = "20") int limite,
+                                  WebRequest request) {
+        int tamano = Respuestas.tamano(limite);
+        if (Respuestas.noModificado(request, version, "busqueda", q, tamano)) {
+            return null;
+        }
+        return indiceBusqueda.buscar(q, tamano);
+    }
+
+    // Libros más descargados, opcionalmente filtrados por idioma y autor.
+    @GetMapping("/top")
+    public List<BookSummary> top(@RequestParam(defaultValue = "10") int n,
+                                 @RequestParam(required = false) String idioma,
+                                 @RequestParam(required = false) String autor,
+                                 WebRequest request) {
+        int cantidad = Respuestas.tamano(n);
+        if (Respuestas.noModificado(request, version, "top", cantidad, idioma, autor)) {
+            return null;
+        }
+        return servicio.getTopBooks(cantidad, idioma, autor);
+    }
+
+    /*
+     * Idiomas del catálogo con su cantidad de libros. Con "filtro" se devuelven las facetas
+     * de los libros que cumplen el filtro (alguno de los idiomas, o todos si todos=true).
+     */
+    @GetMapping("/idiomas")
+    public List<LanguageCount> idiomas(@RequestParam(required = false) List<String> filtro,
+                                       @RequestParam(defaultValue = "false") boolean todos,
+                                       WebRequest request) {
+        if (Respuestas.noModificado(request, version, "idiomas", filtro, todos)) {
+            return null;
+        }
+        return filtro == null || filtro.isEmpty() ? indiceIdiomas.idiomas() : indiceIdiomas.facetas(filtro, todos);
+    }
+
+    // Libros en alguno (o todos) de los idiomas indicados, paginados por posición.
+    @GetMapping("/por-idioma")
+    public ResultPage<BookSummary> porIdioma(@RequestParam List<String> idiomas,
+                                             @RequestParam(defaultValue = "false") boolean todos,
+                                             @RequestParam(defaultValue = "0") int desde,
+                                             @RequestParam(defaultValue = "20") int tamano,
+                                             WebRequest request) {
+        int limite = Respuestas.tamano(tamano);
+        if (Respuestas.noModificado(request, version, "por-idioma", idiomas, todos, desde, limite)) {
+            return null;
+        }
+        ResultPage<Long> ids = Respuestas.paginaPorPosicion(indiceIdiomas.filtrar(idiomas, todos), desde, limite);
+        List<BookSummary> libros = servicio.getBookSummaries(ids.items()).stream()
+                .sorted(Comparator.comparingLong(BookSummary::id))
+                .toList();
+        return new ResultPage<>(libros, ids.next());
+    }
+
+    /*
+     * Busca un título en Gutendex y registra el primer resultado, igual que la opción 1 del menú.
+     * Responde 201 con el libro guardado, o 404 si Gutendex no encontró nada.
+     */
+    @PostMapping("/gutendex")
+    public ResponseEntity<BookSummary> registrar(@RequestParam String titulo) {
+        if (titulo.isBlank()) {
+            throw new IllegalArgumentException("El título del libro no puede estar vacío");
+        }
+        DataResults datos = convertidor.convertidora(conexion.obtenerDatos(titulo.trim()), DataResults.class);
+        if (datos.results() == null || datos.results().isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        DataBook libro = datos.results().get(0);
+        servicio.saveBook(libro);
+        List<BookSummary> guardado = servicio.getBookSummaries(List.of(libro.id()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(guardado.isEmpty() ? null : guardado.get(0));
+    }
+}
\ No newline at end of file
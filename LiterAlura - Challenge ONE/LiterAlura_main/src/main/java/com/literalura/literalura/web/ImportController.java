@@ -0,0 +1,133 @@
+package com.literalura.literalura.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.literalura.literalura.service.BulkTitleImporter;
+import com.literalura.literalura.service.CatalogCrawler;
+import com.literalura.literalura.service.CatalogCsvImporter;
+import com.literalura.literalura.service.ImportacionEnCursoException;
+import com.literalura.literalura.web.ImportJobs.ImportJobStatus;
+
+/*
+ * API REST para las importaciones masivas del menú (opciones 10, 11 y 12).
+ * Cada importación se ejecuta en segundo plano (ImportJobs): la petición responde 202 con el estado
+ * y la cabecera Location apunta a GET /api/importaciones/{id}, que devuelve el resumen al terminar.
+ * Sólo se acepta una importación a la vez; mientras hay una en curso se responde 409.
+ * Las peticiones deben llevar la clave literalura.api.clave-importaciones en la cabecera X-Api-Key;
+ * sin clave configurada las importaciones por la API quedan deshabilitadas.
+ */
+@RestController
+@RequestMapping("/api/importaciones")
+public class ImportController {
+
+    static final String CABECERA_CLAVE = "X-Api-Key";
+
+    private final CatalogCrawler crawler;
+    private final BulkTitleImporter importador;
+    private final CatalogCsvImporter importadorCsv;
+    private final ImportJobs trabajos;
+    private final byte[] clave;
+
+    public ImportController(CatalogCrawler crawler, BulkTitleImporter importador, CatalogCsvImporter importadorCsv,
+                            ImportJobs trabajos,
+                            @Value("${literalura.api.clave-importaciones:}") String clave) {
+        this.crawler = crawler;
+        this.importador = importador;
+        this.importadorCsv = importadorCsv;
+        this.trabajos = trabajos;
+        this.clave = clave.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Recorre el catálogo completo de Gutendex, continuando desde el último punto de control.
+    @PostMapping("/catalogo")
+    public ResponseEntity<ImportJobStatus> catalogo(@RequestHeader(name = CABECERA_CLAVE, required = false) String clave) {
+        autorizar(clave);
+        if (crawler.enCurso()) {
+            throw new ImportacionEnCursoException("Ya hay un rastreo del catálogo en curso");
+        }
+        return aceptada(trabajos.iniciar("catalogo", crawler::crawl));
+    }
+
+    // Importa los títulos del cuerpo (texto plano, uno por línea; se ignoran vacías y comentarios '#').
+    @PostMapping(value = "/titulos", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<ImportJobStatus> titulos(@RequestHeader(name = CABECERA_CLAVE, required = false) String clave,
+                                                   @RequestBody String cuerpo) {
+        autorizar(clave);
+        List<String> titulos = new ArrayList<>();
+        for (String linea : cuerpo.split("\\R")) {
+            String titulo = linea.trim();
+            if (!titulo.isEmpty() && !titulo.startsWith("#")) {
+                titulos.add(titulo);
+            }
+        }
+        return aceptada(trabajos.iniciar("titulos", () -> importador.importar(titulos)));
+    }
+
+    /*
+     * Importa un pg_catalog.csv enviado en el cuerpo. El cuerpo se copia a un archivo temporal
+     * en lugar de leerse entero en memoria, porque el catálogo completo ocupa decenas de MB;
+     * la importación lo borra al terminar.
+     */
+    @PostMapping(value = "/csv", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportJobStatus> csv(@RequestHeader(name = CABECERA_CLAVE, required = false) String clave,
+                                               InputStream cuerpo) throws IOException {
+        autorizar(clave);
+        Path temporal = Files.createTempFile("pg_catalog", ".csv");
+        try {
+            Files.copy(cuerpo, temporal, StandardCopyOption.REPLACE_EXISTING);
+            return aceptada(trabajos.iniciar("csv", () -> {
+                try {
+                    return importadorCsv.importar(temporal);
+                } finally {
+                    Files.deleteIfExists(temporal);
+                }
+            }));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+    }
+
+    // Estado de una importación; al terminar incluye su resumen.
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobStatus> estado(@PathVariable long id) {
+        return ResponseEntity.of(trabajos.estado(id));
+    }
+
+    private static ResponseEntity<ImportJobStatus> aceptada(ImportJobStatus estado) {
+        return ResponseEntity.accepted().location(URI.create("/api/importaciones/" + estado.id())).body(estado);
+    }
+
+    // Compara la clave recibida en tiempo constante.
+    private void autorizar(String recibida) {
+        if (clave.length == 0) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "Las importaciones por la API están deshabilitadas: falta literalura.api.clave-importaciones");
+        }
+        if (recibida == null || !MessageDigest.isEqual(clave, recibida.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Falta la clave de importación o no es válida");
+        }
+    }
+}
\ No newline at end of file
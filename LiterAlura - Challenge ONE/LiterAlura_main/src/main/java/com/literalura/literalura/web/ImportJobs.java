@@ -0,0 +1,143 @@
+package com.literalura.literalura.web;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.literalura.literalura.service.ImportacionEnCursoException;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Importaciones lanzadas desde la API. Se ejecutan de a una en un hilo propio, fuera de los hilos
+ * de Tomcat, y su estado se consulta por ID. Mientras una está en curso no se acepta otra.
+ * Se conservan los estados de las últimas MAX_HISTORIAL importaciones.
+ */
+@Component
+public class ImportJobs {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobs.class);
+
+    private static final int MAX_HISTORIAL = 20;
+
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "importaciones-api");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AtomicBoolean ocupado = new AtomicBoolean();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Map<Long, Trabajo> trabajos = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Trabajo> masAntigua) {
+            return size() > MAX_HISTORIAL;
+        }
+    };
+
+    /*
+     * Inicia una importación en segundo plano.
+     *
+     * @param tipo  Nombre de la importación, para el estado.
+     * @param tarea Importación; su resultado queda en el estado al terminar.
+     * @return Estado inicial de la importación.
+     * @throws ImportacionEnCursoException si ya hay una importación en curso
+     */
+    public ImportJobStatus iniciar(String tipo, Callable<?> tarea) {
+        if (!ocupado.compareAndSet(false, true)) {
+            throw new ImportacionEnCursoException("Ya hay una importación en curso");
+        }
+        Trabajo trabajo = new Trabajo(secuencia.incrementAndGet(), tipo, Instant.now());
+        synchronized (trabajos) {
+            trabajos.put(trabajo.id, trabajo);
+        }
+        try {
+            ejecutor.execute(() -> ejecutar(trabajo, tarea));
+        } catch (RejectedExecutionException e) {
+            ocupado.set(false);
+            trabajo.terminar(null, "La aplicación se está cerrando");
+            throw new ImportacionEnCursoException("La aplicación se está cerrando");
+        }
+        return trabajo.estado();
+    }
+
+    // Estado de una importación, si todavía está en el historial.
+    public Optional<ImportJobStatus> estado(long id) {
+        synchronized (trabajos) {
+            return Optional.ofNullable(trabajos.get(id)).map(Trabajo::estado);
+        }
+    }
+
+    private void ejecutar(Trabajo trabajo, Callable<?> tarea) {
+        try {
+            trabajo.terminar(tarea.call(), null);
+        } catch (Exception e) {
+            logger.warn("Importación {} ({}) fallida: {}", trabajo.id, trabajo.tipo, e.getMessage());
+            trabajo.terminar(null, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            ocupado.set(false);
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    // Importación registrada; el hilo de la importación la termina y los de Tomcat leen su estado.
+    private static final class Trabajo {
+
+        private final long id;
+        private final String tipo;
+        private final Instant inicio;
+        private Instant fin;
+        private Object resultado;
+        private String error;
+
+        Trabajo(long id, String tipo, Instant inicio) {
+            this.id = id;
+            this.tipo = tipo;
+            this.inicio = inicio;
+        }
+
+        synchronized void terminar(Object resultado, String error) {
+            this.resultado = resultado;
+            this.error = error;
+            this.fin = Instant.now();
+        }
+
+        synchronized ImportJobStatus estado() {
+            String estado = fin == null ? ImportJobStatus.EN_CURSO : error == null ? ImportJobStatus.TERMINADA : ImportJobStatus.FALLIDA;
+            return new ImportJobStatus(id, tipo, estado, inicio, fin, resultado, error);
+        }
+    }
+
+    /*
+     * Estado de una importación lanzada desde la API.
+     *
+     * @param id        ID de la importación, para GET /api/importaciones/{id}.
+     * @param tipo      "catalogo", "titulos" o "csv".
+     * @param estado    EN_CURSO, TERMINADA o FALLIDA.
+     * @param inicio    Momento en que se aceptó.
+     * @param fin       Momento en que terminó, o null si sigue en curso.
+     * @param resultado Resumen de la importación (el mismo que muestra el menú), o null.
+     * @param error     Mensaje de error si falló.
+     */
+    public record ImportJobStatus(long id, String tipo, String estado, Instant inicio, Instant fin,
+                                  Object resultado, String error) {
+
+        public static final String EN_CURSO = "EN_CURSO";
+        public static final String TERMINADA = "TERMINADA";
+        public static final String FALLIDA = "FALLIDA";
+    }
+}
\ No newline at end of file
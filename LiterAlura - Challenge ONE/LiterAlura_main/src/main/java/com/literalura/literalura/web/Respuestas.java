@@ -0,0 +1,62 @@
+package com.literalura.literalura.web;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.springframework.web.context.request.WebRequest;
+
+import com.literalura.literalura.dto.ResultPage;
+import com.literalura.literalura.service.CatalogVersion;
+
+// Utilidades compartidas por los controladores de la API: ETag, tamaño de página y paginación.
+final class Respuestas {
+
+    static final int TAMANO_MAXIMO = 100;
+
+    private Respuestas() {
+    }
+
+    /*
+     * Calcula el ETag débil de una respuesta que depende sólo del catálogo y de los parámetros
+     * de la petición, y lo compara con If-None-Match. El ETag cambia cuando cambia la versión
+     * del catálogo, así que no hace falta consultar la base de datos para responder 304.
+     *
+     * @param request    Petición en curso; recibe la cabecera ETag de la respuesta.
+     * @param version    Versión actual del catálogo.
+     * @param parametros Valores que identifican la respuesta (ruta y parámetros).
+     * @return true si el cliente ya tiene esta respuesta; el controlador debe devolver null.
+     */
+    static boolean noModificado(WebRequest request, CatalogVersion version, Object... parametros) {
+        String etag = "W/\"" + Long.toHexString(version.actual()) + "-"
+                + Integer.toHexString(Arrays.deepHashCode(parametros)) + "\"";
+        return request.checkNotModified(etag);
+    }
+
+    // Valida el tamaño de página pedido y lo limita a TAMANO_MAXIMO.
+    static int tamano(int pedido) {
+        if (pedido <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que 0");
+        }
+        return Math.min(pedido, TAMANO_MAXIMO);
+    }
+
+    /*
+     * Página de un listado ordenado por clave (keyset): si la página está completa,
+     * la siguiente continúa después de la clave del último elemento.
+     */
+    static <T> ResultPage<T> paginaPorClave(List<T> items, int tamano, ToLongFunction<T> clave) {
+        Long siguiente = items.size() == tamano ? clave.applyAsLong(items.get(items.size() - 1)) : null;
+        return new ResultPage<>(items, siguiente);
+    }
+
+    // Página de un listado en memoria: "next" es la posición del primer elemento de la página siguiente.
+    static <T> ResultPage<T> paginaPorPosicion(List<T> todos, int desde, int tamano) {
+        if (desde < 0) {
+            throw new IllegalArgumentException("La posición inicial no puede ser negativa");
+        }
+        int inicio = Math.min(desde, todos.size());
+        int fin = Math.min(todos.size(), inicio + tamano);
+        return new ResultPage<>(List.copyOf(todos.subList(inicio, fin)), fin < todos.size() ? (long) fin : null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.literalura.literalura.web;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.literalura.literalura.dto.CatalogStatistics;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogVersion;
+
+// API REST con las estadísticas de descargas del catálogo.
+@RestController
+@RequestMapping("/api/estadisticas")
+public class StatisticsController {
+
+    private final BookService servicio;
+    private final CatalogVersion version;
+
+    public StatisticsController(BookService servicio, CatalogVersion version) {
+        this.servicio = servicio;
+        this.version = version;
+    }
+
+    // Totales del catálogo, estadísticas por idioma y de los autores más descargados.
+    @GetMapping
+    public CatalogStatistics estadisticas(@RequestParam(defaultValue = "10") int autores, WebRequest request) {
+        int limite = Respuestas.tamano(autores);
+        if (Respuestas.noModificado(request, version, "estadisticas", limite)) {
+            return null;
+        }
+        return new CatalogStatistics(servicio.getDownloadStatistics(), servicio.getStatisticsByLanguage(),
+                servicio.getStatisticsByAuthor(limite));
+    }
+}
\ No newline at end of file
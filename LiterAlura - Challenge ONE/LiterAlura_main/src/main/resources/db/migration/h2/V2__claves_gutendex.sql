@@ -0,0 +1,7 @@
+-- Versión para H2 (pruebas y benchmarks) de la migración de PostgreSQL. Se usa siempre sobre una
+-- base vacía, así que no hay autores repetidos ni libros con ID de la secuencia que corregir.
+ALTER TABLE book ALTER COLUMN id DROP IDENTITY;
+
+CREATE UNIQUE INDEX IF NOT EXISTS author_clave_uk ON author (name, year_birth, year_death);
+CREATE UNIQUE INDEX IF NOT EXISTS book_author_uk ON book_author (book_id, author_id);
+CREATE UNIQUE INDEX IF NOT EXISTS book_languages_uk ON book_languages (book_id, languages);
@@ -0,0 +1,4 @@
+-- Versión para H2 (pruebas y benchmarks) de la migración de PostgreSQL.
+CREATE SEQUENCE IF NOT EXISTS book_revision_seq;
+
+ALTER TABLE book ADD COLUMN IF NOT EXISTS revision bigint NOT NULL DEFAULT NEXT VALUE FOR book_revision_seq;
@@ -0,0 +1,7 @@
+-- Versión para H2 (pruebas y benchmarks) de la migración de PostgreSQL. Se usa siempre sobre una
+-- base vacía, así que no hay autores sin nombre que unir.
+UPDATE author SET name = '' WHERE name IS NULL;
+ALTER TABLE author ALTER COLUMN name SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS author_nombre_idx ON author (name, id);
+CREATE INDEX IF NOT EXISTS book_author_autor_idx ON book_author (author_id);
@@ -0,0 +1,29 @@
+-- Esquema de la primera versión de la aplicación, tal como lo generaba Hibernate para las entidades:
+-- los libros y los autores con ID de identidad. En una base que ya tenía estas tablas no cambia nada
+-- (Flyway la registra con la línea base 0 y este script sólo crea lo que falte).
+CREATE TABLE IF NOT EXISTS author (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255),
+    year_birth integer NOT NULL,
+    year_death integer NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS book (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    genre varchar(255),
+    publication_date varchar(255),
+    publisher varchar(255),
+    synopsis varchar(255),
+    title varchar(255),
+    total_downloads integer NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS book_author (
+    book_id bigint NOT NULL REFERENCES book (id),
+    author_id bigint NOT NULL REFERENCES author (id)
+);
+
+CREATE TABLE IF NOT EXISTS book_languages (
+    book_id bigint NOT NULL REFERENCES book (id),
+    languages varchar(255)
+);
@@ -0,0 +1,62 @@
+-- Los libros pasan a identificarse por su ID de Gutendex y las escrituras masivas resuelven los
+-- conflictos con índices únicos. Antes de crearlos hay que limpiar lo que dejó la primera versión.
+
+-- 1. Autores repetidos con el mismo nombre y años: se conserva el de menor ID y sus libros pasan a él.
+UPDATE book_author ba
+SET author_id = d.conservado
+FROM (SELECT id, min(id) OVER (PARTITION BY name, year_birth, year_death) AS conservado FROM author) d
+WHERE ba.author_id = d.id AND d.id <> d.conservado;
+
+DELETE FROM author a
+USING author b
+WHERE a.name IS NOT DISTINCT FROM b.name
+  AND a.year_birth = b.year_birth
+  AND a.year_death = b.year_death
+  AND a.id > b.id;
+
+-- 2. Enlaces repetidos, incluidos los que aparecen al unir autores.
+DELETE FROM book_author a
+USING book_author b
+WHERE a.book_id = b.book_id AND a.author_id = b.author_id AND a.ctid > b.ctid;
+
+DELETE FROM book_languages a
+USING book_languages b
+WHERE a.book_id = b.book_id AND a.languages = b.languages AND a.ctid > b.ctid;
+
+-- 3. Libros con ID de la secuencia. La primera versión guardaba los libros con un ID generado por la
+-- base de datos, no con el de Gutendex: un libro nuevo de Gutendex con ese mismo número
+-- sobrescribiría uno que no tiene nada que ver. Los IDs que pudo generar la secuencia se mueven al
+-- rango de libros antiguos (desde 1000000000, Book.INICIO_IDS_ANTIGUOS), donde no chocan con los de
+-- Gutendex; la operación --rekey-legacy les asigna después su ID real buscándolos por título.
+DO $$
+DECLARE
+    secuencia text := pg_get_serial_sequence('book', 'id');
+    ultimo bigint;
+BEGIN
+    IF secuencia IS NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM %s', secuencia) INTO ultimo;
+
+    INSERT INTO book (id, genre, publication_date, publisher, synopsis, title, total_downloads)
+    SELECT id + 1000000000, genre, publication_date, publisher, synopsis, title, total_downloads
+    FROM book WHERE id <= ultimo;
+    UPDATE book_author SET book_id = book_id + 1000000000 WHERE book_id <= ultimo;
+    UPDATE book_languages SET book_id = book_id + 1000000000 WHERE book_id <= ultimo;
+    DELETE FROM book WHERE id <= ultimo;
+
+    -- El ID deja de generarse, tanto si era una columna de identidad como un serial.
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'book' AND column_name = 'id'
+                 AND is_identity = 'YES') THEN
+        ALTER TABLE book ALTER COLUMN id DROP IDENTITY;
+    ELSE
+        ALTER TABLE book ALTER COLUMN id DROP DEFAULT;
+        EXECUTE format('DROP SEQUENCE %s', secuencia);
+    END IF;
+END $$;
+
+-- 4. Índices únicos que usan las escrituras masivas (BookBulkRepository) en sus ON CONFLICT.
+CREATE UNIQUE INDEX IF NOT EXISTS author_clave_uk ON author (name, year_birth, year_death);
+CREATE UNIQUE INDEX IF NOT EXISTS book_author_uk ON book_author (book_id, author_id);
+CREATE UNIQUE INDEX IF NOT EXISTS book_languages_uk ON book_languages (book_id, languages);
@@ -0,0 +1,8 @@
+-- Revisión de cada libro: un número de una secuencia que cambia en cada escritura del libro, sus
+-- idiomas o sus autores (BookBulkRepository lo renueva con SET revision = DEFAULT). El motor de
+-- analítica guarda las revisiones en su instantánea y compara la cantidad de libros, la suma de
+-- los IDs y la suma de las revisiones para saber si sigue al día.
+CREATE SEQUENCE IF NOT EXISTS book_revision_seq;
+
+-- Las filas existentes reciben cada una su propio valor de la secuencia.
+ALTER TABLE book ADD COLUMN IF NOT EXISTS revision bigint NOT NULL DEFAULT nextval('book_revision_seq');
@@ -0,0 +1,34 @@
+-- Los listados de autores se recorren por (nombre, ID) y esa clave necesita un índice que no
+-- admita nombres nulos. Gutendex envía autores sin nombre y la aplicación los guarda con el
+-- nombre vacío; los que guardó antes con null se unen al autor vacío de los mismos años.
+
+-- 1. Cada autor sin nombre se une al de menor ID con el mismo nombre (null o vacío) y años.
+CREATE TEMPORARY TABLE autor_unificado AS
+SELECT id, min(id) OVER (PARTITION BY coalesce(name, ''), year_birth, year_death) AS conservado FROM author;
+
+-- Si el libro ya está enlazado a otro autor de su grupo, se conserva sólo el enlace de menor ID.
+DELETE FROM book_author ba
+USING autor_unificado u
+WHERE ba.author_id = u.id AND u.id <> u.conservado
+  AND EXISTS (SELECT 1 FROM book_author x JOIN autor_unificado ux ON ux.id = x.author_id
+              WHERE x.book_id = ba.book_id AND ux.conservado = u.conservado AND x.author_id < ba.author_id);
+
+UPDATE book_author ba
+SET author_id = u.conservado
+FROM autor_unificado u
+WHERE ba.author_id = u.id AND u.id <> u.conservado;
+
+DELETE FROM author a
+USING autor_unificado u
+WHERE a.id = u.id AND u.id <> u.conservado;
+
+DROP TABLE autor_unificado;
+
+-- 2. El nombre pasa a ser obligatorio.
+UPDATE author SET name = '' WHERE name IS NULL;
+ALTER TABLE author ALTER COLUMN name SET NOT NULL;
+
+-- 3. Índices de los listados: la clave (nombre, ID) y los libros de cada autor, que se cuentan
+-- por autor con una subconsulta correlacionada.
+CREATE INDEX IF NOT EXISTS author_nombre_idx ON author (name, id);
+CREATE INDEX IF NOT EXISTS book_author_autor_idx ON book_author (author_id);
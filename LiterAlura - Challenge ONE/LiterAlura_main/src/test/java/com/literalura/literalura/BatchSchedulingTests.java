@@ -0,0 +1,39 @@
+package com.literalura.literalura;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.scheduling.config.TaskManagementConfigUtils;
+
+/*
+ * Las tareas programadas se registran con el menú, pero no en el modo por lotes.
+ */
+class BatchSchedulingTests {
+
+	private static final String PROCESADOR = TaskManagementConfigUtils.SCHEDULED_ANNOTATION_PROCESSOR_BEAN_NAME;
+
+	@Test
+	void enElModoPorLotesNoSeProgramanTareas() {
+		assertFalse(procesadorRegistrado("--stats"));
+		assertFalse(procesadorRegistrado("--top=10", "--lang=en"));
+	}
+
+	@Test
+	void conElMenuSeProgramanLasTareas() {
+		assertTrue(procesadorRegistrado());
+		assertTrue(procesadorRegistrado("--server.port=8081"));
+	}
+
+	private static boolean procesadorRegistrado(String... args) {
+		DefaultListableBeanFactory fabrica = new DefaultListableBeanFactory();
+		fabrica.registerSingleton("springApplicationArguments", new DefaultApplicationArguments(args));
+		fabrica.registerBeanDefinition(PROCESADOR, new RootBeanDefinition(ScheduledAnnotationBeanPostProcessor.class));
+		LiteraluraApplication.sinTareasProgramadasEnLotes().postProcessBeanFactory(fabrica);
+		return fabrica.containsBeanDefinition(PROCESADOR);
+	}
+}
\ No newline at end of file
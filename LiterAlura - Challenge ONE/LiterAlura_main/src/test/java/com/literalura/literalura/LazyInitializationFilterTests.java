@@ -0,0 +1,46 @@
+package com.literalura.literalura;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+
+import com.literalura.literalura.analytics.ColumnarCatalog;
+import com.literalura.literalura.cli.BatchRunner;
+import com.literalura.literalura.metrics.MetricsSummaryLogger;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogRefresher;
+import com.literalura.literalura.service.CatalogVersion;
+import com.literalura.literalura.service.SecondLevelCache;
+
+/*
+ * Beans que se crean al arrancar aunque la inicialización diferida esté activada.
+ */
+class LazyInitializationFilterTests {
+
+	private final LazyInitializationExcludeFilter filtro = LiteraluraApplication.inicializacionAlArrancar();
+
+	@Test
+	void seCreanAlArrancarLasMigracionesLasTareasProgramadasYLosQueEscuchanEventos() {
+		assertTrue(excluido(FlywayMigrationInitializer.class));
+		assertTrue(excluido(MetricsSummaryLogger.class));
+		assertTrue(excluido(CatalogRefresher.class));
+		assertTrue(excluido(CatalogVersion.class));
+		assertTrue(excluido(SecondLevelCache.class));
+		assertTrue(excluido(ColumnarCatalog.class));
+	}
+
+	@Test
+	void elRestoSigueCreandoseAlUsarse() {
+		assertFalse(excluido(BookService.class));
+		assertFalse(excluido(BatchRunner.class));
+		assertFalse(excluido(null));
+	}
+
+	private boolean excluido(Class<?> tipo) {
+		return filtro.isExcluded("bean", tipo != null ? new RootBeanDefinition(tipo) : new RootBeanDefinition(), tipo);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.literalura.literalura.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.repository.BookBulkRepository;
+import com.literalura.literalura.repository.BookRepository;
+import com.literalura.literalura.repository.CatalogColumnsRepository;
+import com.literalura.literalura.service.AuthorResolver;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.SecondLevelCache;
+import com.literalura.literalura.service.TopBooksCache;
+
+/*
+ * Pruebas del motor de analítica en memoria sobre una base H2 en memoria: las estadísticas y los
+ * rankings deben coincidir con las consultas de la base de datos después de cada escritura.
+ * Cada operación confirma su propia transacción, como en la aplicación.
+ */
+@DataJpaTest(properties = {"literalura.analitica.habilitado=true", "literalura.analitica.paralelismo=2"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({BookService.class, AuthorResolver.class, BookBulkRepository.class, TopBooksCache.class, SecondLevelCache.class,
+		CatalogColumnsRepository.class, ColumnarCatalog.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ColumnarCatalogTests {
+
+	@TempDir
+	static Path directorio;
+
+	@DynamicPropertySource
+	static void archivo(DynamicPropertyRegistry propiedades) {
+		propiedades.add("literalura.analitica.archivo", () -> directorio.resolve("catalogo.bin").toString());
+	}
+
+	@Autowired
+	private BookService servicio;
+
+	@Autowired
+	private BookRepository repoBook;
+
+	@Autowired
+	private ColumnarCatalog analitica;
+
+	@Autowired
+	private CatalogColumnsRepository columnas;
+
+	@Test
+	void respondeLoMismoQueLasConsultasDeLaBaseDeDatos() throws InterruptedException {
+		for (int i = 0; i < 100 && !analitica.listo(); i++) {
+			Thread.sleep(100);
+		}
+		assertTrue(analitica.listo());
+
+		Author dickens = new Author("Dickens, Charles", 1812, 1870);
+		Author twain = new Author("Twain, Mark", 1835, 1910);
+		Author austen = new Author("Austen, Jane", 1775, 1817);
+		servicio.upsertBooks(List.of(
+				libro(730L, 500, List.of("en"), dickens),
+				libro(24022L, 900, List.of("en"), dickens),
+				libro(32325L, 700, List.of("en", "es"), twain),
+				libro(42671L, 1200, List.of("en"), austen),
+				libro(60000L, 300, List.of("es"), austen)), true);
+
+		assertEquals(repoBook.estadisticasDescargas(), analitica.estadisticasDescargas());
+		assertEquals(repoBook.estadisticasPorIdioma(), analitica.estadisticasPorIdioma());
+		assertEquals(repoBook.estadisticasPorAutor(PageRequest.of(0, 2)), analitica.estadisticasPorAutor(2));
+		assertEquals(List.of(42671L, 24022L, 32325L), analitica.topLibros(3, null, null));
+		assertEquals(List.of(32325L, 60000L), analitica.topLibros(5, "es", null));
+		assertEquals(List.of(24022L, 730L), analitica.topLibros(5, null, "dickens"));
+
+		servicio.upsertBooks(List.of(libro(730L, 5000, List.of("en"), dickens)), true);
+
+		assertEquals(repoBook.estadisticasDescargas(), analitica.estadisticasDescargas());
+		assertEquals(List.of(730L, 42671L), analitica.topLibros(2, "en", null));
+	}
+
+	@Test
+	void laFirmaCambiaConCualquierEscrituraAunqueNoCambienLosTotales() {
+		Author verne = new Author("Verne, Jules", 1828, 1905);
+		servicio.upsertBooks(List.of(libro(103L, 10, List.of("fr"), verne)), true);
+		CatalogColumnsRepository.Firma antes = columnas.firma();
+
+		// Mismos libros, descargas, idiomas por libro y autores: sólo cambia el código del idioma.
+		servicio.upsertBooks(List.of(libro(103L, 10, List.of("de"), verne)), true);
+
+		CatalogColumnsRepository.Firma despues = columnas.firma();
+		assertNotEquals(antes, despues);
+		ColumnarSnapshot.Constructor constructor = new ColumnarSnapshot.Constructor();
+		columnas.recorrer(libro -> constructor.libro(Math.toIntExact(libro.id()), libro.descargas(), libro.revision()),
+				idioma -> { }, autor -> { });
+		assertEquals(despues, constructor.construir(new String[0], new long[0], new String[0]).firma());
+	}
+
+	private static Book libro(long id, int descargas, List<String> idiomas, Author autor) {
+		Book libro = new Book(id, "Libro " + id, new ArrayList<>(idiomas), descargas);
+		libro.addAuthor(new Author(autor.getName(), autor.getYearBirth(), autor.getYearDeath()));
+		return libro;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.literalura.literalura.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.literalura.literalura.repository.CatalogColumnsRepository;
+
+class ColumnarSnapshotTests {
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void asignaIdiomasYAutoresASusFilasEIgnoraLosDeLibrosAusentes() {
+		ColumnarSnapshot instantanea = ejemplo();
+
+		assertArrayEquals(new int[]{10, 20, 30}, instantanea.ids);
+		assertArrayEquals(new int[]{0, 2, 2, 3}, instantanea.inicioIdiomas);
+		assertArrayEquals(new short[]{0, 1, 1}, instantanea.idiomas);
+		assertArrayEquals(new int[]{0, 1, 2, 2}, instantanea.inicioAutores);
+		assertEquals(new CatalogColumnsRepository.Firma(3, 60, 12), instantanea.firma());
+		assertEquals(1, instantanea.fila(20));
+	}
+
+	@Test
+	void seGuardaYSeLeeDelArchivoMapeado() throws IOException {
+		Path archivo = directorio.resolve("catalogo.bin");
+		ejemplo().guardar(archivo);
+
+		ColumnarSnapshot leida = ColumnarSnapshot.cargar(archivo);
+
+		assertArrayEquals(new int[]{100, 200, 300}, leida.descargas);
+		assertArrayEquals(new short[]{0, 1, 1}, leida.idiomas);
+		assertArrayEquals(new int[]{0, 1}, leida.autores);
+		assertArrayEquals(new String[]{"en", "es"}, leida.codigosIdioma);
+		assertArrayEquals(new String[]{"Dickens, Charles", "Cervantes Saavedra, Miguel de"}, leida.nombresAutor);
+		assertArrayEquals(new long[]{3, 4, 5}, leida.revisiones);
+		assertEquals(ejemplo().firma(), leida.firma());
+	}
+
+	@Test
+	void unArchivoDanadoSeRechaza() throws IOException {
+		Path archivo = directorio.resolve("catalogo.bin");
+		ejemplo().guardar(archivo);
+		byte[] bytes = Files.readAllBytes(archivo);
+		Files.write(archivo, Arrays.copyOf(bytes, bytes.length / 2));
+
+		assertThrows(IOException.class, () -> ColumnarSnapshot.cargar(archivo));
+	}
+
+	private static ColumnarSnapshot ejemplo() {
+		ColumnarSnapshot.Constructor constructor = new ColumnarSnapshot.Constructor();
+		constructor.libro(10, 100, 3);
+		constructor.libro(20, 200, 4);
+		constructor.libro(30, 300, 5);
+		constructor.idioma(10, (short) 0);
+		constructor.idioma(10, (short) 1);
+		constructor.idioma(15, (short) 0);
+		constructor.idioma(30, (short) 1);
+		constructor.autor(10, 0);
+		constructor.autor(20, 1);
+		return constructor.construir(new String[]{"en", "es"}, new long[]{7, 9},
+				new String[]{"Dickens, Charles", "Cervantes Saavedra, Miguel de"});
+	}
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.literalura.literalura.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.TestCursors;
+
+// Pruebas del modo por lotes con un catálogo pequeño en memoria.
+class BatchRunnerTests {
+
+	private final List<BookSummary> catalogo = List.of(
+			new BookSummary(11L, "Alice's Adventures in Wonderland", List.of("Carroll, Lewis"), List.of("en"), 100),
+			new BookSummary(2000L, "Don Quijote", List.of("Cervantes Saavedra, Miguel de"), List.of("es"), 80));
+
+	private final BookService servicio = mock(BookService.class);
+	private final BatchRunner lotes = new BatchRunner(servicio, null, null, null, null, null, null, null, null, null, null);
+
+	@Test
+	void listaLosLibrosEnCsvConCabecera() {
+		when(servicio.cursorBooks(anyInt())).thenAnswer(TestCursors.respuesta(catalogo, TestCursors.LIBROS_POR_ID));
+		StringWriter salida = new StringWriter();
+
+		int codigo = lotes.ejecutar(new String[]{"--list-books", "--format=csv"}, salida, new PrintStream(new ByteArrayOutputStream()));
+
+		assertEquals(BatchRunner.CORRECTO, codigo);
+		assertEquals("""
+				id,title,authors,languages,totalDownloads
+				11,Alice's Adventures in Wonderland,"Carroll, Lewis",en,100
+				2000,Don Quijote,"Cervantes Saavedra, Miguel de",es,80
+				""", salida.toString());
+	}
+
+	@Test
+	void listaLosAutoresPorNombreEId() {
+		List<AuthorSummary> autores = List.of(
+				new AuthorSummary(1L, "Shelley, Mary Wollstonecraft", 1797, 1851, 1),
+				new AuthorSummary(9L, "Anonymous", 0, 0, 2),
+				new AuthorSummary(3L, "Austen, Jane", 1775, 1817, 1),
+				new AuthorSummary(4L, "Anonymous", 0, 0, 5));
+		when(servicio.cursorAuthors(anyInt())).thenAnswer(TestCursors.respuesta(autores, TestCursors.AUTORES_POR_NOMBRE));
+		StringWriter salida = new StringWriter();
+
+		int codigo = lotes.ejecutar(new String[]{"--list-authors", "--format=csv"}, salida, new PrintStream(new ByteArrayOutputStream()));
+
+		assertEquals(BatchRunner.CORRECTO, codigo);
+		assertEquals("""
+				id,name,yearBirth,yearDeath,books
+				4,Anonymous,0,0,5
+				9,Anonymous,0,0,2
+				3,"Austen, Jane",1775,1817,1
+				1,"Shelley, Mary Wollstonecraft",1797,1851,1
+				""", salida.toString());
+	}
+
+	@Test
+	void rechazaArgumentosAmbiguosOInvalidos() {
+		PrintStream errores = new PrintStream(new ByteArrayOutputStream());
+
+		assertEquals(BatchRunner.USO_INVALIDO, lotes.ejecutar(new String[]{"--stats", "--list-books"}, new StringWriter(), errores));
+		assertEquals(BatchRunner.USO_INVALIDO, lotes.ejecutar(new String[]{"--top=muchos"}, new StringWriter(), errores));
+		assertEquals(BatchRunner.USO_INVALIDO, lotes.ejecutar(new String[]{"--alive=1900:1800"}, new StringWriter(), errores));
+	}
+
+	@Test
+	void soloSeActivaConUnaOperacion() {
+		assertTrue(BatchRunner.solicitado(new String[]{"--spring.profiles.active=h2", "--top=5"}));
+		assertFalse(BatchRunner.solicitado(new String[]{"--spring.profiles.active=h2"}));
+	}
+}
\ No newline at end of file
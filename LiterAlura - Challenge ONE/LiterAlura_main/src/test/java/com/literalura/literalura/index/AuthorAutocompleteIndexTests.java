@@ -0,0 +1,117 @@
+package com.literalura.literalura.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+import com.literalura.literalura.service.TestCursors;
+
+// Pruebas del autocompletado de autores con un catálogo pequeño en memoria.
+class AuthorAutocompleteIndexTests {
+
+	private final List<AuthorSummary> autores = new ArrayList<>(List.of(
+			new AuthorSummary(1L, "Dickens, Charles", 1812, 1870, 12),
+			new AuthorSummary(2L, "Dickinson, Emily", 1830, 1886, 3),
+			new AuthorSummary(3L, "Doyle, Arthur Conan", 1859, 1930, 8),
+			new AuthorSummary(4L, "Cervantes Saavedra, Miguel de", 1547, 1616, 2),
+			new AuthorSummary(5L, "Darwin, Charles", 1809, 1882, 5)));
+
+	private final BookService servicio = mock(BookService.class);
+	private AuthorAutocompleteIndex indice;
+
+	@BeforeEach
+	void prepararServicio() {
+		when(servicio.cursorAuthorsById(anyInt())).thenAnswer(TestCursors.respuesta(autores, TestCursors.AUTORES_POR_ID));
+		indice = new AuthorAutocompleteIndex(servicio, 2);
+	}
+
+	@Test
+	void sugierePorPrefijoOrdenadoPorCantidadDeLibros() {
+		assertEquals(List.of(1L, 2L), ids(indice.sugerir("dick", 10)));
+		assertEquals(List.of(1L), ids(indice.sugerir("dick", 1)));
+	}
+
+	@Test
+	void encuentraPorCualquierPalabraYEnOrdenNatural() {
+		assertEquals(List.of(1L, 5L), ids(indice.sugerir("Charles", 10)));
+		assertEquals(List.of(1L), ids(indice.sugerir("charles dick", 10)));
+		assertEquals(List.of(4L), ids(indice.sugerir("saavedra", 10)));
+	}
+
+	@Test
+	void toleraErroresDeEscritura() {
+		// "dikens" está a una edición de "dickens"; "Dickinson" queda más lejos.
+		assertEquals(1L, ids(indice.sugerir("Dikens", 10)).get(0));
+		assertEquals(List.of(4L), ids(indice.sugerir("Cervantez", 10)));
+		// Con prefijos muy cortos no se admiten errores.
+		assertTrue(indice.sugerir("xo", 10).isEmpty());
+	}
+
+	@Test
+	void incorporaLosAutoresDeLosLibrosGuardados() {
+		assertTrue(indice.sugerir("shakespeare", 10).isEmpty());
+
+		AuthorSummary shakespeare = new AuthorSummary(6L, "Shakespeare, William", 1564, 1616, 1);
+		AuthorSummary darwin = new AuthorSummary(5L, "Darwin, Charles", 1809, 1882, 20);
+		when(servicio.getAuthorSummariesForBooks(anyCollection())).thenReturn(List.of(darwin, shakespeare));
+		indice.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(1524L, 2009L)));
+
+		assertEquals(List.of(6L), ids(indice.sugerir("shakes", 10)));
+		// Darwin tiene ahora más libros que Dickens.
+		assertEquals(List.of(5L, 1L), ids(indice.sugerir("charles", 10)));
+		assertEquals(6, indice.tamano());
+	}
+
+	@Test
+	void siUnAutorPierdeLibrosOtroDelSubarbolOcupaSuLugar() {
+		// 80 autores bajo "smith": el nodo guarda sus 10 mejores precalculados.
+		for (long i = 1; i <= 80; i++) {
+			autores.add(new AuthorSummary(100 + i, "Smith, N" + i, 1900, 1950, i));
+		}
+		assertEquals(LongStream.rangeClosed(171, 180).boxed().sorted(Comparator.reverseOrder()).toList(),
+				ids(indice.sugerir("smith", 10)));
+
+		when(servicio.getAuthorSummariesForBooks(anyCollection())).thenReturn(
+				List.of(new AuthorSummary(180L, "Smith, N80", 1900, 1950, 1)));
+		indice.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(9000L), List.of(180L)));
+
+		assertEquals(LongStream.rangeClosed(170, 179).boxed().sorted(Comparator.reverseOrder()).toList(),
+				ids(indice.sugerir("smith", 10)));
+	}
+
+	@Test
+	void vuelveALeerLosAutoresQueQuedanSinLibros() {
+		assertEquals(List.of(1L, 2L), ids(indice.sugerir("dick", 10)));
+
+		// El libro de Dickinson se volvió a guardar con otro autor.
+		when(servicio.getAuthorSummariesForBooks(anyCollection())).thenReturn(
+				List.of(new AuthorSummary(3L, "Doyle, Arthur Conan", 1859, 1930, 9)));
+		when(servicio.getAuthorSummaries(anyCollection())).thenReturn(
+				List.of(new AuthorSummary(2L, "Dickinson, Emily", 1830, 1886, 0)));
+		indice.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(12242L), List.of(2L, 3L)));
+
+		assertEquals(List.of(1L), ids(indice.sugerir("dick", 10)));
+		assertEquals(List.of(3L), ids(indice.sugerir("doyle", 10)));
+		verify(servicio).getAuthorSummaries(Set.of(2L));
+	}
+
+	private static List<Long> ids(List<AuthorSummary> sugerencias) {
+		return sugerencias.stream().map(AuthorSummary::id).toList();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.literalura.literalura.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+import com.literalura.literalura.service.TestCursors;
+
+// Pruebas del índice de años de vida, incluidos los años desconocidos (guardados como 0).
+class AuthorLifespanIndexTests {
+
+	private final List<AuthorSummary> autores = new ArrayList<>(List.of(
+			new AuthorSummary(1L, "Dickens, Charles", 1812, 1870, 12),
+			new AuthorSummary(2L, "Austen, Jane", 1775, 1817, 6),
+			new AuthorSummary(3L, "Cervantes Saavedra, Miguel de", 1547, 1616, 2),
+			new AuthorSummary(4L, "Homer", -750, -650, 3),
+			// Sólo se conoce el nacimiento: posiblemente vivo hasta 1950 + 100.
+			new AuthorSummary(5L, "Autora contemporánea", 1950, 0, 1),
+			// Sólo se conoce el fallecimiento: posiblemente vivo desde 1800 - 100.
+			new AuthorSummary(6L, "Anónimo del siglo XVIII", 0, 1800, 1),
+			new AuthorSummary(7L, "Anonymous", 0, 0, 40)));
+
+	private final BookService servicio = mock(BookService.class);
+	private AuthorLifespanIndex indice;
+
+	@BeforeEach
+	void prepararServicio() {
+		when(servicio.cursorAuthorsById(anyInt())).thenAnswer(TestCursors.respuesta(autores, TestCursors.AUTORES_POR_ID));
+		indice = new AuthorLifespanIndex(servicio, 100);
+	}
+
+	@Test
+	void vivosEnUnAnio() {
+		assertEquals(List.of(6L, 2L), ids(indice.vivosEn(1800)));
+		assertEquals(List.of(2L, 1L), ids(indice.vivosEn(1817)));
+		assertEquals(List.of(3L), ids(indice.vivosEn(1600)));
+		assertEquals(List.of(4L), ids(indice.vivosEn(-700)));
+		assertEquals(List.of(5L), ids(indice.vivosEn(2024)));
+		assertEquals(List.of(), ids(indice.vivosEn(1000)));
+	}
+
+	@Test
+	void vivosDuranteUnRango() {
+		assertEquals(List.of(6L, 2L, 1L), ids(indice.vivosDurante(1700, 1812)));
+		assertEquals(List.of(3L, 6L), ids(indice.vivosDurante(1600, 1750)));
+		assertThrows(IllegalArgumentException.class, () -> indice.vivosDurante(1900, 1800));
+	}
+
+	@Test
+	void nacidosYMuertosEntreSoloConAmbosAnios() {
+		assertEquals(List.of(2L, 1L), ids(indice.nacidosYMuertosEntre(1700, 1900)));
+		assertEquals(List.of(2L), ids(indice.nacidosYMuertosEntre(1775, 1817)));
+		// El autor de fallecimiento 1800 sin nacimiento conocido no se incluye.
+		assertEquals(List.of(), ids(indice.nacidosYMuertosEntre(1690, 1810)));
+		assertEquals(List.of(4L), ids(indice.nacidosYMuertosEntre(-800, 0)));
+	}
+
+	@Test
+	void incorporaLosAutoresDeLosLibrosGuardados() {
+		assertEquals(List.of(3L), ids(indice.vivosEn(1564)));
+
+		AuthorSummary shakespeare = new AuthorSummary(8L, "Shakespeare, William", 1564, 1616, 1);
+		when(servicio.getAuthorSummariesForBooks(anyCollection())).thenReturn(List.of(shakespeare));
+		indice.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(1524L)));
+
+		assertEquals(List.of(3L, 8L), ids(indice.vivosEn(1564)));
+		assertEquals(List.of(3L, 8L), ids(indice.nacidosYMuertosEntre(1500, 1616)));
+		assertEquals(8, indice.tamano());
+	}
+
+	@Test
+	void quitaLosAutoresQueSeQuedanSinLibros() {
+		assertEquals(List.of(6L, 2L), ids(indice.vivosEn(1800)));
+
+		// El único libro de Austen se volvió a guardar con otro autor.
+		when(servicio.getAuthorSummariesForBooks(anyCollection())).thenReturn(
+				List.of(new AuthorSummary(1L, "Dickens, Charles", 1812, 1870, 13)));
+		when(servicio.getAuthorSummaries(anyCollection())).thenReturn(
+				List.of(new AuthorSummary(2L, "Austen, Jane", 1775, 1817, 0)));
+		indice.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(1342L), List.of(1L, 2L)));
+
+		assertEquals(List.of(6L), ids(indice.vivosEn(1800)));
+		assertEquals(List.of(1L), ids(indice.nacidosYMuertosEntre(1700, 1900)));
+		assertEquals(13, indice.vivosEn(1850).get(0).books());
+		assertEquals(6, indice.tamano());
+		verify(servicio).getAuthorSummaries(Set.of(2L));
+	}
+
+	private static List<Long> ids(List<AuthorSummary> autores) {
+		return autores.stream().map(AuthorSummary::id).toList();
+	}
+}
\ No newline at end of file
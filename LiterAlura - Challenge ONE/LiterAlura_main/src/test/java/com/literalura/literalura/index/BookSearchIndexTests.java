@@ -0,0 +1,136 @@
+package com.literalura.literalura.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+import com.literalura.literalura.service.TestCursors;
+
+// Pruebas del índice de búsqueda local con un catálogo pequeño en memoria.
+class BookSearchIndexTests {
+
+	private final List<BookSummary> catalogo = new ArrayList<>(List.of(
+			libro(2000L, "Don Quijote", "Cervantes Saavedra, Miguel de", 9000),
+			libro(730L, "Oliver Twist", "Dickens, Charles", 5000),
+			libro(24022L, "A Christmas Carol", "Dickens, Charles", 8000),
+			libro(46L, "Charles Dickens: A Biography", "Chesterton, G. K.", 100),
+			libro(5200L, "La metamorfosis", "Kafka, Franz", 3000)));
+
+	private final BookService servicio = mock(BookService.class);
+	private BookSearchIndex indice;
+
+	@BeforeEach
+	void prepararServicio() {
+		when(servicio.cursorBooks(anyInt())).thenAnswer(TestCursors.respuesta(catalogo, TestCursors.LIBROS_POR_ID));
+		when(servicio.getBookSummaries(anyCollection())).thenAnswer(invocacion -> {
+			Collection<?> ids = invocacion.getArgument(0);
+			return catalogo.stream().filter(l -> ids.contains(l.id())).toList();
+		});
+		indice = new BookSearchIndex(servicio);
+	}
+
+	@Test
+	void ordenaPorPalabrasEncontradasRelevanciaYDescargas() {
+		List<BookSearchIndex.SearchHit> resultados = indice.buscar("charles dickens", 10);
+
+		// Los tres libros contienen ambas palabras; el título pesa más que el autor
+		// y, a igual relevancia, gana el libro más descargado.
+		assertEquals(List.of(46L, 24022L, 730L), ids(resultados));
+	}
+
+	@Test
+	void ignoraMayusculasYAcentos() {
+		assertEquals(List.of(2000L), ids(indice.buscar("QUIJÓTE", 10)));
+		assertEquals(List.of(5200L), ids(indice.buscar("Metamorfosis kafka", 10)));
+	}
+
+	@Test
+	void respetaElLimite() {
+		assertEquals(1, indice.buscar("dickens", 1).size());
+		assertTrue(indice.buscar("inexistente", 10).isEmpty());
+	}
+
+	@Test
+	void incorporaLosLibrosGuardadosDespuesDeConstruirse() {
+		// Con 45 libros, tres cambios se aplican sobre el índice sin volver a leer el catálogo.
+		agregarRelleno(40);
+		assertTrue(indice.buscar("hamlet", 10).isEmpty());
+
+		catalogo.add(libro(1524L, "Hamlet, Prince of Denmark", "Shakespeare, William", 4000));
+		catalogo.set(1, libro(730L, "Oliver Twist; or, The Parish Boy's Progress", "Dickens, Charles", 5000));
+		catalogo.set(4, libro(5200L, "Die Verwandlung", "Kafka, Franz", 3000));
+		indice.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(1524L, 730L, 5200L)));
+
+		assertEquals(List.of(1524L), ids(indice.buscar("hamlet", 10)));
+		assertEquals(List.of(730L), ids(indice.buscar("parish", 10)));
+		assertEquals(List.of(5200L), ids(indice.buscar("kafka", 10)));
+		assertTrue(indice.buscar("metamorfosis", 10).isEmpty());
+		assertEquals(46, indice.tamano());
+		assertEquals(2, indice.documentosEliminados());
+		verify(servicio, times(1)).cursorBooks(anyInt());
+	}
+
+	@Test
+	void compactaLasListasCuandoSeAcumulanLibrosReemplazados() {
+		agregarRelleno(40);
+		assertEquals(40, indice.buscar("relleno", 100).size());
+
+		reemplazarRelleno("primera");
+		assertEquals(8, indice.documentosEliminados());
+		assertEquals(8, indice.buscar("primera", 100).size());
+
+		// 16 documentos reemplazados de 61 pasan de la cuarta parte: las listas se compactan.
+		reemplazarRelleno("segunda");
+		assertEquals(0, indice.documentosEliminados());
+		assertTrue(indice.buscar("primera", 100).isEmpty());
+		assertEquals(8, indice.buscar("segunda", 100).size());
+		List<Long> relleno = ids(indice.buscar("relleno", 100));
+		assertEquals(40, relleno.size());
+		assertEquals(40, new HashSet<>(relleno).size());
+		assertEquals(45, indice.tamano());
+		verify(servicio, times(1)).cursorBooks(anyInt());
+	}
+
+	private void agregarRelleno(int cantidad) {
+		for (int i = 1; i <= cantidad; i++) {
+			catalogo.add(libro(100000L + i, "Libro de relleno " + i, "Autor de relleno " + i, i));
+		}
+	}
+
+	// Cambia el título de los primeros 8 libros de relleno y avisa al índice.
+	private void reemplazarRelleno(String palabra) {
+		List<Long> cambiados = new ArrayList<>();
+		for (int i = 5; i < 13; i++) {
+			BookSummary anterior = catalogo.get(i);
+			catalogo.set(i, libro(anterior.id(), "Libro de relleno " + palabra, anterior.authors().get(0),
+					anterior.totalDownloads()));
+			cambiados.add(anterior.id());
+		}
+		indice.alActualizarCatalogo(new CatalogUpdatedEvent(cambiados));
+		indice.buscar("relleno", 1);
+	}
+
+	private static List<Long> ids(List<BookSearchIndex.SearchHit> resultados) {
+		return resultados.stream().map(r -> r.libro().id()).toList();
+	}
+
+	private static BookSummary libro(Long id, String titulo, String autor, int descargas) {
+		return new BookSummary(id, titulo, List.of(autor), List.of("en"), descargas);
+	}
+}
\ No newline at end of file
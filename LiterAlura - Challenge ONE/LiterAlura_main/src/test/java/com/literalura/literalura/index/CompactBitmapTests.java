@@ -0,0 +1,143 @@
+package com.literalura.literalura.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Compara el mapa comprimido con java.util.BitSet en varios bloques de 16 bits y alrededor de 4096.
+class CompactBitmapTests {
+
+	// Bloques usados: 0, 1 y 5 (valores de 0 a 65535, de 65536 a 131071 y desde 327680).
+	private static final int[] CLAVES = {0, 1, 5};
+
+	@Test
+	void agregarYQuitarAlAzarCoincideConBitSet() {
+		Random azar = new Random(42);
+		CompactBitmap mapa = new CompactBitmap();
+		BitSet esperado = new BitSet();
+		// Cada fase sube o baja la densidad para que los bloques crucen 4096 y 2048 en ambos sentidos.
+		int[] porcentajeAgregar = {90, 10, 90, 50};
+		int[] mapasEsperados = {3, 0, 3, 3};
+		for (int fase = 0; fase < porcentajeAgregar.length; fase++) {
+			for (int n = 0; n < 60000; n++) {
+				int valor = valorAlAzar(azar, 8192);
+				if (azar.nextInt(100) < porcentajeAgregar[fase]) {
+					assertEquals(!esperado.get(valor), mapa.agregar(valor));
+					esperado.set(valor);
+				} else {
+					assertEquals(esperado.get(valor), mapa.quitar(valor));
+					esperado.clear(valor);
+				}
+			}
+			comprobar(esperado, mapa);
+			assertEquals(mapasEsperados[fase], mapa.bloquesMapa());
+		}
+	}
+
+	@Test
+	void andOrYAndCardinalidadCoincidenConBitSet() {
+		Random azar = new Random(7);
+		// Densidades distintas para mezclar arreglos con arreglos, mapas con arreglos y mapas con mapas.
+		int[][] tamanos = {{100, 200}, {300, 6000}, {7000, 9000}, {5000, 5000}, {0, 4000}};
+		for (int[] tamano : tamanos) {
+			CompactBitmap a = new CompactBitmap();
+			CompactBitmap b = new CompactBitmap();
+			BitSet esperadoA = llenar(azar, a, tamano[0]);
+			BitSet esperadoB = llenar(azar, b, tamano[1]);
+
+			BitSet interseccion = (BitSet) esperadoA.clone();
+			interseccion.and(esperadoB);
+			BitSet union = (BitSet) esperadoA.clone();
+			union.or(esperadoB);
+
+			comprobar(interseccion, CompactBitmap.and(a, b));
+			comprobar(union, CompactBitmap.or(a, b));
+			assertEquals(interseccion.cardinality(), CompactBitmap.andCardinalidad(a, b));
+			// Las operaciones no modifican los operandos.
+			comprobar(esperadoA, a);
+			comprobar(esperadoB, b);
+		}
+	}
+
+	@Test
+	void unBloqueQueOscilaAlrededorDe4096NoCambiaDeFormaEnCadaOperacion() {
+		CompactBitmap mapa = new CompactBitmap();
+		BitSet esperado = new BitSet();
+		for (int v = 0; v <= 4096; v++) {
+			mapa.agregar(v);
+			esperado.set(v);
+		}
+		assertEquals(1, mapa.bloquesMapa());
+
+		for (int vuelta = 0; vuelta < 100; vuelta++) {
+			assertTrue(mapa.quitar(4096));
+			assertTrue(mapa.quitar(4095));
+			assertEquals(1, mapa.bloquesMapa());
+			assertTrue(mapa.agregar(4095));
+			assertTrue(mapa.agregar(4096));
+			assertEquals(1, mapa.bloquesMapa());
+		}
+		comprobar(esperado, mapa);
+
+		// Al bajar de 2048 vuelve a ser arreglo, y sólo pasando de 4096 otra vez vuelve a ser mapa.
+		for (int v = 4096; v >= 2048; v--) {
+			mapa.quitar(v);
+			esperado.clear(v);
+		}
+		assertEquals(0, mapa.bloquesMapa());
+		comprobar(esperado, mapa);
+		for (int v = 2048; v <= 4096; v++) {
+			mapa.agregar(v);
+			esperado.set(v);
+		}
+		assertEquals(1, mapa.bloquesMapa());
+		comprobar(esperado, mapa);
+	}
+
+	@Test
+	void quitarElUltimoValorDeUnBloqueNoAfectaALosDemas() {
+		CompactBitmap mapa = new CompactBitmap();
+		mapa.agregar(5);
+		mapa.agregar(65536 + 5);
+		mapa.agregar(5 * 65536 + 5);
+
+		assertTrue(mapa.quitar(65536 + 5));
+		assertFalse(mapa.quitar(65536 + 5));
+		assertFalse(mapa.contiene(65536 + 5));
+		assertArrayEquals(new int[]{5, 5 * 65536 + 5}, mapa.aArreglo());
+		assertFalse(mapa.quitar(-1));
+		assertFalse(mapa.contiene(-1));
+	}
+
+	private static int valorAlAzar(Random azar, int rango) {
+		return (CLAVES[azar.nextInt(CLAVES.length)] << 16) | azar.nextInt(rango);
+	}
+
+	private static BitSet llenar(Random azar, CompactBitmap mapa, int cantidad) {
+		BitSet esperado = new BitSet();
+		for (int n = 0; n < cantidad; n++) {
+			int valor = valorAlAzar(azar, 16384);
+			mapa.agregar(valor);
+			esperado.set(valor);
+		}
+		return esperado;
+	}
+
+	private static void comprobar(BitSet esperado, CompactBitmap mapa) {
+		assertEquals(esperado.cardinality(), mapa.cardinalidad());
+		assertEquals(esperado.isEmpty(), mapa.vacio());
+		assertArrayEquals(esperado.stream().toArray(), mapa.aArreglo());
+		for (int clave : CLAVES) {
+			for (int bajo = 0; bajo < 16384; bajo++) {
+				int valor = (clave << 16) | bajo;
+				assertEquals(esperado.get(valor), mapa.contiene(valor));
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.literalura.literalura.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogReloadedEvent;
+import com.literalura.literalura.service.CatalogUpdatedEvent;
+import com.literalura.literalura.service.TestCursors;
+
+// Pruebas del índice de idiomas con un catálogo pequeño en memoria.
+class LanguageIndexTests {
+
+	private final List<BookSummary> catalogo = new ArrayList<>(List.of(
+			libro(2000L, "es"),
+			libro(730L, "en"),
+			libro(24022L, "en"),
+			libro(17L, "en", "fr"),
+			libro(70000L, "fr", "en", "de"),
+			libro(5200L, "de")));
+
+	private final BookService servicio = mock(BookService.class);
+	private LanguageIndex indice;
+
+	@BeforeEach
+	void prepararServicio() {
+		when(servicio.cursorBooks(anyInt())).thenAnswer(TestCursors.respuesta(catalogo, TestCursors.LIBROS_POR_ID));
+		when(servicio.getBookSummaries(anyCollection())).thenAnswer(invocacion -> {
+			Collection<?> ids = invocacion.getArgument(0);
+			return catalogo.stream().filter(l -> ids.contains(l.id())).toList();
+		});
+		indice = new LanguageIndex(servicio);
+	}
+
+	@Test
+	void ofreceLosIdiomasPresentesConSuCantidadDeLibros() {
+		assertEquals(List.of(conteo("en", 4), conteo("de", 2), conteo("fr", 2), conteo("es", 1)), indice.idiomas());
+	}
+
+	@Test
+	void filtraPorVariosIdiomas() {
+		assertEquals(List.of(17L, 730L, 24022L, 70000L), indice.filtrar(List.of("EN"), false));
+		assertEquals(List.of(17L, 70000L), indice.filtrar(List.of("en", "fr"), true));
+		assertEquals(List.of(17L, 2000L, 70000L), indice.filtrar(List.of("es", "fr"), false));
+		assertEquals(List.of(), indice.filtrar(List.of("en", "xx"), true));
+		assertEquals(2, indice.contar(List.of("en", "fr"), true));
+	}
+
+	@Test
+	void cuentaFacetasDeUnaSeleccion() {
+		assertEquals(List.of(conteo("en", 2), conteo("fr", 2), conteo("de", 1)),
+				indice.facetas(List.of("fr"), false));
+	}
+
+	@Test
+	void incorporaLosLibrosGuardadosDespuesDeConstruirse() {
+		assertEquals(List.of(2000L), indice.filtrar(List.of("es"), false));
+
+		catalogo.add(libro(1524L, "es", "en"));
+		catalogo.set(0, libro(2000L, "pt"));
+		indice.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(1524L, 2000L)));
+
+		assertEquals(List.of(1524L), indice.filtrar(List.of("es"), false));
+		assertEquals(List.of(2000L), indice.filtrar(List.of("pt"), false));
+		assertEquals(5, indice.contar(List.of("en"), false));
+	}
+
+	@Test
+	void seReconstruyeCuandoOtroProcesoCambiaElCatalogo() {
+		assertEquals(List.of(5200L, 70000L), indice.filtrar(List.of("de"), false));
+
+		// Cambios escritos por otro proceso: no llega ningún CatalogUpdatedEvent con sus IDs.
+		catalogo.remove(5);
+		catalogo.add(libro(2229L, "de"));
+		indice.alRecargarCatalogo(new CatalogReloadedEvent());
+
+		assertEquals(List.of(2229L, 70000L), indice.filtrar(List.of("de"), false));
+		assertEquals(List.of(conteo("en", 4), conteo("de", 2), conteo("fr", 2), conteo("es", 1)), indice.idiomas());
+	}
+
+	private static LanguageIndex.LanguageCount conteo(String idioma, int libros) {
+		return new LanguageIndex.LanguageCount(idioma, libros);
+	}
+
+	private static BookSummary libro(Long id, String... idiomas) {
+		return new BookSummary(id, "Libro " + id, List.of("Autor"), List.of(idiomas), 0);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.literalura.literalura.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.dto.DownloadStatistics;
+
+// Pruebas de los formatos de salida de RecordWriter.
+class RecordWriterTests {
+
+	private final List<BookSummary> libros = List.of(
+			new BookSummary(11L, "Alice's Adventures in Wonderland", List.of("Carroll, Lewis"), List.of("en"), 100),
+			new BookSummary(2000L, "Don \"El Quijote\"", List.of("Cervantes Saavedra, Miguel de"), List.of("es", "en"), 80));
+
+	@Test
+	void laTablaSoloMuestraLasColumnasPedidasYAlineaLosNumeros() throws IOException {
+		StringWriter salida = new StringWriter();
+
+		try (RecordWriter tabla = new RecordWriter(salida, RecordWriter.Formato.TABLA, List.of("title", "totalDownloads"))) {
+			tabla.escribirTodos(libros);
+		}
+
+		assertEquals("""
+				title                            | totalDownloads
+				---------------------------------+---------------
+				Alice's Adventures in Wonderland |            100
+				Don "El Quijote"                 |             80
+				""", salida.toString());
+	}
+
+	@Test
+	void cadaTipoDeRegistroEmpiezaUnaCabeceraNuevaEnCsv() throws IOException {
+		StringWriter salida = new StringWriter();
+
+		try (RecordWriter csv = new RecordWriter(salida, RecordWriter.Formato.CSV)) {
+			csv.escribirTodos(libros);
+			csv.escribir(new DownloadStatistics("Total", 2L, 90.0, 80, 100));
+		}
+
+		assertEquals("""
+				id,title,authors,languages,totalDownloads
+				11,Alice's Adventures in Wonderland,"Carroll, Lewis",en,100
+				2000,"Don ""El Quijote""\","Cervantes Saavedra, Miguel de",es;en,80
+				grupo,cantidad,media,minimo,maximo
+				Total,2,90.0,80,100
+				""", salida.toString());
+	}
+
+	@Test
+	void rechazaUnaColumnaQueNoExiste() {
+		RecordWriter tabla = new RecordWriter(new StringWriter(), RecordWriter.Formato.TABLA, List.of("titulo"));
+
+		assertThrows(IllegalArgumentException.class, () -> tabla.escribir(libros.get(0)));
+	}
+}
\ No newline at end of file
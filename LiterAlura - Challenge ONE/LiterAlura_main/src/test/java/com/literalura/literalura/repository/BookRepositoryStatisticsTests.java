@@ -0,0 +1,99 @@
+package com.literalura.literalura.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.literalura.literalura.dto.DownloadStatistics;
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+
+/*
+ * Pruebas de las consultas agregadas de estadísticas de descargas sobre una base H2 en memoria,
+ * con un catálogo pequeño cuyas cantidades, medias, mínimos y máximos se conocen de antemano.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class BookRepositoryStatisticsTests {
+
+	@Autowired
+	private BookRepository repositorio;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@BeforeEach
+	void cargarCatalogo() {
+		Author austen = em.persist(new Author("Austen, Jane", 1775, 1817));
+		Author dickens = em.persist(new Author("Dickens, Charles", 1812, 1870));
+		Author verne = em.persist(new Author("Verne, Jules", 1828, 1905));
+
+		em.persist(libro(1342L, "Pride and Prejudice", 1000, List.of("en"), austen));
+		em.persist(libro(161L, "Sense and Sensibility", 300, List.of("en", "fr"), austen));
+		em.persist(libro(98L, "A Tale of Two Cities", 700, List.of("en"), dickens));
+		em.persist(libro(46L, "A Christmas Carol", 200, List.of("en"), dickens));
+		em.persist(libro(730L, "Oliver Twist", 600, List.of("fr"), dickens));
+		em.persist(libro(103L, "Le tour du monde en quatre-vingts jours", 100, List.of("fr"), verne));
+		em.persist(libro(999L, "Obra conjunta", 50, List.of("es"), austen, dickens));
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void estadisticasDeTodoElCatalogo() {
+		// 1000 + 300 + 700 + 200 + 600 + 100 + 50 = 2950 descargas en 7 libros.
+		comprobar(new DownloadStatistics("Total", 7L, 2950 / 7.0, 50, 1000), repositorio.estadisticasDescargas());
+	}
+
+	@Test
+	void estadisticasPorIdiomaOrdenadasPorCantidadDeLibros() {
+		List<DownloadStatistics> filas = repositorio.estadisticasPorIdioma();
+
+		assertEquals(3, filas.size());
+		// Un libro en dos idiomas cuenta en los dos.
+		comprobar(new DownloadStatistics("en", 4L, 550.0, 200, 1000), filas.get(0));
+		comprobar(new DownloadStatistics("fr", 3L, 1000 / 3.0, 100, 600), filas.get(1));
+		comprobar(new DownloadStatistics("es", 1L, 50.0, 50, 50), filas.get(2));
+	}
+
+	@Test
+	void estadisticasPorAutorOrdenadasPorTotalDeDescargas() {
+		List<DownloadStatistics> filas = repositorio.estadisticasPorAutor(PageRequest.of(0, 10));
+
+		assertEquals(3, filas.size());
+		// El libro escrito por los dos cuenta para ambos: Dickens suma 1550 descargas y Austen 1350.
+		comprobar(new DownloadStatistics("Dickens, Charles", 4L, 387.5, 50, 700), filas.get(0));
+		comprobar(new DownloadStatistics("Austen, Jane", 3L, 450.0, 50, 1000), filas.get(1));
+		comprobar(new DownloadStatistics("Verne, Jules", 1L, 100.0, 100, 100), filas.get(2));
+
+		assertEquals(List.of("Dickens, Charles", "Austen, Jane"),
+				repositorio.estadisticasPorAutor(PageRequest.of(0, 2)).stream().map(DownloadStatistics::grupo).toList());
+	}
+
+	private static void comprobar(DownloadStatistics esperadas, DownloadStatistics obtenidas) {
+		assertEquals(esperadas.grupo(), obtenidas.grupo());
+		assertEquals(esperadas.cantidad(), obtenidas.cantidad());
+		assertEquals(esperadas.media(), obtenidas.media(), 1e-9);
+		assertEquals(esperadas.minimo(), obtenidas.minimo());
+		assertEquals(esperadas.maximo(), obtenidas.maximo());
+	}
+
+	private static Book libro(Long id, String titulo, int descargas, List<String> idiomas, Author... autores) {
+		Book libro = new Book(id, titulo, new ArrayList<>(idiomas), descargas);
+		for (Author autor : autores) {
+			libro.addAuthor(autor);
+		}
+		return libro;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.repository.BookBulkRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Pruebas de la resolución de autores por lotes sobre una base H2 en memoria.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({AuthorResolver.class, BookBulkRepository.class})
+class AuthorResolverTests {
+
+	@Autowired
+	private AuthorResolver resolver;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	private Statistics estadisticas;
+	private Long idDickens;
+	private Long idDickensHijo;
+
+	@BeforeEach
+	void cargarAutores() {
+		idDickens = em.persistAndGetId(new Author("Dickens, Charles", 1812, 1870), Long.class);
+		idDickensHijo = em.persistAndGetId(new Author("Dickens, Charles Jr.", 1837, 1896), Long.class);
+		em.flush();
+		em.clear();
+
+		estadisticas = emf.unwrap(SessionFactory.class).getStatistics();
+		estadisticas.clear();
+	}
+
+	@Test
+	void resuelveElLoteConUnaConsultaYUnLoteDeInserciones() {
+		Map<AuthorResolver.Clave, Author> resueltos = resolver.resolver(List.of(
+				new Author("Dickens, Charles", 1812, 1870),
+				new Author("Dickens, Charles", 1812, 1870),
+				new Author("Twain, Mark", 1835, 1910)));
+		em.flush();
+
+		assertEquals(2, resueltos.size());
+		assertEquals(idDickens, resueltos.get(new AuthorResolver.Clave("Dickens, Charles", 1812, 1870)).getId());
+		assertNotNull(resueltos.get(new AuthorResolver.Clave("Twain, Mark", 1835, 1910)).getId());
+		// Una consulta para buscar el lote y otra para leer el ID del autor nuevo.
+		// La inserción se hace por JDBC y no aparece en las estadísticas de Hibernate.
+		assertEquals(2, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void comparaElNombreExactoYLosAnios() {
+		Map<AuthorResolver.Clave, Author> resueltos = resolver.resolver(List.of(
+				new Author("Dickens, Charles", 1812, 1871),
+				new Author("Dickens, Charles Jr.", 1837, 1896)));
+		em.flush();
+
+		assertEquals(idDickensHijo, resueltos.get(new AuthorResolver.Clave("Dickens, Charles Jr.", 1837, 1896)).getId());
+		// Mismo nombre con otro año de fallecimiento: es otro autor.
+		assertNotEquals(idDickens, resueltos.get(new AuthorResolver.Clave("Dickens, Charles", 1812, 1871)).getId());
+	}
+
+	@Test
+	void noRecuerdaLosAutoresHastaQueSeConfirmaLaTransaccion() {
+		List<Author> lote = List.of(new Author("Twain, Mark", 1835, 1910));
+		resolver.resolver(lote);
+		em.flush();
+		estadisticas.clear();
+
+		// La transacción de la prueba no se confirma: el autor se vuelve a buscar en la base de datos.
+		resolver.resolver(lote);
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.render.RecordWriter;
+import com.literalura.literalura.repository.BookBulkRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Pruebas de los listados de BookService sobre una base H2 en memoria.
+ * Cuentan las sentencias SQL de cada operación para que no vuelvan a crecer con el número de filas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({BookService.class, AuthorResolver.class, BookBulkRepository.class, TopBooksCache.class, SecondLevelCache.class})
+class BookServiceQueryCountTests {
+
+	@Autowired
+	private BookService servicio;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	private Statistics estadisticas;
+
+	@BeforeEach
+	void cargarCatalogo() {
+		Author dickens = new Author("Dickens, Charles", 1812, 1870);
+		Author twain = new Author("Twain, Mark", 1835, 1910);
+		Author austen = new Author("Austen, Jane", 1775, 1817);
+		em.persist(libro(730L, "Oliver Twist", 500, "en", dickens));
+		em.persist(libro(24022L, "A Christmas Carol", 900, "en", dickens));
+		em.persist(libro(32325L, "Adventures of Huckleberry Finn", 700, "en", twain));
+		em.persist(libro(42671L, "Pride and Prejudice", 1200, "en", austen));
+		em.persist(libro(60000L, "Orgullo y prejuicio", 300, "es", austen));
+		em.flush();
+		em.clear();
+
+		estadisticas = emf.unwrap(SessionFactory.class).getStatistics();
+		estadisticas.clear();
+	}
+
+	@Test
+	void cursorAuthorsDevuelveCadaAutorUnaVezConSusLibrosEnUnaConsulta() {
+		List<AuthorSummary> autores = servicio.cursorAuthors(100).stream().toList();
+
+		assertEquals(List.of("Austen, Jane", "Dickens, Charles", "Twain, Mark"),
+				autores.stream().map(AuthorSummary::name).toList());
+		assertEquals(List.of(2L, 2L, 1L), autores.stream().map(AuthorSummary::books).toList());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void cursorAuthorsOrdenaPorNombreYDesempataPorIdEntrePaginas() {
+		em.persist(libro(821L, "Dombey and Son", 100, "en", new Author("Dickens, Charles", 1837, 1896)));
+		em.persist(libro(1260L, "Jane Eyre", 100, "en", new Author("Brontë, Charlotte", 1816, 1855)));
+		em.flush();
+		em.clear();
+
+		// Una página por autor: cada página sigue a la anterior por (nombre, ID).
+		List<AuthorSummary> autores = servicio.cursorAuthors(1).stream().toList();
+
+		assertEquals(List.of("Austen, Jane", "Brontë, Charlotte", "Dickens, Charles", "Dickens, Charles", "Twain, Mark"),
+				autores.stream().map(AuthorSummary::name).toList());
+		assertEquals(List.of(1812, 1837), autores.subList(2, 4).stream().map(AuthorSummary::yearBirth).toList());
+		assertTrue(autores.get(2).id() < autores.get(3).id());
+	}
+
+	@Test
+	void cursorAuthorsByIdRecorreLosAutoresConLibrosPorId() {
+		// Un autor que se quedó sin libros no aparece en ningún listado.
+		em.persist(new Author("Anónimo", 0, 0));
+		em.flush();
+		em.clear();
+
+		List<AuthorSummary> autores = servicio.cursorAuthorsById(2).stream().toList();
+
+		assertEquals(List.of("Austen, Jane", "Dickens, Charles", "Twain, Mark"),
+				autores.stream().map(AuthorSummary::name).sorted().toList());
+		assertEquals(autores.stream().map(AuthorSummary::id).sorted().toList(),
+				autores.stream().map(AuthorSummary::id).toList());
+		assertEquals(5, autores.stream().mapToLong(AuthorSummary::books).sum());
+		assertEquals(0, servicio.cursorAuthors(100).stream().filter(a -> a.books() == 0).count());
+	}
+
+	@Test
+	void listAuthorsCuentaLosAutoresListados() throws IOException {
+		assertEquals(3, servicio.listAuthors(descartar()));
+	}
+
+	@Test
+	void cursorBooksRecorreTodasLasPaginasEnOrden() {
+		KeysetCursor<BookSummary> cursor = servicio.cursorBooks(2);
+		List<Integer> tamanos = new ArrayList<>();
+		List<String> titulos = new ArrayList<>();
+		while (cursor.hasNext()) {
+			List<BookSummary> pagina = cursor.next();
+			tamanos.add(pagina.size());
+			pagina.forEach(libro -> titulos.add(libro.title()));
+		}
+
+		assertEquals(List.of(2, 2, 1), tamanos);
+		assertEquals(List.of("Oliver Twist", "A Christmas Carol", "Adventures of Huckleberry Finn",
+				"Pride and Prejudice", "Orgullo y prejuicio"), titulos);
+		assertEquals(List.of("Dickens, Charles"), servicio.cursorBooks(1).next().get(0).authors());
+	}
+
+	@Test
+	void cursorBooksNoHaceUnaConsultaPorLibro() {
+		servicio.cursorBooks(2).stream().forEach(libro -> { });
+
+		// Por página: los libros, sus autores en un lote y sus idiomas en otro.
+		// La última página está incompleta, así que no hace falta una consulta extra para detectar el final.
+		assertTrue(estadisticas.getPrepareStatementCount() <= 3 * 3,
+				"Sentencias ejecutadas: " + estadisticas.getPrepareStatementCount());
+	}
+
+	private static RecordWriter descartar() {
+		return new RecordWriter(Writer.nullWriter(), RecordWriter.Formato.JSONL);
+	}
+
+	private static Book libro(Long id, String titulo, int descargas, String idioma, Author autor) {
+		Book libro = new Book(id, titulo, new ArrayList<>(List.of(idioma)), descargas);
+		libro.addAuthor(autor);
+		return libro;
+	}
+}
\ No newline at end of file
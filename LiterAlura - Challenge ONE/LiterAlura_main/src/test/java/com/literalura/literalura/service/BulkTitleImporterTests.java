@@ -0,0 +1,119 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.DataBook;
+
+// Pruebas de la importación masiva de títulos: búsquedas simultáneas, lotes y resultado de cada título.
+class BulkTitleImporterTests {
+
+	private final ConexionAPI conexion = mock(ConexionAPI.class);
+	private final BookService servicio = mock(BookService.class);
+	private final ScheduledExecutorService red = Executors.newScheduledThreadPool(4);
+	private final List<String> hilosConversion = new CopyOnWriteArrayList<>();
+	private final ConvierteDatos convertidor = new ConvierteDatos() {
+		@Override
+		public <T> T convertidora(String json, Class<T> clase) {
+			hilosConversion.add(Thread.currentThread().getName());
+			return super.convertidora(json, clase);
+		}
+	};
+
+	@AfterEach
+	void detenerRed() {
+		red.shutdownNow();
+	}
+
+	@Test
+	void respetaElLimiteDeBusquedasSimultaneasYGuardaEnLotes() {
+		AtomicInteger enVuelo = new AtomicInteger();
+		AtomicInteger maximo = new AtomicInteger();
+		when(conexion.obtenerDatosAsync(anyString())).thenAnswer(invocacion -> {
+			String titulo = invocacion.getArgument(0);
+			maximo.accumulateAndGet(enVuelo.incrementAndGet(), Math::max);
+			CompletableFuture<String> respuesta = new CompletableFuture<>();
+			red.schedule(() -> {
+				enVuelo.decrementAndGet();
+				respuesta.complete(encontrado(Long.parseLong(titulo.substring("Libro ".length()))));
+			}, 20, TimeUnit.MILLISECONDS);
+			return respuesta;
+		});
+		List<Integer> lotes = new CopyOnWriteArrayList<>();
+		when(servicio.saveBooksReturningNewIds(anyList())).thenAnswer(invocacion -> {
+			List<DataBook> libros = invocacion.getArgument(0);
+			lotes.add(libros.size());
+			return Set.copyOf(libros.stream().map(DataBook::id).toList());
+		});
+
+		BulkTitleImporter.ImportReport informe = new BulkTitleImporter(conexion, convertidor, servicio, 3, 3)
+				.importar(List.of("Libro 1", "Libro 2", "Libro 3", "Libro 4", "Libro 5", "Libro 6", "Libro 7"));
+
+		assertEquals(3, maximo.get());
+		assertEquals(List.of(3, 3, 1), lotes);
+		assertEquals(7, informe.librosNuevos());
+		assertEquals(7, informe.exitosos());
+		// Las respuestas se convierten en los hilos del importador, no en los que completan las peticiones.
+		assertEquals(7, hilosConversion.size());
+		assertTrue(hilosConversion.stream().allMatch(hilo -> hilo.startsWith("importacion-titulos-")), hilosConversion::toString);
+	}
+
+	@Test
+	void cadaTituloInformaSiSuLibroEraNuevoYaEstabaNoSeEncontroOFallo() {
+		when(conexion.obtenerDatosAsync("nuevo")).thenReturn(CompletableFuture.completedFuture(encontrado(84)));
+		when(conexion.obtenerDatosAsync("existente")).thenReturn(CompletableFuture.completedFuture(encontrado(1342)));
+		when(conexion.obtenerDatosAsync("nada")).thenReturn(CompletableFuture.completedFuture("{\"count\":0,\"results\":[]}"));
+		when(conexion.obtenerDatosAsync("falla")).thenReturn(CompletableFuture.failedFuture(new ConexionApiException("Sin conexión")));
+		when(servicio.saveBooksReturningNewIds(anyList())).thenReturn(Set.of(84L));
+
+		BulkTitleImporter.ImportReport informe = new BulkTitleImporter(conexion, convertidor, servicio, 2, 10)
+				.importar(List.of("nuevo", "existente", "nada", "falla"));
+
+		assertEquals(Map.of("nuevo", BulkTitleImporter.Estado.GUARDADO,
+				"existente", BulkTitleImporter.Estado.ACTUALIZADO,
+				"nada", BulkTitleImporter.Estado.NO_ENCONTRADO,
+				"falla", BulkTitleImporter.Estado.ERROR), estados(informe));
+		assertEquals(2, informe.exitosos());
+		assertEquals(1, informe.librosNuevos());
+	}
+
+	@Test
+	void siFallaElGuardadoTodoElLoteQuedaConError() {
+		when(conexion.obtenerDatosAsync(anyString())).thenReturn(CompletableFuture.completedFuture(encontrado(84)));
+		when(servicio.saveBooksReturningNewIds(anyList())).thenThrow(new IllegalStateException("Base de datos caída"));
+
+		BulkTitleImporter.ImportReport informe = new BulkTitleImporter(conexion, convertidor, servicio, 2, 2)
+				.importar(List.of("uno", "dos"));
+
+		assertEquals(Map.of("uno", BulkTitleImporter.Estado.ERROR, "dos", BulkTitleImporter.Estado.ERROR), estados(informe));
+		assertEquals(0, informe.librosNuevos());
+	}
+
+	private static Map<String, BulkTitleImporter.Estado> estados(BulkTitleImporter.ImportReport informe) {
+		return informe.resultados().stream().collect(Collectors.toMap(
+				BulkTitleImporter.TitleResult::titulo, BulkTitleImporter.TitleResult::estado));
+	}
+
+	private static String encontrado(long id) {
+		return "{\"count\":1,\"results\":[{\"id\":" + id + ",\"title\":\"Libro " + id
+				+ "\",\"languages\":[\"en\"],\"download_count\":10,\"authors\":[]}]}";
+	}
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.literalura.literalura.repository.CatalogColumnsRepository;
+import com.literalura.literalura.repository.CatalogColumnsRepository.Firma;
+
+// Pruebas de la detección de cambios hechos por otro proceso a partir de la firma del catálogo.
+class CatalogChangeWatcherTests {
+
+	private final CatalogColumnsRepository repositorio = mock(CatalogColumnsRepository.class);
+	private final ApplicationEventPublisher eventos = mock(ApplicationEventPublisher.class);
+	private final CatalogChangeWatcher vigilante = new CatalogChangeWatcher(repositorio, eventos);
+
+	@Test
+	void publicaUnaRecargaCuandoCambiaLaFirma() {
+		when(repositorio.firma()).thenReturn(new Firma(2, 747, 10), new Firma(2, 747, 10), new Firma(3, 2247, 15));
+
+		// La primera revisión sólo guarda la firma.
+		assertFalse(vigilante.revisar());
+		assertFalse(vigilante.revisar());
+		assertTrue(vigilante.revisar());
+
+		verify(eventos, times(1)).publishEvent(any(CatalogReloadedEvent.class));
+	}
+
+	@Test
+	void lasEscriturasPropiasNoProvocanUnaRecarga() {
+		when(repositorio.firma()).thenReturn(new Firma(2, 747, 10), new Firma(3, 2247, 15), new Firma(3, 2247, 15));
+
+		assertFalse(vigilante.revisar());
+		vigilante.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(1500L)));
+		assertFalse(vigilante.revisar());
+		assertFalse(vigilante.revisar());
+
+		verify(eventos, never()).publishEvent(any(CatalogReloadedEvent.class));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.literalura.literalura.dto.DataBook;
+import com.sun.net.httpserver.HttpServer;
+
+/*
+ * Pruebas del rastreo del catálogo contra un servidor HTTP local que sirve
+ * páginas de Gutendex grabadas en src/test/resources/gutendex.
+ */
+class CatalogCrawlerTests {
+
+	@TempDir
+	Path directorio;
+
+	private HttpServer servidor;
+	private String base;
+	private final List<String> solicitudes = new CopyOnWriteArrayList<>();
+	private final BookService servicio = mock(BookService.class);
+	// Si es true, la primera respuesta de la página 1 se corta después del primer libro.
+	private volatile boolean cortarPrimeraRespuesta;
+
+	@BeforeEach
+	void iniciarServidor() throws IOException {
+		servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+		servidor.createContext("/books/", intercambio -> {
+			String consulta = intercambio.getRequestURI().getQuery();
+			solicitudes.add(consulta == null ? "" : consulta);
+			String recurso = "page=2".equals(consulta) ? "pagina2.json" : "pagina1.json";
+			String json = leerRecurso(recurso).replace("{{base}}", base);
+			boolean cortar = cortarPrimeraRespuesta && "pagina1.json".equals(recurso);
+			if (cortar) {
+				cortarPrimeraRespuesta = false;
+				json = json.substring(0, json.indexOf("{\"id\":1342") + 10);
+			}
+			byte[] cuerpo = json.getBytes(StandardCharsets.UTF_8);
+			intercambio.getResponseHeaders().add("Content-Type", "application/json");
+			// La respuesta cortada se envía sin longitud, así que termina de forma normal a mitad del JSON.
+			intercambio.sendResponseHeaders(200, cortar ? 0 : cuerpo.length);
+			try (OutputStream salida = intercambio.getResponseBody()) {
+				salida.write(cuerpo);
+			}
+		});
+		servidor.start();
+
+		when(servicio.saveBooks(anyList())).thenAnswer(invocacion -> ((List<?>) invocacion.getArgument(0)).size());
+	}
+
+	@AfterEach
+	void detenerServidor() {
+		servidor.stop(0);
+	}
+
+	@Test
+	void recorreTodasLasPaginasYEliminaElPuntoDeControl() {
+		Path checkpoint = directorio.resolve("datos/checkpoint.properties");
+		CatalogCrawler.CrawlResult resultado = crawler(checkpoint, 0).crawl();
+
+		assertTrue(resultado.completo());
+		assertEquals(2, resultado.paginas());
+		assertEquals(3, resultado.librosLeidos());
+		assertEquals(3, resultado.librosGuardados());
+		assertEquals(List.of("", "page=2"), solicitudes);
+		assertFalse(Files.exists(checkpoint));
+	}
+
+	@Test
+	void reanudaDesdeElUltimoPuntoDeControl() {
+		Path checkpoint = directorio.resolve("checkpoint.properties");
+
+		CatalogCrawler.CrawlResult parcial = crawler(checkpoint, 1).crawl();
+		assertFalse(parcial.completo());
+		assertEquals(2, parcial.librosGuardados());
+		assertEquals(base + "/books/?page=2", CrawlerCheckpoint.cargar(checkpoint).siguienteUrl());
+
+		solicitudes.clear();
+		CatalogCrawler.CrawlResult reanudado = crawler(checkpoint, 0).crawl();
+		assertTrue(reanudado.completo());
+		assertEquals(List.of("page=2"), solicitudes);
+		assertEquals(2, reanudado.paginas());
+		assertEquals(3, reanudado.librosGuardados());
+		assertEquals(1, reanudado.librosSesion());
+	}
+
+	@Test
+	void unaPaginaCortadaNoDuplicaLibrosAlReintentar() {
+		cortarPrimeraRespuesta = true;
+		List<Long> guardados = new CopyOnWriteArrayList<>();
+		when(servicio.saveBooks(anyList())).thenAnswer(invocacion -> {
+			List<DataBook> lote = invocacion.getArgument(0);
+			lote.forEach(libro -> guardados.add(libro.id()));
+			return lote.size();
+		});
+
+		CatalogCrawler.CrawlResult resultado = crawler(directorio.resolve("checkpoint.properties"), 0, 2).crawl();
+
+		// El primer intento alcanzó a añadir Frankenstein al lote antes de cortarse.
+		assertEquals(List.of("", "", "page=2"), solicitudes);
+		assertEquals(List.of(84L, 1342L, 2000L), guardados);
+		assertEquals(3, resultado.librosLeidos());
+	}
+
+	private CatalogCrawler crawler(Path checkpoint, int maxPaginas) {
+		return crawler(checkpoint, maxPaginas, 1);
+	}
+
+	private CatalogCrawler crawler(Path checkpoint, int maxPaginas, int reintentos) {
+		return new CatalogCrawler(new ConexionAPI(), new ConvierteDatos(), servicio,
+				base + "/books/", checkpoint.toString(), 2, reintentos, maxPaginas);
+	}
+
+	private static String leerRecurso(String nombre) throws IOException {
+		try (InputStream entrada = CatalogCrawlerTests.class.getResourceAsStream("/gutendex/" + nombre)) {
+			return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+
+// Pruebas del importador del catálogo CSV de Project Gutenberg.
+class CatalogCsvImporterTests {
+
+	private static final String CABECERA = "Text#,Type,Issued,Title,Language,Authors,Subjects,LoCC,Bookshelves";
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void unCampoEntreComillasPuedeOcuparVariasLineasYTenerComillasEscapadas() throws IOException {
+		BufferedReader reader = new BufferedReader(new StringReader(
+				"11,Text,2008-06-27,\"Alice's Adventures\nin \"\"Wonderland\"\"\nIllustrated\",en,\"Carroll, Lewis, 1832-1898\",,,\n"
+						+ "12,Text,2008-06-25,Through the Looking-Glass,en,\"Carroll, Lewis, 1832-1898\",,,\n"));
+
+		String registro = CatalogCsvImporter.leerRegistro(reader);
+		List<String> campos = CatalogCsvImporter.separarCampos(registro);
+
+		assertEquals("Alice's Adventures\nin \"Wonderland\"\nIllustrated", campos.get(3));
+		assertEquals("Carroll, Lewis, 1832-1898", campos.get(5));
+		assertEquals("12", CatalogCsvImporter.separarCampos(CatalogCsvImporter.leerRegistro(reader)).get(0));
+		assertNull(CatalogCsvImporter.leerRegistro(reader));
+
+		Book libro = CatalogCsvImporter.aLibro(campos, columnas());
+		assertEquals("Alice's Adventures in \"Wonderland\" Illustrated", libro.getTitle());
+	}
+
+	@Test
+	void lasComillasEscapadasFueraDeUnCampoMultilineaSeConservan() {
+		assertEquals(List.of("1", "Un \"gran\" libro", "", "en"),
+				CatalogCsvImporter.separarCampos("1,\"Un \"\"gran\"\" libro\",,en"));
+	}
+
+	@Test
+	void losAniosAntesDeNuestraEraSeGuardanComoNegativos() {
+		autor(CatalogCsvImporter.aAutor("Aristotle, 384 BCE-322 BCE"), "Aristotle", -384, -322);
+		autor(CatalogCsvImporter.aAutor("Homer, 751? BCE-651? BCE"), "Homer", -751, -651);
+		autor(CatalogCsvImporter.aAutor("Ovid, 43 BCE-17"), "Ovid", -43, 17);
+		autor(CatalogCsvImporter.aAutor("Shakespeare, William, 1564?-1616"), "Shakespeare, William", 1564, 1616);
+		autor(CatalogCsvImporter.aAutor("Anonymous"), "Anonymous", 0, 0);
+	}
+
+	@Test
+	void elRolEntreCorchetesSeQuitaDelAutor() {
+		autor(CatalogCsvImporter.aAutor("Tenniel, John, 1820-1914 [Illustrator]"), "Tenniel, John", 1820, 1914);
+		autor(CatalogCsvImporter.aAutor("Grimm, Jacob, 1785-1863 [Editor] "), "Grimm, Jacob", 1785, 1863);
+		autor(CatalogCsvImporter.aAutor("Nobody [Translator]"), "Nobody", 0, 0);
+		assertNull(CatalogCsvImporter.aAutor(" [Illustrator]"));
+
+		Book libro = CatalogCsvImporter.aLibro(CatalogCsvImporter.separarCampos(
+				"11,Text,2008-06-27,Alice,en; fr,\"Carroll, Lewis, 1832-1898; Tenniel, John, 1820-1914 [Illustrator]\",,,"),
+				columnas());
+		assertEquals(List.of("Carroll, Lewis", "Tenniel, John"), libro.getAuthors().stream().map(Author::getName).toList());
+		assertEquals(List.of("en", "fr"), libro.getLanguages());
+	}
+
+	@Test
+	void losBloquesSeGuardanEnElOrdenDelArchivoAunqueSeAnalicenEnParalelo() throws IOException {
+		StringBuilder csv = new StringBuilder(CABECERA).append('\n');
+		for (int id = 1; id <= 9; id++) {
+			if (id == 5) {
+				csv.append("5,Text,,,en,,,,\n");
+			} else {
+				csv.append(id).append(",Text,,\"Libro\n").append(id).append("\",en,\"Autor, ").append(id).append("\",,,\n");
+			}
+		}
+		Path archivo = directorio.resolve("pg_catalog.csv");
+		Files.writeString(archivo, csv, StandardCharsets.UTF_8);
+
+		BookService servicio = mock(BookService.class);
+		List<List<Long>> lotes = new ArrayList<>();
+		when(servicio.upsertBooks(anyList(), eq(false))).thenAnswer(invocacion -> {
+			List<Book> libros = invocacion.getArgument(0);
+			lotes.add(libros.stream().map(Book::getId).toList());
+			return libros.size();
+		});
+
+		CatalogCsvImporter.CsvImportResult resultado = new CatalogCsvImporter(servicio, 4, 2).importar(archivo);
+
+		// Bloques de dos filas; la fila 5 no tiene título y se descarta.
+		assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(6L), List.of(7L, 8L), List.of(9L)), lotes);
+		assertEquals(9, resultado.filas());
+		assertEquals(8, resultado.librosNuevos());
+		assertEquals(1, resultado.descartadas());
+	}
+
+	private static Map<String, Integer> columnas() {
+		List<String> nombres = CatalogCsvImporter.separarCampos(CABECERA);
+		Map<String, Integer> columnas = new HashMap<>();
+		for (int i = 0; i < nombres.size(); i++) {
+			columnas.put(nombres.get(i), i);
+		}
+		return columnas;
+	}
+
+	private static void autor(Author autor, String nombre, int nacimiento, int muerte) {
+		assertEquals(nombre, autor.getName());
+		assertEquals(nacimiento, autor.getYearBirth());
+		assertEquals(muerte, autor.getYearDeath());
+	}
+}
\ No newline at end of file
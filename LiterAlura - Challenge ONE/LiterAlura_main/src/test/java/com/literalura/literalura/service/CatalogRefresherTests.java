@@ -0,0 +1,99 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.BookMetadata;
+import com.literalura.literalura.model.Book;
+import com.sun.net.httpserver.HttpServer;
+
+/*
+ * Pruebas del refresco del catálogo contra un servidor HTTP local que responde
+ * con una página de Gutendex grabada en src/test/resources/gutendex.
+ */
+class CatalogRefresherTests {
+
+	private HttpServer servidor;
+	private String base;
+	private final List<String> solicitudes = new CopyOnWriteArrayList<>();
+	private final BookService servicio = mock(BookService.class);
+
+	@BeforeEach
+	void iniciarServidor() throws IOException {
+		servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+		servidor.createContext("/books/", intercambio -> {
+			solicitudes.add(intercambio.getRequestURI().getQuery());
+			byte[] cuerpo = leerRecurso("pagina1.json").replace("{{base}}", base).getBytes(StandardCharsets.UTF_8);
+			intercambio.getResponseHeaders().add("Content-Type", "application/json");
+			intercambio.sendResponseHeaders(200, cuerpo.length);
+			try (OutputStream salida = intercambio.getResponseBody()) {
+				salida.write(cuerpo);
+			}
+		});
+		servidor.start();
+	}
+
+	@AfterEach
+	void detenerServidor() {
+		servidor.stop(0);
+	}
+
+	@Test
+	void consultaPorGruposDeIdsYEscribeSoloLosLibrosQueCambiaron() {
+		List<BookMetadata> guardados = List.of(
+				new BookMetadata(84L, 70000, null, null),
+				new BookMetadata(1342L, 51390, "Best Books Ever Listings", null));
+		when(servicio.cursorBookMetadata(anyInt())).thenReturn(new KeysetCursor<>(
+				(despuesDe, tamano) -> guardados.stream().filter(m -> m.id() > despuesDe).limit(tamano).toList(),
+				BookMetadata::id, 2));
+
+		CatalogRefresher.RefreshResult resultado = new CatalogRefresher(new ConexionAPI(), new ConvierteDatos(), servicio,
+				base + "/books/", 2, Duration.ZERO, 500).refrescar();
+
+		assertEquals(List.of("ids=84,1342"), solicitudes);
+		assertEquals(2, resultado.revisados());
+		assertEquals(1, resultado.actualizados());
+		assertEquals(0, resultado.fallidas());
+		verify(servicio).updateBookMetadata(List.of(new BookMetadata(84L, 73123, "Gothic Fiction", null)));
+	}
+
+	@Test
+	void omiteLosLibrosAntiguosSinIdDeGutendex() {
+		List<BookMetadata> guardados = List.of(
+				new BookMetadata(84L, 70000, null, null),
+				new BookMetadata(Book.INICIO_IDS_ANTIGUOS + 84, 10, null, null));
+		when(servicio.cursorBookMetadata(anyInt())).thenReturn(new KeysetCursor<>(
+				(despuesDe, tamano) -> guardados.stream().filter(m -> m.id() > despuesDe).limit(tamano).toList(),
+				BookMetadata::id, 2));
+
+		CatalogRefresher.RefreshResult resultado = new CatalogRefresher(new ConexionAPI(), new ConvierteDatos(), servicio,
+				base + "/books/", 2, Duration.ZERO, 500).refrescar();
+
+		assertEquals(List.of("ids=84"), solicitudes);
+		assertEquals(1, resultado.revisados());
+		verify(servicio).updateBookMetadata(List.of(new BookMetadata(84L, 73123, "Gothic Fiction", null)));
+	}
+
+	private static String leerRecurso(String nombre) throws IOException {
+		try (InputStream entrada = CatalogRefresherTests.class.getResourceAsStream("/gutendex/" + nombre)) {
+			return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
\ No newline at end of file
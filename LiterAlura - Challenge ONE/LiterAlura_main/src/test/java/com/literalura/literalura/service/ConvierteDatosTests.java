@@ -0,0 +1,83 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.DataAuthor;
+import com.literalura.literalura.dto.DataBook;
+import com.literalura.literalura.dto.DataPageInfo;
+import com.literalura.literalura.dto.DataResults;
+import com.literalura.literalura.model.Book;
+
+// Pruebas de la lectura en streaming frente a la conversión completa de una respuesta de Gutendex, y del mapeo a entidades.
+class ConvierteDatosTests {
+
+	private final ConvierteDatos convertidor = new ConvierteDatos();
+
+	@Test
+	void laLecturaEnStreamingEntregaLosMismosLibrosQueConvertidora() throws IOException {
+		for (String recurso : List.of("pagina1.json", "pagina2.json", "catalogo-pagina1.json")) {
+			byte[] json = leerRecurso(recurso);
+			DataResults completo = convertidor.convertidora(new String(json, StandardCharsets.UTF_8), DataResults.class);
+
+			List<DataBook> libros = new ArrayList<>();
+			DataPageInfo info = convertidor.leerResultados(new ByteArrayInputStream(json), libros::add);
+
+			assertEquals(completo.results(), libros);
+			assertEquals(completo.count(), info.count());
+			assertEquals(completo.next(), info.next());
+			assertEquals(libros.size(), info.books());
+		}
+	}
+
+	@Test
+	void laLecturaEnStreamingAceptaResultadosVacios() {
+		String json = "{\"count\":0,\"next\":null,\"previous\":null,\"results\":[]}";
+		List<DataBook> libros = new ArrayList<>();
+		DataPageInfo info = convertidor.leerResultados(
+				new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), libros::add);
+
+		assertEquals(0, info.books());
+		assertNull(info.next());
+		assertEquals(List.of(), libros);
+	}
+
+	@Test
+	void elMapeoDirectoCopiaElLibroYSusAutores() throws IOException {
+		DataResults datos = convertidor.convertidora(new String(leerRecurso("pagina1.json"), StandardCharsets.UTF_8), DataResults.class);
+		DataBook origen = datos.results().get(0);
+
+		Book libro = ConvierteDatos.aLibro(origen);
+
+		assertEquals(origen.id(), libro.getId());
+		assertEquals(origen.title(), libro.getTitle());
+		assertEquals(origen.languages(), libro.getLanguages());
+		assertEquals(origen.totalDownloads(), libro.getTotalDownloads());
+		assertEquals(origen.authors().size(), libro.getAuthors().size());
+		for (int i = 0; i < origen.authors().size(); i++) {
+			assertEquals(origen.authors().get(i).name(), libro.getAuthors().get(i).getName());
+			assertEquals(origen.authors().get(i).birthYear(), libro.getAuthors().get(i).getYearBirth());
+			assertEquals(origen.authors().get(i).deathYear(), libro.getAuthors().get(i).getYearDeath());
+		}
+	}
+
+	@Test
+	void losAutoresSinNombreSeGuardanConElNombreVacio() {
+		assertEquals("", ConvierteDatos.aAutor(new DataAuthor(null, 1800, 0)).getName());
+	}
+
+	private static byte[] leerRecurso(String nombre) throws IOException {
+		try (InputStream entrada = ConvierteDatosTests.class.getResourceAsStream("/gutendex/" + nombre)) {
+			return entrada.readAllBytes();
+		}
+	}
+}
\ No newline at end of file
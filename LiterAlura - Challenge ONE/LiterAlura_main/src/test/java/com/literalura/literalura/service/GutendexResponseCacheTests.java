@@ -0,0 +1,180 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Pruebas de la caché de búsquedas de Gutendex: LRU en memoria, caducidad, revalidación y límite en disco.
+class GutendexResponseCacheTests {
+
+	@TempDir
+	Path directorio;
+
+	@Test
+	void laMemoriaDesalojaLaEntradaUsadaHaceMasTiempoYElDiscoLaConserva() {
+		GutendexResponseCache cache = cache(Duration.ofHours(1), 2, 1 << 20);
+		cache.guardar("a", entrada("A"));
+		cache.guardar("b", entrada("B"));
+		cache.obtener("a");
+
+		cache.guardar("c", entrada("C"));
+
+		// "b" era la menos usada: sale de memoria, y "a" y "c" siguen ahí.
+		assertEquals(1, cache.estadisticas().desalojosMemoria());
+		assertEquals(2, cache.estadisticas().entradasMemoria());
+		assertEquals("A", cache.obtener("a").cuerpo());
+		assertEquals("C", cache.obtener("c").cuerpo());
+		assertEquals(3, cache.estadisticas().aciertosMemoria());
+		assertEquals(0, cache.estadisticas().aciertosDisco());
+
+		assertEquals("B", cache.obtener("b").cuerpo());
+		assertEquals(1, cache.estadisticas().aciertosDisco());
+	}
+
+	@Test
+	void lasEntradasCaducadasSeDevuelvenParaRevalidarlas() {
+		GutendexResponseCache cache = cache(Duration.ofMinutes(10), 10, 1 << 20);
+		cache.guardar("vieja", new GutendexResponseCache.Entrada("{}", "\"v1\"", null,
+				System.currentTimeMillis() - Duration.ofMinutes(11).toMillis()));
+		cache.guardar("nueva", entrada("{}"));
+
+		GutendexResponseCache.Entrada vieja = cache.obtener("vieja");
+
+		assertNotNull(vieja);
+		assertFalse(cache.vigente(vieja));
+		assertTrue(cache.vigente(cache.obtener("nueva")));
+		assertEquals(1, cache.estadisticas().caducadas());
+		assertEquals(1, cache.estadisticas().aciertosMemoria());
+	}
+
+	@Test
+	void unaEntradaCaducadaSeRevalidaConElTituloOriginalYUn304ReutilizaElCuerpo() throws IOException {
+		List<String> busquedas = new CopyOnWriteArrayList<>();
+		List<String> condiciones = new CopyOnWriteArrayList<>();
+		HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		servidor.createContext("/", intercambio -> {
+			busquedas.add(URLDecoder.decode(intercambio.getRequestURI().getRawQuery().substring("search=".length()),
+					StandardCharsets.UTF_8));
+			String condicion = intercambio.getRequestHeaders().getFirst("If-None-Match");
+			condiciones.add(String.valueOf(condicion));
+			if ("\"v1\"".equals(condicion)) {
+				intercambio.sendResponseHeaders(304, -1);
+				intercambio.close();
+				return;
+			}
+			byte[] cuerpo = "{\"count\":1}".getBytes(StandardCharsets.UTF_8);
+			intercambio.getResponseHeaders().add("ETag", "\"v1\"");
+			intercambio.sendResponseHeaders(200, cuerpo.length);
+			try (OutputStream salida = intercambio.getResponseBody()) {
+				salida.write(cuerpo);
+			}
+		});
+		servidor.start();
+		try {
+			GutendexResponseCache cache = cache(Duration.ofMillis(1), 10, 1 << 20);
+			ConexionAPI conexion = new ConexionAPI(cache, new SimpleMeterRegistry(),
+					"http://127.0.0.1:" + servidor.getAddress().getPort() + "/books/?search=");
+
+			assertEquals("{\"count\":1}", conexion.obtenerDatos("  Don QUIJOTE "));
+			esperar(5);
+			assertEquals("{\"count\":1}", conexion.obtenerDatos("don quijote"));
+
+			assertEquals(List.of("  Don QUIJOTE ", "don quijote"), busquedas);
+			assertEquals(List.of("null", "\"v1\""), condiciones);
+			assertEquals(1, cache.estadisticas().revalidadas());
+			assertEquals("{\"count\":1}", cache.obtener("don quijote").cuerpo());
+		} finally {
+			servidor.stop(0);
+		}
+	}
+
+	@Test
+	void alSuperarElLimiteEnDiscoSeBorranLosArchivosUsadosHaceMasTiempo() {
+		String cuerpo = "x".repeat(1000);
+		GutendexResponseCache cache = cache(Duration.ofHours(1), 10, 3000);
+		cache.guardar("a", entrada(cuerpo));
+		esperar(20);
+		cache.guardar("b", entrada(cuerpo));
+		esperar(20);
+		cache.guardar("c", entrada(cuerpo));
+
+		assertEquals(1, cache.estadisticas().desalojosDisco());
+		assertTrue(cache.estadisticas().bytesDisco() <= 2700);
+		assertEquals(bytesEnDirectorio(), cache.estadisticas().bytesDisco());
+		// Una caché nueva sólo ve el disco: la entrada más antigua ya no está.
+		GutendexResponseCache reiniciada = cache(Duration.ofHours(1), 10, 3000);
+		assertNull(reiniciada.obtener("a"));
+		assertNotNull(reiniciada.obtener("b"));
+		assertNotNull(reiniciada.obtener("c"));
+	}
+
+	@Test
+	void losBytesEnDiscoCoincidenConLosArchivosAunqueVariosHilosGuardenLaMismaBusqueda() throws Exception {
+		GutendexResponseCache cache = cache(Duration.ofHours(1), 10, 1 << 20);
+		ExecutorService hilos = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> tareas = new CopyOnWriteArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				String cuerpo = "x".repeat(100 + i % 7 * 50);
+				String clave = "busqueda " + i % 3;
+				tareas.add(hilos.submit(() -> cache.guardar(clave, entrada(cuerpo))));
+			}
+			for (Future<?> tarea : tareas) {
+				tarea.get();
+			}
+		} finally {
+			hilos.shutdown();
+		}
+
+		assertEquals(bytesEnDirectorio(), cache.estadisticas().bytesDisco());
+	}
+
+	private GutendexResponseCache cache(Duration ttl, int maxEntradas, long maxBytes) {
+		return new GutendexResponseCache(true, ttl, maxEntradas, maxBytes, directorio.toString());
+	}
+
+	private static GutendexResponseCache.Entrada entrada(String cuerpo) {
+		return new GutendexResponseCache.Entrada(cuerpo, null, null, System.currentTimeMillis());
+	}
+
+	private long bytesEnDirectorio() {
+		try (Stream<Path> archivos = Files.list(directorio)) {
+			return archivos.filter(p -> p.toString().endsWith(".bin")).mapToLong(p -> p.toFile().length()).sum();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// Deja pasar tiempo para que las fechas de los archivos y la caducidad se distingan.
+	private static void esperar(long milisegundos) {
+		try {
+			Thread.sleep(milisegundos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
\ No newline at end of file
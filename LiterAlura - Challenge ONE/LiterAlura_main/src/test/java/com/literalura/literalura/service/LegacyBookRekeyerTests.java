@@ -0,0 +1,88 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.repository.BookBulkRepository;
+
+/*
+ * Pruebas de la reasignación de los libros antiguos sobre una base H2 en memoria.
+ * La búsqueda en Gutendex devuelve la página grabada en src/test/resources/gutendex.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({BookService.class, AuthorResolver.class, BookBulkRepository.class, TopBooksCache.class, SecondLevelCache.class})
+class LegacyBookRekeyerTests {
+
+	private static final long ANTIGUO = Book.INICIO_IDS_ANTIGUOS;
+
+	@Autowired
+	private BookService servicio;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	private final ConexionAPI conexion = mock(ConexionAPI.class);
+
+	@Test
+	void reemplazaLosLibrosAntiguosConElMismoTituloYAutorPorElDeGutendex() throws IOException {
+		Author shelley = new Author("Shelley, Mary Wollstonecraft", 1797, 1851);
+		Author austen = new Author("Austen, Jane", 1775, 1817);
+		em.persist(libro(84L, "Frankenstein; Or, The Modern Prometheus", 70000, shelley));
+		em.persist(libro(ANTIGUO + 1, "Pride and Prejudice", 100, austen));
+		em.persist(libro(ANTIGUO + 2, "FRANKENSTEIN; OR, THE MODERN PROMETHEUS", 90, shelley));
+		em.persist(libro(ANTIGUO + 3, "Pride and Prejudice", 80, new Author("Otra, Autora", 1900, 1980)));
+		em.flush();
+		em.clear();
+		when(conexion.obtenerDatos(anyString())).thenReturn(leerRecurso("pagina1.json"));
+
+		LegacyBookRekeyer.RekeyResult resultado = new LegacyBookRekeyer(servicio, conexion, new ConvierteDatos()).reasignar();
+
+		assertEquals(new LegacyBookRekeyer.RekeyResult(3, 2, 1, 0), resultado);
+		// El libro ya registrado se actualiza; el que faltaba se crea con su ID; el de otro autor se queda.
+		assertEquals(List.of(84L, 1342L, ANTIGUO + 3), jdbc.queryForList("SELECT id FROM book ORDER BY id", Long.class));
+		assertEquals(List.of(73123, 51390), jdbc.queryForList(
+				"SELECT total_downloads FROM book WHERE id IN (84, 1342) ORDER BY id", Integer.class));
+		assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM book_author WHERE book_id IN (?, ?)",
+				Integer.class, ANTIGUO + 1, ANTIGUO + 2));
+		assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM book_languages WHERE book_id IN (?, ?)",
+				Integer.class, ANTIGUO + 1, ANTIGUO + 2));
+		assertEquals(List.of("Austen, Jane"), servicio.getBookSummaries(List.of(1342L)).get(0).authors());
+		assertEquals(List.of(ANTIGUO + 3), servicio.getLegacyBookIds());
+	}
+
+	private static Book libro(Long id, String titulo, int descargas, Author autor) {
+		Book libro = new Book(id, titulo, new ArrayList<>(List.of("en")), descargas);
+		libro.addAuthor(autor);
+		return libro;
+	}
+
+	private static String leerRecurso(String nombre) throws IOException {
+		try (InputStream entrada = LegacyBookRekeyerTests.class.getResourceAsStream("/gutendex/" + nombre)) {
+			return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
\ No newline at end of file
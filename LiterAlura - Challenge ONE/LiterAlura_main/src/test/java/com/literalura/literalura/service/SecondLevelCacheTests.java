@@ -0,0 +1,114 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.literalura.literalura.model.Author;
+import com.literalura.literalura.model.Book;
+import com.literalura.literalura.render.RecordWriter;
+import com.literalura.literalura.repository.BookBulkRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Pruebas de la caché de segundo nivel sobre una base H2 en memoria. Cada operación confirma su
+ * propia transacción, como en la aplicación, para que la caché se llene y se invalide de verdad.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({BookService.class, AuthorResolver.class, BookBulkRepository.class, TopBooksCache.class, SecondLevelCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTests {
+
+	private static final String LIBROS_AUTOR = Author.class.getName() + ".books";
+
+	@Autowired
+	private BookService servicio;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Test
+	void lasLecturasRepetidasNoVanALaBaseYUnaEscrituraLasInvalida() throws IOException {
+		servicio.upsertBooks(List.of(libro("Oliver Twist", 500)), true);
+		Long idAutor = idAutor("Dickens, Charles");
+		Statistics estadisticas = emf.unwrap(SessionFactory.class).getStatistics();
+
+		assertEquals("title,totalDownloads\nOliver Twist,500\n", librosDelAutor(idAutor));
+		estadisticas.clear();
+		assertEquals("title,totalDownloads\nOliver Twist,500\n", librosDelAutor(idAutor));
+		assertEquals(0, estadisticas.getPrepareStatementCount());
+
+		servicio.upsertBooks(List.of(libro("Oliver Twist (revisado)", 600)), true);
+
+		assertEquals("title,totalDownloads\nOliver Twist (revisado),600\n", librosDelAutor(idAutor));
+	}
+
+	@Test
+	void soloSeDescartanLasListasDeLibrosDeLosAutoresQueGananOPierdenLibros() throws IOException {
+		servicio.upsertBooks(List.of(
+				libro(1260L, "Jane Eyre", new Author("Brontë, Charlotte", 1816, 1855)),
+				libro(76L, "Adventures of Huckleberry Finn", new Author("Twain, Mark", 1835, 1910))), true);
+		Long bronte = idAutor("Brontë, Charlotte");
+		Long twain = idAutor("Twain, Mark");
+		librosDelAutor(bronte);
+		librosDelAutor(twain);
+		Cache cache = emf.unwrap(SessionFactory.class).getCache();
+		assertTrue(cache.containsCollection(LIBROS_AUTOR, bronte));
+		assertTrue(cache.containsCollection(LIBROS_AUTOR, twain));
+
+		// El libro pasa de Brontë a Austen: Brontë lo pierde y Austen lo gana; Twain no cambia.
+		servicio.upsertBooks(List.of(libro(1260L, "Jane Eyre", new Author("Austen, Jane", 1775, 1817))), true);
+
+		assertFalse(cache.containsCollection(LIBROS_AUTOR, bronte));
+		assertTrue(cache.containsCollection(LIBROS_AUTOR, twain));
+		assertEquals("", librosDelAutor(bronte));
+		assertEquals("title,totalDownloads\nJane Eyre,500\n", librosDelAutor(idAutor("Austen, Jane")));
+	}
+
+	private Long idAutor(String nombre) {
+		return servicio.cursorAuthors(10).stream().filter(a -> a.name().equals(nombre)).findFirst().orElseThrow().id();
+	}
+
+	private String librosDelAutor(Long idAutor) throws IOException {
+		StringWriter salida = new StringWriter();
+		try (RecordWriter csv = new RecordWriter(salida, RecordWriter.Formato.CSV, List.of("title", "totalDownloads"))) {
+			servicio.getAutor(idAutor, csv);
+		}
+		return salida.toString();
+	}
+
+	private static Book libro(Long id, String titulo, Author autor) {
+		Book libro = new Book(id, titulo, new ArrayList<>(List.of("en")), 500);
+		libro.addAuthor(autor);
+		return libro;
+	}
+
+	private static Book libro(String titulo, int descargas) {
+		Book libro = new Book(730L, titulo, new ArrayList<>(List.of("en")), descargas);
+		libro.addAuthor(new Author("Dickens, Charles", 1812, 1870));
+		return libro;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.literalura.literalura.dto.DataResults;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Pruebas de las métricas de las peticiones a Gutendex, de la caché y de la conversión de JSON.
+class ServiceMetricsTests {
+
+	@TempDir
+	Path directorio;
+
+	private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+	private HttpServer servidor;
+	private String base;
+
+	@BeforeEach
+	void iniciarServidor() throws IOException {
+		servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		servidor.createContext("/", intercambio -> {
+			byte[] cuerpo = "{}".getBytes(StandardCharsets.UTF_8);
+			intercambio.sendResponseHeaders(intercambio.getRequestURI().getPath().equals("/books/") ? 200 : 404, cuerpo.length);
+			try (OutputStream salida = intercambio.getResponseBody()) {
+				salida.write(cuerpo);
+			}
+		});
+		servidor.start();
+		base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+	}
+
+	@AfterEach
+	void detenerServidor() {
+		servidor.stop(0);
+	}
+
+	@Test
+	void lasPeticionesSeEtiquetanConElCodigoDeEstado() throws IOException {
+		ConexionAPI conexion = new ConexionAPI(null, registro);
+
+		conexion.abrirPagina(base + "/books/").close();
+		assertThrows(ConexionApiException.class, () -> conexion.abrirPagina(base + "/otra/"));
+
+		assertEquals(1, peticiones("pagina-streaming", "200"));
+		assertEquals(1, peticiones("pagina-streaming", "404"));
+	}
+
+	@Test
+	void lasBusquedasEnCacheNoSalenALaRedYSeCuentan() {
+		GutendexResponseCache cache = new GutendexResponseCache(true, Duration.ofHours(1), 10, 1 << 20,
+				directorio.toString());
+		cache.bindTo(registro);
+		cache.guardar("don quijote", new GutendexResponseCache.Entrada("{}", null, null, System.currentTimeMillis()));
+
+		assertEquals("{}", new ConexionAPI(cache, registro).obtenerDatos("  Don QUIJOTE "));
+
+		assertEquals(1, peticiones("busqueda", "cache"));
+		assertEquals(1.0, registro.get("literalura.gutendex.cache.consultas")
+				.tag("resultado", "acierto-memoria").functionCounter().count());
+	}
+
+	@Test
+	void laConversionSeEtiquetaConElTipoYElResultado() {
+		ConvierteDatos convertidor = new ConvierteDatos(new ObjectMapper(), registro);
+
+		convertidor.convertidora("{\"count\":0,\"results\":[]}", DataResults.class);
+		assertThrows(ConversionException.class, () -> convertidor.convertidora("{", DataResults.class));
+
+		assertEquals(1, registro.get(ConvierteDatos.METRICA_CONVERSION)
+				.tags("tipo", "DataResults", "estado", "ok").timer().count());
+		assertEquals(1, registro.get(ConvierteDatos.METRICA_CONVERSION)
+				.tags("tipo", "DataResults", "estado", "error").timer().count());
+	}
+
+	private long peticiones(String operacion, String estado) {
+		return registro.get(ConexionAPI.METRICA_PETICIONES)
+				.tags("operacion", operacion, "estado", estado).timer().count();
+	}
+}
\ No newline at end of file
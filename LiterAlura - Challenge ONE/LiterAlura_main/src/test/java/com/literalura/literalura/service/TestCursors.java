@@ -0,0 +1,42 @@
+package com.literalura.literalura.service;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.mockito.stubbing.Answer;
+
+import com.literalura.literalura.dto.AuthorSummary;
+import com.literalura.literalura.dto.BookSummary;
+
+/*
+ * Cursores sobre listas en memoria, para simular en las pruebas los cursores de BookService.
+ * Cada página se calcula al pedirla, con las filas posteriores a la última leída en el orden
+ * del cursor real, así que los cambios que una prueba haga en la lista se ven en el siguiente recorrido.
+ */
+public final class TestCursors {
+
+	// El orden de cursorBooks.
+	public static final Comparator<BookSummary> LIBROS_POR_ID = Comparator.comparingLong(BookSummary::id);
+
+	// El orden de cursorAuthorsById.
+	public static final Comparator<AuthorSummary> AUTORES_POR_ID = Comparator.comparingLong(AuthorSummary::id);
+
+	// El orden de cursorAuthors: por nombre y, con el mismo nombre, por ID.
+	public static final Comparator<AuthorSummary> AUTORES_POR_NOMBRE =
+			Comparator.comparing(AuthorSummary::name).thenComparingLong(AuthorSummary::id);
+
+	private TestCursors() {
+	}
+
+	// Cursor sobre las filas de la lista, recorridas en el orden indicado.
+	public static <T> KeysetCursor<T> sobre(List<T> filas, Comparator<? super T> orden, int tamanoPagina) {
+		return new KeysetCursor<>((ultima, tamano) -> filas.stream()
+				.filter(fila -> ultima == null || orden.compare(fila, ultima) > 0)
+				.sorted(orden).limit(tamano).toList(), tamanoPagina);
+	}
+
+	// Respuesta para el stub de un cursor de BookService, que recibe el tamaño de página como único argumento.
+	public static <T> Answer<KeysetCursor<T>> respuesta(List<T> filas, Comparator<? super T> orden) {
+		return invocacion -> sobre(filas, orden, invocacion.getArgument(0));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.literalura.literalura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.literalura.literalura.dto.BookSummary;
+
+// Pruebas de la caché de rankings: invalidación, rankings calculados durante un cambio y LRU.
+class TopBooksCacheTests {
+
+	private final TopBooksCache cache = new TopBooksCache(2);
+	private final AtomicInteger consultas = new AtomicInteger();
+
+	@Test
+	void unRankingGuardadoNoVuelveAConsultarseHastaQueCambiaElCatalogo() {
+		assertEquals(ranking(1), cache.obtener(10, null, null, cargador(1)));
+		assertEquals(ranking(1), cache.obtener(10, null, null, cargador(2)));
+		assertEquals(1, consultas.get());
+
+		cache.alActualizarCatalogo(new CatalogUpdatedEvent(List.of(730L)));
+
+		assertEquals(ranking(2), cache.obtener(10, null, null, cargador(2)));
+		assertEquals(2, consultas.get());
+	}
+
+	@Test
+	void unRankingCalculadoMientrasCambiaElCatalogoNoSeGuarda() {
+		// El cambio se confirma mientras se consulta: el ranking se devuelve, pero la siguiente
+		// llamada consulta de nuevo.
+		List<BookSummary> calculado = cache.obtener(10, "es", null, () -> {
+			consultas.incrementAndGet();
+			cache.invalidar();
+			return ranking(1);
+		});
+
+		assertEquals(ranking(1), calculado);
+		assertEquals(ranking(2), cache.obtener(10, "es", null, cargador(2)));
+		assertEquals(2, consultas.get());
+	}
+
+	@Test
+	void alLlegarAlMaximoSeDescartaElRankingUsadoHaceMasTiempo() {
+		cache.obtener(1, null, null, cargador(1));
+		cache.obtener(2, null, null, cargador(2));
+		cache.obtener(1, null, null, cargador(99));
+
+		cache.obtener(3, null, null, cargador(3));
+
+		// El 1 se usó después del 2, así que se conserva; el 2 se vuelve a consultar.
+		assertEquals(ranking(1), cache.obtener(1, null, null, cargador(99)));
+		assertEquals(3, consultas.get());
+		assertEquals(ranking(20), cache.obtener(2, null, null, cargador(20)));
+		assertEquals(4, consultas.get());
+	}
+
+	private Supplier<List<BookSummary>> cargador(long id) {
+		return () -> {
+			consultas.incrementAndGet();
+			return ranking(id);
+		};
+	}
+
+	private static List<BookSummary> ranking(long id) {
+		return List.of(new BookSummary(id, "Libro " + id, List.of(), List.of("en"), 100));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.literalura.literalura.web;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.literalura.literalura.dto.BookSummary;
+import com.literalura.literalura.service.BookService;
+import com.literalura.literalura.service.CatalogVersion;
+
+// Pruebas de la paginación y los ETag del listado de libros, sin base de datos.
+class BookControllerTests {
+
+	private final BookService servicio = mock(BookService.class);
+	private final CatalogVersion version = new CatalogVersion();
+	private MockMvc mvc;
+
+	@BeforeEach
+	void prepararControlador() {
+		when(servicio.getBooksPage(anyLong(), anyInt())).thenReturn(List.of(
+				new BookSummary(11L, "Alice's Adventures in Wonderland", List.of("Carroll, Lewis"), List.of("en"), 100),
+				new BookSummary(84L, "Frankenstein", List.of("Shelley, Mary Wollstonecraft"), List.of("en"), 90)));
+		mvc = MockMvcBuilders.standaloneSetup(new BookController(servicio, null, null, null, null, version))
+				.setControllerAdvice(new ApiExceptionHandler())
+				// Sin Accept, MockMvc elegiría el conversor XML (jackson-dataformat-xml está en el classpath).
+				.defaultRequest(get("/").accept(MediaType.APPLICATION_JSON))
+				.build();
+	}
+
+	@Test
+	void unaPaginaCompletaIndicaDesdeDondeSigue() throws Exception {
+		mvc.perform(get("/api/libros").param("tamano", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items.length()").value(2))
+				.andExpect(jsonPath("$.next").value(84));
+	}
+
+	@Test
+	void respondeNoModificadoMientrasElCatalogoNoCambie() throws Exception {
+		String etag = mvc.perform(get("/api/libros").param("tamano", "2"))
+				.andReturn().getResponse().getHeader("ETag");
+
+		mvc.perform(get("/api/libros").param("tamano", "2").header("If-None-Match", etag))
+				.andExpect(status().isNotModified());
+		verify(servicio, times(1)).getBooksPage(0L, 2);
+
+		version.alActualizarCatalogo(null);
+		mvc.perform(get("/api/libros").param("tamano", "2").header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andExpect(header().exists("ETag"));
+	}
+
+	@Test
+	void rechazaUnTamanoDePaginaInvalido() throws Exception {
+		mvc.perform(get("/api/libros").param("tamano", "0"))
+				.andExpect(status().isBadRequest());
+	}
+}
\ No newline at end of file
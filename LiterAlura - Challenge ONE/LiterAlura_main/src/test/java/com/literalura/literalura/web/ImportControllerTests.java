@@ -0,0 +1,96 @@
+package com.literalura.literalura.web;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.jayway.jsonpath.JsonPath;
+import com.literalura.literalura.service.BulkTitleImporter;
+import com.literalura.literalura.service.CatalogCrawler;
+import com.literalura.literalura.service.CatalogCsvImporter;
+
+// Pruebas de las importaciones de la API: se ejecutan en segundo plano, de a una, y piden la clave.
+class ImportControllerTests {
+
+	private static final String CLAVE = "secreta";
+
+	private final CatalogCrawler crawler = mock(CatalogCrawler.class);
+	private final ImportJobs trabajos = new ImportJobs();
+
+	@AfterEach
+	void cerrar() {
+		trabajos.cerrar();
+	}
+
+	@Test
+	void elRastreoSeEjecutaEnSegundoPlanoYNoAdmiteOtroALaVez() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		when(crawler.crawl()).thenAnswer(invocacion -> {
+			liberar.await(10, TimeUnit.SECONDS);
+			return new CatalogCrawler.CrawlResult(3, 96, 90, 96, true, Duration.ofSeconds(2));
+		});
+		MockMvc mvc = mvc(CLAVE);
+
+		String ubicacion = mvc.perform(post("/api/importaciones/catalogo").header(ImportController.CABECERA_CLAVE, CLAVE))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists("Location"))
+				.andExpect(jsonPath("$.estado").value("EN_CURSO"))
+				.andReturn().getResponse().getHeader("Location");
+
+		mvc.perform(post("/api/importaciones/catalogo").header(ImportController.CABECERA_CLAVE, CLAVE))
+				.andExpect(status().isConflict());
+		mvc.perform(post("/api/importaciones/titulos").header(ImportController.CABECERA_CLAVE, CLAVE)
+						.contentType(MediaType.TEXT_PLAIN).content("Frankenstein"))
+				.andExpect(status().isConflict());
+
+		liberar.countDown();
+		String estado = "EN_CURSO";
+		for (int i = 0; i < 100 && estado.equals("EN_CURSO"); i++) {
+			Thread.sleep(20);
+			String cuerpo = mvc.perform(get(ubicacion)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+			estado = JsonPath.read(cuerpo, "$.estado");
+		}
+		assertTrue(estado.equals("TERMINADA"), estado);
+		mvc.perform(get(ubicacion))
+				.andExpect(jsonPath("$.resultado.paginas").value(3))
+				.andExpect(jsonPath("$.resultado.librosGuardados").value(90));
+		verify(crawler, times(1)).crawl();
+	}
+
+	@Test
+	void rechazaLasImportacionesSinLaClave() throws Exception {
+		mvc(CLAVE).perform(post("/api/importaciones/catalogo").header(ImportController.CABECERA_CLAVE, "otra"))
+				.andExpect(status().isUnauthorized());
+		mvc("").perform(post("/api/importaciones/catalogo").header(ImportController.CABECERA_CLAVE, ""))
+				.andExpect(status().isForbidden());
+		mvc(CLAVE).perform(get("/api/importaciones/42"))
+				.andExpect(status().isNotFound());
+		verify(crawler, times(0)).crawl();
+	}
+
+	private MockMvc mvc(String clave) {
+		ImportController controlador = new ImportController(crawler, mock(BulkTitleImporter.class),
+				mock(CatalogCsvImporter.class), trabajos, clave);
+		return MockMvcBuilders.standaloneSetup(controlador)
+				.setControllerAdvice(new ApiExceptionHandler())
+				.defaultRequest(get("/").accept(MediaType.APPLICATION_JSON))
+				.build();
+	}
+}
\ No newline at end of file